@@ -0,0 +1,205 @@
+package cellsociety.model.simulation;
+
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code PlaybackBuffer} class steps a simulation ahead of what is being shown, on a thread
+ * of its own, and keeps the next few generations as {@link PlaybackFrame frames} in a bounded
+ * ring. Playback takes one frame per tick with {@link #poll()}, so a slow step only costs the
+ * producer time it had already gained, and the thread showing the frames never waits on a step.
+ *
+ * <p><b>Contract:</b> while the buffer is running, only its thread touches the simulation.
+ * Stopping keeps the frames not shown yet, so pausing and resuming shows exactly the generations
+ * an uninterrupted run would, but the simulation stays ahead of the last generation shown. Call
+ * {@link #discard()} before anything else reads or changes the simulation, such as editing a
+ * parameter or the topology, to put it back to the last generation shown.</p>
+ *
+ * <h2>Example Usage:</h2>
+ * <pre>
+ * PlaybackBuffer playback = new PlaybackBuffer(simulation, 8);
+ * playback.start();
+ * // on every tick
+ * playback.poll().ifPresent(frame -> draw(frame));
+ * // before changing the simulation
+ * playback.discard();
+ * simulation.updateParameter("ignitionLikelihood", 0.2);
+ * playback.start();
+ * </pre>
+ *
+ * @author Jessica Chen
+ */
+public class PlaybackBuffer {
+
+  private static final Logger logger = LogManager.getLogger(PlaybackBuffer.class);
+
+  // how long the producer waits on a full ring before checking whether it was stopped
+  private static final long OFFER_TIMEOUT_MILLIS = 50;
+
+  private final Simulation<?> mySimulation;
+  private final BlockingQueue<PlaybackFrame> myFrames;
+  // a frame computed while the ring was full when the buffer stopped, offered first on restart
+  private PlaybackFrame myHeldFrame;
+  private Thread myProducer;
+  private volatile boolean running;
+  private volatile SimulationException myFailure;
+  private int myShownGeneration;
+
+  /**
+   * Creates a stopped buffer for a simulation.
+   *
+   * @param simulation - the simulation to step
+   * @param lookAhead  - how many generations to keep ready ahead of the one shown, at least 1
+   * @throws SimulationException if the simulation is null or the look ahead is below 1
+   */
+  public PlaybackBuffer(Simulation<?> simulation, int lookAhead) {
+    if (simulation == null) {
+      logger.error("Playback buffer creation failed: Null simulation");
+      throw new SimulationException("NullParameter", List.of("simulation", "PlaybackBuffer()"));
+    }
+    if (lookAhead < 1) {
+      logger.error("Invalid playback look ahead: {}", lookAhead);
+      throw new SimulationException("InvalidParameterValue", List.of("lookAhead"));
+    }
+    mySimulation = simulation;
+    myFrames = new ArrayBlockingQueue<>(lookAhead);
+  }
+
+  /**
+   * Starts stepping the simulation ahead from its current generation, after the frames kept when
+   * the buffer was stopped. Does nothing if the buffer is already running.
+   */
+  public void start() {
+    if (myProducer != null) {
+      return;
+    }
+    myFailure = null;
+    if (myFrames.isEmpty() && myHeldFrame == null) {
+      myShownGeneration = mySimulation.getTotalIterations();
+    }
+    running = true;
+    myProducer = new Thread(this::produce, "simulation-playback");
+    myProducer.setDaemon(true);
+    myProducer.start();
+  }
+
+  /**
+   * Takes the next generation to show, if it is ready.
+   *
+   * @return the next frame, or {@code Optional.empty()} if the producer has not caught up
+   * @throws SimulationException if stepping the simulation failed, once every frame before the
+   *                             failure was taken
+   */
+  public Optional<PlaybackFrame> poll() {
+    PlaybackFrame frame = myFrames.poll();
+    if (frame == null) {
+      SimulationException failure = myFailure;
+      if (failure != null) {
+        myFailure = null;
+        throw new SimulationException(failure);
+      }
+      return Optional.empty();
+    }
+    myShownGeneration = frame.getGeneration();
+    return Optional.of(frame);
+  }
+
+  /**
+   * Stops stepping and waits for a step in progress to finish. The frames not taken yet are kept
+   * for the next {@link #start()}, and the simulation stays at the newest of them. Does nothing if
+   * the buffer is already stopped.
+   */
+  public void stop() {
+    if (myProducer == null) {
+      return;
+    }
+    running = false;
+    try {
+      myProducer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("Interrupted while stopping playback");
+    }
+    myProducer = null;
+  }
+
+  /**
+   * Stops stepping, drops the frames not taken yet, and puts the simulation back to the last
+   * generation taken, for when it is about to be read or changed.
+   *
+   * @throws SimulationException if the simulation cannot be put back
+   */
+  public void discard() {
+    stop();
+    myFrames.clear();
+    myHeldFrame = null;
+
+    // the simulation is ahead by every frame computed but not shown
+    if (mySimulation.getTotalIterations() != myShownGeneration
+        && !mySimulation.seek(myShownGeneration)) {
+      logger.warn("Playback could not go back to generation {}, it stays at {}",
+          myShownGeneration, mySimulation.getTotalIterations());
+    }
+  }
+
+  /**
+   * Drops the frames not taken yet and computes them again from the last generation taken, for
+   * when the simulation was changed while the buffer was stopped in a way that makes them wrong,
+   * such as a parameter edit.
+   *
+   * @throws SimulationException if the simulation cannot be put back
+   */
+  public void invalidate() {
+    boolean wasRunning = isRunning();
+    discard();
+    if (wasRunning) {
+      start();
+    }
+  }
+
+  /**
+   * Returns whether the buffer is stepping the simulation.
+   *
+   * @return {@code true} if started and not stopped since
+   */
+  public boolean isRunning() {
+    return myProducer != null;
+  }
+
+  // Start of Helper methods ------
+
+  private void produce() {
+    PlaybackFrame frame = myHeldFrame;
+    myHeldFrame = null;
+    try {
+      while (running) {
+        if (frame == null) {
+          mySimulation.step();
+          frame = PlaybackFrame.of(mySimulation);
+        }
+        while (!myFrames.offer(frame, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+          // the ring is full until playback takes a frame
+          if (!running) {
+            myHeldFrame = frame;
+            return;
+          }
+        }
+        if (frame.isPauseRequested()) {
+          return;
+        }
+        frame = null;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (SimulationException e) {
+      logger.error("Playback stopped stepping the simulation: ", e);
+      myFailure = e;
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package cellsociety.model.simulation;
+
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code PlaybackFrame} class is an immutable copy of the cell states of a simulation at one
+ * generation, so it can be shown while the simulation itself has already moved on.
+ *
+ * <p>Frames are produced by a {@link PlaybackBuffer} or a {@link SimulationWorker} on its own
+ * thread and read on another, which is safe since nothing in a frame changes after it is
+ * created. Along with the states, a frame counts how many cells are in each state, so a legend can
+ * show them without going over the grid again.</p>
+ *
+ * @author Jessica Chen
+ */
+public final class PlaybackFrame {
+
+  private static final Logger logger = LogManager.getLogger(PlaybackFrame.class);
+
+  private final int generation;
+  private final int rows;
+  private final int cols;
+  private final int[] states;
+  // stateCounts[s] is how many cells are in state s
+  private final int[] stateCounts;
+  private final boolean pauseRequested;
+
+  private PlaybackFrame(int generation, int rows, int cols, int[] states, int[] stateCounts,
+      boolean pauseRequested) {
+    this.generation = generation;
+    this.rows = rows;
+    this.cols = cols;
+    this.states = states;
+    this.stateCounts = stateCounts;
+    this.pauseRequested = pauseRequested;
+  }
+
+  /**
+   * Copies the current states of a simulation.
+   *
+   * @param simulation - the simulation, which must not be stepped while it is copied
+   * @return the frame of the current generation
+   */
+  static PlaybackFrame of(Simulation<?> simulation) {
+    int rows = simulation.getXmlDataObject().getGridRowNum();
+    int cols = simulation.getXmlDataObject().getGridColNum();
+    int[] states = new int[rows * cols];
+    int maxState = 0;
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        int state = simulation.getCurrentState(row, col);
+        states[row * cols + col] = state;
+        maxState = Math.max(maxState, state);
+      }
+    }
+
+    int[] stateCounts = new int[maxState + 1];
+    for (int state : states) {
+      if (state >= 0) {
+        stateCounts[state]++;
+      }
+    }
+    return new PlaybackFrame(simulation.getTotalIterations(), rows, cols, states, stateCounts,
+        simulation.shouldPauseForCycle());
+  }
+
+  /**
+   * Returns the generation the frame was copied at.
+   *
+   * @return the generation of the frame
+   */
+  public int getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Returns the state of a cell in the frame.
+   *
+   * @param row - the row of the cell
+   * @param col - the column of the cell
+   * @return the state of the cell at the generation of the frame
+   * @throws SimulationException if the position is outside the grid
+   */
+  public int getState(int row, int col) {
+    if (row < 0 || row >= rows || col < 0 || col >= cols) {
+      logger.error("Cannot get frame state at: {} {}", row, col);
+      throw new SimulationException("InvalidGridPosition",
+          List.of(String.valueOf(row), String.valueOf(col),
+              String.valueOf(rows), String.valueOf(cols)));
+    }
+    return states[row * cols + col];
+  }
+
+  /**
+   * Returns how many cells are in a state in the frame.
+   *
+   * @param state - the state to count
+   * @return the number of cells in that state, 0 for a state no cell is in
+   */
+  public int getStateCount(int state) {
+    return state >= 0 && state < stateCounts.length ? stateCounts[state] : 0;
+  }
+
+  /**
+   * Returns whether playback should pause once this frame is shown, because the simulation
+   * reached a cycle and was asked to pause on one (see {@link Simulation#setPauseOnCycle(boolean)}).
+   *
+   * @return {@code true} if playback should pause at this frame
+   */
+  public boolean isPauseRequested() {
+    return pauseRequested;
+  }
+
+  /**
+   * Returns the number of rows of the frame.
+   *
+   * @return the number of rows
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of columns of the frame.
+   *
+   * @return the number of columns
+   */
+  public int getCols() {
+    return cols;
+  }
+}
@@ -1,14 +1,25 @@
 package cellsociety.model.simulation;
 
 import cellsociety.model.simulation.cell.Cell;
+import cellsociety.model.simulation.engine.DensitySwitchingEngine;
+import cellsociety.model.simulation.engine.EngineFactory;
+import cellsociety.model.simulation.engine.FireClusterStatistics;
+import cellsociety.model.simulation.engine.FireEngine;
+import cellsociety.model.simulation.engine.SimulationEngine;
 import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.history.CheckpointHistory;
+import cellsociety.model.simulation.history.GenerationHistory;
+import cellsociety.model.simulation.history.HistoryFile;
+import cellsociety.model.simulation.history.HistoryPolicy;
 import cellsociety.model.simulation.parameters.GenericParameters;
 import cellsociety.model.simulation.rules.Rule;
 import cellsociety.model.util.SimulationTypes.SimType;
 import cellsociety.model.util.XmlData;
 
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -17,7 +28,9 @@ import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
 import cellsociety.model.util.constants.GridTypes.ShapeType;
 import cellsociety.model.util.exceptions.SimulationException;
 import java.lang.reflect.Constructor;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -55,6 +68,19 @@ public class Simulation<T extends Cell<T, Rule<T>>> {
   private final XmlData myXmlData;
   private Grid<T> myGrid;
   private GenericParameters myParameters;
+  private Rule<T> myRule;
+  private SimulationEngine myEngine;
+  private GenerationHistory myHistory;
+  private CheckpointHistory myCheckpoints;
+  // holds only generation 0, for reset
+  private CheckpointHistory myInitialState;
+  private HistoryPolicy myHistoryPolicy = HistoryPolicy.LAST_N;
+  private int myCheckpointInterval = 1;
+  private boolean pauseOnCycle;
+  private boolean fastForwardOnCycle;
+  // kept here rather than in the engine so they outlive every engine rebuild
+  private boolean fireStatisticsEnabled;
+  private FireClusterStatistics myFireStatistics;
 
   private static final String CELL_PACKAGE = "cellsociety.model.simulation.cell.";
 
@@ -82,6 +108,44 @@ public class Simulation<T extends Cell<T, Rule<T>>> {
   }
 
 
+  /**
+   * Helper method: sets up a copy of a simulation at its current generation, see {@link #fork()}.
+   */
+  private Simulation(Simulation<T> parent) {
+    try {
+      myXmlData = parent.forkXmlData();
+      myGrid = new Grid<>();
+      myRule = setUpRules(getSimulationType());
+      Grid<T> parentGrid = parent.myGrid;
+      setUpGridStructure(createCells(getSimulationType(), myRule), parentGrid.getShape(),
+          parentGrid.getNeighborhood(), parentGrid.getEdgeType());
+
+      totalIterations = parent.totalIterations;
+      if (parent.isRecordingCells()) {
+        myHistory = parent.myHistory.fork(myGrid.getCells());
+      } else {
+        // the parent's cell history is behind its cells, so the copy starts from a frame of them
+        CheckpointHistory current = new CheckpointHistory(parentGrid.getCells());
+        current.capture(totalIterations, 1);
+        current.fork(myGrid.getCells()).restore(totalIterations);
+        myHistory = new GenerationHistory(myGrid.getCells(), totalIterations);
+      }
+      myCheckpoints = parent.myCheckpoints.fork(myGrid.getCells());
+      myInitialState = parent.myInitialState.fork(myGrid.getCells());
+      myHistoryPolicy = parent.myHistoryPolicy;
+      myCheckpointInterval = parent.myCheckpointInterval;
+      pauseOnCycle = parent.pauseOnCycle;
+      fastForwardOnCycle = parent.fastForwardOnCycle;
+      fireStatisticsEnabled = parent.fireStatisticsEnabled;
+      if (parent.myEngine != null) {
+        myEngine = createEngine();
+      }
+    } catch (SimulationException e) {
+      logger.error("Failed to fork simulation: ", e);
+      throw new SimulationException(e);
+    }
+  }
+
   /**
    * Helper method: validates XmlData and stores it.
    *
@@ -113,11 +177,16 @@ public class Simulation<T extends Cell<T, Rule<T>>> {
   private void setUpSimulation() {
     try {
       SimType simType = myXmlData.getType();
-      myGrid = new Grid();
+      myGrid = new Grid<>();
 
-      Rule<T> rule = setUpRules(simType);
-      List<T> cellList = createCells(simType, rule);
-      setUpGridStructure(cellList);
+      myRule = setUpRules(simType);
+      List<T> cellList = createCells(simType, myRule);
+      setUpGridStructure(cellList, myXmlData.getShape(), myXmlData.getNeighborhood(),
+          myXmlData.getEdge());
+      myHistory = new GenerationHistory(myGrid.getCells(), 0);
+      myCheckpoints = new CheckpointHistory(myGrid.getCells());
+      myInitialState = new CheckpointHistory(myGrid.getCells());
+      myInitialState.capture(0, 1);
     } catch (SimulationException e) {
       logger.error("Failed to set up simulation: ", e);
       throw new SimulationException(e);
@@ -125,6 +194,7 @@ public class Simulation<T extends Cell<T, Rule<T>>> {
   }
 
 
+  @SuppressWarnings("unchecked")
   private Rule<T> setUpRules(SimType simType) {
     Rule<T> rule;
 
@@ -143,6 +213,7 @@ public class Simulation<T extends Cell<T, Rule<T>>> {
   }
 
 
+  @SuppressWarnings("unchecked")
   private List<T> createCells(SimType simType, Rule<T> rule) {
     List<T> cellList = new ArrayList<>();
 
@@ -165,10 +236,13 @@ public class Simulation<T extends Cell<T, Rule<T>>> {
     return cellList;
   }
 
-  private void setUpGridStructure(List<T> cellList) {
+  private void setUpGridStructure(List<T> cellList, ShapeType shape,
+      NeighborhoodType neighborhood, EdgeType edge) {
     try {
+      myGrid.setNeighborViews(myRule.getNeighborViews());
+      myGrid.setStateLayout(myRule.getStateLayout());
       myGrid.constructGrid(cellList, myXmlData.getGridRowNum(), myXmlData.getGridColNum(),
-          myXmlData.getShape(), myXmlData.getNeighborhood(), myXmlData.getEdge());
+          shape, neighborhood, edge);
     } catch (SimulationException e) {
       throw new SimulationException(e);
     }
@@ -176,31 +250,353 @@ public class Simulation<T extends Cell<T, Rule<T>>> {
 
   // Start of Public API calls for Simulation ------
 
+  /**
+   * Returns an independent copy of the simulation at its current generation, for comparing what
+   * happens after a change such as {@link #updateParameter(String, double)} without disturbing
+   * this one or reading the configuration and stepping again from the start.
+   *
+   * <p>The copy has the same cells, parameters, topology, history policy and engine as this one.
+   * Recorded steps, keyframes and checkpoints are never changed once kept, so the two share them
+   * and can both step back or seek to any generation recorded before the fork. Only what each
+   * records afterward is its own, and this simulation's history is left as it was. A history file
+   * this simulation spills to stays with it. When steps are not all recorded, under a checkpoint
+   * policy or with an engine growing past the grid, the copy's step history starts at the
+   * fork.</p>
+   *
+   * @return a new simulation at the same generation
+   * @throws SimulationException if the copy cannot be set up
+   */
+  public Simulation<T> fork() {
+    try {
+      if (myEngine != null) {
+        myEngine.writeToGrid();
+      }
+      return new Simulation<>(this);
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
   // API Calls for use in cell view ---
 
   // Simulation Related
 
   /**
-   * Moves the simulation backward by one step if all cells can revert to a previous state. If not,
-   * the simulation remains unchanged and a warning is logged. If successful, it also decrements the
+   * Moves the simulation backward by one step if there is a recorded step to revert. If not, the
+   * simulation remains unchanged and a warning is logged. If successful, it also decrements the
    * cell state length metadata and the total iteration count.
    *
+   * <p>Steps are recorded as the cells they changed (see {@link GenerationHistory}), so up to
+   * {@code maxHistorySize} steps can be reverted at a cost proportional to how much changed. Under
+   * the {@link HistoryPolicy#EVERY_K} and {@link HistoryPolicy#ON_DEMAND} policies the simulation
+   * goes back to the newest checkpoint before the current generation instead, and under
+   * {@link HistoryPolicy#OFF} it cannot step back.
+   *
+   * <p>While an engine is active its steps are recorded the same way, with every cell's attributes
+   * such as a shark's energy or a creature's next instruction, and the engine starts over from the
+   * restored cells. An engine growing past the grid reverts through its own history instead, and
+   * once that runs out, generations from before the engine was switched on are restored from the
+   * frames above.</p>
+   *
    * @throws SimulationException If an error occurs during step back. This should never be thrown
-   *                             due to precautions in Cell (should not be possible to have no
-   *                             history).
+   *                             since recorded states were valid when they were recorded.
    */
   public void stepBack() {
-    if (myGrid.getCells().stream().allMatch(Cell::stepBack)) {
-      totalIterations--;
-    } else {
+    try {
+      if (myHistoryPolicy != HistoryPolicy.LAST_N) {
+        if (!restoreCheckpoint(totalIterations - 1)) {
+          logger.warn("Step back not possible, there is no earlier checkpoint");
+        }
+      } else if (!isRecordingCells()) {
+        stepBackEngine();
+      } else if (myHistory.stepBack()) {
+        totalIterations--;
+        restartEngine();
+      } else {
+        logger.warn("Step back not possible, simulation remains at the current state");
+      }
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  private void stepBackEngine() {
+    if (!stepBackEngineOnce()) {
       logger.warn("Step back not possible, simulation remains at the current state");
     }
   }
 
+  /**
+   * Helper method: reverts one engine step, falling back on the frames recorded before the engine
+   * was switched on once its own history runs out.
+   */
+  private boolean stepBackEngineOnce() {
+    if (myEngine.stepBack()) {
+      totalIterations--;
+      return true;
+    }
+    if (myHistory.getGeneration() != totalIterations || !myHistory.stepBack()) {
+      return false;
+    }
+    totalIterations--;
+    // the engine starts over from the restored cells
+    myEngine = createEngine();
+    return true;
+  }
+
+  /**
+   * Moves the simulation to the given generation.
+   *
+   * <ul>
+   *   <li>Generations still in the history are restored from the nearest keyframe or the current
+   *   generation, whichever is closer (see {@link GenerationHistory}), so moving back and forth
+   *   through a long run does not step again. Generations after the target stay recorded until the
+   *   next {@link #step()}.</li>
+   *   <li>Generations past the newest one recorded are reached by stepping forward, or by repeating
+   *   the cycle the grid is in if {@link #setFastForwardOnCycle(boolean)} is on.</li>
+   *   <li>While an engine growing past the grid is active, generations before the current one are
+   *   reached by stepping back one at a time through the engine's own history, see
+   *   {@link #stepBack()}.</li>
+   *   <li>Unless the history policy is {@link HistoryPolicy#LAST_N}, generations before the current
+   *   one are reached by stepping forward from the newest checkpoint before them.</li>
+   * </ul>
+   *
+   * @param generation - the generation to move to
+   * @return {@code true} if the simulation is now at the generation, {@code false} if it is older
+   * than the history kept, in which case the simulation is at the oldest generation it could reach
+   * @throws SimulationException if an error occurs while stepping forward
+   */
+  public boolean seek(int generation) {
+    try {
+      if (myHistoryPolicy != HistoryPolicy.LAST_N) {
+        return seekCheckpoint(generation);
+      }
+      if (!isRecordingCells()) {
+        return seekEngine(generation);
+      }
+      if (myHistory.seek(generation)) {
+        totalIterations = generation;
+        restartEngine();
+        return true;
+      }
+      if (generation < myHistory.getFirstGeneration()) {
+        logger.warn("Generation {} is no longer in the history", generation);
+        return false;
+      }
+
+      myHistory.seek(myHistory.getLastGeneration());
+      if (fastForwardOnCycle) {
+        myHistory.repeatCycle(generation, (int) myParameters.getParameter("maxHistorySize"));
+      }
+      totalIterations = myHistory.getGeneration();
+      restartEngine();
+      while (totalIterations < generation) {
+        step();
+      }
+      return true;
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Returns the period of the cycle the grid is in, if the newest generation repeats an earlier
+   * one still in the history, such as 1 for a still life or 2 for a blinker (see
+   * {@link GenerationHistory#getCyclePeriod()}).
+   *
+   * @return the period of the cycle, or 0 if none was found or an engine growing past the grid
+   * is active
+   */
+  public int getCyclePeriod() {
+    return isRecordingCells() ? myHistory.getCyclePeriod() : 0;
+  }
+
+  /**
+   * Sets whether the simulation asks to be paused once it settles into a cycle, see
+   * {@link #shouldPauseForCycle()}. Off by default.
+   *
+   * @param enabled - whether to pause on a cycle
+   */
+  public void setPauseOnCycle(boolean enabled) {
+    pauseOnCycle = enabled;
+  }
+
+  /**
+   * Returns whether whoever is playing the simulation should pause it, because pausing on cycles
+   * is on and the grid is in one.
+   *
+   * @return {@code true} if the simulation should be paused
+   */
+  public boolean shouldPauseForCycle() {
+    return pauseOnCycle && getCyclePeriod() > 0;
+  }
+
+  /**
+   * Sets whether {@link #seek(int)} reaches generations past the newest one by repeating the
+   * cycle the grid is in instead of stepping every cell. Only turn on for simulation types whose
+   * rule has no randomness, since otherwise a repeated grid does not mean repeated steps. Off by
+   * default.
+   *
+   * @param enabled - whether to fast forward through cycles
+   */
+  public void setFastForwardOnCycle(boolean enabled) {
+    fastForwardOnCycle = enabled;
+  }
+
+  private boolean seekCheckpoint(int generation) {
+    if (generation < totalIterations && !restoreCheckpoint(generation)) {
+      logger.warn("Generation {} is older than every checkpoint", generation);
+      return false;
+    }
+    while (totalIterations < generation) {
+      step();
+    }
+    return true;
+  }
+
+  private boolean restoreCheckpoint(int generation) {
+    OptionalInt restored = myCheckpoints.restore(generation);
+    if (restored.isEmpty()) {
+      return false;
+    }
+    totalIterations = restored.getAsInt();
+    restartEngine();
+    return true;
+  }
+
+  /**
+   * Puts every cell back the way the configuration set it up at generation 0, in place. The grid,
+   * topology, rule and current parameter values are kept, so this is much faster than creating the
+   * simulation again. Everything recorded for stepping back is dropped.
+   *
+   * @throws SimulationException if an initial state is no longer valid for its cell
+   */
+  public void reset() {
+    try {
+      myInitialState.restore(0);
+      totalIterations = 0;
+      myHistory.restart(0);
+      myCheckpoints.clear();
+      restartEngine();
+      if (myHistoryPolicy == HistoryPolicy.EVERY_K) {
+        checkpoint();
+      }
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Sets how the simulation captures the generations it can go back to, see
+   * {@link HistoryPolicy}. Whatever was captured under the previous policy is dropped, and
+   * {@link HistoryPolicy#EVERY_K} starts with a checkpoint of the current generation.
+   *
+   * @param policy - the history policy, {@link HistoryPolicy#LAST_N} by default
+   * @throws SimulationException if the checkpoint cannot be captured
+   */
+  public void setHistoryPolicy(HistoryPolicy policy) {
+    try {
+      myHistoryPolicy = policy;
+      myCheckpoints.clear();
+      if (myEngine != null) {
+        myEngine.writeToGrid();
+      }
+      myHistory.restart(totalIterations);
+      if (myEngine != null) {
+        myEngine.setHistoryEnabled(keepsEngineHistory(myEngine));
+      }
+      if (policy == HistoryPolicy.EVERY_K) {
+        checkpoint();
+      }
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Returns how the simulation captures the generations it can go back to.
+   *
+   * @return the history policy
+   */
+  public HistoryPolicy getHistoryPolicy() {
+    return myHistoryPolicy;
+  }
+
+  /**
+   * Sets how many generations apart checkpoints are captured under
+   * {@link HistoryPolicy#EVERY_K}.
+   *
+   * @param interval - the number of generations between checkpoints, at least 1
+   * @throws SimulationException if the interval is below 1
+   */
+  public void setCheckpointInterval(int interval) {
+    if (interval < 1) {
+      logger.error("Invalid checkpoint interval: {}", interval);
+      throw new SimulationException("InvalidParameterValue", List.of("checkpointInterval"));
+    }
+    myCheckpointInterval = interval;
+  }
+
+  /**
+   * Captures the current generation as a checkpoint, which {@link #stepBack()} and
+   * {@link #seek(int)} return to under the {@link HistoryPolicy#EVERY_K} and
+   * {@link HistoryPolicy#ON_DEMAND} policies. Checkpoints after the current generation are
+   * dropped, and at most {@code maxHistorySize} are kept.
+   *
+   * @throws SimulationException if the cells cannot be captured
+   */
+  public void checkpoint() {
+    try {
+      if (myEngine != null) {
+        myEngine.writeToGrid();
+      }
+      myCheckpoints.capture(totalIterations, (int) myParameters.getParameter("maxHistorySize"));
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  private boolean seekEngine(int generation) {
+    while (totalIterations > generation) {
+      if (!stepBackEngineOnce()) {
+        logger.warn("Generation {} is no longer in the engine's history", generation);
+        return false;
+      }
+    }
+    while (totalIterations < generation) {
+      step();
+    }
+    return true;
+  }
+
+  /**
+   * Keeps the generations dropped from the history of cell stepping in a file instead of losing
+   * them, so {@link #seek(int)} can reach any generation of the run while only the newest are kept
+   * in memory (see {@link HistoryFile}). The file is not written while an engine growing past the
+   * grid is active.
+   *
+   * @param file - where to write the history, replacing any file there, or {@code null} to stop
+   *             and close the current file
+   * @throws SimulationException if the file cannot be written or closed
+   */
+  public void setHistoryFile(Path file) {
+    try {
+      if (file == null) {
+        myHistory.stopSpilling();
+      } else {
+        myHistory.spillTo(file, myGrid.getRows(), myGrid.getCols());
+      }
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
   /**
    * Advances the simulation forward by one step. This method calculates the next state for all
-   * cells, applies the state changes, resets parameters, and saves the current state for potential
-   * rollback.
+   * cells, applies the state changes, resets parameters, and records the cells that changed for
+   * potential rollback. With an engine active, the engine steps instead and the cells it lists as
+   * changed are recorded without writing the cells, which are brought up to date when they are
+   * next needed.
    *
    * @throws SimulationException If an error occurs in stepping forward. This should never be thrown
    *                             due to precautions in Cell and Rule.
@@ -208,27 +604,66 @@ public class Simulation<T extends Cell<T, Rule<T>>> {
   public void step() {
     try {
       totalIterations++;
-      myGrid.getCells().forEach(Cell::calcNextState);
-      myGrid.getCells().forEach(Cell::step);
-      myGrid.getCells().forEach(Cell::resetParameters);
-      myGrid.getCells().forEach(Cell::saveCurrentState);
+      if (myEngine != null) {
+        myEngine.step();
+      } else {
+        myGrid.getCells().forEach(Cell::calcNextState);
+        myGrid.getCells().forEach(Cell::step);
+        myGrid.getCells().forEach(Cell::resetParameters);
+      }
+      if (isRecordingCells()) {
+        recordStep();
+      }
+
+      if (myHistoryPolicy == HistoryPolicy.EVERY_K
+          && totalIterations % myCheckpointInterval == 0) {
+        checkpoint();
+      }
     } catch (SimulationException e) {
       throw new SimulationException(e);
     }
   }
 
+  /**
+   * Helper method: records the step just taken. An engine that lists the cells it changed is
+   * recorded from that list and its cells are left to be written on demand, otherwise the cells
+   * are compared with the last generation.
+   */
+  private void recordStep() {
+    int maxHistorySize = (int) myParameters.getParameter("maxHistorySize");
+    Optional<int[]> changes =
+        myEngine == null ? Optional.empty() : myEngine.getLastStepChanges();
+    if (changes.isPresent()) {
+      myHistory.recordChanges(changes.get(), maxHistorySize);
+      return;
+    }
+    if (myEngine != null) {
+      myEngine.writeToGrid();
+    }
+    myHistory.recordStep(maxHistorySize);
+  }
+
   // Metadata Related
 
   /**
    * Retrieves the current state of the cell at the specified row and column within the grid.
    *
+   * <p>Positions outside the grid can only be read while a sparse engine is active on a grid
+   * with {@code UNBOUNDED} edges, since the cells that grew past the grid live in that engine; see
+   * {@link #getBoundingBox()}. With the engine off the grid is bounded and only its own positions
+   * can be read.</p>
+   *
    * @param row The row index of the target cell.
    * @param col The column index of the target cell.
    * @return The current state of the specified cell.
-   * @throws SimulationException If the specified row and column are out of bounds.
+   * @throws SimulationException If the specified row and column are out of bounds and no unbounded
+   *                             engine is active.
    */
   public int getCurrentState(int row, int col) {
     try {
+      if (isEngineCovering(row, col)) {
+        return myEngine.getState(row, col);
+      }
       return myGrid.getCell(row, col).getCurrentState();
     } catch (SimulationException e) {
       throw new SimulationException(e);
@@ -237,7 +672,8 @@ public class Simulation<T extends Cell<T, Rule<T>>> {
 
   /**
    * Retrieves the duration (number of steps) that the cell at the given position has remained in
-   * its current state.
+   * its current state. Positions outside the grid need an active unbounded engine, as with
+   * {@link #getCurrentState(int, int)}.
    *
    * @param row The row index of the cell.
    * @param col The column index of the cell.
@@ -246,12 +682,38 @@ public class Simulation<T extends Cell<T, Rule<T>>> {
    */
   public int getStateLength(int row, int col) {
     try {
+      if (isEngineCovering(row, col)) {
+        return myEngine.getStateLength(row, col);
+      }
       return myGrid.getCell(row, col).getStateLength();
     } catch (SimulationException e) {
       throw new SimulationException(e);
     }
   }
 
+  private boolean isEngineCovering(int row, int col) {
+    return myEngine != null && (myEngine.isUnbounded() || myGrid.isValidPosition(row, col));
+  }
+
+  /**
+   * Returns the smallest box holding the grid and, for an unbounded simulation, every cell that
+   * has grown past it, so callers know which positions are worth reading.
+   *
+   * @return {@code {minRow, minCol, maxRow, maxCol}}, inclusive
+   */
+  public int[] getBoundingBox() {
+    int[] box = {0, 0, myGrid.getRows() - 1, myGrid.getCols() - 1};
+    if (myEngine != null) {
+      myEngine.getBoundingBox().ifPresent(live -> {
+        box[0] = Math.min(box[0], live[0]);
+        box[1] = Math.min(box[1], live[1]);
+        box[2] = Math.max(box[2], live[2]);
+        box[3] = Math.max(box[3], live[3]);
+      });
+    }
+    return box;
+  }
+
   /**
    * Returns the current iteration number of the simulation.
    *
@@ -371,7 +833,196 @@ public class Simulation<T extends Cell<T, Rule<T>>> {
    *                             possible due to enum restrictions).
    */
   public void changeTopology(ShapeType shape, NeighborhoodType neighborhood, EdgeType edge) {
-    myGrid.setNeighborsAllCells(shape, neighborhood, edge);
+    try {
+      boolean engineEnabled = isEngineEnabled();
+      setEngineEnabled(false);
+      myGrid.setNeighborsAllCells(shape, neighborhood, edge);
+      myXmlData.setEdge(edge);
+      setEngineEnabled(engineEnabled);
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  // Engine Related
+
+  /**
+   * Turns stepping through a {@link SimulationEngine} on or off for this simulation.
+   *
+   * <p>Engines step flat state arrays instead of calling every cell, which is much faster for
+   * simulation types that have one (see {@link EngineFactory}). The states and state lengths carry
+   * over in both directions. Each generation the engine steps is recorded like a step of the cells,
+   * so stepping back, seeking and finding cycles work the same, except for an engine growing past
+   * the grid, whose step back history restarts whenever the engine is switched.
+   *
+   * @param enabled - whether to step through an engine
+   * @return {@code true} if an engine is active after the call, {@code false} if it was disabled
+   * or this simulation type has no engine
+   * @throws SimulationException if an engine exists for the simulation type but failed to be
+   *                             created
+   */
+  public boolean setEngineEnabled(boolean enabled) {
+    try {
+      if (!enabled) {
+        if (myEngine != null) {
+          boolean recorded = isRecordingCells();
+          myEngine.writeToGrid();
+          myEngine = null;
+          if (!recorded) {
+            myHistory.restart(totalIterations);
+          }
+        }
+        return false;
+      }
+
+      if (myEngine == null) {
+        myEngine = createEngine();
+      }
+      return myEngine != null;
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Returns whether the simulation is currently stepping through a {@link SimulationEngine}.
+   *
+   * @return {@code true} if an engine is active
+   */
+  public boolean isEngineEnabled() {
+    return myEngine != null;
+  }
+
+  /**
+   * Returns the active engine if it is of the given type, for engine specific features such as
+   * analytics.
+   *
+   * <p>An engine that switches between others, such as the {@link DensitySwitchingEngine} of a
+   * bounded Game of Life grid, is matched along with whichever engine it is currently stepping
+   * through, so asking for the dense or the sparse engine works either way.
+   *
+   * @param type - the engine class expected
+   * @param <E>  - the type of engine
+   * @return the active engine, or {@code Optional.empty()} if there is no active engine of that
+   * type
+   */
+  public <E extends SimulationEngine> Optional<E> getEngine(Class<E> type) {
+    if (myEngine == null) {
+      return Optional.empty();
+    }
+    return Stream.of(myEngine, myEngine.getActiveEngine()).filter(type::isInstance)
+        .map(type::cast).findFirst();
+  }
+
+  /**
+   * Turns recording of fire event sizes on or off for a Fire simulation, see
+   * {@link FireClusterStatistics}. Events are recorded while the {@link FireEngine} is active, and
+   * the same statistics carry on through anything that starts the engine over, such as stepping
+   * back, seeking, resetting, changing the topology or turning the engine off and on. Turning them
+   * off drops what was recorded.
+   *
+   * @param enabled - whether to record fire event sizes
+   * @return {@code true} if events are now being recorded, {@code false} if they are off, the
+   * simulation is not a Fire simulation, or its engine is not active yet, in which case recording
+   * starts when it is
+   */
+  public boolean setFireClusterStatisticsEnabled(boolean enabled) {
+    fireStatisticsEnabled = enabled;
+    if (!enabled) {
+      myFireStatistics = null;
+    }
+    getEngine(FireEngine.class).ifPresent(this::attachFireStatistics);
+    return myFireStatistics != null && isEngineEnabled();
+  }
+
+  /**
+   * Returns the fire event statistics of a Fire simulation, if they are being recorded.
+   *
+   * @return the statistics, or {@code Optional.empty()} if they are not enabled or the engine has
+   * not been active since they were
+   */
+  public Optional<FireClusterStatistics> getFireClusterStatistics() {
+    return Optional.ofNullable(myFireStatistics);
+  }
+
+  /**
+   * Helper method: hands the fire statistics of the simulation to a new fire engine, creating them
+   * the first time.
+   */
+  private void attachFireStatistics(FireEngine engine) {
+    if (!fireStatisticsEnabled) {
+      engine.setClusterStatisticsEnabled(false);
+    } else if (myFireStatistics == null) {
+      engine.setClusterStatisticsEnabled(true);
+      myFireStatistics = engine.getClusterStatistics().orElseThrow();
+    } else {
+      engine.setClusterStatistics(myFireStatistics);
+    }
+  }
+
+  /**
+   * Helper method: copies the configuration of the simulation with the current value of every
+   * parameter, so a fork starts from them and its updates do not reach this simulation.
+   */
+  private XmlData forkXmlData() {
+    XmlData data = new XmlData();
+    data.setType(myXmlData.getType());
+    data.setTitle(myXmlData.getTitle());
+    data.setAuthor(myXmlData.getAuthor());
+    data.setDescription(myXmlData.getDescription());
+    data.setTheme(myXmlData.getTheme());
+    data.setLanguage(myXmlData.getLanguage());
+    data.setReverseStateNum(myXmlData.getReverseStateNum());
+    data.setCustomColorMap(myXmlData.getCustomColorMap());
+    data.setGridRowNum(myXmlData.getGridRowNum());
+    data.setGridColNum(myXmlData.getGridColNum());
+    data.setEdge(myXmlData.getEdge());
+    data.setCellStateList(myXmlData.getCellStateList());
+
+    Map<String, Object> parameters = new HashMap<>(myXmlData.getParameters());
+    getParameterKeys().forEach(key -> parameters.put(key, getParameter(key)));
+    getAdditionalParameterKeys().forEach(key -> getAdditionalParameter(key, Object.class)
+        .ifPresent(value -> parameters.put(key, value)));
+    data.setParameters(parameters);
+    return data;
+  }
+
+  private SimulationEngine createEngine() {
+    SimulationEngine engine = EngineFactory.createEngine(getSimulationType(), myRule, myGrid)
+        .orElse(null);
+    if (engine != null) {
+      engine.setHistoryEnabled(keepsEngineHistory(engine));
+      if (engine instanceof FireEngine fireEngine) {
+        attachFireStatistics(fireEngine);
+      }
+    }
+    return engine;
+  }
+
+  /**
+   * Helper method: starts the active engine over from the cells, after they were restored.
+   */
+  private void restartEngine() {
+    if (myEngine != null) {
+      myEngine = createEngine();
+    }
+  }
+
+  /**
+   * Helper method: whether steps are recorded in the cell history, which holds every generation
+   * unless an engine keeps cells outside the grid.
+   */
+  private boolean isRecordingCells() {
+    return myHistoryPolicy == HistoryPolicy.LAST_N && (myEngine == null
+        || !myEngine.isUnbounded());
+  }
+
+  /**
+   * Helper method: whether the engine needs its own step back history, because the cell history
+   * cannot hold everything it steps.
+   */
+  private boolean keepsEngineHistory(SimulationEngine engine) {
+    return myHistoryPolicy == HistoryPolicy.LAST_N && engine.isUnbounded();
   }
 
   // API Calls for use in saving simulation information ---
@@ -433,6 +1084,9 @@ public class Simulation<T extends Cell<T, Rule<T>>> {
    * @return a list of all cells in the grid
    */
   List<T> getAllCells() {
+    if (myEngine != null) {
+      myEngine.writeToGrid();
+    }
     return myGrid.getCells();
   }
 }
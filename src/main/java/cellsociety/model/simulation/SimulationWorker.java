@@ -0,0 +1,173 @@
+package cellsociety.model.simulation;
+
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code SimulationWorker} class runs a simulation on a thread of its own and publishes every
+ * generation it finishes as an immutable {@link PlaybackFrame} through a single atomic reference.
+ *
+ * <p>Unlike a {@link PlaybackBuffer}, which hands over every generation in order, the worker only
+ * keeps the newest one. Whoever shows the simulation reads {@link #getLatest()} whenever it
+ * redraws, without locks and without waiting on a step, and skips the generations it was too slow
+ * to see. Since frames are never changed once published, swapping the reference is all it takes
+ * for a reader to always see a whole generation.</p>
+ *
+ * <p><b>Contract:</b> while the worker is running, only its thread touches the simulation. Stop it
+ * before anything else reads or changes the simulation. Once stopped, the simulation is at the
+ * generation of the latest frame.</p>
+ *
+ * <h2>Example Usage:</h2>
+ * <pre>
+ * SimulationWorker worker = new SimulationWorker(simulation);
+ * worker.setStepInterval(100);
+ * worker.start();
+ * // whenever the screen is redrawn
+ * draw(worker.getLatest());
+ * // before changing the simulation
+ * worker.stop();
+ * </pre>
+ *
+ * @author Jessica Chen
+ */
+public class SimulationWorker {
+
+  private static final Logger logger = LogManager.getLogger(SimulationWorker.class);
+
+  private final Simulation<?> mySimulation;
+  private final AtomicReference<PlaybackFrame> myLatest;
+  private Thread myThread;
+  private volatile boolean running;
+  private volatile long stepIntervalNanos;
+  private volatile SimulationException myFailure;
+
+  /**
+   * Creates a stopped worker for a simulation, publishing its current generation.
+   *
+   * @param simulation - the simulation to run
+   * @throws SimulationException if the simulation is null
+   */
+  public SimulationWorker(Simulation<?> simulation) {
+    if (simulation == null) {
+      logger.error("Simulation worker creation failed: Null simulation");
+      throw new SimulationException("NullParameter", List.of("simulation", "SimulationWorker()"));
+    }
+    mySimulation = simulation;
+    myLatest = new AtomicReference<>(PlaybackFrame.of(simulation));
+  }
+
+  /**
+   * Sets how long each step takes at least, so the simulation runs at a steady pace instead of as
+   * fast as it can. Takes effect right away, even on a step already being waited for.
+   *
+   * @param millis - the shortest time between two steps, 0 to step as fast as possible
+   * @throws SimulationException if the interval is negative
+   */
+  public void setStepInterval(long millis) {
+    if (millis < 0) {
+      logger.error("Invalid step interval: {}", millis);
+      throw new SimulationException("InvalidParameterValue", List.of("stepInterval"));
+    }
+    stepIntervalNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    LockSupport.unpark(myThread);
+  }
+
+  /**
+   * Starts running the simulation from its current generation. Does nothing if the worker is
+   * already running.
+   */
+  public void start() {
+    if (myThread != null) {
+      return;
+    }
+    myFailure = null;
+    myLatest.set(PlaybackFrame.of(mySimulation));
+    running = true;
+    myThread = new Thread(this::run, "simulation-worker");
+    myThread.setDaemon(true);
+    myThread.start();
+  }
+
+  /**
+   * Returns the newest generation the worker finished.
+   *
+   * @return the latest frame, never null
+   * @throws SimulationException if stepping the simulation failed, once
+   */
+  public PlaybackFrame getLatest() {
+    SimulationException failure = myFailure;
+    if (failure != null) {
+      myFailure = null;
+      throw new SimulationException(failure);
+    }
+    return myLatest.get();
+  }
+
+  /**
+   * Stops running the simulation, waiting for a step in progress to finish and be published. Does
+   * nothing if the worker is already stopped.
+   */
+  public void stop() {
+    if (myThread == null) {
+      return;
+    }
+    running = false;
+    LockSupport.unpark(myThread);
+    try {
+      myThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("Interrupted while stopping the simulation worker");
+    }
+    myThread = null;
+  }
+
+  /**
+   * Returns whether the worker is running the simulation.
+   *
+   * @return {@code true} if started and not stopped since
+   */
+  public boolean isRunning() {
+    return myThread != null;
+  }
+
+  // Start of Helper methods ------
+
+  private void run() {
+    try {
+      long stepStart = System.nanoTime();
+      while (running) {
+        mySimulation.step();
+        PlaybackFrame frame = PlaybackFrame.of(mySimulation);
+        myLatest.set(frame);
+        if (frame.isPauseRequested()) {
+          return;
+        }
+        stepStart = waitForNextStep(stepStart);
+      }
+    } catch (SimulationException e) {
+      logger.error("Simulation worker stopped stepping the simulation: ", e);
+      myFailure = e;
+    }
+  }
+
+  /**
+   * Parks until the step interval has passed since the last step started, or until stopped, and
+   * returns when the next step starts. A step that ran late does not make the next ones run early
+   * to catch up.
+   */
+  private long waitForNextStep(long lastStepStart) {
+    long now = System.nanoTime();
+    // the interval is read again after every wake up, in case it was changed
+    while (running && lastStepStart + stepIntervalNanos - now > 0) {
+      LockSupport.parkNanos(this, lastStepStart + stepIntervalNanos - now);
+      now = System.nanoTime();
+    }
+    return now;
+  }
+}
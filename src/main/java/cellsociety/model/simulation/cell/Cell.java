@@ -1,14 +1,12 @@
 package cellsociety.model.simulation.cell;
 
 import static cellsociety.model.util.constants.SimulationConstants.EXPECTED_POSITION_DIMENSION;
-import static cellsociety.model.util.constants.SimulationConstants.MIN_STATE_HISTORY;
 
 import cellsociety.model.simulation.rules.Rule;
 import cellsociety.model.util.constants.GridTypes.DirectionType;
 import cellsociety.model.util.exceptions.SimulationException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import org.apache.logging.log4j.LogManager;
@@ -23,7 +21,6 @@ import org.apache.logging.log4j.Logger;
  * <h2>Key Features:</h2>
  * <ul>
  *   <li>Maintains current and next states.</li>
- *   <li>Tracks simulation history for undo operations.</li>
  *   <li>Manages neighbor relationships (both general and directional).</li>
  *   <li>Uses the <b>Template Method Pattern</b> to standardize cell updates while allowing
  *   customization.</li>
@@ -60,9 +57,6 @@ public abstract class Cell<C extends Cell<C, R>, R extends Rule<C>> {
 
   private int stateLength;
 
-  private final List<Integer> stateHistory;
-  private final List<Integer> stateLengthHistory;
-
   /**
    * Constructs a cell with the specified initial state and a rule for determining its behavior.
    *
@@ -84,11 +78,6 @@ public abstract class Cell<C extends Cell<C, R>, R extends Rule<C>> {
 
       neighbors = new ArrayList<>();
       directionalNeighbors = Map.of();
-
-      stateHistory = new LinkedList<>();
-      stateLengthHistory = new LinkedList<>();
-
-      saveCurrentState();
     } catch (SimulationException e) {
       throw new SimulationException(e);
     }
@@ -96,86 +85,6 @@ public abstract class Cell<C extends Cell<C, R>, R extends Rule<C>> {
 
   // Start of API for Calculating and Stepping Through Simulatiojn ------
 
-  /**
-   * Saves the current state of the cell into a history for potential future retrievals such as
-   * state rollback or analysis. Ensures that the history maintains a maximum size defined by the
-   * rule's configuration.
-   *
-   * <p>The maximum allowed size for the state history is retrieved from the associated rule's
-   * parameters under the key "maxHistorySize". If the retrieved value is less than the predefined
-   * minimum size for history, a {@link SimulationException} is thrown indicating an invalid history
-   * size.
-   *
-   * <p>The method appends the current state to the history. If the history exceeds the configured
-   * maximum size, the oldest state is removed to preserve memory efficiency.
-   *
-   * @throws SimulationException if the
-   */
-  public void saveCurrentState() {
-    try {
-      int maxHistorySize = (int) myRule.getParameters().getParameter("maxHistorySize");
-      if (maxHistorySize < MIN_STATE_HISTORY) {
-        logger.error("Invalid maxHistorySize parameter: {}", maxHistorySize);
-        throw new SimulationException("InvalidHistorySize",
-            List.of(String.valueOf(maxHistorySize), String.valueOf(MIN_STATE_HISTORY)));
-      }
-
-      stateHistory.addLast(currentState);
-      stateLengthHistory.addLast(stateLength);
-
-      // basically we counting the first guy as negligible
-      // so if you have 1 that means you'll save one state you can go back to before you stuck
-
-      // the one is not a magic number, just how math works to make maxHistorySize work the
-      // way that is expected
-      if (stateHistory.size()  > maxHistorySize + 1) {
-        stateHistory.removeFirst();
-        stateLengthHistory.removeFirst();
-      }
-
-
-    } catch (SimulationException e) {
-      throw new SimulationException(e);
-    }
-
-  }
-
-  /**
-   * Moves the cell one step backward to its previous state.
-   *
-   * @return {@code true} if the step back was successful, {@code false} if history is insufficient.
-   * @throws SimulationException if no history is available.
-   */
-  public boolean stepBack() {
-    if (stateHistory.isEmpty()) {
-      // the way its set up history should never be empty since can't remove
-      // past 1 and on creation is set
-      logger.error("Step back failed: No history available.");
-      throw new SimulationException("NoHistory");
-    }
-
-    boolean success = false;
-
-    try {
-      if (stateHistory.size() > MIN_STATE_HISTORY) {
-        stateHistory.removeLast();
-        stateLengthHistory.removeLast();
-        success = true;
-      }
-
-      setCurrentState(stateHistory.getLast());
-      setNextState(stateHistory.getLast());
-
-      stateLength = stateHistory.getLast();
-
-    } catch (SimulationException e) {
-      // should never hit since it shouldn't be possible for state to have bad history
-      throw new SimulationException(e);
-    }
-
-    return success;
-  }
-
   /**
    * Calculates the next state of the cell based on its rule.
    *
@@ -261,6 +170,61 @@ public abstract class Cell<C extends Cell<C, R>, R extends Rule<C>> {
     // Intentionally left blank; override in subclasses if needed.
   }
 
+  /**
+   * Overwrites the state of the cell with a state that was calculated outside of the cell, for
+   * example by a simulation engine that steps the grid on its own arrays, or by a history moving
+   * the grid to another generation.
+   *
+   * @param state       - the state to restore
+   * @param stateLength - how long the cell has been in that state, must be at least 1
+   * @throws SimulationException if the state is invalid for the cell
+   */
+  public void restoreState(int state, int stateLength) {
+    try {
+      setCurrentState(state);
+      setNextState(state);
+      this.stateLength = Math.max(1, stateLength);
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Returns how many values besides its state the cell carries from one step to the next, such as
+   * the energy of a shark. Histories keep them next to the state so a restored cell behaves exactly
+   * as it did.
+   *
+   * <p>Override along with {@link #saveAttributes(int[], int)} and
+   * {@link #restoreAttributes(int[], int)} if needed, every cell of a type must return the same
+   * count.
+   *
+   * @return the number of attributes, 0 by default
+   */
+  public int getAttributeCount() {
+    return 0;
+  }
+
+  /**
+   * Writes the attributes of the cell into the array, starting at the offset.
+   *
+   * @param attributes - where to write {@link #getAttributeCount()} values
+   * @param offset     - the index of the first value
+   */
+  public void saveAttributes(int[] attributes, int offset) {
+    // Intentionally left blank; override in subclasses if needed.
+  }
+
+  /**
+   * Overwrites the attributes of the cell with values written by
+   * {@link #saveAttributes(int[], int)}. Call after {@link #restoreState(int, int)}.
+   *
+   * @param attributes - where to read {@link #getAttributeCount()} values from
+   * @param offset     - the index of the first value
+   */
+  public void restoreAttributes(int[] attributes, int offset) {
+    // Intentionally left blank; override in subclasses if needed.
+  }
+
   // Start of Abstract methods ------
 
   /**
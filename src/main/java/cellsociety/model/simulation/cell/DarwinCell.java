@@ -1,14 +1,18 @@
 package cellsociety.model.simulation.cell;
 
+import static cellsociety.model.util.constants.CellStates.DARWIN_EMPTY;
 import static cellsociety.model.util.constants.GridTypes.DirectionType.E;
 import static cellsociety.model.util.constants.SimulationConstants.NULL_STATE;
 
+import cellsociety.model.simulation.grid.Grid;
 import cellsociety.model.simulation.rules.DarwinRule;
 import cellsociety.model.simulation.rules.darwinhandler.DarwinCommandHandlerHelperMethods;
+import cellsociety.model.simulation.rules.darwinhandler.DarwinRay;
 import cellsociety.model.statefactory.CellStateFactory;
 import cellsociety.model.statefactory.handler.CellStateHandler;
 import cellsociety.model.util.SimulationTypes.SimType;
 import cellsociety.model.util.constants.GridTypes.DirectionType;
+import cellsociety.model.util.darwin.CompiledDarwinProgram;
 import cellsociety.model.util.darwin.DarwinCommand;
 import cellsociety.model.util.darwin.DarwinProgram;
 import cellsociety.model.util.darwin.DarwinProgramFactory;
@@ -37,6 +41,8 @@ public class DarwinCell extends Cell<DarwinCell, DarwinRule> {
   private DirectionType direction;
   private DirectionType nextDirection;
 
+  private DarwinRay sight;            // what the cell sees ahead this step, cleared on reset
+
 
   /**
    * Constructs a cell with the specified initial state and a rule for determining its behavior.
@@ -75,8 +81,7 @@ public class DarwinCell extends Cell<DarwinCell, DarwinRule> {
     // on all steps want to check for awaitingInfection
     // if this cell is in infection steps still
     if (DarwinCommandHandlerHelperMethods.checkStillInfecting(this, infectingCell,
-        (int) Math.round(this.getRule().getParameters().getParameter("nearbyAhead")),
-        infectingCell.getDirection())) {
+        (int) Math.round(this.getRule().getParameters().getParameter("nearbyAhead")))) {
       awaitingInfectionTimer--;
       if (awaitingInfectionTimer == 0) {
         // going to assume infection timer has been set as has old program
@@ -107,7 +112,7 @@ public class DarwinCell extends Cell<DarwinCell, DarwinRule> {
     }
 
     // empty cells should also not have to do anything
-    return getCurrentState() != getNextState();
+    return program == null || getCurrentState() != getNextState();
   }
 
   @Override
@@ -123,26 +128,33 @@ public class DarwinCell extends Cell<DarwinCell, DarwinRule> {
   public void resetParameters() {
     currentInstruction = nextInstruction;
     direction = nextDirection;
+    sight = null;
 
     infectedThisStep = false;
   }
 
   @Override
   protected DarwinCell getSelf() {
-    return null;
+    return this;
   }
 
   @Override
   protected int getMaxState() {
-    return 0;
+    // every species the handler has seen is a valid state, plus empty
+    return getSpeciesHandler().getStateInt().size();
   }
 
-
-  private DarwinProgram getProgramForSpecies(int species) {
+  private static CellStateHandler getSpeciesHandler() {
     // get the current handler for Darwin, xml should have already updated it with the state
-    CellStateHandler handler = CellStateFactory.getHandler(-1, SimType.Darwin, -1);
+    return CellStateFactory.getHandler(-1, SimType.Darwin, -1);
+  }
 
-    return DarwinProgramFactory.getProgram(handler.statetoString(species));
+  private DarwinProgram getProgramForSpecies(int species) {
+    // empty cells have no creature so no program to run
+    if (species == DARWIN_EMPTY) {
+      return null;
+    }
+    return DarwinProgramFactory.getProgram(getSpeciesHandler().statetoString(species));
   }
 
   public int getCurrentInstruction() {
@@ -156,6 +168,13 @@ public class DarwinCell extends Cell<DarwinCell, DarwinRule> {
     return program.getDarwinCommand(instruction);
   }
 
+  /**
+   * Returns the compiled form of the cell's current program, used by the rule's interpreter.
+   */
+  public CompiledDarwinProgram getCompiledProgram() {
+    return program.getCompiledProgram();
+  }
+
   /**
    * After rule applies, should set its next instruction to the instruction
    */
@@ -175,6 +194,82 @@ public class DarwinCell extends Cell<DarwinCell, DarwinRule> {
     nextDirection = direction;
   }
 
+  /**
+   * Overwrites where the creature is in its program and which way it faces, for example with
+   * values from a simulation engine that ran the creatures on its own arrays.
+   *
+   * <p>Call after {@link #restoreState(int, int)} so the program matches the restored species.
+   * Any infection in progress is cleared.</p>
+   *
+   * @param instruction - the 0-based instruction the creature's next turn starts from
+   * @param direction   - the direction the creature faces
+   */
+  public void restoreValues(int instruction, DirectionType direction) {
+    program = getProgramForSpecies(getCurrentState());
+    currentInstruction = instruction;
+    nextInstruction = instruction;
+    this.direction = direction;
+    nextDirection = direction;
+    sight = null;
+
+    awaitingInfectionTimer = NULL_STATE;
+    infectingCell = null;
+    infectedTimer = NULL_STATE;
+    oldProgram = NULL_STATE;
+    infectedThisStep = false;
+  }
+
+  /**
+   * Returns 6: the instruction, the direction, the infection timers, the species before the
+   * infection, and which neighbor is infecting the creature.
+   *
+   * @return the number of attributes
+   */
+  @Override
+  public int getAttributeCount() {
+    return 6;
+  }
+
+  @Override
+  public void saveAttributes(int[] attributes, int offset) {
+    attributes[offset] = currentInstruction;
+    attributes[offset + 1] = direction.ordinal();
+    attributes[offset + 2] = awaitingInfectionTimer;
+    attributes[offset + 3] = infectedTimer;
+    attributes[offset + 4] = oldProgram;
+    // the infecting cell can be further than a neighbor, so it is stored as its grid index
+    attributes[offset + 5] = infectingCell == null ? NULL_STATE
+        : getGrid().getIndex(infectingCell);
+  }
+
+  @Override
+  public void restoreAttributes(int[] attributes, int offset) {
+    restoreValues(attributes[offset], DirectionType.values()[attributes[offset + 1]]);
+    awaitingInfectionTimer = attributes[offset + 2];
+    infectedTimer = attributes[offset + 3];
+    oldProgram = attributes[offset + 4];
+    int infecting = attributes[offset + 5];
+    infectingCell = infecting == NULL_STATE ? null : getGrid().getCell(infecting);
+  }
+
+  /**
+   * Returns the cells the creature sees ahead in the direction it currently faces, casting the ray
+   * on the first call of a step and reusing it for the rest of the step.
+   *
+   * @param reach - how many cells ahead to look
+   */
+  public DarwinRay getSight(int reach) {
+    if (sight == null || !sight.matches(direction, reach)) {
+      sight = DarwinRay.cast(this, getGrid(), direction, reach);
+    }
+    return sight;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Grid<DarwinCell> getGrid() {
+    return (Grid<DarwinCell>) getRule().getGrid().orElse(null);
+  }
+
   public void setInfectingCell(DarwinCell infectingCell) {
     this.infectingCell = infectingCell;
   }
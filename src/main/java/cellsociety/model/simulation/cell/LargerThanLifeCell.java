@@ -0,0 +1,46 @@
+package cellsociety.model.simulation.cell;
+
+import static cellsociety.model.util.constants.CellStates.LARGERTHANLIFE_MAXSTATE;
+
+import cellsociety.model.simulation.rules.LargerThanLifeRule;
+
+/**
+ * The {@code LargerThanLifeCell} class represents a cell in a Larger than Life simulation, the
+ * Game of Life generalized to square neighborhoods of any range.
+ *
+ * <p>Cells are alive or dead like in the Game of Life, the difference is entirely in how
+ * {@link LargerThanLifeRule} counts their neighbors.</p>
+ *
+ * <h2>Example Usage:</h2>
+ * <pre>
+ * LargerThanLifeRule rule = new LargerThanLifeRule(parameters, grid);
+ * LargerThanLifeCell cell = new LargerThanLifeCell(LARGERTHANLIFE_ALIVE, rule);
+ * cell.calcNextState();
+ * cell.step();
+ * </pre>
+ *
+ * @author Jessica Chen
+ */
+public final class LargerThanLifeCell extends Cell<LargerThanLifeCell, LargerThanLifeRule> {
+
+  /**
+   * Constructs a {@code LargerThanLifeCell} with the specified initial state and rule.
+   *
+   * @param state the initial state of the cell (must be a valid Larger than Life state).
+   * @param rule  the {@code LargerThanLifeRule} governing cell behavior.
+   */
+  public LargerThanLifeCell(int state, LargerThanLifeRule rule) {
+    super(state, rule);
+    validateState(state, LARGERTHANLIFE_MAXSTATE);
+  }
+
+  @Override
+  protected LargerThanLifeCell getSelf() {
+    return this;
+  }
+
+  @Override
+  protected int getMaxState() {
+    return LARGERTHANLIFE_MAXSTATE;
+  }
+}
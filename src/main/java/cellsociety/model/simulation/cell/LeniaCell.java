@@ -0,0 +1,112 @@
+package cellsociety.model.simulation.cell;
+
+import static cellsociety.model.util.constants.CellStates.LENIA_MAXSTATE;
+
+import cellsociety.model.simulation.rules.LeniaRule;
+import cellsociety.model.util.exceptions.SimulationException;
+
+/**
+ * The {@code LeniaCell} class represents a cell in a Lenia simulation, a continuous automaton
+ * where every cell holds an amount between 0 and 1.
+ *
+ * <p>The amount is kept as one of {@code LENIA_MAXSTATE} evenly spaced levels, level
+ * {@code LENIA_FULL} being 1, so the cell works with the integer states of the grid, the XML files
+ * and the view. {@link LeniaRule#toValue(int)} and {@link LeniaRule#toLevel(double)} convert
+ * between the two.</p>
+ *
+ * <p>A {@link cellsociety.model.simulation.engine.LeniaEngine} steps on exact amounts and only
+ * rounds them to levels for the grid, so the cell also keeps the exact amount behind its level as
+ * its one attribute. Histories keep it next to the level, and an engine started from the cell
+ * continues from the exact amount instead of the rounded one. Any other change of the level resets
+ * the amount to the level's own value.</p>
+ *
+ * <h2>Example Usage:</h2>
+ * <pre>
+ * LeniaRule rule = new LeniaRule(parameters, grid);
+ * LeniaCell cell = new LeniaCell(LENIA_FULL, rule);
+ * cell.calcNextState();
+ * cell.step();
+ * </pre>
+ *
+ * @author Jessica Chen
+ */
+public final class LeniaCell extends Cell<LeniaCell, LeniaRule> {
+
+  private float myAmount;
+
+  /**
+   * Constructs a {@code LeniaCell} with the specified initial state and rule.
+   *
+   * @param state the initial level of the cell (from 0 to {@code LENIA_FULL}).
+   * @param rule  the {@code LeniaRule} governing cell behavior.
+   */
+  public LeniaCell(int state, LeniaRule rule) {
+    super(state, rule);
+    validateState(state, LENIA_MAXSTATE);
+  }
+
+  /**
+   * Sets the level of the cell, and the amount to the level's own value.
+   *
+   * @param state the new level of the cell
+   * @throws SimulationException if the level is out of range
+   */
+  @Override
+  public void setCurrentState(int state) {
+    try {
+      super.setCurrentState(state);
+      myAmount = (float) LeniaRule.toValue(state);
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Returns 1, the exact amount behind the level.
+   *
+   * @return the number of attributes
+   */
+  @Override
+  public int getAttributeCount() {
+    return 1;
+  }
+
+  @Override
+  public void saveAttributes(int[] attributes, int offset) {
+    attributes[offset] = Float.floatToIntBits(myAmount);
+  }
+
+  @Override
+  public void restoreAttributes(int[] attributes, int offset) {
+    restoreAmount(Float.intBitsToFloat(attributes[offset]));
+  }
+
+  /**
+   * Returns the exact amount of the cell, which rounds to its level.
+   *
+   * @return the amount, in {@code [0, 1]}
+   */
+  public float getAmount() {
+    return myAmount;
+  }
+
+  /**
+   * Overwrites the amount with one calculated outside of the cell, such as by a Lenia engine. Call
+   * after {@link #restoreState(int, int)} with an amount that rounds to the restored level.
+   *
+   * @param amount the exact amount, in {@code [0, 1]}
+   */
+  public void restoreAmount(float amount) {
+    myAmount = amount;
+  }
+
+  @Override
+  protected LeniaCell getSelf() {
+    return this;
+  }
+
+  @Override
+  protected int getMaxState() {
+    return LENIA_MAXSTATE;
+  }
+}
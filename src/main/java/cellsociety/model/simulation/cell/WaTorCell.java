@@ -137,6 +137,8 @@ public class WaTorCell extends Cell<WaTorCell, WaTorRule> {
 
         setNextState(WATOR_EMPTY);
         setCurrentState(WATOR_EMPTY);
+        myNextStepsSurvived = 0;
+        myNextEnergy = 0;
         updateStateLength();
       } else {
         updateStateLength();
@@ -201,6 +203,41 @@ public class WaTorCell extends Cell<WaTorCell, WaTorRule> {
     }
   }
 
+  /**
+   * Overwrites the steps survived and energy of the cell, for values calculated outside of the
+   * cell such as by a simulation engine.
+   *
+   * @param stepsSurvived - the number of steps the fish or shark in the cell has survived
+   * @param energy        - the energy of the shark in the cell, 0 otherwise
+   */
+  public void restoreValues(int stepsSurvived, int energy) {
+    myStepsSurvived = stepsSurvived;
+    myEnergy = energy;
+    myNextStepsSurvived = stepsSurvived;
+    myNextEnergy = energy;
+  }
+
+  /**
+   * Returns 2, the steps survived and the energy of the fish or shark in the cell.
+   *
+   * @return the number of attributes
+   */
+  @Override
+  public int getAttributeCount() {
+    return 2;
+  }
+
+  @Override
+  public void saveAttributes(int[] attributes, int offset) {
+    attributes[offset] = myStepsSurvived;
+    attributes[offset + 1] = myEnergy;
+  }
+
+  @Override
+  public void restoreAttributes(int[] attributes, int offset) {
+    restoreValues(attributes[offset], attributes[offset + 1]);
+  }
+
   // Start of Setters and Getters ------
 
   /**
@@ -18,8 +18,8 @@
  *       logic, making state management and retrieval efficient.</li>
  *   <li><b>Flexible State Transitions:</b> Cells interact with their corresponding {@code Rule}
  *       to determine their next state, promoting separation of concerns.</li>
- *   <li><b>History Tracking:</b> Supports state rollback for debugging and step-back
- *   functionality.</li>
+ *   <li><b>Restorable State:</b> Cells can be restored to a state and attributes recorded
+ *   earlier, which the simulation's history uses for step-back functionality.</li>
  * </ul>
  *
  * <h2>📌 SOLID Principles in Design:</h2>
@@ -89,6 +89,11 @@
  *   {@link cellsociety.model.simulation.cell.WaTorCell},
  *   {@link cellsociety.model.simulation.cell.RockPaperScissCell}
  *   - Cells for social and ecological simulations.</li>
+ *   <li>{@link cellsociety.model.simulation.cell.GameOfLifeCell},
+ *   {@link cellsociety.model.simulation.cell.LargerThanLifeCell}
+ *   - Alive or dead cells for life-like simulations.</li>
+ *   <li>{@link cellsociety.model.simulation.cell.LeniaCell}
+ *   - Cells holding a continuous amount, kept as evenly spaced levels.</li>
  * </ul>
  *
  * <h2>🔹 Extending the System:</h2>
@@ -0,0 +1,479 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.SimulationConstants.MIN_STATE_HISTORY;
+
+import cellsociety.model.simulation.cell.Cell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.grid.GridTopology;
+import cellsociety.model.simulation.history.GenerationHistory;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.util.constants.GridTypes.StateLayoutType;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code ArrayEngine} class is the base for engines that keep the states of a grid in a flat
+ * row-major array.
+ *
+ * <p>Subclasses only decide which cells change on a step by calling
+ * {@link #queueChange(int, int)} from {@link #advance()}. This class then:
+ * <ul>
+ *   <li>Applies the queued changes all at once, so every change is based on the previous step.</li>
+ *   <li>Tracks state lengths as the generation each cell last changed, so unchanged cells cost
+ *   nothing per step.</li>
+ *   <li>Records only the changed cells of each step as history, bounded by the
+ *   {@code maxHistorySize} parameter the same way the simulation bounds its own history.</li>
+ *   <li>Lists the cells each step changed for {@link #getLastStepChanges()}, so the simulation
+ *   records the step without touching the other cells.</li>
+ * </ul>
+ *
+ * <p>Engines that keep more than a state per cell, such as the energy of an animal, return it
+ * from {@link #saveAttributes()} before each step and get it back in
+ * {@link #restoreAttributes(int[])} when that step is reverted, so stepping back restores them
+ * exactly. They also write it in the layout of the cell's attributes from
+ * {@link #saveCellAttributes(int, int[], int)}, and list every cell whose attributes a step
+ * changed with {@link #markChanged(int)}.</p>
+ *
+ * @author Jessica Chen
+ */
+public abstract class ArrayEngine implements SimulationEngine {
+
+  private static final Logger logger = LogManager.getLogger(ArrayEngine.class);
+
+  // each recorded change is stored as index, old state, old changedAt
+  private static final int RECORD_WIDTH = 3;
+  // attributes of a step when the engine saved none, or the step came from another engine
+  private static final int[] NO_ATTRIBUTES = new int[0];
+
+  private final List<? extends Cell<?, ?>> myCells;
+  private final GridTopology myTopology;
+  private final GenericParameters myParameters;
+
+  private final int[] states;
+  private final int[] changedAt;
+  private int generation;
+
+  private final IntList pendingChanges;
+  // every cell the last step changed, listed once, marked with the round of the step
+  private final IntList stepChanges;
+  private final int[] changedRound;
+  private int round;
+  private final Deque<int[]> history;
+  // the attributes saved before each step in history, in the same order
+  private final Deque<int[]> attributeHistory;
+  private boolean historyEnabled;
+
+  /**
+   * Copies the current states and state lengths of the grid into the engine.
+   *
+   * @param grid       - a constructed grid whose cells are stepped by this engine
+   * @param parameters - the parameters of the simulation's rule
+   * @throws SimulationException if the grid has not been constructed
+   */
+  protected ArrayEngine(Grid<?> grid, GenericParameters parameters) {
+    try {
+      myTopology = grid.getTopology();
+      myCells = cellsInIndexOrder(grid);
+      myParameters = parameters;
+
+      states = new int[myCells.size()];
+      changedAt = new int[myCells.size()];
+      for (int i = 0; i < myCells.size(); i++) {
+        states[i] = myCells.get(i).getCurrentState();
+        // so that generation - changedAt + 1 is the current state length at generation 0
+        changedAt[i] = 1 - myCells.get(i).getStateLength();
+      }
+
+      pendingChanges = new IntList();
+      stepChanges = new IntList();
+      changedRound = new int[myCells.size()];
+      history = new ArrayDeque<>();
+      attributeHistory = new ArrayDeque<>();
+      historyEnabled = true;
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Decides the changes of one step by calling {@link #queueChange(int, int)}.
+   *
+   * <p>States read through {@link #getState(int)} still reflect the previous step while this runs.
+   */
+  protected abstract void advance();
+
+  /**
+   * Hook called before each step while history is on, returning the values the subclass keeps
+   * besides the states that the step may change.
+   *
+   * <p>Default hook saves nothing and returns {@code null}.
+   *
+   * @return the values to hand back to {@link #restoreAttributes(int[])} if the step is reverted,
+   *     or {@code null} if there are none
+   */
+  protected int[] saveAttributes() {
+    return null;
+  }
+
+  /**
+   * Hook called when a step is reverted, with the values {@link #saveAttributes()} returned before
+   * that step. The states are already reverted, and {@link #onStepBack()} is called next.
+   *
+   * <p>Not called for steps whose history was taken over from another engine. Default hook does
+   * nothing.
+   *
+   * @param attributes - the values saved before the reverted step
+   */
+  protected void restoreAttributes(int[] attributes) {
+    // Intentionally left blank; override in subclasses if needed.
+  }
+
+  /**
+   * Hook writing the attributes of the cell at the flat index the way the cell's
+   * {@link Cell#saveAttributes(int[], int)} lays them out, used to write the cells and to record
+   * steps.
+   *
+   * <p>Default hook writes nothing, for cells without attributes.
+   *
+   * @param index      - the flat index of the cell
+   * @param attributes - the array to write into
+   * @param offset     - where the attributes of the cell start
+   */
+  protected void saveCellAttributes(int index, int[] attributes, int offset) {
+    // Intentionally left blank; override in subclasses if needed.
+  }
+
+  /**
+   * Hook called after a step has been reverted so subclasses can drop any cached bookkeeping.
+   *
+   * <p>Default hook does nothing.
+   */
+  protected void onStepBack() {
+    // Intentionally left blank; override in subclasses if needed.
+  }
+
+  /**
+   * Hook called after the changes of a step have been applied, so {@link #getStates()} reflects the
+   * new step.
+   *
+   * <p>Default hook does nothing.
+   */
+  protected void onStepCommitted() {
+    // Intentionally left blank; override in subclasses if needed.
+  }
+
+  @Override
+  public void step() {
+    try {
+      pendingChanges.clear();
+      stepChanges.clear();
+      round++;
+      int[] attributes = historyEnabled ? saveAttributes() : null;
+      advance();
+      commitStep(attributes);
+      onStepCommitted();
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Queues a state change to be applied at the end of the current step.
+   *
+   * <p>Each index should be queued at most once per step.
+   *
+   * @param index - the flat index of the cell
+   * @param state - the state the cell has after this step
+   */
+  protected void queueChange(int index, int state) {
+    pendingChanges.add(index);
+    pendingChanges.add(state);
+  }
+
+  /**
+   * Lists the cell among the changes of the current step, for a cell whose attributes changed
+   * while its state stayed the same. Cells whose state changes are listed already.
+   *
+   * @param index - the flat index of the cell
+   */
+  protected void markChanged(int index) {
+    if (changedRound[index] != round) {
+      changedRound[index] = round;
+      stepChanges.add(index);
+    }
+  }
+
+  private void commitStep(int[] attributes) {
+    generation++;
+
+    IntList record = historyEnabled ? new IntList() : null;
+    for (int k = 0; k < pendingChanges.size(); k += 2) {
+      int index = pendingChanges.get(k);
+      int state = pendingChanges.get(k + 1);
+      if (states[index] == state) {
+        continue;
+      }
+
+      if (record != null) {
+        record.add(index);
+        record.add(states[index]);
+        record.add(changedAt[index]);
+      }
+
+      states[index] = state;
+      changedAt[index] = generation;
+      markChanged(index);
+    }
+    if (record == null) {
+      return;
+    }
+
+    history.addLast(record.toArray());
+    attributeHistory.addLast(attributes == null ? NO_ATTRIBUTES : attributes);
+    trimHistory();
+  }
+
+  private void trimHistory() {
+    int maxHistorySize = maxHistorySize(myParameters);
+    while (history.size() > maxHistorySize) {
+      history.removeFirst();
+      attributeHistory.removeFirst();
+    }
+  }
+
+  @Override
+  public void setHistoryEnabled(boolean enabled) {
+    historyEnabled = enabled;
+    if (!enabled) {
+      history.clear();
+      attributeHistory.clear();
+    }
+  }
+
+  @Override
+  public boolean stepBack() {
+    if (history.isEmpty()) {
+      return false;
+    }
+
+    int[] record = history.removeLast();
+    int[] attributes = attributeHistory.removeLast();
+    // revert in reverse order so the oldest value is the one that is kept
+    for (int k = record.length - RECORD_WIDTH; k >= 0; k -= RECORD_WIDTH) {
+      states[record[k]] = record[k + 1];
+      changedAt[record[k]] = record[k + 2];
+    }
+    generation--;
+    stepChanges.clear();
+
+    if (attributes != NO_ATTRIBUTES) {
+      restoreAttributes(attributes);
+    }
+    onStepBack();
+    return true;
+  }
+
+  /**
+   * Returns the {@code maxHistorySize} parameter, checked against the smallest history allowed.
+   *
+   * @param parameters - the parameters of the simulation's rule
+   * @return how many steps of history an engine keeps
+   * @throws SimulationException if the parameter is below the minimum
+   */
+  static int maxHistorySize(GenericParameters parameters) {
+    int maxHistorySize = (int) parameters.getParameter("maxHistorySize");
+    if (maxHistorySize < MIN_STATE_HISTORY) {
+      logger.error("Invalid maxHistorySize parameter: {}", maxHistorySize);
+      throw new SimulationException("InvalidHistorySize",
+          List.of(String.valueOf(maxHistorySize), String.valueOf(MIN_STATE_HISTORY)));
+    }
+    return maxHistorySize;
+  }
+
+  /**
+   * Returns the step back history of the engine, oldest step first, in a form that does not depend
+   * on the engine's layout, so another engine stepping the same grid can take it over.
+   *
+   * <p>Each step is a flat array of records of {@code row, col, old state, old changedAt}, where
+   * the old changedAt is relative to the current generation.
+   *
+   * @return the recorded steps
+   */
+  public List<int[]> exportHistory() {
+    List<int[]> steps = new ArrayList<>(history.size());
+    for (int[] record : history) {
+      int[] step = new int[record.length / RECORD_WIDTH * HistoryRecords.WIDTH];
+      for (int k = 0, r = 0; k < record.length; k += RECORD_WIDTH, r += HistoryRecords.WIDTH) {
+        int index = record[k];
+        HistoryRecords.write(step, r, myTopology.getRow(index), myTopology.getCol(index),
+            record[k + 1], record[k + 2] - generation);
+      }
+      steps.add(step);
+    }
+    return steps;
+  }
+
+  /**
+   * Replaces the step back history of the engine with steps exported by
+   * {@link #exportHistory()} from an engine stepping the same grid at the same step.
+   *
+   * <p>Records outside of the grid are dropped, and only the newest {@code maxHistorySize} steps
+   * are kept. Exported steps only hold states, so {@link #restoreAttributes(int[])} is not called
+   * when they are reverted.
+   *
+   * @param steps - the recorded steps, oldest first
+   */
+  public void importHistory(List<int[]> steps) {
+    history.clear();
+    attributeHistory.clear();
+    for (int[] step : steps) {
+      IntList record = new IntList();
+      for (int r = 0; r < step.length; r += HistoryRecords.WIDTH) {
+        int row = HistoryRecords.row(step, r);
+        int col = HistoryRecords.col(step, r);
+        if (row < 0 || row >= myTopology.getRows() || col < 0 || col >= myTopology.getCols()) {
+          continue;
+        }
+        record.add(myTopology.index(row, col));
+        record.add(HistoryRecords.oldState(step, r));
+        record.add(HistoryRecords.oldStamp(step, r) + generation);
+      }
+      history.addLast(record.toArray());
+      attributeHistory.addLast(NO_ATTRIBUTES);
+    }
+    trimHistory();
+  }
+
+  @Override
+  public int getState(int row, int col) {
+    return states[myTopology.index(row, col)];
+  }
+
+  @Override
+  public int getStateLength(int row, int col) {
+    return getStateLength(myTopology.index(row, col));
+  }
+
+  @Override
+  public void writeToGrid() {
+    try {
+      int[] attributes = new int[getCellAttributeCount()];
+      for (int i = 0; i < states.length; i++) {
+        myCells.get(i).restoreState(states[i], getStateLength(i));
+        if (attributes.length > 0) {
+          saveCellAttributes(i, attributes, 0);
+          myCells.get(i).restoreAttributes(attributes, 0);
+        }
+      }
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Lists the cells the last step changed, by their index in the grid's cells, with their state,
+   * state length and attributes.
+   */
+  @Override
+  public Optional<int[]> getLastStepChanges() {
+    int width = GenerationHistory.CHANGE_WIDTH + getCellAttributeCount();
+    int[] changes = new int[stepChanges.size() * width];
+    for (int c = 0, k = 0; c < stepChanges.size(); c++, k += width) {
+      int index = stepChanges.get(c);
+      changes[k] = myTopology.toRowMajor(index);
+      changes[k + 1] = states[index];
+      changes[k + 2] = getStateLength(index);
+      saveCellAttributes(index, changes, k + GenerationHistory.CHANGE_WIDTH);
+    }
+    return Optional.of(changes);
+  }
+
+  private int getCellAttributeCount() {
+    return myCells.isEmpty() ? 0 : myCells.getFirst().getAttributeCount();
+  }
+
+  // Start of Helper methods for engine subclasses ------
+
+  /**
+   * Returns the cells of a grid ordered by their flat index in the grid's topology, so entry
+   * {@code i} is the cell whose state is at index {@code i}.
+   *
+   * @param grid - a constructed grid
+   * @param <T>  - the type of cell in the grid
+   * @return the cells of the grid in index order
+   */
+  protected static <T extends Cell<T, ?>> List<T> cellsInIndexOrder(Grid<T> grid) {
+    List<T> cells = grid.getCells();
+    GridTopology topology = grid.getTopology();
+    if (topology.getStateLayout() == StateLayoutType.ROW_MAJOR) {
+      return cells;
+    }
+    return IntStream.range(0, cells.size()).mapToObj(i -> cells.get(topology.toRowMajor(i)))
+        .toList();
+  }
+
+  /**
+   * Returns the state of the cell at the flat index as of the previous step.
+   *
+   * @param index - the flat index of the cell
+   * @return the state of the cell
+   */
+  protected int getState(int index) {
+    return states[index];
+  }
+
+  /**
+   * Returns the state length of the cell at the flat index.
+   *
+   * @param index - the flat index of the cell
+   * @return how many steps the cell has stayed in its current state
+   */
+  protected int getStateLength(int index) {
+    return generation - changedAt[index] + 1;
+  }
+
+  /**
+   * Returns the flat state array. Subclasses may read it but must only change states through
+   * {@link #queueChange(int, int)}.
+   *
+   * @return the shared state array
+   */
+  protected int[] getStates() {
+    return states;
+  }
+
+  /**
+   * Returns the number of cells stepped by the engine.
+   *
+   * @return the number of cells
+   */
+  protected int size() {
+    return states.length;
+  }
+
+  /**
+   * Returns the flat neighbor table of the grid the engine was created from.
+   *
+   * @return the grid topology
+   */
+  protected GridTopology getTopology() {
+    return myTopology;
+  }
+
+  /**
+   * Returns the parameters of the simulation's rule, which are read every step so edits from the
+   * view apply immediately.
+   *
+   * @return the simulation parameters
+   */
+  protected GenericParameters getParameters() {
+    return myParameters;
+  }
+}
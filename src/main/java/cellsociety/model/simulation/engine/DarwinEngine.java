@@ -0,0 +1,616 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.CellStates.DARWIN_EMPTY;
+import static cellsociety.model.util.constants.SimulationConstants.NULL_STATE;
+
+import cellsociety.model.simulation.cell.DarwinCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.grid.GridTopology;
+import cellsociety.model.simulation.rules.DarwinRule;
+import cellsociety.model.statefactory.CellStateFactory;
+import cellsociety.model.statefactory.handler.CellStateHandler;
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.constants.GridTypes.DirectionType;
+import cellsociety.model.util.darwin.CompiledDarwinProgram;
+import cellsociety.model.util.darwin.DarwinProgramFactory;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code DarwinEngine} class steps the Darwin simulation by running every creature's program
+ * in parallel and then resolving what they tried to do in a single deterministic pass.
+ *
+ * <p>Creatures are stored as agents in parallel arrays (position, species, instruction, facing,
+ * infection timers). Creatures are never born or killed in Darwin, only converted, so an agent
+ * keeps its index for the whole run. Every step has three phases:
+ * <ul>
+ *   <li><b>Infection upkeep:</b> a creature waiting to be infected counts down while its infector
+ *   still sees it and becomes the infector's species at 0; a converted creature counts down and
+ *   turns back into its old species at 0. A creature that changes species this way starts its new
+ *   program from the top and does not act this step.</li>
+ *   <li><b>Intents (parallel):</b> every other creature runs its compiled program until it acts
+ *   or runs out of its {@code instructionBudget}, reading only the grid as it was at the start of
+ *   the phase. The result is an intent: move, infect, or nothing, plus its next instruction and
+ *   facing. Each agent only writes its own intent slots, so agents can run on any thread.</li>
+ *   <li><b>Resolution (sequential):</b> when several creatures infect the same creature or move
+ *   into the same empty cell, the one with the lowest cell index wins. Because the winner only
+ *   depends on positions, the result is the same no matter how the intents were scheduled.</li>
+ * </ul>
+ *
+ * <p>Sensing follows the rule: a creature sees up to {@code nearbyAhead} cells in a straight line
+ * over the grid's directional step table. {@code MOVE n} moves up to {@code n} cells ahead,
+ * stopping before the first cell that was not empty at the start of the step.
+ * {@code IF_RANDOM} draws from a generator seeded per step and per position, so runs stay
+ * reproducible with {@link #setRandom(Random)}.</p>
+ *
+ * <p>Creatures are read from and written to the cells through {@link DarwinCell}'s attributes,
+ * infections included, so turning the engine off and on again, forking, or restoring a checkpoint
+ * keeps every creature where it was in its program and its infection. The agents are also saved
+ * with each step of history, so stepping back restores them exactly.</p>
+ *
+ * @author Jessica Chen
+ */
+public final class DarwinEngine extends ArrayEngine {
+
+  private static final Logger logger = LogManager.getLogger(DarwinEngine.class);
+
+  private static final int NO_AGENT = -1;
+  private static final int NO_TIMER = 0;
+
+  // the layout of DarwinCell's attributes: instruction, facing, awaiting infection timer,
+  // infected timer, species before the infection, and the grid index of the infector
+  private static final int CELL_ATTRIBUTES = 6;
+  // each saved agent is stored as position, species, instruction, facing, infector, awaiting
+  // infection timer, infected timer, and species before the infection
+  private static final int AGENT_WIDTH = 8;
+
+  // fewer agents than this are not worth handing to the fork join pool
+  private static final int PARALLEL_THRESHOLD = 2048;
+
+  private static final int INTENT_NONE = 0;
+  private static final int INTENT_MOVE = 1;
+  private static final int INTENT_INFECT = 2;
+
+  // what a creature sees ahead, as bit flags
+  private static final int SEES_EMPTY = 1;
+  private static final int SEES_SAME = 1 << 1;
+  private static final int SEES_OTHER = 1 << 2;
+  private static final int HITS_WALL = 1 << 3;
+
+  private static final DirectionType[] DIRECTIONS = DirectionType.values();
+  private static final int START_DIRECTION = DirectionType.E.ordinal();
+
+  private final List<DarwinCell> myCells;
+  private final CompiledDarwinProgram[] programs;
+  private final int[][] directionalSteps;
+  private Random random = new Random();
+
+  // the species in every cell, updated as the step is resolved
+  private final int[] occupant;
+  private final int[] agentAt;
+
+  // agent storage
+  private int agentCount;
+  private int[] agentPosition;
+  private int[] agentSpecies;
+  private int[] agentInstruction;
+  private int[] agentDirection;
+  private int[] agentInfector;
+  private int[] agentAwaitingTimer;
+  private int[] agentInfectedTimer;
+  private int[] agentOldSpecies;
+  private boolean[] agentSkips;
+
+  // intents, written by each agent for itself in the parallel phase
+  private int[] intentKind;
+  private int[] intentArgument;
+  private int[] intentTarget;
+  private int[] intentInstruction;
+  private int[] intentDirection;
+
+  // lowest position that claimed a cell, valid where claimStamp matches claimRound
+  private final int[] claim;
+  private final int[] claimStamp;
+  private final IntList claimed;
+  private int claimRound;
+
+  // cells changed this step, marked with the current stamp so each is only queued once
+  private final IntList touched;
+  private final int[] touchedStamp;
+  private int stamp;
+
+  private int reach;
+  private long budget;
+  private long stepSeed;
+
+  /**
+   * Constructs a Darwin engine from the current species, instructions, and facings of the cells.
+   *
+   * @param rule - the Darwin rule, supplies {@code nearbyAhead} and {@code instructionBudget}
+   * @param grid - the constructed grid of Darwin cells
+   * @throws SimulationException if the program of a species cannot be loaded or compiled
+   */
+  public DarwinEngine(DarwinRule rule, Grid<DarwinCell> grid) {
+    super(grid, rule.getParameters());
+
+    try {
+      myCells = cellsInIndexOrder(grid);
+      programs = loadPrograms();
+
+      GridTopology topology = getTopology();
+      directionalSteps = new int[DIRECTIONS.length][];
+      for (DirectionType direction : DIRECTIONS) {
+        directionalSteps[direction.ordinal()] = topology.getDirectionalSteps(direction);
+      }
+
+      occupant = new int[size()];
+      agentAt = new int[size()];
+      claim = new int[size()];
+      claimStamp = new int[size()];
+      claimed = new IntList();
+      touched = new IntList();
+      touchedStamp = new int[size()];
+
+      buildAgents();
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  private CompiledDarwinProgram[] loadPrograms() {
+    CellStateHandler handler = CellStateFactory.getHandler(-1, SimType.Darwin, -1);
+    int speciesCount = handler.getStateInt().size();
+
+    CompiledDarwinProgram[] result = new CompiledDarwinProgram[speciesCount];
+    for (int species = 0; species < speciesCount; species++) {
+      if (species != DARWIN_EMPTY) {
+        result[species] = DarwinProgramFactory.getProgram(handler.statetoString(species))
+            .getCompiledProgram();
+      }
+    }
+    return result;
+  }
+
+  // Start of Agent Storage ------
+
+  /**
+   * Builds one agent per creature in position order from the cells, infections included.
+   */
+  private void buildAgents() {
+    int[] states = getStates();
+    int count = 0;
+    for (int state : states) {
+      count += state == DARWIN_EMPTY ? 0 : 1;
+    }
+    allocateAgents(count);
+
+    Arrays.fill(agentAt, NO_AGENT);
+    int[] attributes = new int[CELL_ATTRIBUTES];
+    for (int i = 0; i < states.length; i++) {
+      occupant[i] = states[i];
+      if (states[i] == DARWIN_EMPTY) {
+        continue;
+      }
+
+      myCells.get(i).saveAttributes(attributes, 0);
+      int agent = agentCount++;
+      agentPosition[agent] = i;
+      agentSpecies[agent] = states[i];
+      agentInstruction[agent] = attributes[0];
+      agentDirection[agent] = attributes[1];
+      agentAwaitingTimer[agent] = Math.max(NO_TIMER, attributes[2]);
+      agentInfectedTimer[agent] = Math.max(NO_TIMER, attributes[3]);
+      agentOldSpecies[agent] = attributes[4];
+      // the position of the infector for now, turned into its agent once every agent exists
+      agentInfector[agent] = attributes[5];
+      agentAt[i] = agent;
+    }
+
+    for (int agent = 0; agent < agentCount; agent++) {
+      int infectorPosition = agentInfector[agent];
+      boolean infecting = agentAwaitingTimer[agent] != NO_TIMER
+          || agentInfectedTimer[agent] != NO_TIMER;
+      agentInfector[agent] = infecting && infectorPosition != NULL_STATE
+          ? agentAt[infectorPosition] : NO_AGENT;
+      if (agentInfector[agent] == NO_AGENT) {
+        agentAwaitingTimer[agent] = NO_TIMER;
+        agentInfectedTimer[agent] = NO_TIMER;
+      }
+    }
+  }
+
+  private void allocateAgents(int capacity) {
+    agentCount = 0;
+    agentPosition = new int[capacity];
+    agentSpecies = new int[capacity];
+    agentInstruction = new int[capacity];
+    agentDirection = new int[capacity];
+    agentInfector = new int[capacity];
+    agentAwaitingTimer = new int[capacity];
+    agentInfectedTimer = new int[capacity];
+    agentOldSpecies = new int[capacity];
+    agentSkips = new boolean[capacity];
+
+    intentKind = new int[capacity];
+    intentArgument = new int[capacity];
+    intentTarget = new int[capacity];
+    intentInstruction = new int[capacity];
+    intentDirection = new int[capacity];
+  }
+
+  // Start of Step ------
+
+  @Override
+  protected void advance() {
+    try {
+      reach = (int) Math.round(getParameters().getParameter("nearbyAhead"));
+      budget = Math.round(getParameters().getParameter("instructionBudget"));
+      stepSeed = random.nextLong();
+
+      stamp++;
+      touched.clear();
+
+      updateInfections();
+
+      IntStream agents = IntStream.range(0, agentCount);
+      if (agentCount >= PARALLEL_THRESHOLD) {
+        agents = agents.parallel();
+      }
+      agents.forEach(this::takeTurn);
+
+      resolveInfections();
+      resolveMoves();
+      for (int agent = 0; agent < agentCount; agent++) {
+        agentInstruction[agent] = intentInstruction[agent];
+        agentDirection[agent] = intentDirection[agent];
+        // every creature moves on in its program
+        markChanged(agentPosition[agent]);
+      }
+
+      for (int t = 0; t < touched.size(); t++) {
+        int position = touched.get(t);
+        queueChange(position, occupant[position]);
+      }
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  // Start of Infection Upkeep ------
+
+  private void updateInfections() {
+    for (int agent = 0; agent < agentCount; agent++) {
+      agentSkips[agent] = false;
+
+      if (agentAwaitingTimer[agent] != NO_TIMER) {
+        updateAwaitingInfection(agent);
+      } else if (agentInfectedTimer[agent] != NO_TIMER) {
+        agentInfectedTimer[agent]--;
+        if (agentInfectedTimer[agent] == NO_TIMER) {
+          changeSpecies(agent, agentOldSpecies[agent]);
+          agentInfector[agent] = NO_AGENT;
+        }
+      }
+    }
+  }
+
+  private void updateAwaitingInfection(int agent) {
+    int infector = agentInfector[agent];
+    if (!sees(infector, agentPosition[agent])) {
+      agentAwaitingTimer[agent] = NO_TIMER;
+      agentInfectedTimer[agent] = NO_TIMER;
+      agentInfector[agent] = NO_AGENT;
+      return;
+    }
+
+    // the infected timer already holds how long the infection lasts once it takes hold
+    agentAwaitingTimer[agent]--;
+    if (agentAwaitingTimer[agent] == NO_TIMER) {
+      agentOldSpecies[agent] = agentSpecies[agent];
+      changeSpecies(agent, agentSpecies[infector]);
+    }
+  }
+
+  private void changeSpecies(int agent, int species) {
+    agentSpecies[agent] = species;
+    agentInstruction[agent] = 0;
+    agentSkips[agent] = true;
+    occupant[agentPosition[agent]] = species;
+    touch(agentPosition[agent]);
+  }
+
+  private boolean sees(int agent, int position) {
+    int[] steps = directionalSteps[agentDirection[agent]];
+    int index = agentPosition[agent];
+    for (int k = 0; k < reach; k++) {
+      index = steps[index];
+      if (index == GridTopology.NO_CELL) {
+        return false;
+      }
+      if (index == position) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Start of Intents ------
+
+  /**
+   * Runs one agent's program and records its intent, reading only shared state.
+   */
+  private void takeTurn(int agent) {
+    int instruction = agentInstruction[agent];
+    intentKind[agent] = INTENT_NONE;
+    intentInstruction[agent] = instruction;
+    intentDirection[agent] = agentDirection[agent];
+
+    CompiledDarwinProgram program = programs[agentSpecies[agent]];
+    if (agentSkips[agent] || program == null || program.size() == 0) {
+      return;
+    }
+
+    int sight = -1;
+    // seeded by position rather than agent, so rebuilding the agents draws the same numbers
+    long randomState = stepSeed + agentPosition[agent] * 0x9E3779B97F4A7C15L;
+
+    for (long executed = 0; executed < budget; executed++) {
+      int opcode = program.getOpcode(instruction);
+      int operand = program.getOperand(instruction);
+      boolean jump = false;
+
+      if (opcode >= CompiledDarwinProgram.IF_EMPTY && opcode <= CompiledDarwinProgram.IF_ENEMY
+          && sight < 0) {
+        sight = look(agent);
+      }
+
+      switch (opcode) {
+        case CompiledDarwinProgram.MOVE -> {
+          intentKind[agent] = INTENT_MOVE;
+          intentTarget[agent] = moveTarget(agent, operand);
+        }
+        case CompiledDarwinProgram.LEFT -> intentDirection[agent] = rotate(agent, -operand);
+        case CompiledDarwinProgram.RIGHT -> intentDirection[agent] = rotate(agent, operand);
+        case CompiledDarwinProgram.INFECT -> {
+          intentKind[agent] = INTENT_INFECT;
+          intentArgument[agent] = operand;
+        }
+        case CompiledDarwinProgram.IF_EMPTY -> jump = (sight & SEES_EMPTY) != 0;
+        case CompiledDarwinProgram.IF_WALL -> jump = (sight & HITS_WALL) != 0;
+        case CompiledDarwinProgram.IF_SAME -> jump = (sight & SEES_SAME) != 0;
+        case CompiledDarwinProgram.IF_ENEMY -> jump = (sight & SEES_OTHER) != 0;
+        case CompiledDarwinProgram.IF_RANDOM -> {
+          randomState += 0x9E3779B97F4A7C15L;
+          jump = (mix(randomState) & 1) != 0;
+        }
+        case CompiledDarwinProgram.GO -> jump = true;
+        default -> {
+          logger.error("Unknown opcode {} at instruction {}", opcode, instruction);
+          throw new SimulationException("UnknownDarwinInstruction");
+        }
+      }
+
+      instruction = jump ? operand : program.next(instruction);
+      if (CompiledDarwinProgram.isAction(opcode)) {
+        break;
+      }
+    }
+
+    intentInstruction[agent] = instruction;
+  }
+
+  /**
+   * Walks the agent's ray and returns what it sees as {@code SEES_*} and {@code HITS_WALL} flags,
+   * using the same conditions as the rule's sensing commands.
+   */
+  private int look(int agent) {
+    int[] steps = directionalSteps[agentDirection[agent]];
+    int species = agentSpecies[agent];
+    int index = agentPosition[agent];
+    int sight = 0;
+
+    for (int k = 0; k < reach; k++) {
+      index = steps[index];
+      if (index == GridTopology.NO_CELL) {
+        return sight | HITS_WALL;
+      }
+      int seen = occupant[index];
+      sight |= seen == DARWIN_EMPTY ? SEES_EMPTY : 0;
+      sight |= seen == species ? SEES_SAME : SEES_OTHER;
+    }
+    return sight;
+  }
+
+  private int moveTarget(int agent, int distance) {
+    int[] steps = directionalSteps[agentDirection[agent]];
+    int index = agentPosition[agent];
+    int target = NO_AGENT;
+
+    for (int k = 0; k < distance; k++) {
+      index = steps[index];
+      if (index == GridTopology.NO_CELL || occupant[index] != DARWIN_EMPTY) {
+        break;
+      }
+      target = index;
+    }
+    return target;
+  }
+
+  private int rotate(int agent, int degrees) {
+    int steps = (degrees / 45) % DIRECTIONS.length;
+    return Math.floorMod(agentDirection[agent] + steps, DIRECTIONS.length);
+  }
+
+  // SplitMix64 finalizer, turns a counter into well mixed random bits
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  // Start of Resolution ------
+
+  private void resolveInfections() {
+    claimRound++;
+    claimed.clear();
+    for (int agent = 0; agent < agentCount; agent++) {
+      if (intentKind[agent] != INTENT_INFECT) {
+        continue;
+      }
+
+      int[] steps = directionalSteps[agentDirection[agent]];
+      int index = agentPosition[agent];
+      for (int k = 0; k < reach; k++) {
+        index = steps[index];
+        if (index == GridTopology.NO_CELL) {
+          break;
+        }
+        if (canBeInfected(index, agentSpecies[agent])) {
+          claimCell(index, agentPosition[agent]);
+        }
+      }
+    }
+
+    for (int c = 0; c < claimed.size(); c++) {
+      int target = agentAt[claimed.get(c)];
+      int infector = agentAt[claim[claimed.get(c)]];
+      int steps = Math.max(1, intentArgument[infector]);
+      agentInfector[target] = infector;
+      agentAwaitingTimer[target] = steps;
+      agentInfectedTimer[target] = steps;
+    }
+  }
+
+  private boolean canBeInfected(int position, int infectorSpecies) {
+    int target = agentAt[position];
+    return target != NO_AGENT && agentSpecies[target] != infectorSpecies
+        && agentInfector[target] == NO_AGENT;
+  }
+
+  private void resolveMoves() {
+    claimRound++;
+    claimed.clear();
+    for (int agent = 0; agent < agentCount; agent++) {
+      if (intentKind[agent] == INTENT_MOVE && intentTarget[agent] != NO_AGENT) {
+        claimCell(intentTarget[agent], agentPosition[agent]);
+      }
+    }
+
+    for (int c = 0; c < claimed.size(); c++) {
+      int target = claimed.get(c);
+      int from = claim[target];
+      int agent = agentAt[from];
+
+      agentAt[from] = NO_AGENT;
+      occupant[from] = DARWIN_EMPTY;
+      agentAt[target] = agent;
+      occupant[target] = agentSpecies[agent];
+      agentPosition[agent] = target;
+      touch(from);
+      touch(target);
+    }
+  }
+
+  private void claimCell(int index, int position) {
+    if (claimStamp[index] != claimRound) {
+      claimStamp[index] = claimRound;
+      claim[index] = position;
+      claimed.add(index);
+    } else if (position < claim[index]) {
+      claim[index] = position;
+    }
+  }
+
+  private void touch(int position) {
+    if (touchedStamp[position] != stamp) {
+      touchedStamp[position] = stamp;
+      touched.add(position);
+    }
+  }
+
+  // Start of History and Grid ------
+
+  @Override
+  protected int[] saveAttributes() {
+    int[] agents = new int[agentCount * AGENT_WIDTH];
+    for (int a = 0, k = 0; a < agentCount; a++, k += AGENT_WIDTH) {
+      agents[k] = agentPosition[a];
+      agents[k + 1] = agentSpecies[a];
+      agents[k + 2] = agentInstruction[a];
+      agents[k + 3] = agentDirection[a];
+      agents[k + 4] = agentInfector[a];
+      agents[k + 5] = agentAwaitingTimer[a];
+      agents[k + 6] = agentInfectedTimer[a];
+      agents[k + 7] = agentOldSpecies[a];
+    }
+    return agents;
+  }
+
+  @Override
+  protected void restoreAttributes(int[] agents) {
+    allocateAgents(agents.length / AGENT_WIDTH);
+    Arrays.fill(agentAt, NO_AGENT);
+    System.arraycopy(getStates(), 0, occupant, 0, occupant.length);
+    for (int k = 0; k < agents.length; k += AGENT_WIDTH) {
+      int agent = agentCount++;
+      agentPosition[agent] = agents[k];
+      agentSpecies[agent] = agents[k + 1];
+      agentInstruction[agent] = agents[k + 2];
+      agentDirection[agent] = agents[k + 3];
+      agentInfector[agent] = agents[k + 4];
+      agentAwaitingTimer[agent] = agents[k + 5];
+      agentInfectedTimer[agent] = agents[k + 6];
+      agentOldSpecies[agent] = agents[k + 7];
+      agentAt[agentPosition[agent]] = agent;
+    }
+  }
+
+  @Override
+  protected void saveCellAttributes(int index, int[] attributes, int offset) {
+    int agent = agentAt[index];
+    if (agent == NO_AGENT) {
+      // an empty cell is at the top of no program, facing the start direction, uninfected
+      attributes[offset] = 0;
+      attributes[offset + 1] = START_DIRECTION;
+      Arrays.fill(attributes, offset + 2, offset + CELL_ATTRIBUTES, NULL_STATE);
+      return;
+    }
+
+    boolean infected = agentInfector[agent] != NO_AGENT;
+    attributes[offset] = agentInstruction[agent];
+    attributes[offset + 1] = agentDirection[agent];
+    attributes[offset + 2] = infected ? toCellTimer(agentAwaitingTimer[agent]) : NULL_STATE;
+    attributes[offset + 3] = infected ? toCellTimer(agentInfectedTimer[agent]) : NULL_STATE;
+    attributes[offset + 4] = infected ? agentOldSpecies[agent] : NULL_STATE;
+    attributes[offset + 5] = infected ? agentPosition[agentInfector[agent]] : NULL_STATE;
+  }
+
+  private static int toCellTimer(int timer) {
+    return timer == NO_TIMER ? NULL_STATE : timer;
+  }
+
+  /**
+   * Returns how many creatures are in the arena.
+   *
+   * @return the number of agents
+   */
+  public int getAgentCount() {
+    return agentCount;
+  }
+
+  /**
+   * Sets the random instance used to seed {@code IF_RANDOM} each step.
+   *
+   * <p>Used for testing so branches can be controlled.
+   *
+   * @param random the {@code Random} object to use for generating random values. Must not be null.
+   */
+  void setRandom(Random random) {
+    this.random = random;
+  }
+}
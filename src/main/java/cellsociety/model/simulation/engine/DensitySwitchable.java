@@ -0,0 +1,36 @@
+package cellsociety.model.simulation.engine;
+
+import java.util.List;
+
+/**
+ * The {@code DensitySwitchable} interface is implemented by the engines a
+ * {@link DensitySwitchingEngine} moves between, both the dense one and the sparse one of a
+ * simulation type.
+ *
+ * @author Jessica Chen
+ */
+interface DensitySwitchable extends SimulationEngine {
+
+  /**
+   * Returns the number of cells that are not in the simulation's empty state.
+   *
+   * @return the live population
+   */
+  int getPopulation();
+
+  /**
+   * Returns the step back history, oldest step first, laid out as described by
+   * {@link HistoryRecords}.
+   *
+   * @return the recorded steps
+   */
+  List<int[]> exportHistory();
+
+  /**
+   * Replaces the step back history with steps exported by another engine stepping the same grid
+   * at the same step.
+   *
+   * @param steps - the recorded steps, oldest first
+   */
+  void importHistory(List<int[]> steps);
+}
@@ -0,0 +1,180 @@
+package cellsociety.model.simulation.engine;
+
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.simulation.rules.Rule;
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.List;
+import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code DensitySwitchingEngine} class steps a bounded grid through either the dense engine or
+ * the sparse engine of a simulation type, whichever suits how many cells are alive.
+ *
+ * <p>A dense engine costs the same per step no matter what the cells hold, while a sparse engine
+ * only costs as much as its live cells. After every step the density, the live population over the
+ * number of cells, is checked against two parameters:
+ * <ul>
+ *   <li>{@code sparseDensity}: below this the dense engine hands over to the sparse one.</li>
+ *   <li>{@code denseDensity}: above this the sparse engine hands back to the dense one.</li>
+ * </ul>
+ * Keeping {@code denseDensity} above {@code sparseDensity} leaves a band where neither switch
+ * happens, so a population hovering near one threshold does not switch back and forth.</p>
+ *
+ * <p>On a switch the states and state lengths go through the grid's cells, and the step back
+ * history is handed over with {@link DensitySwitchable#exportHistory()}, so stepping back works
+ * across any number of switches. To a caller this engine behaves like either of the engines it
+ * wraps.</p>
+ *
+ * <p><b>Example Usage:</b></p>
+ * <pre>
+ * Optional&lt;SimulationEngine&gt; engine = EngineFactory.createEngine(SimType.GameOfLife, rule,
+ *     grid);  // a DensitySwitchingEngine for bounded Game of Life grids
+ * </pre>
+ *
+ * @author Jessica Chen
+ */
+public class DensitySwitchingEngine implements SimulationEngine {
+
+  private static final Logger logger = LogManager.getLogger(DensitySwitchingEngine.class);
+
+  private final SimType mySimType;
+  private final Rule<?> myRule;
+  private final Grid<?> myGrid;
+  private final GenericParameters myParameters;
+  private final Class<?> myDenseClass;
+  private final Class<?> mySparseClass;
+
+  private DensitySwitchable active;
+  // the engine that took the last step, the active one until a switch follows the step
+  private DensitySwitchable stepped;
+  private boolean sparse;
+  private boolean historyEnabled;
+
+  /**
+   * Creates the engine, starting with whichever engine fits the current density of the grid.
+   *
+   * @param simType     - the type of simulation, used for error messages
+   * @param rule        - the rule of the simulation, its parameters hold the thresholds
+   * @param grid        - the constructed, bounded grid of the simulation
+   * @param denseClass  - the dense engine class of the simulation type
+   * @param sparseClass - the sparse engine class of the simulation type
+   * @throws SimulationException if either engine could not be created or a threshold is missing
+   */
+  DensitySwitchingEngine(SimType simType, Rule<?> rule, Grid<?> grid, Class<?> denseClass,
+      Class<?> sparseClass) {
+    try {
+      mySimType = simType;
+      myRule = rule;
+      myGrid = grid;
+      myParameters = rule.getParameters();
+      myDenseClass = denseClass;
+      mySparseClass = sparseClass;
+
+      active = EngineFactory.newEngine(denseClass, simType, rule, grid);
+      stepped = active;
+      sparse = false;
+      historyEnabled = true;
+      switchIfNeeded();
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  @Override
+  public void step() {
+    try {
+      active.step();
+      stepped = active;
+      switchIfNeeded();
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Turns history on or off for the active engine and every engine switched to afterward.
+   */
+  @Override
+  public void setHistoryEnabled(boolean enabled) {
+    historyEnabled = enabled;
+    active.setHistoryEnabled(enabled);
+  }
+
+  /**
+   * Reverts the most recent step with the active engine. The engine is not switched on the way
+   * back, the history it took over covers the steps before the last switch.
+   */
+  @Override
+  public boolean stepBack() {
+    stepped = active;
+    return active.stepBack();
+  }
+
+  private void switchIfNeeded() {
+    double density = (double) active.getPopulation() / myGrid.getCells().size();
+    if (sparse && density > myParameters.getParameter("denseDensity")) {
+      switchTo(myDenseClass, false, density);
+    } else if (!sparse && density < myParameters.getParameter("sparseDensity")) {
+      switchTo(mySparseClass, true, density);
+    }
+  }
+
+  private void switchTo(Class<?> engineClass, boolean toSparse, double density) {
+    logger.debug("Switching {} to the {} engine at density {}", mySimType,
+        toSparse ? "sparse" : "dense", density);
+
+    List<int[]> history = active.exportHistory();
+    active.writeToGrid();
+    active = EngineFactory.newEngine(engineClass, mySimType, myRule, myGrid);
+    active.importHistory(history);
+    active.setHistoryEnabled(historyEnabled);
+    sparse = toSparse;
+  }
+
+  @Override
+  public int getState(int row, int col) {
+    return active.getState(row, col);
+  }
+
+  @Override
+  public int getStateLength(int row, int col) {
+    return active.getStateLength(row, col);
+  }
+
+  @Override
+  public void writeToGrid() {
+    active.writeToGrid();
+  }
+
+  /**
+   * Returns the changes of the engine that took the last step, even if it has since handed over
+   * to the other engine.
+   */
+  @Override
+  public Optional<int[]> getLastStepChanges() {
+    return stepped.getLastStepChanges();
+  }
+
+  /**
+   * Returns the engine currently stepping the grid.
+   *
+   * @return the dense or the sparse engine
+   */
+  @Override
+  public SimulationEngine getActiveEngine() {
+    return active;
+  }
+
+  /**
+   * Returns whether the sparse engine is currently stepping the grid.
+   *
+   * @return {@code true} if the sparse engine is active
+   */
+  public boolean isSparse() {
+    return sparse;
+  }
+}
@@ -0,0 +1,116 @@
+package cellsociety.model.simulation.engine;
+
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.rules.Rule;
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code EngineFactory} class creates the {@link SimulationEngine} for a simulation type, if
+ * that simulation type has one.
+ *
+ * <p>Like the rule factory, it uses <b>Reflection</b> and the naming convention
+ * <b>{@code SimTypeEngine}</b> so new engines can be added without modifying this class. Engines
+ * must have a public constructor taking the simulation's rule class and a {@link Grid}.</p>
+ *
+ * <p>Grids with {@code UNBOUNDED} edges first look for a <b>{@code SparseSimTypeEngine}</b> that
+ * can step past the grid, and fall back to the regular engine, which treats the grid as bounded.
+ * Bounded grids of a type that has both engines, and whose parameters include the
+ * {@code sparseDensity} and {@code denseDensity} thresholds, get a {@link DensitySwitchingEngine}
+ * that moves between the two as the live population changes.</p>
+ *
+ * <p><b>Example Usage:</b></p>
+ * <pre>
+ * Optional&lt;SimulationEngine&gt; engine = EngineFactory.createEngine(SimType.Fire, rule, grid);
+ * </pre>
+ *
+ * @author Jessica Chen
+ */
+public class EngineFactory {
+
+  private static final Logger logger = LogManager.getLogger(EngineFactory.class);
+
+  private static final String ENGINE_PACKAGE = "cellsociety.model.simulation.engine.";
+  private static final String SPARSE_PREFIX = "Sparse";
+  private static final List<String> DENSITY_PARAMETERS = List.of("sparseDensity", "denseDensity");
+
+  private EngineFactory() {
+    // static factory
+  }
+
+  /**
+   * Creates the engine for the given simulation type.
+   *
+   * @param simType - the type of simulation
+   * @param rule    - the rule of the simulation, supplies the parameters of the engine
+   * @param grid    - the constructed grid of the simulation
+   * @return the engine, or {@code Optional.empty()} if the simulation type has no engine
+   * @throws SimulationException if an engine exists but could not be created
+   */
+  public static Optional<SimulationEngine> createEngine(SimType simType, Rule<?> rule,
+      Grid<?> grid) {
+    Optional<Class<?>> sparseClass = findEngineClass(SPARSE_PREFIX + simType.name());
+    Optional<Class<?>> denseClass = findEngineClass(simType.name());
+
+    if (grid.getEdgeType() == EdgeType.UNBOUNDED) {
+      if (sparseClass.isPresent()) {
+        return Optional.of(newEngine(sparseClass.get(), simType, rule, grid));
+      }
+      logger.warn("No sparse engine for {}, stepping the grid as bounded", simType);
+    }
+    if (denseClass.isEmpty()) {
+      logger.warn("No engine found for simulation type: {}", simType);
+      return Optional.empty();
+    }
+
+    if (sparseClass.isPresent() && isDensitySwitchable(denseClass.get(), sparseClass.get(), rule)) {
+      return Optional.of(
+          new DensitySwitchingEngine(simType, rule, grid, denseClass.get(), sparseClass.get()));
+    }
+    return Optional.of(newEngine(denseClass.get(), simType, rule, grid));
+  }
+
+  /**
+   * Creates an engine of the given class through its {@code (rule, grid)} constructor.
+   *
+   * @param engineClass - the engine class to create
+   * @param simType     - the type of simulation, used for error messages
+   * @param rule        - the rule of the simulation
+   * @param grid        - the constructed grid of the simulation
+   * @param <E>         - the type the engine is returned as
+   * @return the new engine
+   * @throws SimulationException if the engine could not be created
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends SimulationEngine> E newEngine(Class<?> engineClass, SimType simType,
+      Rule<?> rule, Grid<?> grid) {
+    try {
+      Constructor<?> constructor = engineClass.getConstructor(rule.getClass(), Grid.class);
+      return (E) constructor.newInstance(rule, grid);
+    } catch (Exception e) {
+      logger.error("Error creating engine for simulation type: {}", simType, e);
+      throw new SimulationException("EngineCreationFailed", List.of(simType.name()), e);
+    }
+  }
+
+  private static boolean isDensitySwitchable(Class<?> denseClass, Class<?> sparseClass,
+      Rule<?> rule) {
+    return DensitySwitchable.class.isAssignableFrom(denseClass)
+        && DensitySwitchable.class.isAssignableFrom(sparseClass)
+        && rule.getParameters().getParameterKeys().containsAll(DENSITY_PARAMETERS);
+  }
+
+  private static Optional<Class<?>> findEngineClass(String name) {
+    try {
+      return Optional.of(Class.forName(ENGINE_PACKAGE + name + "Engine"));
+    } catch (ClassNotFoundException e) {
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,264 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.CellStates.FIRE_BURNING;
+import static cellsociety.model.util.constants.CellStates.FIRE_TREE;
+
+import cellsociety.model.simulation.grid.GridTopology;
+import java.util.Arrays;
+
+/**
+ * The {@code FireClusterStatistics} class records the size of every fire event of a
+ * {@link FireEngine} while the simulation runs, for self-organized criticality studies.
+ *
+ * <p>Trees are grouped into clusters of trees a fire can spread through using a union-find
+ * structure. Two trees are in the same cluster when either one has the other as a neighbor, and
+ * fire spreads from a burning cell to the trees that have it as a neighbor:
+ * <ul>
+ *   <li>Trees that grow are joined to their neighboring clusters incrementally.</li>
+ *   <li>Burning splits clusters, which union-find can't undo, so the structure is only marked
+ *   stale when trees burn and is rebuilt the next time an event needs to be measured.</li>
+ * </ul>
+ *
+ * <p>A fire event starts when a tree ignites spontaneously in a cluster that is not already on
+ * fire. Its size is the size of that cluster, which is the number of trees the fire will burn if
+ * it spreads faster than trees regrow. Sizes are counted in a streaming histogram with
+ * power-of-two bins, bin {@code k} holding the events with sizes in {@code [2^k, 2^(k+1))}.</p>
+ *
+ * <p>Events are never removed from the histogram when the simulation steps back, and the
+ * statistics can be handed from an engine to the one that replaces it with
+ * {@link FireEngine#setClusterStatistics(FireClusterStatistics)}, so a simulation keeps one
+ * histogram for its whole run.</p>
+ *
+ * @author Jessica Chen
+ */
+public class FireClusterStatistics {
+
+  private static final int NOT_A_TREE = -1;
+
+  private GridTopology myTopology;
+
+  private final int[] parent;
+  private final int[] clusterSize;
+  // indexed by the root of a cluster, true if the cluster is already on fire
+  private final boolean[] onFire;
+  private boolean stale;
+
+  private final long[] histogram;
+  private long eventCount;
+  private long burnedTotal;
+  private int largestEvent;
+
+  FireClusterStatistics(GridTopology topology, int[] states) {
+    myTopology = topology;
+    parent = new int[topology.size()];
+    clusterSize = new int[topology.size()];
+    onFire = new boolean[topology.size()];
+    histogram = new long[Integer.SIZE];
+    rebuild(states);
+  }
+
+  // Start of Union-Find ------
+
+  private void rebuild(int[] states) {
+    for (int i = 0; i < states.length; i++) {
+      addTree(i, states[i] == FIRE_TREE);
+    }
+    int[] offsets = myTopology.getReverseNeighborOffsets();
+    int[] neighbors = myTopology.getReverseNeighborIndices();
+    for (int i = 0; i < states.length; i++) {
+      if (states[i] == FIRE_TREE) {
+        joinNeighbors(i, states, offsets, neighbors);
+      }
+    }
+    // clusters a burning cell can spread to are already part of an earlier fire event
+    for (int i = 0; i < states.length; i++) {
+      if (states[i] != FIRE_BURNING) {
+        continue;
+      }
+      for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+        if (states[neighbors[k]] == FIRE_TREE) {
+          onFire[find(neighbors[k])] = true;
+        }
+      }
+    }
+    stale = false;
+  }
+
+  private void joinNeighbors(int tree, int[] states, int[] offsets, int[] neighbors) {
+    for (int k = offsets[tree]; k < offsets[tree + 1]; k++) {
+      if (states[neighbors[k]] == FIRE_TREE) {
+        union(tree, neighbors[k]);
+      }
+    }
+  }
+
+  private void addTree(int index, boolean isTree) {
+    parent[index] = isTree ? index : NOT_A_TREE;
+    clusterSize[index] = isTree ? 1 : 0;
+    onFire[index] = false;
+  }
+
+  private int find(int index) {
+    while (parent[index] != index) {
+      // path halving keeps the trees shallow without recursion
+      parent[index] = parent[parent[index]];
+      index = parent[index];
+    }
+    return index;
+  }
+
+  private void union(int a, int b) {
+    int rootA = find(a);
+    int rootB = find(b);
+    if (rootA == rootB) {
+      return;
+    }
+    if (clusterSize[rootA] < clusterSize[rootB]) {
+      int swap = rootA;
+      rootA = rootB;
+      rootB = swap;
+    }
+    parent[rootB] = rootA;
+    clusterSize[rootA] += clusterSize[rootB];
+    onFire[rootA] |= onFire[rootB];
+  }
+
+  // Start of Engine Callbacks ------
+
+  /**
+   * Records a spontaneous ignition, starting a fire event if the tree's cluster is not already on
+   * fire.
+   *
+   * @param index  - the flat index of the tree that ignited
+   * @param states - the states of the grid before the current step is applied
+   */
+  void recordIgnition(int index, int[] states) {
+    if (stale) {
+      rebuild(states);
+    }
+
+    int root = find(index);
+    if (onFire[root]) {
+      return;
+    }
+    onFire[root] = true;
+    recordEvent(clusterSize[root]);
+  }
+
+  /**
+   * Updates the clusters after a step has been applied.
+   *
+   * @param grown  - the flat indices of the trees that grew this step
+   * @param burned - whether any trees caught fire this step
+   * @param states - the states of the grid after the step was applied
+   */
+  void recordStep(IntList grown, boolean burned, int[] states) {
+    if (burned) {
+      stale = true;
+    }
+    if (stale) {
+      return;
+    }
+
+    for (int g = 0; g < grown.size(); g++) {
+      addTree(grown.get(g), true);
+    }
+    // a grown tree joins the trees it can spread fire to and the trees that can spread to it, the
+    // same links a rebuild finds from the other tree's side on one-way neighborhoods
+    for (int g = 0; g < grown.size(); g++) {
+      int tree = grown.get(g);
+      joinNeighbors(tree, states, myTopology.getReverseNeighborOffsets(),
+          myTopology.getReverseNeighborIndices());
+      joinNeighbors(tree, states, myTopology.getNeighborOffsets(),
+          myTopology.getNeighborIndices());
+    }
+  }
+
+  /**
+   * Marks the clusters as stale after the engine stepped back.
+   */
+  void invalidate() {
+    stale = true;
+  }
+
+  /**
+   * Moves the clusters onto another engine's topology, such as after the neighborhood changed,
+   * and marks them as stale so they are rebuilt from that engine's states.
+   *
+   * @param topology - the topology of the engine now recording, over a grid of the same size
+   */
+  void attach(GridTopology topology) {
+    myTopology = topology;
+    stale = true;
+  }
+
+  private void recordEvent(int size) {
+    histogram[Integer.SIZE - 1 - Integer.numberOfLeadingZeros(size)]++;
+    eventCount++;
+    burnedTotal += size;
+    largestEvent = Math.max(largestEvent, size);
+  }
+
+  // Start of Getters ------
+
+  /**
+   * Returns the histogram of fire event sizes, where bin {@code k} counts the events with sizes in
+   * {@code [2^k, 2^(k+1))}.
+   *
+   * @return a copy of the histogram, trimmed after the largest non-empty bin
+   */
+  public long[] getHistogram() {
+    int bins = largestEvent == 0 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(largestEvent);
+    return Arrays.copyOf(histogram, bins);
+  }
+
+  /**
+   * Returns the smallest event size counted in the given histogram bin.
+   *
+   * @param bin - the index of the bin
+   * @return the lower bound of the bin, {@code 2^bin}
+   */
+  public static int getBinLowerBound(int bin) {
+    return 1 << bin;
+  }
+
+  /**
+   * Returns how many fire events have been recorded.
+   *
+   * @return the number of fire events
+   */
+  public long getEventCount() {
+    return eventCount;
+  }
+
+  /**
+   * Returns the size of the largest fire event recorded.
+   *
+   * @return the largest event size, or 0 if there have been no events
+   */
+  public int getLargestEvent() {
+    return largestEvent;
+  }
+
+  /**
+   * Returns the average size of the fire events recorded.
+   *
+   * @return the mean event size, or 0 if there have been no events
+   */
+  public double getMeanEventSize() {
+    return eventCount == 0 ? 0 : (double) burnedTotal / eventCount;
+  }
+
+  /**
+   * Returns the size of the tree cluster containing the given cell as of the last time the
+   * clusters were brought up to date.
+   *
+   * @param row - the row of the cell
+   * @param col - the column of the cell
+   * @return the size of the cell's cluster, or 0 if the cell is not a tree
+   */
+  public int getClusterSize(int row, int col) {
+    int index = myTopology.index(row, col);
+    return parent[index] == NOT_A_TREE ? 0 : clusterSize[find(index)];
+  }
+}
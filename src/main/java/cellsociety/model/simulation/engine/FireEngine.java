@@ -0,0 +1,223 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.CellStates.FIRE_BURNING;
+import static cellsociety.model.util.constants.CellStates.FIRE_EMPTY;
+import static cellsociety.model.util.constants.CellStates.FIRE_TREE;
+
+import cellsociety.model.simulation.cell.FireCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.rules.FireRule;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * The {@code FireEngine} class steps the Spreading of Fire simulation by only looking at the cells
+ * where something can happen.
+ *
+ * <p>It follows the same transitions as {@link FireRule}:
+ * <ul>
+ *   <li><b>Burning → Empty:</b> every cell in the fire front burns out.</li>
+ *   <li><b>Tree → Burning:</b> only the trees that have a cell of the fire front as a neighbor
+ *   are checked for spreading, instead of every tree asking all of its neighbors.</li>
+ *   <li><b>Spontaneous ignition / regrowth:</b> instead of one random draw per cell, the distance
+ *   to the next cell that succeeds is drawn from a geometric distribution, so a step costs time
+ *   proportional to the number of successes rather than the size of the grid.</li>
+ * </ul>
+ *
+ * <p>The cells that ignite on a step become the fire front of the next step.</p>
+ *
+ * <p>Fire event sizes can be recorded while stepping by enabling
+ * {@link FireClusterStatistics} with {@link #setClusterStatisticsEnabled(boolean)}, or carried
+ * over from another engine with {@link #setClusterStatistics(FireClusterStatistics)}.</p>
+ *
+ * @author Jessica Chen
+ */
+public class FireEngine extends ArrayEngine {
+
+  private Random random = new Random();
+
+  private IntList front;
+  private boolean frontStale;
+
+  // cells marked with the current stamp are already igniting this step
+  private final int[] igniteStamp;
+  private int stamp;
+
+  private FireClusterStatistics statistics;
+  private final IntList grown;
+  private boolean burned;
+
+  /**
+   * Constructs a fire engine from the current states of the grid.
+   *
+   * @param rule - the fire rule, supplies {@code ignitionLikelihood} and
+   *             {@code treeSpawnLikelihood}
+   * @param grid - the constructed grid of fire cells
+   */
+  public FireEngine(FireRule rule, Grid<FireCell> grid) {
+    super(grid, rule.getParameters());
+    igniteStamp = new int[size()];
+    grown = new IntList();
+    frontStale = true;
+  }
+
+  @Override
+  protected void advance() {
+    try {
+      if (frontStale) {
+        rebuildFront();
+      }
+      stamp++;
+      grown.clear();
+
+      IntList nextFront = new IntList();
+      spreadFront(nextFront);
+      sampleIgnitions(getParameters().getParameter("ignitionLikelihood"), nextFront);
+      sampleGrowth(getParameters().getParameter("treeSpawnLikelihood"));
+
+      burned = !nextFront.isEmpty();
+      front = nextFront;
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  @Override
+  protected void onStepCommitted() {
+    if (statistics != null) {
+      statistics.recordStep(grown, burned, getStates());
+    }
+  }
+
+  @Override
+  protected void onStepBack() {
+    frontStale = true;
+    if (statistics != null) {
+      statistics.invalidate();
+    }
+  }
+
+  private void rebuildFront() {
+    front = new IntList();
+    int[] states = getStates();
+    for (int i = 0; i < states.length; i++) {
+      if (states[i] == FIRE_BURNING) {
+        front.add(i);
+      }
+    }
+    frontStale = false;
+  }
+
+  private void spreadFront(IntList nextFront) {
+    int[] states = getStates();
+    // a burning cell ignites the trees that have it as a neighbor, which is not the same as its
+    // own neighbors when the neighborhood is one-way
+    int[] offsets = getTopology().getReverseNeighborOffsets();
+    int[] neighbors = getTopology().getReverseNeighborIndices();
+
+    for (int f = 0; f < front.size(); f++) {
+      int burning = front.get(f);
+      queueChange(burning, FIRE_EMPTY);
+
+      for (int k = offsets[burning]; k < offsets[burning + 1]; k++) {
+        igniteIfTree(neighbors[k], states, nextFront);
+      }
+    }
+  }
+
+  private void sampleIgnitions(double probability, IntList nextFront) {
+    int[] states = getStates();
+    for (long i = nextSkip(probability) - 1; i < states.length; i += nextSkip(probability)) {
+      if (igniteIfTree((int) i, states, nextFront) && statistics != null) {
+        statistics.recordIgnition((int) i, states);
+      }
+    }
+  }
+
+  private void sampleGrowth(double probability) {
+    int[] states = getStates();
+    for (long i = nextSkip(probability) - 1; i < states.length; i += nextSkip(probability)) {
+      if (states[(int) i] == FIRE_EMPTY) {
+        queueChange((int) i, FIRE_TREE);
+        grown.add((int) i);
+      }
+    }
+  }
+
+  private boolean igniteIfTree(int index, int[] states, IntList nextFront) {
+    if (states[index] == FIRE_TREE && igniteStamp[index] != stamp) {
+      igniteStamp[index] = stamp;
+      queueChange(index, FIRE_BURNING);
+      nextFront.add(index);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Draws how many cells to move forward to reach the next cell whose random event succeeds, where
+   * every cell succeeds independently with the given probability.
+   *
+   * @param probability - the chance of success for a single cell
+   * @return the distance to the next success, at least 1, capped at {@code Integer.MAX_VALUE}
+   * which is past the end of any grid
+   */
+  long nextSkip(double probability) {
+    if (!(probability > 0)) {
+      return Integer.MAX_VALUE;
+    }
+    if (probability >= 1) {
+      return 1;
+    }
+    // 1 - nextDouble() is in (0, 1] so the log is always defined
+    double gap = Math.floor(Math.log(1 - random.nextDouble()) / Math.log1p(-probability));
+    return gap >= Integer.MAX_VALUE - 1 ? Integer.MAX_VALUE : (long) gap + 1;
+  }
+
+  /**
+   * Turns recording of fire event sizes on or off. Turning it on starts a new set of statistics
+   * from the current state of the grid.
+   *
+   * @param enabled - whether to record fire event sizes
+   */
+  public void setClusterStatisticsEnabled(boolean enabled) {
+    if (!enabled) {
+      statistics = null;
+    } else if (statistics == null) {
+      statistics = new FireClusterStatistics(getTopology(), getStates());
+    }
+  }
+
+  /**
+   * Records fire event sizes into existing statistics, such as the ones of an engine this one
+   * replaces, adding to their histogram. Their clusters are rebuilt from this engine's grid before
+   * the next event is measured.
+   *
+   * @param statistics - the statistics to keep recording into
+   */
+  public void setClusterStatistics(FireClusterStatistics statistics) {
+    statistics.attach(getTopology());
+    this.statistics = statistics;
+  }
+
+  /**
+   * Returns the fire event statistics, if they are being recorded.
+   *
+   * @return the statistics, or {@code Optional.empty()} if they are not enabled
+   */
+  public Optional<FireClusterStatistics> getClusterStatistics() {
+    return Optional.ofNullable(statistics);
+  }
+
+  /**
+   * Sets the random instance to be used for the spontaneous ignition and regrowth draws.
+   *
+   * <p>Used for testing so draws can be controlled.
+   *
+   * @param random the {@code Random} object to use for generating random values. Must not be null.
+   */
+  void setRandom(Random random) {
+    this.random = random;
+  }
+}
@@ -0,0 +1,149 @@
+package cellsociety.model.simulation.engine;
+
+import java.util.stream.IntStream;
+
+/**
+ * The {@code FourierTransform} class computes in-place two dimensional fast Fourier transforms of
+ * complex arrays whose sides are powers of two, for convolving a grid with a large kernel.
+ *
+ * <p>Each side is transformed with an iterative radix-2 Cooley-Tukey transform: every row first,
+ * then every column. Rows and columns are independent of each other, so on large arrays they are
+ * spread across cores with a parallel stream.</p>
+ *
+ * <p><b>Example Usage:</b></p>
+ * <pre>
+ * double[] re = new double[rows * cols];
+ * double[] im = new double[rows * cols];
+ * FourierTransform.transform(re, im, rows, cols, false);  // forward
+ * FourierTransform.transform(re, im, rows, cols, true);   // back again
+ * </pre>
+ *
+ * @author Jessica Chen
+ */
+final class FourierTransform {
+
+  // below this many entries the transforms run on the calling thread
+  private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+  private FourierTransform() {
+    // static helpers
+  }
+
+  /**
+   * Returns the smallest power of two that is at least the given length.
+   */
+  static int nextPowerOfTwo(int length) {
+    return length <= 1 ? 1 : Integer.highestOneBit(length - 1) << 1;
+  }
+
+  /**
+   * Transforms a row-major complex array in place.
+   *
+   * @param re      - the real parts, {@code rows * cols} long
+   * @param im      - the imaginary parts, {@code rows * cols} long
+   * @param rows    - the number of rows, a power of two
+   * @param cols    - the number of columns, a power of two
+   * @param inverse - {@code true} for the inverse transform, which also divides by
+   *                {@code rows * cols}
+   */
+  static void transform(double[] re, double[] im, int rows, int cols, boolean inverse) {
+    boolean parallel = rows * cols >= PARALLEL_THRESHOLD;
+
+    double[][] rowTwiddles = twiddles(cols, inverse);
+    range(rows, parallel).forEach(row -> {
+      double[] rowRe = new double[cols];
+      double[] rowIm = new double[cols];
+      System.arraycopy(re, row * cols, rowRe, 0, cols);
+      System.arraycopy(im, row * cols, rowIm, 0, cols);
+      transform(rowRe, rowIm, rowTwiddles);
+      System.arraycopy(rowRe, 0, re, row * cols, cols);
+      System.arraycopy(rowIm, 0, im, row * cols, cols);
+    });
+
+    double[][] colTwiddles = twiddles(rows, inverse);
+    range(cols, parallel).forEach(col -> {
+      double[] colRe = new double[rows];
+      double[] colIm = new double[rows];
+      for (int row = 0; row < rows; row++) {
+        colRe[row] = re[row * cols + col];
+        colIm[row] = im[row * cols + col];
+      }
+      transform(colRe, colIm, colTwiddles);
+      for (int row = 0; row < rows; row++) {
+        re[row * cols + col] = colRe[row];
+        im[row * cols + col] = colIm[row];
+      }
+    });
+
+    if (inverse) {
+      double scale = 1.0 / (rows * cols);
+      for (int i = 0; i < re.length; i++) {
+        re[i] *= scale;
+        im[i] *= scale;
+      }
+    }
+  }
+
+  private static IntStream range(int length, boolean parallel) {
+    IntStream range = IntStream.range(0, length);
+    return parallel ? range.parallel() : range;
+  }
+
+  /**
+   * Returns the cosines and sines of the first half of the roots of unity of a length, signed for
+   * the direction of the transform.
+   */
+  private static double[][] twiddles(int length, boolean inverse) {
+    double[][] twiddles = new double[2][length / 2];
+    double sign = inverse ? 1 : -1;
+    for (int k = 0; k < length / 2; k++) {
+      double angle = sign * 2 * Math.PI * k / length;
+      twiddles[0][k] = Math.cos(angle);
+      twiddles[1][k] = Math.sin(angle);
+    }
+    return twiddles;
+  }
+
+  /**
+   * Transforms one complex sequence in place, its length a power of two.
+   */
+  private static void transform(double[] re, double[] im, double[][] twiddles) {
+    int length = re.length;
+
+    // bit-reversal permutation
+    for (int i = 1, j = 0; i < length; i++) {
+      int bit = length >> 1;
+      for (; (j & bit) != 0; bit >>= 1) {
+        j ^= bit;
+      }
+      j ^= bit;
+      if (i < j) {
+        double swap = re[i];
+        re[i] = re[j];
+        re[j] = swap;
+        swap = im[i];
+        im[i] = im[j];
+        im[j] = swap;
+      }
+    }
+
+    for (int size = 2; size <= length; size <<= 1) {
+      int half = size / 2;
+      int stride = length / size;
+      for (int start = 0; start < length; start += size) {
+        for (int k = 0; k < half; k++) {
+          double cos = twiddles[0][k * stride];
+          double sin = twiddles[1][k * stride];
+          int even = start + k;
+          int odd = even + half;
+          double oddRe = re[odd] * cos - im[odd] * sin;
+          double oddIm = re[odd] * sin + im[odd] * cos;
+          re[odd] = re[even] - oddRe;
+          im[odd] = im[even] - oddIm;
+          re[even] += oddRe;
+          im[even] += oddIm;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_ALIVE;
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_DEAD;
+
+import cellsociety.model.simulation.cell.GameOfLifeCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.rules.GameOfLifeRule;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.List;
+
+/**
+ * The {@code GameOfLifeEngine} class steps the Game of Life over the flat state array, one tile of
+ * the grid's state layout at a time.
+ *
+ * <p>It follows the same transition as {@link GameOfLifeRule}: an alive cell dies unless its
+ * number of alive neighbors is in the "S" list, and a dead cell comes alive if its number of alive
+ * neighbors is in the "B" list. Both lists are turned into lookup tables once per step.</p>
+ *
+ * <p>The rule asks for a Morton layout, so each tile's states are contiguous and the neighbors of
+ * a cell are almost always in the same tile or the one next to it. Stepping a whole tile before
+ * moving on keeps those reads in cache even on grids far wider than a cache line per row.</p>
+ *
+ * <p>The live population is counted as part of each step, so {@link DensitySwitchingEngine} can
+ * check it without another pass over the grid.</p>
+ *
+ * @author Jessica Chen
+ */
+public final class GameOfLifeEngine extends ArrayEngine implements DensitySwitchable {
+
+  private final GameOfLifeRule myRule;
+  private final int maxNeighbors;
+  private int population;
+  private int nextPopulation;
+
+  /**
+   * Constructs a Game of Life engine from the current states of the grid.
+   *
+   * @param rule - the Game of Life rule, supplies the "S" and "B" lists
+   * @param grid - the constructed grid of Game of Life cells
+   * @throws SimulationException if the grid has not been constructed
+   */
+  public GameOfLifeEngine(GameOfLifeRule rule, Grid<GameOfLifeCell> grid) {
+    super(grid, rule.getParameters());
+    myRule = rule;
+
+    int max = 0;
+    for (int i = 0; i < size(); i++) {
+      max = Math.max(max, getTopology().getNeighborCount(i));
+    }
+    maxNeighbors = max;
+    population = countAlive();
+  }
+
+  @Override
+  protected void advance() {
+    try {
+      boolean[] survive = countTable(myRule.retrieveParameterList("S"), maxNeighbors);
+      boolean[] birth = countTable(myRule.retrieveParameterList("B"), maxNeighbors);
+
+      nextPopulation = 0;
+      int[] tiles = getTopology().getTileOffsets();
+      for (int t = 0; t + 1 < tiles.length; t++) {
+        stepTile(tiles[t], tiles[t + 1], survive, birth);
+      }
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  private void stepTile(int start, int end, boolean[] survive, boolean[] birth) {
+    int[] states = getStates();
+    int[] offsets = getTopology().getNeighborOffsets();
+    int[] neighbors = getTopology().getNeighborIndices();
+
+    for (int i = start; i < end; i++) {
+      int state = states[i];
+      if (state != GAMEOFLIFE_ALIVE && state != GAMEOFLIFE_DEAD) {
+        continue;
+      }
+
+      int alive = 0;
+      for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+        if (states[neighbors[k]] == GAMEOFLIFE_ALIVE) {
+          alive++;
+        }
+      }
+
+      if (state == GAMEOFLIFE_ALIVE && !survive[alive]) {
+        queueChange(i, GAMEOFLIFE_DEAD);
+      } else if (state == GAMEOFLIFE_DEAD && birth[alive]) {
+        queueChange(i, GAMEOFLIFE_ALIVE);
+        nextPopulation++;
+      } else if (state == GAMEOFLIFE_ALIVE) {
+        nextPopulation++;
+      }
+    }
+  }
+
+  @Override
+  protected void onStepCommitted() {
+    population = nextPopulation;
+  }
+
+  @Override
+  protected void onStepBack() {
+    population = countAlive();
+  }
+
+  private int countAlive() {
+    int alive = 0;
+    for (int state : getStates()) {
+      if (state == GAMEOFLIFE_ALIVE) {
+        alive++;
+      }
+    }
+    return alive;
+  }
+
+  /**
+   * Returns the number of alive cells.
+   *
+   * @return the live population
+   */
+  @Override
+  public int getPopulation() {
+    return population;
+  }
+
+  /**
+   * Turns a neighbor count list parameter into a table indexed by neighbor count.
+   */
+  static boolean[] countTable(List<Integer> counts, int maxNeighbors) {
+    boolean[] table = new boolean[maxNeighbors + 1];
+    for (int count : counts) {
+      if (count >= 0 && count <= maxNeighbors) {
+        table[count] = true;
+      }
+    }
+    return table;
+  }
+}
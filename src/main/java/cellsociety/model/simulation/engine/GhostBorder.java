@@ -0,0 +1,166 @@
+package cellsociety.model.simulation.engine;
+
+import cellsociety.model.simulation.grid.GridTopology;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.ShapeType;
+import java.util.Optional;
+
+/**
+ * The {@code GhostBorder} class lays a rectangular grid out in a flat row-major array with a
+ * border of ghost cells around it, as wide as the neighborhood reaches (2 for
+ * {@code EXTENDED_MOORE}, otherwise 1).
+ *
+ * <p>Once {@link #refresh(byte[], byte)} has filled the border, every cell of the grid finds its
+ * neighbors at the same offsets from {@link #getStencil()}, with no bounds checks or wrapping. The
+ * border follows the edge type of the grid:
+ * <ul>
+ *   <li>{@code TOROIDAL} copies the cells from the opposite side.</li>
+ *   <li>{@code MIRROR} copies the cells reflected across the edge.</li>
+ *   <li>{@code NONE} and {@code UNBOUNDED} fill the border with an empty value, so the caller
+ *   must pick a value no neighbor check will match, and still account for edge cells having fewer
+ *   neighbors.</li>
+ * </ul>
+ * These copy the same cells the grid's edge handlers pick, so the result matches the grid's
+ * topology.</p>
+ *
+ * <p>Only rectangular grids at least as large as the border in both directions can be padded,
+ * since other shapes have neighborhoods that change from cell to cell.</p>
+ *
+ * @author Jessica Chen
+ */
+final class GhostBorder {
+
+  private final int myRows;
+  private final int myCols;
+  private final int radius;
+  private final int paddedCols;
+  private final EdgeType myEdge;
+  private final int[] stencil;
+
+  // the padded index of every ghost cell and, unless the edge is NONE, the cell it copies
+  private final int[] ghostCells;
+  private final int[] ghostSources;
+
+  private GhostBorder(GridTopology topology, int[][] offsets, int radius) {
+    myRows = topology.getRows();
+    myCols = topology.getCols();
+    this.radius = radius;
+    paddedCols = myCols + 2 * radius;
+    myEdge = topology.getEdgeType();
+
+    stencil = new int[offsets.length];
+    for (int k = 0; k < offsets.length; k++) {
+      stencil[k] = offsets[k][0] * paddedCols + offsets[k][1];
+    }
+
+    int paddedRows = myRows + 2 * radius;
+    int ghostCount = paddedRows * paddedCols - myRows * myCols;
+    ghostCells = new int[ghostCount];
+    ghostSources = new int[ghostCount];
+    int next = 0;
+    for (int row = -radius; row < myRows + radius; row++) {
+      for (int col = -radius; col < myCols + radius; col++) {
+        if (row >= 0 && row < myRows && col >= 0 && col < myCols) {
+          continue;
+        }
+        ghostCells[next] = index(row, col);
+        ghostSources[next] = index(sourceOf(row, myRows), sourceOf(col, myCols));
+        next++;
+      }
+    }
+  }
+
+  /**
+   * Creates the ghost border of a grid, if its shape and size allow one.
+   *
+   * @param topology - the topology of the grid
+   * @return the ghost border, or {@code Optional.empty()} if the grid cannot be padded
+   */
+  static Optional<GhostBorder> create(GridTopology topology) {
+    if (topology.getShape() != ShapeType.RECTANGLE) {
+      return Optional.empty();
+    }
+
+    int[][] offsets = topology.getNeighborhoodOffsets(0, 0);
+    int radius = 0;
+    for (int[] offset : offsets) {
+      radius = Math.max(radius, Math.max(Math.abs(offset[0]), Math.abs(offset[1])));
+    }
+    if (offsets.length == 0 || radius > topology.getRows() || radius > topology.getCols()) {
+      return Optional.empty();
+    }
+    return Optional.of(new GhostBorder(topology, offsets, radius));
+  }
+
+  /**
+   * Returns the position a ghost coordinate copies along one axis, the same way the grid's edge
+   * handlers map a neighbor that falls outside the grid.
+   */
+  private int sourceOf(int position, int length) {
+    if (position >= 0 && position < length) {
+      return position;
+    }
+    return switch (myEdge) {
+      case TOROIDAL -> position < 0 ? length + position : position - length;
+      case MIRROR -> position < 0 ? -position - 1 : length - 1 - (position - length);
+      case NONE, UNBOUNDED -> position;
+    };
+  }
+
+  /**
+   * Fills the ghost border of a padded array from its cells, to be called whenever the cells have
+   * changed.
+   *
+   * @param cells - a padded array of length {@link #size()}
+   * @param empty - the value of the border when the edge type has no wrapping
+   */
+  void refresh(byte[] cells, byte empty) {
+    if (myEdge == EdgeType.NONE || myEdge == EdgeType.UNBOUNDED) {
+      for (int ghost : ghostCells) {
+        cells[ghost] = empty;
+      }
+      return;
+    }
+    for (int k = 0; k < ghostCells.length; k++) {
+      cells[ghostCells[k]] = cells[ghostSources[k]];
+    }
+  }
+
+  /**
+   * Returns the padded index of a position in the grid, or of a ghost cell up to the border's
+   * width outside it.
+   */
+  int index(int row, int col) {
+    return (row + radius) * paddedCols + col + radius;
+  }
+
+  /**
+   * Returns the offsets of the neighbors of every cell in the padded array.
+   */
+  int[] getStencil() {
+    return stencil;
+  }
+
+  /**
+   * Returns the padded index of the first cell of the grid. The cells of the grid all lie between
+   * this and {@link #getEndCell()}, along with the side ghost cells of the rows in between, which
+   * can safely be stepped along with them.
+   */
+  int getFirstCell() {
+    return index(0, 0);
+  }
+
+  /**
+   * Returns one past the padded index of the last cell of the grid.
+   */
+  int getEndCell() {
+    return index(myRows - 1, myCols - 1) + 1;
+  }
+
+  /**
+   * Returns the length of a padded array.
+   */
+  int size() {
+    return (myRows + 2 * radius) * paddedCols;
+  }
+}
@@ -0,0 +1,50 @@
+package cellsociety.model.simulation.engine;
+
+/**
+ * The {@code HistoryRecords} class describes the layout of exported step back history, which lets
+ * one engine hand its history to another engine stepping the same grid.
+ *
+ * <p>An exported step is a flat int array of records, one per changed position, each holding the
+ * row, the column, the state before the step, and the generation that state started at, relative
+ * to the generation of the engine doing the export. Being relative, the records do not depend on
+ * how many steps either engine has taken.</p>
+ *
+ * @author Jessica Chen
+ */
+final class HistoryRecords {
+
+  /**
+   * The number of ints in one record.
+   */
+  static final int WIDTH = 4;
+
+  private HistoryRecords() {
+    // static helpers
+  }
+
+  /**
+   * Writes one record into a step starting at the given offset.
+   */
+  static void write(int[] step, int offset, int row, int col, int oldState, int oldStamp) {
+    step[offset] = row;
+    step[offset + 1] = col;
+    step[offset + 2] = oldState;
+    step[offset + 3] = oldStamp;
+  }
+
+  static int row(int[] step, int offset) {
+    return step[offset];
+  }
+
+  static int col(int[] step, int offset) {
+    return step[offset + 1];
+  }
+
+  static int oldState(int[] step, int offset) {
+    return step[offset + 2];
+  }
+
+  static int oldStamp(int[] step, int offset) {
+    return step[offset + 3];
+  }
+}
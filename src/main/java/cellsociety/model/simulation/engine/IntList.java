@@ -0,0 +1,47 @@
+package cellsociety.model.simulation.engine;
+
+import java.util.Arrays;
+
+/**
+ * A minimal growable list of primitive ints, used by the engines to avoid boxing on hot paths.
+ *
+ * @author Jessica Chen
+ */
+class IntList {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private int[] values;
+  private int size;
+
+  IntList() {
+    values = new int[DEFAULT_CAPACITY];
+  }
+
+  void add(int value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, values.length * 2);
+    }
+    values[size++] = value;
+  }
+
+  int get(int index) {
+    return values[index];
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  void clear() {
+    size = 0;
+  }
+
+  int[] toArray() {
+    return Arrays.copyOf(values, size);
+  }
+}
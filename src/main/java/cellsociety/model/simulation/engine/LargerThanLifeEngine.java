@@ -0,0 +1,126 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.CellStates.LARGERTHANLIFE_ALIVE;
+import static cellsociety.model.util.constants.CellStates.LARGERTHANLIFE_DEAD;
+
+import cellsociety.model.simulation.cell.LargerThanLifeCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.grid.GridTopology;
+import cellsociety.model.simulation.rules.LargerThanLifeRule;
+import cellsociety.model.util.exceptions.SimulationException;
+
+/**
+ * The {@code LargerThanLifeEngine} class steps Larger than Life with a summed-area table, so
+ * counting a cell's box costs four reads whatever the range.
+ *
+ * <p>Each step the grid is laid out with a border as wide as the range, filled through the grid's
+ * edge type the same way {@link LargerThanLifeRule} resolves positions past the border. Entry
+ * {@code (i, j)} of the table holds the number of alive cells above and to the left of it, so the
+ * count of any box is the difference of the table at its four corners. Building the table is one
+ * pass over the bordered grid, so a step costs {@code (rows + 2r) * (cols + 2r)} instead of
+ * {@code rows * cols * (2r + 1)^2} for the rule.</p>
+ *
+ * <p>The transition is turned into a table indexed by count once per step, by asking the rule for
+ * the next state of every possible count, so edits to the intervals from the view apply on the
+ * next step.</p>
+ *
+ * @author Jessica Chen
+ */
+public class LargerThanLifeEngine extends ArrayEngine {
+
+  private final LargerThanLifeRule myRule;
+
+  /**
+   * Constructs a Larger than Life engine from the current states of the grid.
+   *
+   * @param rule - the Larger than Life rule, supplies the range and the intervals
+   * @param grid - the constructed grid of Larger than Life cells
+   * @throws SimulationException if the grid has not been constructed
+   */
+  public LargerThanLifeEngine(LargerThanLifeRule rule, Grid<LargerThanLifeCell> grid) {
+    super(grid, rule.getParameters());
+    myRule = rule;
+  }
+
+  @Override
+  protected void advance() {
+    try {
+      int range = myRule.getRange();
+      int[] table = buildTable(range);
+      int boxArea = (2 * range + 1) * (2 * range + 1);
+      int[] nextIfAlive = transitions(LARGERTHANLIFE_ALIVE, boxArea);
+      int[] nextIfDead = transitions(LARGERTHANLIFE_DEAD, boxArea);
+
+      GridTopology topology = getTopology();
+      int tableCols = topology.getCols() + 2 * range + 1;
+      int span = 2 * range + 1;
+      for (int row = 0; row < topology.getRows(); row++) {
+        for (int col = 0; col < topology.getCols(); col++) {
+          int index = topology.index(row, col);
+          int state = getState(index);
+          if (state != LARGERTHANLIFE_ALIVE && state != LARGERTHANLIFE_DEAD) {
+            continue;
+          }
+
+          int top = row * tableCols + col;
+          int bottom = (row + span) * tableCols + col;
+          int count = table[bottom + span] - table[top + span] - table[bottom] + table[top];
+          int next = state == LARGERTHANLIFE_ALIVE ? nextIfAlive[count] : nextIfDead[count];
+          if (next != state) {
+            queueChange(index, next);
+          }
+        }
+      }
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Builds the summed-area table of the grid bordered by {@code range} cells on every side. The
+   * table has one more row and column than the bordered grid, with a leading row and column of
+   * zeros.
+   */
+  private int[] buildTable(int range) {
+    GridTopology topology = getTopology();
+    int rows = topology.getRows();
+    int cols = topology.getCols();
+
+    int[] alive = new int[rows * cols];
+    int[] states = getStates();
+    for (int i = 0; i < states.length; i++) {
+      if (states[i] == LARGERTHANLIFE_ALIVE) {
+        alive[topology.toRowMajor(i)] = 1;
+      }
+    }
+
+    int paddedRows = rows + 2 * range;
+    int paddedCols = cols + 2 * range;
+    int[] sourceCols = new int[paddedCols];
+    for (int j = 0; j < paddedCols; j++) {
+      sourceCols[j] = topology.resolveCol(j - range);
+    }
+
+    int tableCols = paddedCols + 1;
+    int[] table = new int[(paddedRows + 1) * tableCols];
+    for (int i = 0; i < paddedRows; i++) {
+      int sourceRow = topology.resolveRow(i - range);
+      int rowSum = 0;
+      for (int j = 0; j < paddedCols; j++) {
+        if (sourceRow >= 0 && sourceCols[j] >= 0) {
+          rowSum += alive[sourceRow * cols + sourceCols[j]];
+        }
+        table[(i + 1) * tableCols + j + 1] = table[i * tableCols + j + 1] + rowSum;
+      }
+    }
+    return table;
+  }
+
+  private int[] transitions(int state, int boxArea) {
+    int[] next = new int[boxArea + 1];
+    for (int count = 0; count <= boxArea; count++) {
+      next[count] = myRule.getNextState(state, count);
+    }
+    return next;
+  }
+}
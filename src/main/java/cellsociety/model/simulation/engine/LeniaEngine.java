@@ -0,0 +1,352 @@
+package cellsociety.model.simulation.engine;
+
+import cellsociety.model.simulation.cell.LeniaCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.grid.GridTopology;
+import cellsociety.model.simulation.rules.LeniaRule;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code LeniaEngine} class steps Lenia on exact amounts in a {@code float} array, and only
+ * rounds them to cell levels when the grid is read.
+ *
+ * <p>Each step the amounts are laid out with a border as wide as the radius, filled through the
+ * grid's edge type the same way {@link LeniaRule} resolves positions past the border, and the
+ * kernel is convolved over the bordered field in one of two ways:
+ * <ul>
+ *   <li><b>Direct</b>: every cell sums its nonzero kernel taps, which costs
+ *   {@code rows * cols * taps}. Rows are spread across cores on large grids.</li>
+ *   <li><b>FFT</b>: the field is padded to powers of two and multiplied with the kernel in the
+ *   frequency domain through {@link FourierTransform}, which costs
+ *   {@code O(n log n)} in the padded size whatever the radius. The spectrum of the kernel is kept
+ *   until the radius or the grid size changes.</li>
+ * </ul>
+ * The cheaper of the two is picked every step from the radius and grid size.</p>
+ *
+ * <p>A state length is how many steps a cell's rounded level has stayed the same. Since every
+ * amount can change on every step, the step back history keeps a full copy of the amounts per
+ * step, bounded by {@code maxHistorySize}. Writing to the grid gives each cell its rounded level
+ * and its exact amount (see {@link LeniaCell#getAmount()}), and the engine is created from the
+ * amounts, so an engine started again from the cells, after turning it off or after the
+ * simulation's history restored them, continues exactly.</p>
+ *
+ * @author Jessica Chen
+ */
+public class LeniaEngine implements SimulationEngine {
+
+  // direct convolution is kept while it needs fewer multiplications than this many times the
+  // n log n of the padded FFT, which does two transforms and a pointwise product per step
+  private static final int FFT_COST_FACTOR = 6;
+  // below this many multiplications a step runs on the calling thread
+  private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+  /**
+   * How the kernel is convolved over the grid. {@code AUTO} picks the cheaper method per step.
+   */
+  enum Convolution {
+    AUTO, DIRECT, FFT
+  }
+
+  private final LeniaRule myRule;
+  private final List<LeniaCell> myCells;
+  private final GridTopology myTopology;
+  private final int rows;
+  private final int cols;
+
+  private float[] values;
+  private int[] changedAt;
+  private int generation;
+  private final Deque<Snapshot> history;
+  private boolean historyEnabled;
+
+  private Convolution convolution;
+
+  // spectrum of the kernel placed on the padded field, reused while the kernel and size match
+  private double[] spectrumKernel;
+  private int spectrumRows;
+  private int spectrumCols;
+  private double[] spectrumRe;
+  private double[] spectrumIm;
+
+  /**
+   * Constructs a Lenia engine from the current amounts of the grid.
+   *
+   * @param rule - the Lenia rule, supplies the kernel and the growth function
+   * @param grid - the constructed grid of Lenia cells
+   * @throws SimulationException if the grid has not been constructed
+   */
+  public LeniaEngine(LeniaRule rule, Grid<LeniaCell> grid) {
+    try {
+      myRule = rule;
+      myTopology = grid.getTopology();
+      myCells = grid.getCells();
+      rows = myTopology.getRows();
+      cols = myTopology.getCols();
+
+      values = new float[rows * cols];
+      changedAt = new int[rows * cols];
+      for (int i = 0; i < values.length; i++) {
+        LeniaCell cell = myCells.get(i);
+        values[i] = cell.getAmount();
+        // so that generation - changedAt + 1 is the current state length at generation 0
+        changedAt[i] = 1 - cell.getStateLength();
+      }
+
+      history = new ArrayDeque<>();
+      historyEnabled = true;
+      convolution = Convolution.AUTO;
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  @Override
+  public void step() {
+    try {
+      int radius = myRule.getRadius();
+      double[] kernel = myRule.getKernel();
+      DoubleBinaryOperator transition = myRule.getTransition();
+
+      float[] field = borderedField(radius);
+      double[] potential = useFft(radius, kernel) ? convolveFft(field, radius, kernel)
+          : convolveDirect(field, radius, kernel);
+
+      if (historyEnabled) {
+        history.addLast(new Snapshot(values, changedAt));
+        int maxHistorySize = ArrayEngine.maxHistorySize(myRule.getParameters());
+        while (history.size() > maxHistorySize) {
+          history.removeFirst();
+        }
+      }
+
+      generation++;
+      float[] nextValues = new float[values.length];
+      int[] nextChangedAt = changedAt.clone();
+      range(values.length, values.length).forEach(i -> {
+        nextValues[i] = (float) transition.applyAsDouble(values[i], potential[i]);
+        if (LeniaRule.toLevel(nextValues[i]) != LeniaRule.toLevel(values[i])) {
+          nextChangedAt[i] = generation;
+        }
+      });
+      values = nextValues;
+      changedAt = nextChangedAt;
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  @Override
+  public void setHistoryEnabled(boolean enabled) {
+    historyEnabled = enabled;
+    if (!enabled) {
+      history.clear();
+    }
+  }
+
+  @Override
+  public boolean stepBack() {
+    if (history.isEmpty()) {
+      return false;
+    }
+
+    Snapshot snapshot = history.removeLast();
+    values = snapshot.values;
+    changedAt = snapshot.changedAt;
+    generation--;
+    return true;
+  }
+
+  @Override
+  public int getState(int row, int col) {
+    return LeniaRule.toLevel(values[row * cols + col]);
+  }
+
+  @Override
+  public int getStateLength(int row, int col) {
+    return generation - changedAt[row * cols + col] + 1;
+  }
+
+  /**
+   * Returns the exact amount at the given position, before it is rounded to a level.
+   *
+   * @param row - the row of the position
+   * @param col - the column of the position
+   * @return the amount, in {@code [0, 1]}
+   */
+  public double getValue(int row, int col) {
+    return values[row * cols + col];
+  }
+
+  @Override
+  public void writeToGrid() {
+    try {
+      for (int i = 0; i < values.length; i++) {
+        myCells.get(i).restoreState(LeniaRule.toLevel(values[i]),
+            generation - changedAt[i] + 1);
+        myCells.get(i).restoreAmount(values[i]);
+      }
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Forces a convolution method instead of picking the cheaper one, so both can be compared.
+   *
+   * @param convolution - the method to use from the next step on
+   */
+  void setConvolution(Convolution convolution) {
+    this.convolution = convolution;
+  }
+
+  private boolean useFft(int radius, double[] kernel) {
+    if (convolution != Convolution.AUTO) {
+      return convolution == Convolution.FFT;
+    }
+    long taps = IntStream.range(0, kernel.length).filter(k -> kernel[k] != 0).count();
+    long padded = (long) FourierTransform.nextPowerOfTwo(rows + 2 * radius)
+        * FourierTransform.nextPowerOfTwo(cols + 2 * radius);
+    long log = 63 - Long.numberOfLeadingZeros(padded);
+    return taps * rows * cols > FFT_COST_FACTOR * padded * log;
+  }
+
+  /**
+   * Lays the amounts out with {@code radius} cells of border on every side, row-major, filling the
+   * border through the grid's edge type and with 0 where the edge has no cells.
+   */
+  private float[] borderedField(int radius) {
+    int fieldRows = rows + 2 * radius;
+    int fieldCols = cols + 2 * radius;
+    int[] sourceCols = new int[fieldCols];
+    for (int j = 0; j < fieldCols; j++) {
+      sourceCols[j] = myTopology.resolveCol(j - radius);
+    }
+
+    float[] field = new float[fieldRows * fieldCols];
+    for (int i = 0; i < fieldRows; i++) {
+      int sourceRow = myTopology.resolveRow(i - radius);
+      if (sourceRow < 0) {
+        continue;
+      }
+      for (int j = 0; j < fieldCols; j++) {
+        if (sourceCols[j] >= 0) {
+          field[i * fieldCols + j] = values[sourceRow * cols + sourceCols[j]];
+        }
+      }
+    }
+    return field;
+  }
+
+  private double[] convolveDirect(float[] field, int radius, double[] kernel) {
+    int span = 2 * radius + 1;
+    int fieldCols = cols + 2 * radius;
+
+    // offsets of the nonzero taps from the top left corner of a cell's box in the field
+    int taps = (int) IntStream.range(0, kernel.length).filter(k -> kernel[k] != 0).count();
+    int[] offsets = new int[taps];
+    double[] weights = new double[taps];
+    for (int k = 0, t = 0; k < kernel.length; k++) {
+      if (kernel[k] != 0) {
+        offsets[t] = (k / span) * fieldCols + k % span;
+        weights[t++] = kernel[k];
+      }
+    }
+
+    double[] potential = new double[rows * cols];
+    range(rows, (long) rows * cols * taps).forEach(row -> {
+      for (int col = 0; col < cols; col++) {
+        int corner = row * fieldCols + col;
+        double sum = 0;
+        for (int t = 0; t < taps; t++) {
+          sum += weights[t] * field[corner + offsets[t]];
+        }
+        potential[row * cols + col] = sum;
+      }
+    });
+    return potential;
+  }
+
+  private double[] convolveFft(float[] field, int radius, double[] kernel) {
+    int fieldCols = cols + 2 * radius;
+    int paddedRows = FourierTransform.nextPowerOfTwo(rows + 2 * radius);
+    int paddedCols = FourierTransform.nextPowerOfTwo(fieldCols);
+    updateSpectrum(kernel, radius, paddedRows, paddedCols);
+
+    double[] re = new double[paddedRows * paddedCols];
+    double[] im = new double[paddedRows * paddedCols];
+    for (int i = 0; i < rows + 2 * radius; i++) {
+      for (int j = 0; j < fieldCols; j++) {
+        re[i * paddedCols + j] = field[i * fieldCols + j];
+      }
+    }
+
+    FourierTransform.transform(re, im, paddedRows, paddedCols, false);
+    for (int i = 0; i < re.length; i++) {
+      double productRe = re[i] * spectrumRe[i] - im[i] * spectrumIm[i];
+      double productIm = re[i] * spectrumIm[i] + im[i] * spectrumRe[i];
+      re[i] = productRe;
+      im[i] = productIm;
+    }
+    FourierTransform.transform(re, im, paddedRows, paddedCols, true);
+
+    // cell (row, col) sits at (row + radius, col + radius) of the field, and every box it reads
+    // lies inside the field, so the circular convolution never wraps for it
+    double[] potential = new double[rows * cols];
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        potential[row * cols + col] = re[(row + radius) * paddedCols + col + radius];
+      }
+    }
+    return potential;
+  }
+
+  /**
+   * Transforms the kernel placed so that the convolution at a cell reads its box, the weight for
+   * offset {@code (dr, dc)} at {@code (-dr, -dc)} modulo the padded size.
+   */
+  private void updateSpectrum(double[] kernel, int radius, int paddedRows, int paddedCols) {
+    if (spectrumKernel == kernel && spectrumRows == paddedRows && spectrumCols == paddedCols) {
+      return;
+    }
+
+    int span = 2 * radius + 1;
+    spectrumRe = new double[paddedRows * paddedCols];
+    spectrumIm = new double[paddedRows * paddedCols];
+    for (int dr = -radius; dr <= radius; dr++) {
+      for (int dc = -radius; dc <= radius; dc++) {
+        int row = Math.floorMod(-dr, paddedRows);
+        int col = Math.floorMod(-dc, paddedCols);
+        spectrumRe[row * paddedCols + col] = kernel[(dr + radius) * span + dc + radius];
+      }
+    }
+    FourierTransform.transform(spectrumRe, spectrumIm, paddedRows, paddedCols, false);
+
+    spectrumKernel = kernel;
+    spectrumRows = paddedRows;
+    spectrumCols = paddedCols;
+  }
+
+  private static IntStream range(int length, long work) {
+    IntStream range = IntStream.range(0, length);
+    return work >= PARALLEL_THRESHOLD ? range.parallel() : range;
+  }
+
+  /**
+   * The amounts and change stamps of the grid before a step.
+   */
+  private static final class Snapshot {
+
+    private final float[] values;
+    private final int[] changedAt;
+
+    private Snapshot(float[] values, int[] changedAt) {
+      this.values = values;
+      this.changedAt = changedAt;
+    }
+  }
+}
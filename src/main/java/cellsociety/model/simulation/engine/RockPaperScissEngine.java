@@ -0,0 +1,267 @@
+package cellsociety.model.simulation.engine;
+
+import cellsociety.model.simulation.cell.RockPaperScissCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.rules.RockPaperScissRule;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code RockPaperScissEngine} class steps the Rock Paper Scissors simulation over flat
+ * {@code byte[]} grids, counting winning neighbors for whole runs of cells at a time.
+ *
+ * <p>It follows the same transition as {@link RockPaperScissRule}: a cell becomes the state that
+ * beats it, {@code (state + 1) % numStates}, when at least {@code percentageToWin} of its
+ * neighbors have that state.</p>
+ *
+ * <p>Rectangular grids are stepped in a {@link GhostBorder} padded array, so the whole grid is a
+ * single run of cells with the same neighbor offsets, handed to a {@link RockPaperScissKernel}.
+ * The border is refreshed from the edge type once per step. With {@code NONE} edges the border
+ * is a state that never wins, and only the cells along the edge, which have fewer neighbors and so
+ * need fewer winners, are checked again one at a time.</p>
+ *
+ * <p>Other shapes group the cells whose neighbors sit at the same flat offsets as the cells around
+ * the middle of the grid into runs for the kernel, and step all other cells one at a time through
+ * the grid's neighbor table.</p>
+ *
+ * <p>The kernel uses the {@code jdk.incubator.vector} API when it was built with the {@code vector}
+ * profile ({@code mvn -Pvector}) and the module was added to the JVM
+ * ({@code --add-modules jdk.incubator.vector}), and a scalar loop otherwise.</p>
+ *
+ * <p>Supports up to {@link Byte#MAX_VALUE} states.</p>
+ *
+ * @author Jessica Chen
+ */
+public final class RockPaperScissEngine extends ArrayEngine {
+
+  private static final Logger logger = LogManager.getLogger(RockPaperScissEngine.class);
+
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+  private static final String VECTOR_KERNEL =
+      "cellsociety.model.simulation.engine.VectorRockPaperScissKernel";
+
+  // fills the ghost border of NONE edges, never the winning state of a cell
+  private static final byte EMPTY = -1;
+
+  private final int numStates;
+  private final RockPaperScissKernel kernel;
+  private final GhostBorder border;
+
+  private byte[] current;
+  private byte[] next;
+
+  // the shared neighbor offsets and the [start, end) runs of cells that use them
+  private final int[] stencil;
+  private final int[] runs;
+  private final int[] irregularCells;
+
+  // where the state of each cell is in the current and next arrays
+  private final int[] positions;
+
+  /**
+   * Constructs a Rock Paper Scissors engine from the current states of the grid.
+   *
+   * @param rule - the Rock Paper Scissors rule, supplies {@code numStates} and
+   *             {@code percentageToWin}
+   * @param grid - the constructed grid of Rock Paper Scissors cells
+   * @throws SimulationException if the simulation has more states than fit in a byte
+   */
+  public RockPaperScissEngine(RockPaperScissRule rule, Grid<RockPaperScissCell> grid) {
+    super(grid, rule.getParameters());
+
+    numStates = rule.getMaxState();
+    if (numStates > Byte.MAX_VALUE) {
+      logger.error("Rock Paper Scissors engine supports at most {} states, got {}",
+          Byte.MAX_VALUE, numStates);
+      throw new SimulationException("InvalidParameterValue", List.of("numStates"));
+    }
+
+    border = GhostBorder.create(getTopology()).orElse(null);
+    positions = new int[size()];
+    for (int i = 0; i < size(); i++) {
+      positions[i] = border == null ? i
+          : border.index(getTopology().getRow(i), getTopology().getCol(i));
+    }
+
+    IntList runList = new IntList();
+    IntList irregular = new IntList();
+    if (border != null) {
+      stencil = border.getStencil();
+      runList.add(border.getFirstCell());
+      runList.add(border.getEndCell());
+      findShortNeighborhoods(irregular);
+    } else {
+      stencil = findStencil();
+      groupCells(runList, irregular);
+    }
+    runs = runList.toArray();
+    irregularCells = irregular.toArray();
+
+    current = new byte[border == null ? size() : border.size()];
+    next = new byte[current.length];
+    copyStates();
+
+    kernel = loadKernel();
+  }
+
+  /**
+   * Creates the vector kernel if the vector module is available, otherwise the scalar one.
+   *
+   * <p>The vector kernel is loaded by name so this class can still be loaded on a JVM that was
+   * started without the incubator module.
+   */
+  static RockPaperScissKernel loadKernel() {
+    if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+      try {
+        return (RockPaperScissKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor()
+            .newInstance();
+      } catch (ReflectiveOperationException | LinkageError e) {
+        logger.warn("Could not load vector kernel, using scalar kernel instead", e);
+      }
+    }
+    logger.info("Module {} not available, using scalar kernel", VECTOR_MODULE);
+    return new ScalarRockPaperScissKernel();
+  }
+
+  // Start of Grouping Cells ------
+
+  private int[] neighborOffsetsOf(int index) {
+    int[] offsets = getTopology().getNeighborOffsets();
+    int[] neighbors = getTopology().getNeighborIndices();
+
+    int[] result = new int[offsets[index + 1] - offsets[index]];
+    for (int k = 0; k < result.length; k++) {
+      result[k] = neighbors[offsets[index] + k] - index;
+    }
+    Arrays.sort(result);
+    return result;
+  }
+
+  private int[] findStencil() {
+    int middle = getTopology().index(getTopology().getRows() / 2, getTopology().getCols() / 2);
+    return neighborOffsetsOf(middle);
+  }
+
+  private void groupCells(IntList runList, IntList irregular) {
+    int runStart = -1;
+    for (int i = 0; i <= size(); i++) {
+      boolean regular = i < size() && Arrays.equals(stencil, neighborOffsetsOf(i));
+      if (regular && runStart < 0) {
+        runStart = i;
+      } else if (!regular && runStart >= 0) {
+        runList.add(runStart);
+        runList.add(i);
+        runStart = -1;
+      }
+      if (!regular && i < size()) {
+        irregular.add(i);
+      }
+    }
+  }
+
+  private void findShortNeighborhoods(IntList irregular) {
+    for (int i = 0; i < size(); i++) {
+      if (getTopology().getNeighborCount(i) != stencil.length) {
+        irregular.add(i);
+      }
+    }
+  }
+
+  // Start of Step ------
+
+  @Override
+  protected void advance() {
+    try {
+      double percentageToWin = getParameters().getParameter("percentageToWin");
+
+      int minWinners = minimumWinners(stencil.length, percentageToWin);
+      for (int r = 0; r < runs.length; r += 2) {
+        kernel.stepRun(current, next, runs[r], runs[r + 1], stencil, minWinners, numStates);
+      }
+      for (int index : irregularCells) {
+        next[positions[index]] = border == null ? stepCell(index, percentageToWin)
+            : stepPaddedCell(index, percentageToWin);
+      }
+
+      for (int i = 0; i < size(); i++) {
+        int position = positions[i];
+        if (next[position] != current[position]) {
+          queueChange(i, next[position]);
+        }
+      }
+      if (border != null) {
+        border.refresh(next, EMPTY);
+      }
+
+      byte[] swap = current;
+      current = next;
+      next = swap;
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Returns the smallest number of winning neighbors out of {@code neighborCount} that satisfies
+   * the same ratio check as the rule, or {@code neighborCount + 1} if no number does.
+   */
+  static int minimumWinners(int neighborCount, double percentageToWin) {
+    for (int winners = 0; winners <= neighborCount; winners++) {
+      if ((double) winners / neighborCount >= percentageToWin) {
+        return winners;
+      }
+    }
+    return neighborCount + 1;
+  }
+
+  private byte stepCell(int index, double percentageToWin) {
+    int[] offsets = getTopology().getNeighborOffsets();
+    int[] neighbors = getTopology().getNeighborIndices();
+    byte winning = (byte) ((current[index] + 1) % numStates);
+
+    int winners = 0;
+    for (int k = offsets[index]; k < offsets[index + 1]; k++) {
+      if (current[neighbors[k]] == winning) {
+        winners++;
+      }
+    }
+    int neighborCount = offsets[index + 1] - offsets[index];
+    return (double) winners / neighborCount >= percentageToWin ? winning : current[index];
+  }
+
+  /**
+   * Steps a cell of a padded grid with fewer neighbors than the stencil, where the missing ones
+   * are empty ghost cells that never win.
+   */
+  private byte stepPaddedCell(int index, double percentageToWin) {
+    int position = positions[index];
+    byte winning = (byte) ((current[position] + 1) % numStates);
+
+    int winners = 0;
+    for (int offset : stencil) {
+      if (current[position + offset] == winning) {
+        winners++;
+      }
+    }
+    int neighborCount = getTopology().getNeighborCount(index);
+    return (double) winners / neighborCount >= percentageToWin ? winning : current[position];
+  }
+
+  @Override
+  protected void onStepBack() {
+    copyStates();
+  }
+
+  private void copyStates() {
+    int[] states = getStates();
+    for (int i = 0; i < states.length; i++) {
+      current[positions[i]] = (byte) states[i];
+    }
+    if (border != null) {
+      border.refresh(current, EMPTY);
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package cellsociety.model.simulation.engine;
+
+/**
+ * The {@code RockPaperScissKernel} interface steps a run of cells of a Rock Paper Scissors grid
+ * that all share the same neighbor offsets, so the same work can be done for a whole row at once.
+ *
+ * <p>Every cell {@code i} in the run has the neighbors {@code i + offsets[k]}, all of which are
+ * inside the grid.</p>
+ *
+ * @author Jessica Chen
+ */
+interface RockPaperScissKernel {
+
+  /**
+   * Calculates the next state of every cell in {@code [start, end)}.
+   *
+   * @param current    - the states of the previous step
+   * @param next       - where the new states are written
+   * @param start      - the first flat index of the run
+   * @param end        - one past the last flat index of the run
+   * @param offsets    - the flat offsets from a cell to each of its neighbors
+   * @param minWinners - how many neighbors must have the winning state for a cell to change
+   * @param numStates  - the number of states in the simulation
+   */
+  void stepRun(byte[] current, byte[] next, int start, int end, int[] offsets, int minWinners,
+      int numStates);
+}
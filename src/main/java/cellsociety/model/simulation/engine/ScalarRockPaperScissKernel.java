@@ -0,0 +1,27 @@
+package cellsociety.model.simulation.engine;
+
+/**
+ * The {@code ScalarRockPaperScissKernel} class steps a run of cells one cell at a time. It is
+ * used when the vector API is not available and to finish the tail of a run that does not fill a
+ * whole vector.
+ *
+ * @author Jessica Chen
+ */
+class ScalarRockPaperScissKernel implements RockPaperScissKernel {
+
+  @Override
+  public void stepRun(byte[] current, byte[] next, int start, int end, int[] offsets,
+      int minWinners, int numStates) {
+    for (int i = start; i < end; i++) {
+      byte winning = (byte) ((current[i] + 1) % numStates);
+
+      int winners = 0;
+      for (int offset : offsets) {
+        if (current[i + offset] == winning) {
+          winners++;
+        }
+      }
+      next[i] = winners >= minWinners ? winning : current[i];
+    }
+  }
+}
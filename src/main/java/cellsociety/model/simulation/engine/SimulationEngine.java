@@ -0,0 +1,114 @@
+package cellsociety.model.simulation.engine;
+
+import java.util.Optional;
+
+/**
+ * The {@code SimulationEngine} interface defines how a {@link cellsociety.model.simulation.Simulation}
+ * drives an alternative stepping implementation for its grid.
+ *
+ * <p>While an engine is active it is the source of truth for the states of the simulation, the
+ * cells in the grid are only brought up to date by {@link #writeToGrid()}.</p>
+ *
+ * <p><b>Example Usage:</b></p>
+ * <pre>
+ * Optional&lt;SimulationEngine&gt; engine = EngineFactory.createEngine(SimType.Fire, rule, grid);
+ * engine.ifPresent(SimulationEngine::step);
+ * </pre>
+ *
+ * @author Jessica Chen
+ */
+public interface SimulationEngine {
+
+  /**
+   * Advances every cell of the grid by one step.
+   */
+  void step();
+
+  /**
+   * Reverts the most recent step.
+   *
+   * @return {@code true} if a step was reverted, {@code false} if there is no history left
+   */
+  boolean stepBack();
+
+  /**
+   * Turns recording the step back history on or off. While off a step records nothing, and
+   * {@link #stepBack()} has nothing to revert. The history recorded so far is dropped when turned
+   * off.
+   *
+   * @param enabled - whether to record history, {@code true} when an engine is created
+   */
+  void setHistoryEnabled(boolean enabled);
+
+  /**
+   * Returns the current state at the given position.
+   *
+   * @param row - the row of the position
+   * @param col - the column of the position
+   * @return the state at the position
+   */
+  int getState(int row, int col);
+
+  /**
+   * Returns how many steps the state at the given position has remained unchanged.
+   *
+   * @param row - the row of the position
+   * @param col - the column of the position
+   * @return the state length at the position
+   */
+  int getStateLength(int row, int col);
+
+  /**
+   * Copies the current states and state lengths of the engine back into the cells of the grid.
+   */
+  void writeToGrid();
+
+  /**
+   * Returns the cells of the grid the last {@link #step()} changed, so the step can be recorded
+   * without writing or comparing every cell, laid out as described by
+   * {@link cellsociety.model.simulation.history.GenerationHistory#recordChanges(int[], int)}.
+   *
+   * <p>Default hook returns {@code Optional.empty()}, the step is recorded by writing the engine
+   * to the grid and comparing every cell.</p>
+   *
+   * @return the changes of the last step, or {@code Optional.empty()} if the engine does not
+   * keep them
+   */
+  default Optional<int[]> getLastStepChanges() {
+    return Optional.empty();
+  }
+
+  /**
+   * Returns whether the engine keeps states outside of the grid, so {@link #getState(int, int)}
+   * and {@link #getStateLength(int, int)} accept any position.
+   *
+   * <p>Default hook returns {@code false}.</p>
+   *
+   * @return {@code true} if the engine is not limited to the grid
+   */
+  default boolean isUnbounded() {
+    return false;
+  }
+
+  /**
+   * Returns the smallest box holding every position an unbounded engine has something at.
+   *
+   * <p>Default hook returns {@code Optional.empty()}, bounded engines only cover the grid.</p>
+   *
+   * @return {@code {minRow, minCol, maxRow, maxCol}}, inclusive, or {@code Optional.empty()}
+   */
+  default Optional<int[]> getBoundingBox() {
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the engine actually stepping the grid, for engines that hand the work to others.
+   *
+   * <p>Default hook returns this engine.</p>
+   *
+   * @return the engine doing the stepping
+   */
+  default SimulationEngine getActiveEngine() {
+    return this;
+  }
+}
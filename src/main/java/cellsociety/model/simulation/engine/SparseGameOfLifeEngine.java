@@ -0,0 +1,397 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_ALIVE;
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_DEAD;
+
+import cellsociety.model.simulation.cell.GameOfLifeCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.grid.GridTopology;
+import cellsociety.model.simulation.grid.SparseTileGrid;
+import cellsociety.model.simulation.history.GenerationHistory;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.simulation.rules.GameOfLifeRule;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The {@code SparseGameOfLifeEngine} class steps the Game of Life on an unbounded plane, keeping
+ * only the cells that are not dead in a {@link SparseTileGrid}.
+ *
+ * <p>The grid only provides the starting canvas: patterns that reach its boundary keep going, and
+ * {@link #getState(int, int)} works for any position, including negative rows and columns. Memory
+ * and step time follow the live region, not the canvas, since tiles with no live cells are freed.
+ * </p>
+ *
+ * <p>Each step every live cell adds one to the neighbor count of every position that has it as a
+ * neighbor, and only positions that were counted or are alive can change. Those positions are not
+ * always the live cell's own neighbors: hexagons and triangles alternate their neighborhoods, and
+ * mirrored or wrapped edges can make the relation one-way, so the engine scatters along the
+ * reversed neighborhood. Because of this a "B" list containing {@code 0} is ignored on an unbounded plane, it
+ * would fill the whole plane.</p>
+ *
+ * <p>On a grid with any other edge type the engine stays on the grid, taking each cell's neighbors
+ * from the grid's topology so wrapping and mirroring match the dense {@link GameOfLifeEngine}, and
+ * keeps the state length of every cell. This is what {@link DensitySwitchingEngine} uses while few
+ * cells are alive.</p>
+ *
+ * <p>State lengths are tracked as the generation each position last changed, like
+ * {@link ArrayEngine}, but on an unbounded plane a tile that is freed forgets them, so a dead cell
+ * in an empty region reports having been dead since the start. History stores the changed
+ * positions of each step, bounded by {@code maxHistorySize}, and can be handed to or taken from
+ * another engine.</p>
+ *
+ * @author Jessica Chen
+ */
+public class SparseGameOfLifeEngine implements DensitySwitchable {
+
+  // each recorded change is stored as row, col, old state, old changedAt, like exported history
+  private static final int RECORD_WIDTH = HistoryRecords.WIDTH;
+  private static final int PARITIES = 4;
+
+  private final GameOfLifeRule myRule;
+  private final GenericParameters myParameters;
+  private final List<GameOfLifeCell> myCells;
+  private final GridTopology myTopology;
+  private final int maxNeighbors;
+  private final boolean unbounded;
+
+  // on a bounded grid the stamps of every cell are kept, so dead cells keep their state lengths
+  private final int[] boundedStamps;
+
+  // offsets from a live cell to the positions that have it as a neighbor, by row and column
+  // parity, for shapes that alternate
+  private final int[][][] reverseOffsetsByParity;
+
+  private final SparseTileGrid states;
+  private final Deque<int[]> history;
+  // the row, col and new state of every change of the last step
+  private IntList lastChanges;
+  private boolean historyEnabled;
+  private int generation;
+
+  /**
+   * Constructs a sparse Game of Life engine from the current states of the grid.
+   *
+   * @param rule - the Game of Life rule, supplies the "S" and "B" lists
+   * @param grid - the constructed grid of Game of Life cells, used as the starting canvas
+   * @throws SimulationException if the grid has not been constructed
+   */
+  public SparseGameOfLifeEngine(GameOfLifeRule rule, Grid<GameOfLifeCell> grid) {
+    try {
+      myRule = rule;
+      myParameters = rule.getParameters();
+      myCells = grid.getCells();
+      myTopology = grid.getTopology();
+
+      int[][][] offsetsByParity = new int[PARITIES][][];
+      int max = 0;
+      for (int parity = 0; parity < PARITIES; parity++) {
+        offsetsByParity[parity] = myTopology.getNeighborhoodOffsets(parity / 2, parity % 2);
+        max = Math.max(max, offsetsByParity[parity].length);
+      }
+      reverseOffsetsByParity = reverseOffsets(offsetsByParity);
+      unbounded = myTopology.getEdgeType() == EdgeType.UNBOUNDED;
+      if (!unbounded) {
+        for (int i = 0; i < myCells.size(); i++) {
+          max = Math.max(max, myTopology.getNeighborCount(i));
+        }
+      }
+      maxNeighbors = max;
+      boundedStamps = unbounded ? null : new int[myCells.size()];
+
+      states = new SparseTileGrid(GAMEOFLIFE_DEAD);
+      history = new ArrayDeque<>();
+      lastChanges = new IntList();
+      historyEnabled = true;
+      copyCells();
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  private void copyCells() {
+    // live cells first so their tiles exist to keep the state lengths of the dead ones
+    for (boolean alive : new boolean[]{true, false}) {
+      for (GameOfLifeCell cell : myCells) {
+        if ((cell.getCurrentState() != GAMEOFLIFE_DEAD) == alive) {
+          int[] position = cell.getPosition();
+          setState(position[1], position[0], cell.getCurrentState(),
+              1 - cell.getStateLength());
+        }
+      }
+    }
+  }
+
+  private void setState(int row, int col, int state, int stamp) {
+    states.set(row, col, state, stamp);
+    if (!unbounded) {
+      boundedStamps[myTopology.index(row, col)] = stamp;
+    }
+  }
+
+  private int getStamp(int row, int col) {
+    return unbounded ? states.getStamp(row, col) : boundedStamps[myTopology.index(row, col)];
+  }
+
+  private static int parity(int row, int col) {
+    return Math.floorMod(row, 2) * 2 + Math.floorMod(col, 2);
+  }
+
+  /**
+   * Reverses the neighborhood offsets of each parity: a position with offset {@code o} in its
+   * neighborhood has the live cell at {@code o} away, so the live cell counts toward the position
+   * {@code -o} away from it, if that position has the same parity the offset was taken from.
+   */
+  private static int[][][] reverseOffsets(int[][][] offsetsByParity) {
+    List<List<int[]>> reversed = new ArrayList<>();
+    for (int parity = 0; parity < PARITIES; parity++) {
+      reversed.add(new ArrayList<>());
+    }
+    for (int parity = 0; parity < PARITIES; parity++) {
+      for (int[] offset : offsetsByParity[parity]) {
+        int live = parity(parity / 2 + offset[0], parity % 2 + offset[1]);
+        reversed.get(live).add(new int[]{-offset[0], -offset[1]});
+      }
+    }
+    return reversed.stream().map(offsets -> offsets.toArray(int[][]::new))
+        .toArray(int[][][]::new);
+  }
+
+  @Override
+  public void step() {
+    try {
+      boolean[] survive = GameOfLifeEngine.countTable(myRule.retrieveParameterList("S"),
+          maxNeighbors);
+      boolean[] birth = GameOfLifeEngine.countTable(myRule.retrieveParameterList("B"),
+          maxNeighbors);
+
+      SparseTileGrid counts = new SparseTileGrid(0);
+      states.forEach((row, col, state) -> {
+        if (state == GAMEOFLIFE_ALIVE) {
+          countNeighbors(counts, row, col);
+        }
+      });
+
+      IntList changes = new IntList();
+      states.forEach((row, col, state) -> {
+        if (state == GAMEOFLIFE_ALIVE && !inTable(survive, counts.get(row, col))) {
+          addChange(changes, row, col, GAMEOFLIFE_DEAD);
+        }
+      });
+      counts.forEach((row, col, count) -> {
+        if (inTable(birth, count) && states.get(row, col) == GAMEOFLIFE_DEAD) {
+          addChange(changes, row, col, GAMEOFLIFE_ALIVE);
+        }
+      });
+      if (!unbounded && birth[0]) {
+        addIsolatedBirths(changes, counts);
+      }
+
+      commitStep(changes);
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Adds the births of dead cells with no alive neighbors, which the neighbor counts never visit.
+   * This costs a pass over the whole grid, so it is only done when the "B" list contains 0.
+   */
+  private void addIsolatedBirths(IntList changes, SparseTileGrid counts) {
+    for (int i = 0; i < myCells.size(); i++) {
+      int row = myTopology.getRow(i);
+      int col = myTopology.getCol(i);
+      if (counts.get(row, col) == 0 && states.get(row, col) == GAMEOFLIFE_DEAD) {
+        addChange(changes, row, col, GAMEOFLIFE_ALIVE);
+      }
+    }
+  }
+
+  private void countNeighbors(SparseTileGrid counts, int row, int col) {
+    if (unbounded) {
+      for (int[] offset : reverseOffsetsByParity[parity(row, col)]) {
+        counts.add(row + offset[0], col + offset[1], 1);
+      }
+      return;
+    }
+
+    int[] offsets = myTopology.getReverseNeighborOffsets();
+    int[] neighbors = myTopology.getReverseNeighborIndices();
+    int index = myTopology.index(row, col);
+    for (int k = offsets[index]; k < offsets[index + 1]; k++) {
+      counts.add(myTopology.getRow(neighbors[k]), myTopology.getCol(neighbors[k]), 1);
+    }
+  }
+
+  private static boolean inTable(boolean[] table, int count) {
+    return count < table.length && table[count];
+  }
+
+  private static void addChange(IntList changes, int row, int col, int state) {
+    changes.add(row);
+    changes.add(col);
+    changes.add(state);
+  }
+
+  private void commitStep(IntList changes) {
+    generation++;
+    lastChanges = changes;
+
+    int[] record = historyEnabled ? new int[changes.size() / 3 * RECORD_WIDTH] : null;
+    for (int k = 0, r = 0; k < changes.size(); k += 3, r += RECORD_WIDTH) {
+      int row = changes.get(k);
+      int col = changes.get(k + 1);
+      if (record != null) {
+        record[r] = row;
+        record[r + 1] = col;
+        record[r + 2] = states.get(row, col);
+        record[r + 3] = getStamp(row, col);
+      }
+      setState(row, col, changes.get(k + 2), generation);
+    }
+    if (record == null) {
+      return;
+    }
+
+    history.addLast(record);
+    int maxHistorySize = ArrayEngine.maxHistorySize(myParameters);
+    while (history.size() > maxHistorySize) {
+      history.removeFirst();
+    }
+  }
+
+  @Override
+  public void setHistoryEnabled(boolean enabled) {
+    historyEnabled = enabled;
+    if (!enabled) {
+      history.clear();
+    }
+  }
+
+  @Override
+  public boolean stepBack() {
+    if (history.isEmpty()) {
+      return false;
+    }
+
+    int[] record = history.removeLast();
+    lastChanges = new IntList();
+    for (int r = record.length - RECORD_WIDTH; r >= 0; r -= RECORD_WIDTH) {
+      setState(record[r], record[r + 1], record[r + 2], record[r + 3]);
+    }
+    generation--;
+    return true;
+  }
+
+  @Override
+  public int getState(int row, int col) {
+    return states.get(row, col);
+  }
+
+  @Override
+  public int getStateLength(int row, int col) {
+    return generation - getStamp(row, col) + 1;
+  }
+
+  /**
+   * Copies the states inside the grid's canvas back into its cells. Anything outside the canvas
+   * stays in the engine only.
+   */
+  @Override
+  public void writeToGrid() {
+    try {
+      for (GameOfLifeCell cell : myCells) {
+        int[] position = cell.getPosition();
+        cell.restoreState(getState(position[1], position[0]),
+            getStateLength(position[1], position[0]));
+      }
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Lists the cells the last step changed on a bounded grid. On an unbounded plane the changes
+   * can fall outside the grid's canvas, so none are given and the canvas is compared instead.
+   */
+  @Override
+  public Optional<int[]> getLastStepChanges() {
+    if (unbounded) {
+      return Optional.empty();
+    }
+
+    int[] changes = new int[lastChanges.size() / 3 * GenerationHistory.CHANGE_WIDTH];
+    for (int k = 0, c = 0; k < lastChanges.size(); k += 3, c += GenerationHistory.CHANGE_WIDTH) {
+      int row = lastChanges.get(k);
+      int col = lastChanges.get(k + 1);
+      changes[c] = row * myTopology.getCols() + col;
+      changes[c + 1] = lastChanges.get(k + 2);
+      changes[c + 2] = getStateLength(row, col);
+    }
+    return Optional.of(changes);
+  }
+
+  @Override
+  public List<int[]> exportHistory() {
+    List<int[]> steps = new ArrayList<>(history.size());
+    for (int[] record : history) {
+      int[] step = record.clone();
+      for (int r = 0; r < step.length; r += RECORD_WIDTH) {
+        step[r + 3] -= generation;
+      }
+      steps.add(step);
+    }
+    return steps;
+  }
+
+  @Override
+  public void importHistory(List<int[]> steps) {
+    history.clear();
+    for (int[] step : steps) {
+      int[] record = step.clone();
+      for (int r = 0; r < record.length; r += RECORD_WIDTH) {
+        record[r + 3] += generation;
+      }
+      history.addLast(record);
+    }
+
+    int maxHistorySize = ArrayEngine.maxHistorySize(myParameters);
+    while (history.size() > maxHistorySize) {
+      history.removeFirst();
+    }
+  }
+
+  /**
+   * Returns whether the grid has {@code UNBOUNDED} edges, so the engine steps past it.
+   *
+   * @return {@code true} if the engine is not limited to the grid
+   */
+  @Override
+  public boolean isUnbounded() {
+    return unbounded;
+  }
+
+  @Override
+  public Optional<int[]> getBoundingBox() {
+    return states.getBoundingBox();
+  }
+
+  @Override
+  public int getPopulation() {
+    return states.size();
+  }
+
+  /**
+   * Returns the number of tiles the engine currently has allocated.
+   *
+   * @return the number of tiles
+   */
+  public int getTileCount() {
+    return states.getTileCount();
+  }
+}
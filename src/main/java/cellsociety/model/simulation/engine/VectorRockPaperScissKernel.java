@@ -0,0 +1,48 @@
+package cellsociety.model.simulation.engine;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@code VectorRockPaperScissKernel} class steps a run of cells using the
+ * {@code jdk.incubator.vector} API, handling as many cells per instruction as the hardware's
+ * preferred vector width allows.
+ *
+ * <p>This class must only be loaded when the {@code jdk.incubator.vector} module is present, so
+ * it is only ever created reflectively by {@link RockPaperScissEngine}.</p>
+ *
+ * @author Jessica Chen
+ */
+class VectorRockPaperScissKernel implements RockPaperScissKernel {
+
+  private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+  private final RockPaperScissKernel tail = new ScalarRockPaperScissKernel();
+
+  @Override
+  public void stepRun(byte[] current, byte[] next, int start, int end, int[] offsets,
+      int minWinners, int numStates) {
+    ByteVector zero = ByteVector.zero(SPECIES);
+    ByteVector one = ByteVector.broadcast(SPECIES, (byte) 1);
+
+    int i = start;
+    for (; i + SPECIES.length() <= end; i += SPECIES.length()) {
+      ByteVector state = ByteVector.fromArray(SPECIES, current, i);
+      ByteVector winning = state.add(one);
+      winning = winning.blend(zero, winning.eq((byte) numStates));
+
+      ByteVector winners = zero;
+      for (int offset : offsets) {
+        ByteVector neighbor = ByteVector.fromArray(SPECIES, current, i + offset);
+        winners = winners.add(one, neighbor.eq(winning));
+      }
+
+      VectorMask<Byte> changes = winners.compare(VectorOperators.GE, (byte) minWinners);
+      state.blend(winning, changes).intoArray(next, i);
+    }
+
+    tail.stepRun(current, next, i, end, offsets, minWinners, numStates);
+  }
+}
@@ -0,0 +1,340 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.CellStates.WATOR_EMPTY;
+import static cellsociety.model.util.constants.CellStates.WATOR_FISH;
+
+import cellsociety.model.simulation.cell.WaTorCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.rules.WaTorRule;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code WaTorEngine} class steps the Wa-Tor World simulation by iterating over the fish and
+ * sharks only, so an ocean that is mostly empty costs time proportional to the number of animals
+ * rather than the number of cells.
+ *
+ * <p>Animals are stored as agents in parallel arrays (position, kind, steps survived, energy)
+ * with an index from each position to the agent living there. Every chronon:
+ * <ul>
+ *   <li>Agents alive at the start of the chronon act once, in a freshly shuffled order.</li>
+ *   <li><b>Fish:</b> move to a random empty neighbor, leaving a new fish behind once they have
+ *   survived {@code fishReproductionTime} steps.</li>
+ *   <li><b>Sharks:</b> lose one energy and die at 0, otherwise eat a random neighboring fish
+ *   (gaining {@code sharkEnergyGain}) or move to a random empty neighbor, leaving a new shark with
+ *   {@code sharkInitialEnergy} behind once they have survived {@code sharkReproductionTime}
+ *   steps.</li>
+ *   <li>A parent that reproduces starts counting its steps survived from 0 again.</li>
+ * </ul>
+ *
+ * <p>Unlike stepping every {@link WaTorCell}, agents act one after another, so an animal sees the
+ * moves made earlier in the same chronon, which is how the original Wa-Tor model is defined.</p>
+ *
+ * <p>The agents, in their order, are saved with each step of history, so stepping back restores
+ * every animal's steps survived and energy, and stepping forward again from there acts the same way
+ * given the same random numbers.</p>
+ *
+ * @author Jessica Chen
+ */
+public final class WaTorEngine extends ArrayEngine {
+
+  private static final int NO_AGENT = -1;
+  // each saved agent is stored as position, kind, steps survived, energy
+  private static final int AGENT_WIDTH = 4;
+
+  private Random random = new Random();
+
+  // agent storage, only the first agentCount entries are live
+  private int[] agentPosition;
+  private int[] agentKind;
+  private int[] agentSteps;
+  private int[] agentEnergy;
+  private boolean[] agentDead;
+  private int agentCount;
+
+  private final int[] agentAt;
+  private int[] order;
+
+  // cells changed this chronon, marked with the current stamp so each is only queued once
+  private final IntList touched;
+  private final int[] touchedStamp;
+  private int stamp;
+
+  private final int[] candidates;
+
+  /**
+   * Constructs a Wa-Tor engine from the current states, steps survived, and energy of the cells.
+   *
+   * @param rule - the Wa-Tor rule, supplies the reproduction and energy parameters
+   * @param grid - the constructed grid of Wa-Tor cells
+   */
+  public WaTorEngine(WaTorRule rule, Grid<WaTorCell> grid) {
+    super(grid, rule.getParameters());
+
+    try {
+      List<WaTorCell> cells = cellsInIndexOrder(grid);
+      agentAt = new int[size()];
+      touched = new IntList();
+      touchedStamp = new int[size()];
+      candidates = new int[maxNeighborCount()];
+
+      allocateAgents(size() / 4 + 1);
+      for (int i = 0; i < size(); i++) {
+        WaTorCell cell = cells.get(i);
+        agentAt[i] = NO_AGENT;
+        if (cell.getCurrentState() != WATOR_EMPTY) {
+          addAgent(i, cell.getCurrentState(), cell.getStepsSurvived(), cell.getEnergy());
+        }
+      }
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  private int maxNeighborCount() {
+    int max = 0;
+    for (int i = 0; i < size(); i++) {
+      max = Math.max(max, getTopology().getNeighborCount(i));
+    }
+    return max;
+  }
+
+  // Start of Agent Storage ------
+
+  private void allocateAgents(int capacity) {
+    agentPosition = new int[capacity];
+    agentKind = new int[capacity];
+    agentSteps = new int[capacity];
+    agentEnergy = new int[capacity];
+    agentDead = new boolean[capacity];
+    order = new int[capacity];
+    agentCount = 0;
+  }
+
+  private void addAgent(int position, int kind, int steps, int energy) {
+    if (agentCount == agentPosition.length) {
+      int capacity = agentPosition.length * 2;
+      agentPosition = Arrays.copyOf(agentPosition, capacity);
+      agentKind = Arrays.copyOf(agentKind, capacity);
+      agentSteps = Arrays.copyOf(agentSteps, capacity);
+      agentEnergy = Arrays.copyOf(agentEnergy, capacity);
+      agentDead = Arrays.copyOf(agentDead, capacity);
+      order = Arrays.copyOf(order, capacity);
+    }
+    agentPosition[agentCount] = position;
+    agentKind[agentCount] = kind;
+    agentSteps[agentCount] = steps;
+    agentEnergy[agentCount] = energy;
+    agentDead[agentCount] = false;
+    agentAt[position] = agentCount;
+    agentCount++;
+  }
+
+  private void removeDeadAgents() {
+    int live = 0;
+    for (int a = 0; a < agentCount; a++) {
+      if (agentDead[a]) {
+        continue;
+      }
+      agentPosition[live] = agentPosition[a];
+      agentKind[live] = agentKind[a];
+      agentSteps[live] = agentSteps[a];
+      agentEnergy[live] = agentEnergy[a];
+      agentDead[live] = false;
+      agentAt[agentPosition[live]] = live;
+      live++;
+    }
+    agentCount = live;
+  }
+
+  // Start of Chronon ------
+
+  @Override
+  protected void advance() {
+    try {
+      int fishReproductionTime = (int) getParameters().getParameter("fishReproductionTime");
+      int sharkReproductionTime = (int) getParameters().getParameter("sharkReproductionTime");
+      int sharkEnergyGain = (int) getParameters().getParameter("sharkEnergyGain");
+      int sharkInitialEnergy = (int) getParameters().getParameter("sharkInitialEnergy");
+
+      stamp++;
+      touched.clear();
+
+      // babies born this chronon are appended past the end and don't act until the next one
+      int acting = agentCount;
+      shuffleOrder(acting);
+      for (int o = 0; o < acting; o++) {
+        int agent = order[o];
+        if (agentDead[agent]) {
+          continue;
+        }
+        if (agentKind[agent] == WATOR_FISH) {
+          actFish(agent, fishReproductionTime);
+        } else {
+          actShark(agent, sharkReproductionTime, sharkEnergyGain, sharkInitialEnergy);
+        }
+      }
+
+      removeDeadAgents();
+      queueTouchedCells();
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  private void shuffleOrder(int count) {
+    for (int i = 0; i < count; i++) {
+      order[i] = i;
+    }
+    for (int i = count - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int swap = order[i];
+      order[i] = order[j];
+      order[j] = swap;
+    }
+  }
+
+  private void actFish(int agent, int reproductionTime) {
+    agentSteps[agent]++;
+
+    int target = pickNeighbor(agentPosition[agent], WATOR_EMPTY);
+    if (target != NO_AGENT) {
+      moveAndReproduce(agent, target, reproductionTime, 0);
+    }
+  }
+
+  private void actShark(int agent, int reproductionTime, int energyGain, int initialEnergy) {
+    agentSteps[agent]++;
+    agentEnergy[agent]--;
+
+    int position = agentPosition[agent];
+    if (agentEnergy[agent] <= 0) {
+      agentDead[agent] = true;
+      agentAt[position] = NO_AGENT;
+      touch(position);
+      return;
+    }
+
+    int target = pickNeighbor(position, WATOR_FISH);
+    if (target != NO_AGENT) {
+      agentDead[agentAt[target]] = true;
+      agentAt[target] = NO_AGENT;
+      agentEnergy[agent] += energyGain;
+    } else {
+      target = pickNeighbor(position, WATOR_EMPTY);
+    }
+
+    if (target != NO_AGENT) {
+      moveAndReproduce(agent, target, reproductionTime, initialEnergy);
+    }
+  }
+
+  private void moveAndReproduce(int agent, int target, int reproductionTime, int babyEnergy) {
+    int from = agentPosition[agent];
+    agentAt[from] = NO_AGENT;
+    agentAt[target] = agent;
+    agentPosition[agent] = target;
+    touch(from);
+    touch(target);
+
+    if (agentSteps[agent] >= reproductionTime) {
+      agentSteps[agent] = 0;
+      addAgent(from, agentKind[agent], 0, babyEnergy);
+    }
+  }
+
+  /**
+   * Picks a random neighbor of the position that currently holds the given kind of occupant.
+   *
+   * @return the flat index of the neighbor, or {@code NO_AGENT} if there is none
+   */
+  private int pickNeighbor(int position, int kind) {
+    int[] offsets = getTopology().getNeighborOffsets();
+    int[] neighbors = getTopology().getNeighborIndices();
+
+    int found = 0;
+    for (int k = offsets[position]; k < offsets[position + 1]; k++) {
+      if (occupantOf(neighbors[k]) == kind) {
+        candidates[found++] = neighbors[k];
+      }
+    }
+    return found == 0 ? NO_AGENT : candidates[random.nextInt(found)];
+  }
+
+  private int occupantOf(int position) {
+    int agent = agentAt[position];
+    return agent == NO_AGENT ? WATOR_EMPTY : agentKind[agent];
+  }
+
+  private void touch(int position) {
+    if (touchedStamp[position] != stamp) {
+      touchedStamp[position] = stamp;
+      touched.add(position);
+    }
+  }
+
+  private void queueTouchedCells() {
+    for (int t = 0; t < touched.size(); t++) {
+      int position = touched.get(t);
+      queueChange(position, occupantOf(position));
+      // a newborn can take its parent's place without changing the state
+      markChanged(position);
+    }
+    // every animal counts its steps survived
+    for (int a = 0; a < agentCount; a++) {
+      markChanged(agentPosition[a]);
+    }
+  }
+
+  // Start of History and Grid ------
+
+  @Override
+  protected int[] saveAttributes() {
+    int[] agents = new int[agentCount * AGENT_WIDTH];
+    for (int a = 0, k = 0; a < agentCount; a++, k += AGENT_WIDTH) {
+      agents[k] = agentPosition[a];
+      agents[k + 1] = agentKind[a];
+      agents[k + 2] = agentSteps[a];
+      agents[k + 3] = agentEnergy[a];
+    }
+    return agents;
+  }
+
+  @Override
+  protected void restoreAttributes(int[] agents) {
+    allocateAgents(Math.max(agentPosition.length, agents.length / AGENT_WIDTH));
+    Arrays.fill(agentAt, NO_AGENT);
+    for (int k = 0; k < agents.length; k += AGENT_WIDTH) {
+      addAgent(agents[k], agents[k + 1], agents[k + 2], agents[k + 3]);
+    }
+  }
+
+  @Override
+  protected void saveCellAttributes(int index, int[] attributes, int offset) {
+    int agent = agentAt[index];
+    attributes[offset] = agent == NO_AGENT ? 0 : agentSteps[agent];
+    attributes[offset + 1] = agent == NO_AGENT ? 0 : agentEnergy[agent];
+  }
+
+  /**
+   * Returns how many fish and sharks are alive.
+   *
+   * @return the number of live agents
+   */
+  public int getAgentCount() {
+    return agentCount;
+  }
+
+  /**
+   * Sets the random instance used to shuffle agents and pick neighbors.
+   *
+   * <p>Used for testing so moves can be controlled.
+   *
+   * @param random the {@code Random} object to use for generating random values. Must not be null.
+   */
+  void setRandom(Random random) {
+    this.random = random;
+  }
+}
@@ -0,0 +1,27 @@
+/**
+ * The {@code cellsociety.model.simulation.engine} package provides array-based stepping engines
+ * that can replace the per-cell stepping of {@link cellsociety.model.simulation.Simulation} for
+ * simulation types where most of the grid does nothing on a given step.
+ *
+ * <p>An engine copies the states of the grid into flat arrays, steps those arrays using the same
+ * parameters as the simulation's {@link cellsociety.model.simulation.rules.Rule}, and only writes
+ * its states back into the cells when asked to (for example when the engine is disabled).</p>
+ *
+ * <h2>Key Classes</h2>
+ * <ul>
+ *   <li>{@link cellsociety.model.simulation.engine.SimulationEngine}
+ *   - The contract the simulation uses to step, step back, and read states.</li>
+ *   <li>{@link cellsociety.model.simulation.engine.ArrayEngine}
+ *   - Base class that owns the state arrays, state lengths, and change history.</li>
+ *   <li>{@link cellsociety.model.simulation.engine.EngineFactory}
+ *   - Uses reflection to find the engine for a simulation type, if one exists.</li>
+ * </ul>
+ *
+ * <h2>Expected Naming Conventions</h2>
+ *
+ * <p>Engines follow the format <b>{@code SimTypeEngine}</b> (e.g., {@code FireEngine}) and have a
+ * public constructor taking the simulation's rule and grid.</p>
+ *
+ * @author Jessica Chen
+ */
+package cellsociety.model.simulation.engine;
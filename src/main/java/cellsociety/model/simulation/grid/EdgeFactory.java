@@ -42,6 +42,8 @@ class EdgeFactory {
     handlerMap.put(EdgeType.NONE, new NoneEdgeHandler());
     handlerMap.put(EdgeType.MIRROR, new MirrorEdgeHandler());
     handlerMap.put(EdgeType.TOROIDAL, new ToroidalEdgeHandler());
+    // the cells of an unbounded grid only cover its starting canvas
+    handlerMap.put(EdgeType.UNBOUNDED, new NoneEdgeHandler());
   }
 
   /**
@@ -4,14 +4,18 @@ import cellsociety.model.simulation.cell.Cell;
 import cellsociety.model.simulation.grid.edgehandler.EdgeHandler;
 import cellsociety.model.util.constants.GridTypes.DirectionType;
 import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborViewType;
 import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
 import cellsociety.model.util.constants.GridTypes.ShapeType;
+import cellsociety.model.util.constants.GridTypes.StateLayoutType;
 import cellsociety.model.util.exceptions.SimulationException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -51,7 +55,12 @@ public class Grid<T extends Cell<T, ?>> {
   private int myRows;
   private int myCols;
 
+  private ShapeType myShape;
+  private NeighborhoodType myNeighborhood;
   private EdgeType edgeType;
+  private GridTopology myTopology;
+  private Set<NeighborViewType> myNeighborViews = EnumSet.allOf(NeighborViewType.class);
+  private StateLayoutType myStateLayout = StateLayoutType.ROW_MAJOR;
 
   /**
    * Initializes a blank grid, this allows for the reference of grid to be passed in even if the
@@ -201,6 +210,9 @@ public class Grid<T extends Cell<T, ?>> {
    * <p>Simplification: even if the shape and neighborhood remains the same, clears current
    * neighbors and just recalculates them again.
    *
+   * <p>Only the neighbor views set through {@link #setNeighborViews(Set)} are built, by default
+   * both the flat list and the directional map.
+   *
    * @param shape        - The shape type of the cells in the grid (e.g., RECTANGLE, HEXAGON,
    *                     TRIANGLE).
    * @param neighborhood - The neighborhood type defining how neighbors are determined (e.g., MOORE,
@@ -210,99 +222,163 @@ public class Grid<T extends Cell<T, ?>> {
    */
   public void setNeighborsAllCells(ShapeType shape, NeighborhoodType neighborhood, EdgeType edge) {
     try {
+      myTopology = null;
       getCells().forEach(Cell::clearNeighbors);
 
+      EdgeHandler edgeHandler = getEdgeHandler(edge);
       for (int i = 0; i < myRows; i++) {
         for (int j = 0; j < myCols; j++) {
-          Optional<int[][]> directions =
-              GridDirectionRegistry.getDirections(shape, neighborhood, i, j);
-
-          if (directions.isEmpty()) {
-            // because of enums should usually never hit this case
-            logger.error("Invalid shape/neighborhood combination: {} {}", shape.name(),
-                neighborhood.name());
-            throw new SimulationException("InvalidGridShapeNeighborhood",
-                List.of(shape.name(), neighborhood.name()));
-          }
-
-          setNeighbors(i, j, directions.get(), edge);
+          setNeighbors(i, j, getDirections(shape, neighborhood, i, j), edgeHandler);
         }
       }
 
+      myShape = shape;
+      myNeighborhood = neighborhood;
       edgeType = edge;
     } catch (SimulationException e) {
       throw new SimulationException(e);
     }
   }
 
+  private int[][] getDirections(ShapeType shape, NeighborhoodType neighborhood, int row,
+      int col) {
+    Optional<int[][]> directions = GridDirectionRegistry.getDirections(shape, neighborhood, row,
+        col);
+
+    if (directions.isEmpty()) {
+      // because of enums should usually never hit this case
+      logger.error("Invalid shape/neighborhood combination: {} {}", shape.name(),
+          neighborhood.name());
+      throw new SimulationException("InvalidGridShapeNeighborhood",
+          List.of(shape.name(), neighborhood.name()));
+    }
+    return directions.get();
+  }
+
+  private EdgeHandler getEdgeHandler(EdgeType edge) {
+    Optional<EdgeHandler> edgeHandler = EdgeFactory.getHandler(edge);
+    if (edgeHandler.isEmpty()) {
+      // should never happen because enums
+      logger.error("Invalid edge type: {}", edge);
+      throw new SimulationException("InvalidEdgeType", List.of(edge.name()));
+    }
+    return edgeHandler.get();
+  }
+
   /**
-   * Finds the neighbors for a specific cell in the grid based on its position, allowed directions,
-   * and edge behavior, and assigns these neighbors to the cell.
+   * Builds the neighbor views the grid was asked for and assigns them to a specific cell.
    *
-   * @param i          - the row index of the cell
-   * @param j          - the column index of the cell
-   * @param directions - a 2D array defining the
+   * @param i           - the row index of the cell
+   * @param j           - the column index of the cell
+   * @param directions  - a 2D array defining the relative directions to check for neighbors
+   * @param edgeHandler - the handler for neighbors that fall outside the grid
    */
-  private void setNeighbors(int i, int j, int[][] directions, EdgeType edge) {
+  private void setNeighbors(int i, int j, int[][] directions, EdgeHandler edgeHandler) {
     try {
       T cell = myGrid.get(i).get(j);
       if (cell == null) {
         return;
       }
 
-      Map<DirectionType, List<T>> neighbors = findNeighbors(i, j, directions, edge);
-      cell.setDirectionalNeighbors(neighbors);
-      cell.setNeighbors(neighbors.values().stream().flatMap(List::stream).toList());
+      boolean flat = myNeighborViews.contains(NeighborViewType.FLAT);
+      boolean directional = myNeighborViews.contains(NeighborViewType.DIRECTIONAL);
+      if (!flat && !directional) {
+        return;
+      }
+
+      List<T> neighbors = flat ? new ArrayList<>(directions.length) : null;
+      Map<DirectionType, List<T>> directionalNeighbors =
+          directional ? new EnumMap<>(DirectionType.class) : null;
+      forEachNeighbor(i, j, directions, edgeHandler, (offset, direction, row, col) -> {
+        T neighbor = myGrid.get(row).get(col);
+        if (flat) {
+          neighbors.add(neighbor);
+        }
+        if (directional) {
+          directionalNeighbors.computeIfAbsent(direction, key -> new ArrayList<>()).add(neighbor);
+        }
+      });
+
+      if (directional) {
+        cell.setDirectionalNeighbors(directionalNeighbors);
+      }
+      if (flat) {
+        cell.setNeighbors(neighbors);
+      }
     } catch (SimulationException e) {
       throw new SimulationException(e);
     }
   }
 
   /**
-   * Finds the neighbors for a specific cell in the grid based on its position, allowed directions,
-   * and edge behavior.
-   *
-   * @param i          - the row index of the target cell
-   * @param j          - the column index of the target cell
-   * @param directions - a 2D array defining the relative directions to check for neighbors
-   * @param edge       - the edge type specifying the behavior at grid boundaries
-   * @return a map containing the neighbors categorized by their direction type
-   * @throws SimulationException if the provided edge type is invalid
+   * Visits every neighbor of a position for the given shape, neighborhood, and edge type.
+   *
+   * <p>Neighbors are found from the grid's geometry, not from the cells, so this works no matter
+   * which neighbor views the cells were given.
+   *
+   * @param row          - the row index of the position
+   * @param col          - the column index of the position
+   * @param shape        - the shape type of the cells
+   * @param neighborhood - the neighborhood type to search
+   * @param edge         - the edge type for neighbors outside the grid
+   * @param visitor      - called once per neighbor, in the order of the neighborhood's directions
    */
-  private Map<DirectionType, List<T>> findNeighbors(int i, int j, int[][] directions,
-      EdgeType edge) {
+  void forEachNeighbor(int row, int col, ShapeType shape, NeighborhoodType neighborhood,
+      EdgeType edge, NeighborVisitor visitor) {
     try {
-      Optional<EdgeHandler> edgeHandler = EdgeFactory.getHandler(edge);
-      if (edgeHandler.isEmpty()) {
-        // should never happen because enums
-        logger.error("Invalid edge type: {}", edge);
-        throw new SimulationException("InvalidEdgeType", List.of(edge.name()));
-      }
-
-      Map<DirectionType, List<T>> neighbors = new HashMap<>();
-      for (int[] dir : directions) {
-        int newRow = i + dir[0];
-        int newCol = j + dir[1];
-
-        DirectionType directionType = determineDirection(dir);
-        neighbors.put(directionType, neighbors.getOrDefault(directionType, new ArrayList<>()));
-
-        if (isValidPosition(newRow, newCol)) {
-          neighbors.get(directionType).add(myGrid.get(newRow).get(newCol));
-        } else {
-          Optional<List<Integer>> replacementCell = edgeHandler.get()
-              .handleEdgeNeighbor(i, j, myRows, myCols, dir);
-          replacementCell.ifPresent(integers -> {
-            neighbors.get(directionType).add(myGrid.get(integers.get(0)).get(integers.get(1)));
-          });
-        }
-      }
-      return neighbors;
+      forEachNeighbor(row, col, getDirections(shape, neighborhood, row, col),
+          getEdgeHandler(edge), visitor);
     } catch (SimulationException e) {
       throw new SimulationException(e);
     }
   }
 
+  /**
+   * Finds the neighbors of a position based on the allowed directions and edge behavior. Neighbors
+   * that fall outside the grid are replaced according to the edge handler, or skipped if it has
+   * no replacement.
+   *
+   * @param i           - the row index of the target cell
+   * @param j           - the column index of the target cell
+   * @param directions  - a 2D array defining the relative directions to check for neighbors
+   * @param edgeHandler - the handler for neighbors that fall outside the grid
+   * @param visitor     - called with the offset, direction, and position of each neighbor
+   */
+  private void forEachNeighbor(int i, int j, int[][] directions, EdgeHandler edgeHandler,
+      NeighborVisitor visitor) {
+    for (int[] dir : directions) {
+      int newRow = i + dir[0];
+      int newCol = j + dir[1];
+      DirectionType directionType = determineDirection(dir);
+
+      if (isValidPosition(newRow, newCol)) {
+        visitor.visit(dir, directionType, newRow, newCol);
+      } else {
+        Optional<List<Integer>> replacementCell = edgeHandler
+            .handleEdgeNeighbor(i, j, myRows, myCols, dir);
+        replacementCell.ifPresent(integers ->
+            visitor.visit(dir, directionType, integers.get(0), integers.get(1)));
+      }
+    }
+  }
+
+  /**
+   * Callback for visiting the neighbors of a position.
+   */
+  @FunctionalInterface
+  interface NeighborVisitor {
+
+    /**
+     * Visits one neighbor.
+     *
+     * @param offset    - the {row, col} offset from the neighborhood the neighbor was found with
+     * @param direction - the direction of the offset
+     * @param row       - the row of the neighbor, after edge handling
+     * @param col       - the column of the neighbor, after edge handling
+     */
+    void visit(int[] offset, DirectionType direction, int row, int col);
+  }
+
   /**
    * Determines the direction type based on the provided directional vector.
    *
@@ -378,6 +454,107 @@ public class Grid<T extends Cell<T, ?>> {
   }
 
 
+  /**
+   * Returns the flat index of a cell in the grid's {@link GridTopology}.
+   *
+   * @param cell - a cell that has been placed in this grid
+   * @return the index of the cell, {@code row * cols + col} unless another state layout was set
+   */
+  public int getIndex(T cell) {
+    int[] position = cell.getPosition();
+    return getTopology().index(position[1], position[0]);
+  }
+
+  /**
+   * Returns the cell at a flat index of the grid's {@link GridTopology}.
+   *
+   * @param index - the flat index of the cell
+   * @return the cell at the index
+   */
+  public T getCell(int index) {
+    GridTopology topology = getTopology();
+    return getCell(topology.getRow(index), topology.getCol(index));
+  }
+
+  /**
+   * Returns the flat neighbor table for the current neighbor configuration of the grid.
+   *
+   * <p>The table is built lazily and cached until the neighbors are recalculated by
+   * {@link #setNeighborsAllCells(ShapeType, NeighborhoodType, EdgeType)}.
+   *
+   * @return the topology of the grid
+   * @throws SimulationException if the grid has not been constructed yet
+   */
+  public GridTopology getTopology() {
+    try {
+      if (myTopology == null) {
+        myTopology = GridTopology.fromGrid(this);
+      }
+      return myTopology;
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Sets which views of their neighbors the cells are given the next time neighbors are set, for
+   * example by {@link #constructGrid(List, int, int, ShapeType, NeighborhoodType, EdgeType)}.
+   *
+   * <p>Skipping the views a rule never reads saves building a list or a map per cell. An empty set
+   * gives cells no neighbors at all; {@link #getTopology()} still works since it is built from the
+   * grid's geometry.
+   *
+   * @param views - the neighbor views to build
+   * @throws SimulationException if the views are null
+   */
+  public void setNeighborViews(Set<NeighborViewType> views) {
+    if (views == null) {
+      logger.error("Cannot set null neighbor views.");
+      throw new SimulationException("NullParameter", List.of("views", "setNeighborViews()"));
+    }
+    myNeighborViews = views.isEmpty() ? EnumSet.noneOf(NeighborViewType.class)
+        : EnumSet.copyOf(views);
+  }
+
+  /**
+   * Sets the order the flat indices of the grid's {@link GridTopology} follow.
+   *
+   * <p>Only the indices change: {@link #getCells()} and every row and column lookup stay
+   * row-major. Engines that walk the topology tile by tile use a tiled layout to keep each tile
+   * and its neighbors in cache.
+   *
+   * @param layout - the state layout to use
+   * @throws SimulationException if the layout is null
+   */
+  public void setStateLayout(StateLayoutType layout) {
+    if (layout == null) {
+      logger.error("Cannot set null state layout.");
+      throw new SimulationException("NullParameter", List.of("layout", "setStateLayout()"));
+    }
+    if (layout != myStateLayout) {
+      myStateLayout = layout;
+      myTopology = null;
+    }
+  }
+
+  /**
+   * Return the order the flat indices of the grid's topology follow.
+   *
+   * @return the state layout of the grid
+   */
+  public StateLayoutType getStateLayout() {
+    return myStateLayout;
+  }
+
+  /**
+   * Return the neighbor views that are built for the cells of the grid.
+   *
+   * @return the neighbor views of the grid
+   */
+  public Set<NeighborViewType> getNeighborViews() {
+    return EnumSet.copyOf(myNeighborViews);
+  }
+
   // Start of Misc ------
 
   /**
@@ -393,6 +570,24 @@ public class Grid<T extends Cell<T, ?>> {
     return row >= 0 && row < myRows && col >= 0 && col < myCols;
   }
 
+  /**
+   * Return the current shape type of the grid.
+   *
+   * @return the shape type of the grid
+   */
+  public ShapeType getShape() {
+    return myShape;
+  }
+
+  /**
+   * Return the current neighborhood type of the grid.
+   *
+   * @return the neighborhood type of the grid
+   */
+  public NeighborhoodType getNeighborhood() {
+    return myNeighborhood;
+  }
+
   /**
    * Return the current edge type of the grid.
    *
@@ -0,0 +1,439 @@
+package cellsociety.model.simulation.grid;
+
+import cellsociety.model.util.constants.GridTypes.DirectionType;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
+import cellsociety.model.util.constants.GridTypes.ShapeType;
+import cellsociety.model.util.constants.GridTypes.StateLayoutType;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code GridTopology} class is a flat, index-based snapshot of the neighbor relationships of
+ * a {@link Grid}.
+ *
+ * <p>Cells are identified by a flat index, which is the row-major index ({@code row * cols + col})
+ * unless the grid was given another {@link StateLayoutType}; always go through
+ * {@link #index(int, int)}, {@link #getRow(int)}, and {@link #getCol(int)} instead of computing it.
+ * Neighbors are stored in a compressed layout: the neighbors of cell {@code i} are
+ * {@code getNeighborIndices()[getNeighborOffsets()[i]]} up to (excluding)
+ * {@code getNeighborIndices()[getNeighborOffsets()[i + 1]]}.</p>
+ *
+ * <p>This lets stepping engines walk neighborhoods with plain array reads instead of going through
+ * cell objects, while still honoring every shape, neighborhood, and edge type the grid supports,
+ * since the table is built with the same neighbor search the grid uses for its cells.</p>
+ *
+ * <p><b>Example Usage:</b></p>
+ * <pre>
+ * GridTopology topology = grid.getTopology();
+ * int[] offsets = topology.getNeighborOffsets();
+ * int[] neighbors = topology.getNeighborIndices();
+ * for (int k = offsets[i]; k &lt; offsets[i + 1]; k++) {
+ *   int neighbor = neighbors[k];
+ * }
+ * </pre>
+ *
+ * <p>For rules that look in a direction rather than at the whole neighborhood, the topology also
+ * keeps a step table per {@link DirectionType}: the index of the closest neighbor of each cell in
+ * that direction, or {@link #NO_CELL} if the cell has none (past the edge of a bounded grid).
+ * Following the table {@code k} times walks a ray of {@code k} cells. These tables are only built
+ * the first time one is asked for.</p>
+ *
+ * <p>The neighbor relation is not always symmetric: with hexagons or triangles, mirrored and
+ * wrapped edges can make a cell a neighbor of a cell that is not its own neighbor. Engines that
+ * count from live cells outward use {@link #getReverseNeighborOffsets()} and
+ * {@link #getReverseNeighborIndices()}, the cells that have each cell as a neighbor, which are
+ * also only built the first time they are asked for.</p>
+ *
+ * <p>With a tiled layout, {@link #getTileOffsets()} gives where each tile starts, so engines can
+ * step the grid one tile at a time while the tile and its border are in cache.</p>
+ *
+ * @author Jessica Chen
+ */
+public class GridTopology {
+
+  /**
+   * Marks that a cell has no neighbor in a direction.
+   */
+  public static final int NO_CELL = -1;
+
+  private static final Logger logger = LogManager.getLogger(GridTopology.class);
+
+  private final Grid<?> myGrid;
+  private final ShapeType myShape;
+  private final NeighborhoodType myNeighborhood;
+  private final EdgeType myEdge;
+  private final int myRows;
+  private final int myCols;
+  private final StateLayout myLayout;
+  private final int[] neighborOffsets;
+  private int[] neighborIndices;
+  private int neighborCount;
+
+  // built on first use, most engines never look in a direction
+  private volatile int[][] directionalSteps;
+  // built on first use, as {offsets, indices} in the same layout as the neighbor table
+  private volatile int[][] reverseNeighbors;
+
+  private GridTopology(Grid<?> grid) {
+    myGrid = grid;
+    myShape = grid.getShape();
+    myNeighborhood = grid.getNeighborhood();
+    myEdge = grid.getEdgeType();
+    myRows = grid.getRows();
+    myCols = grid.getCols();
+    myLayout = StateLayout.create(grid.getStateLayout(), myRows, myCols);
+    neighborOffsets = new int[myRows * myCols + 1];
+    neighborIndices = new int[myRows * myCols * 8];
+  }
+
+  /**
+   * Builds the topology table from the grid's current shape, neighborhood, and edge type.
+   *
+   * <p>Neighbors come from the grid's geometry rather than from the cells, so the table is the
+   * same whichever neighbor views the cells were given. The configuration is captured here, so
+   * tables built later still match it even if the grid's neighbors are reset in between.
+   *
+   * @param grid - the grid to read, must already be constructed
+   * @return a topology table matching the grid's current neighbor configuration
+   * @throws SimulationException if the grid has not been constructed
+   */
+  static GridTopology fromGrid(Grid<?> grid) {
+    if (grid.getRows() <= 0 || grid.getCols() <= 0) {
+      logger.error("Cannot build topology for an unconstructed grid.");
+      throw new SimulationException("InvalidGridDimensions",
+          List.of(String.valueOf(grid.getRows()), String.valueOf(grid.getCols())));
+    }
+
+    GridTopology topology = new GridTopology(grid);
+    topology.buildNeighbors();
+    return topology;
+  }
+
+  private void buildNeighbors() {
+    for (int index = 0; index < size(); index++) {
+      neighborOffsets[index] = neighborCount;
+      myGrid.forEachNeighbor(getRow(index), getCol(index), myShape, myNeighborhood, myEdge,
+          (offset, direction, neighborRow, neighborCol) -> addNeighbor(
+              index(neighborRow, neighborCol)));
+    }
+    neighborOffsets[size()] = neighborCount;
+    neighborIndices = Arrays.copyOf(neighborIndices, neighborCount);
+  }
+
+  private void addNeighbor(int index) {
+    if (neighborCount == neighborIndices.length) {
+      neighborIndices = Arrays.copyOf(neighborIndices, neighborIndices.length * 2);
+    }
+    neighborIndices[neighborCount++] = index;
+  }
+
+  /**
+   * Builds the step table of every direction: the neighbor with the smallest offset in that
+   * direction, so extended neighborhoods still step one cell at a time.
+   */
+  private int[][] buildDirectionalSteps() {
+    int[][] steps = new int[DirectionType.values().length][size()];
+    int[][] distances = new int[DirectionType.values().length][size()];
+    for (int[] table : steps) {
+      Arrays.fill(table, NO_CELL);
+    }
+
+    for (int i = 0; i < size(); i++) {
+      int index = i;
+      myGrid.forEachNeighbor(getRow(index), getCol(index), myShape, myNeighborhood, myEdge,
+          (offset, direction, neighborRow, neighborCol) -> {
+            int distance = Math.max(Math.abs(offset[0]), Math.abs(offset[1]));
+            int d = direction.ordinal();
+            if (steps[d][index] == NO_CELL || distance < distances[d][index]) {
+              steps[d][index] = index(neighborRow, neighborCol);
+              distances[d][index] = distance;
+            }
+          });
+    }
+    return steps;
+  }
+
+  /**
+   * Builds the reverse of the neighbor table: for each cell, every cell that has it as a neighbor,
+   * listed once for each time it appears in that cell's neighbors.
+   */
+  private int[][] buildReverseNeighbors() {
+    int[] offsets = new int[size() + 1];
+    for (int k = 0; k < neighborCount; k++) {
+      offsets[neighborIndices[k] + 1]++;
+    }
+    for (int i = 0; i < size(); i++) {
+      offsets[i + 1] += offsets[i];
+    }
+
+    int[] indices = new int[neighborCount];
+    int[] next = Arrays.copyOf(offsets, size());
+    for (int i = 0; i < size(); i++) {
+      for (int k = neighborOffsets[i]; k < neighborOffsets[i + 1]; k++) {
+        indices[next[neighborIndices[k]]++] = i;
+      }
+    }
+    return new int[][]{offsets, indices};
+  }
+
+  /**
+   * Returns the flat index of the given position.
+   *
+   * @param row - the row of the position
+   * @param col - the column of the position
+   * @return the flat index of the position in the grid's state layout
+   */
+  public int index(int row, int col) {
+    return myLayout.index(row, col);
+  }
+
+  /**
+   * Returns the row-major index, {@code row * cols + col}, of the cell at a flat index. This is
+   * also the position of the cell in {@link Grid#getCells()}.
+   *
+   * @param index - the flat index of the cell
+   * @return the row-major index of the cell
+   */
+  public int toRowMajor(int index) {
+    return myLayout.toRowMajor(index);
+  }
+
+  /**
+   * Returns the row of the cell at a flat index.
+   *
+   * @param index - the flat index of the cell
+   * @return the row of the cell
+   */
+  public int getRow(int index) {
+    return myLayout.toRowMajor(index) / myCols;
+  }
+
+  /**
+   * Returns the column of the cell at a flat index.
+   *
+   * @param index - the flat index of the cell
+   * @return the column of the cell
+   */
+  public int getCol(int index) {
+    return myLayout.toRowMajor(index) % myCols;
+  }
+
+  /**
+   * Returns the row a position any distance outside the grid stands for under the grid's edge
+   * type, the same way the edge handlers map a neighbor one step outside it. Box neighborhoods
+   * wider than the grid wrap or reflect as many times as needed.
+   *
+   * @param row - a row, possibly outside the grid
+   * @return the row inside the grid it stands for, or {@code -1} if it stands for no cell
+   */
+  public int resolveRow(int row) {
+    return resolve(row, myRows);
+  }
+
+  /**
+   * Returns the column a position any distance outside the grid stands for under the grid's edge
+   * type, see {@link #resolveRow(int)}.
+   *
+   * @param col - a column, possibly outside the grid
+   * @return the column inside the grid it stands for, or {@code -1} if it stands for no cell
+   */
+  public int resolveCol(int col) {
+    return resolve(col, myCols);
+  }
+
+  private int resolve(int position, int length) {
+    if (position >= 0 && position < length) {
+      return position;
+    }
+    return switch (myEdge) {
+      case TOROIDAL -> Math.floorMod(position, length);
+      case MIRROR -> {
+        // a reflection repeats every two lengths: 0..n-1 then n-1..0
+        int folded = Math.floorMod(position, 2 * length);
+        yield folded < length ? folded : 2 * length - 1 - folded;
+      }
+      case NONE, UNBOUNDED -> -1;
+    };
+  }
+
+  /**
+   * Returns the first flat index of every tile, with one extra trailing entry equal to
+   * {@link #size()}, so tile {@code t} covers {@code getTileOffsets()[t]} up to (excluding)
+   * {@code getTileOffsets()[t + 1]}. A row-major layout is a single tile.
+   *
+   * <p>The returned array is shared, so callers must not modify it.</p>
+   *
+   * @return the tile offsets
+   */
+  public int[] getTileOffsets() {
+    return myLayout.getTileOffsets();
+  }
+
+  /**
+   * Returns the {row, col} offsets of the neighborhood at a position, before any edge handling.
+   *
+   * <p>Rectangular neighborhoods have the same offsets everywhere; hexagonal and triangular ones
+   * depend on the position.</p>
+   *
+   * @param row - the row of the position
+   * @param col - the column of the position
+   * @return a copy of the neighborhood offsets, empty if the shape has none
+   */
+  public int[][] getNeighborhoodOffsets(int row, int col) {
+    return GridDirectionRegistry.getDirections(myShape, myNeighborhood, row, col)
+        .map(offsets -> Arrays.stream(offsets).map(int[]::clone).toArray(int[][]::new))
+        .orElse(new int[0][]);
+  }
+
+  /**
+   * Returns the shape type the topology was built with.
+   *
+   * @return the shape type
+   */
+  public ShapeType getShape() {
+    return myShape;
+  }
+
+  /**
+   * Returns the neighborhood type the topology was built with.
+   *
+   * @return the neighborhood type
+   */
+  public NeighborhoodType getNeighborhood() {
+    return myNeighborhood;
+  }
+
+  /**
+   * Returns the edge type the topology was built with.
+   *
+   * @return the edge type
+   */
+  public EdgeType getEdgeType() {
+    return myEdge;
+  }
+
+  /**
+   * Returns the order the flat indices of this topology follow.
+   *
+   * @return the state layout type
+   */
+  public StateLayoutType getStateLayout() {
+    return myLayout.getType();
+  }
+
+  /**
+   * Returns the offsets into {@link #getNeighborIndices()} for every cell, with one extra trailing
+   * entry so that the neighbors of the last cell can be found the same way as any other.
+   *
+   * <p>The returned array is shared, so callers must not modify it.</p>
+   *
+   * @return the neighbor offsets of length {@code size() + 1}
+   */
+  public int[] getNeighborOffsets() {
+    return neighborOffsets;
+  }
+
+  /**
+   * Returns the flattened neighbor indices of every cell.
+   *
+   * <p>The returned array is shared, so callers must not modify it.</p>
+   *
+   * @return the neighbor indices of all cells, grouped by cell
+   */
+  public int[] getNeighborIndices() {
+    return neighborIndices;
+  }
+
+  /**
+   * Returns the number of neighbors of the given cell.
+   *
+   * @param index - the flat index of the cell
+   * @return how many neighbors the cell has
+   */
+  public int getNeighborCount(int index) {
+    return neighborOffsets[index + 1] - neighborOffsets[index];
+  }
+
+  /**
+   * Returns the offsets into {@link #getReverseNeighborIndices()} for every cell, with one extra
+   * trailing entry, in the same layout as {@link #getNeighborOffsets()}.
+   *
+   * <p>The returned array is shared, so callers must not modify it.</p>
+   *
+   * @return the reverse neighbor offsets of length {@code size() + 1}
+   */
+  public int[] getReverseNeighborOffsets() {
+    return getReverseNeighbors()[0];
+  }
+
+  /**
+   * Returns, grouped by cell, the flat indices of the cells that have each cell as a neighbor. A
+   * cell is listed as often as it has the other cell among its neighbors, so adding one to every
+   * listed cell for each live cell gives the same counts as each cell counting its own neighbors.
+   *
+   * <p>The returned array is shared, so callers must not modify it.</p>
+   *
+   * @return the reverse neighbor indices of all cells, grouped by cell
+   */
+  public int[] getReverseNeighborIndices() {
+    return getReverseNeighbors()[1];
+  }
+
+  private int[][] getReverseNeighbors() {
+    int[][] reverse = reverseNeighbors;
+    if (reverse == null) {
+      reverse = buildReverseNeighbors();
+      reverseNeighbors = reverse;
+    }
+    return reverse;
+  }
+
+  /**
+   * Returns the step table for a direction: entry {@code i} is the index of the closest neighbor
+   * of cell {@code i} in that direction, or {@link #NO_CELL} if there is none.
+   *
+   * <p>The returned array is shared, so callers must not modify it.</p>
+   *
+   * @param direction - the direction to step in
+   * @return the step table of length {@code size()}
+   */
+  public int[] getDirectionalSteps(DirectionType direction) {
+    int[][] steps = directionalSteps;
+    if (steps == null) {
+      steps = buildDirectionalSteps();
+      directionalSteps = steps;
+    }
+    return steps[direction.ordinal()];
+  }
+
+  /**
+   * Returns the total number of cells in the topology.
+   *
+   * @return the number of cells
+   */
+  public int size() {
+    return myRows * myCols;
+  }
+
+  /**
+   * Return the number of rows in the topology.
+   *
+   * @return the number of rows
+   */
+  public int getRows() {
+    return myRows;
+  }
+
+  /**
+   * Return the number of cols in the topology.
+   *
+   * @return the number of cols
+   */
+  public int getCols() {
+    return myCols;
+  }
+}
@@ -0,0 +1,228 @@
+package cellsociety.model.simulation.grid;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The {@code SparseTileGrid} class stores an unbounded plane of int values, where every position
+ * starts out as a background value.
+ *
+ * <p>The plane is split into square tiles of {@code 32 x 32} positions, kept in a hash map by tile
+ * coordinate. A tile is only allocated once one of its positions holds something other than the
+ * background, and is freed as soon as all of them are back to the background, so memory follows
+ * the region that is actually in use rather than any fixed canvas. Rows and columns can be any
+ * int, including negative ones.</p>
+ *
+ * <p>Alongside its value, every position has a stamp, for example the generation its value last
+ * changed at. Stamps are stored in the same tile as the values, so a freed tile forgets the stamps
+ * of its positions and they read as {@code 0} again.</p>
+ *
+ * <p><b>Example Usage:</b></p>
+ * <pre>
+ * SparseTileGrid plane = new SparseTileGrid(0);
+ * plane.set(-500, 12000, 1, 0);
+ * plane.get(-500, 12000);   // 1
+ * plane.get(7, 7);          // 0, no tile is allocated for it
+ * </pre>
+ *
+ * @author Jessica Chen
+ */
+public final class SparseTileGrid {
+
+  private static final int TILE_SIZE = StateLayout.TILE_SIZE;
+  private static final int TILE_AREA = TILE_SIZE * TILE_SIZE;
+
+  private final int myBackground;
+  private final Map<Long, Tile> myTiles;
+  private int mySize;
+
+  /**
+   * Callback for visiting the positions of the grid that do not hold the background.
+   */
+  @FunctionalInterface
+  public interface PositionVisitor {
+
+    /**
+     * Visits one position.
+     *
+     * @param row   - the row of the position
+     * @param col   - the column of the position
+     * @param value - the value at the position
+     */
+    void visit(int row, int col, int value);
+  }
+
+  private final class Tile {
+
+    private final int[] values = new int[TILE_AREA];
+    private final int[] stamps = new int[TILE_AREA];
+    private int used;
+
+    private Tile() {
+      if (myBackground != 0) {
+        Arrays.fill(values, myBackground);
+      }
+    }
+  }
+
+  /**
+   * Creates an empty grid, where every position holds the background value.
+   *
+   * @param background - the value of positions that were never set
+   */
+  public SparseTileGrid(int background) {
+    myBackground = background;
+    myTiles = new HashMap<>();
+  }
+
+  private static long tileKey(int tileRow, int tileCol) {
+    return ((long) tileRow << 32) | (tileCol & 0xFFFFFFFFL);
+  }
+
+  private Tile tileAt(int row, int col) {
+    return myTiles.get(tileKey(Math.floorDiv(row, TILE_SIZE), Math.floorDiv(col, TILE_SIZE)));
+  }
+
+  private static int localIndex(int row, int col) {
+    return Math.floorMod(row, TILE_SIZE) * TILE_SIZE + Math.floorMod(col, TILE_SIZE);
+  }
+
+  /**
+   * Returns the value at a position.
+   *
+   * @param row - the row of the position, any int
+   * @param col - the column of the position, any int
+   * @return the value at the position, or the background if it was never set
+   */
+  public int get(int row, int col) {
+    Tile tile = tileAt(row, col);
+    return tile == null ? myBackground : tile.values[localIndex(row, col)];
+  }
+
+  /**
+   * Returns the stamp of a position.
+   *
+   * @param row - the row of the position, any int
+   * @param col - the column of the position, any int
+   * @return the stamp of the position, {@code 0} if its tile is not allocated
+   */
+  public int getStamp(int row, int col) {
+    Tile tile = tileAt(row, col);
+    return tile == null ? 0 : tile.stamps[localIndex(row, col)];
+  }
+
+  /**
+   * Sets the value and stamp of a position, allocating or freeing its tile as needed.
+   *
+   * <p>Setting a position of an unallocated tile to the background does nothing, so its stamp is
+   * not kept.
+   *
+   * @param row   - the row of the position, any int
+   * @param col   - the column of the position, any int
+   * @param value - the new value
+   * @param stamp - the new stamp
+   */
+  public void set(int row, int col, int value, int stamp) {
+    long key = tileKey(Math.floorDiv(row, TILE_SIZE), Math.floorDiv(col, TILE_SIZE));
+    Tile tile = myTiles.get(key);
+    if (tile == null) {
+      if (value == myBackground) {
+        return;
+      }
+      tile = new Tile();
+      myTiles.put(key, tile);
+    }
+
+    int local = localIndex(row, col);
+    int used = (tile.values[local] != myBackground ? -1 : 0) + (value != myBackground ? 1 : 0);
+    tile.values[local] = value;
+    tile.stamps[local] = stamp;
+    tile.used += used;
+    mySize += used;
+    if (tile.used == 0) {
+      myTiles.remove(key);
+    }
+  }
+
+  /**
+   * Adds to the value of a position and keeps its stamp, such as for counting neighbors.
+   *
+   * @param row   - the row of the position, any int
+   * @param col   - the column of the position, any int
+   * @param delta - the amount to add
+   */
+  public void add(int row, int col, int delta) {
+    set(row, col, get(row, col) + delta, getStamp(row, col));
+  }
+
+  /**
+   * Visits every position that does not hold the background, one tile at a time.
+   *
+   * <p>The grid must not be changed while it is being visited.
+   *
+   * @param visitor - called once per position
+   */
+  public void forEach(PositionVisitor visitor) {
+    for (Map.Entry<Long, Tile> entry : myTiles.entrySet()) {
+      int firstRow = (int) (entry.getKey() >> 32) * TILE_SIZE;
+      int firstCol = (int) entry.getKey().longValue() * TILE_SIZE;
+      int[] values = entry.getValue().values;
+      for (int local = 0; local < TILE_AREA; local++) {
+        if (values[local] != myBackground) {
+          visitor.visit(firstRow + local / TILE_SIZE, firstCol + local % TILE_SIZE,
+              values[local]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the smallest box holding every position that does not hold the background.
+   *
+   * @return {@code {minRow, minCol, maxRow, maxCol}}, inclusive, or {@code Optional.empty()} if
+   * every position holds the background
+   */
+  public Optional<int[]> getBoundingBox() {
+    if (mySize == 0) {
+      return Optional.empty();
+    }
+
+    int[] box = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE};
+    forEach((row, col, value) -> {
+      box[0] = Math.min(box[0], row);
+      box[1] = Math.min(box[1], col);
+      box[2] = Math.max(box[2], row);
+      box[3] = Math.max(box[3], col);
+    });
+    return Optional.of(box);
+  }
+
+  /**
+   * Returns the number of positions that do not hold the background.
+   *
+   * @return the number of set positions
+   */
+  public int size() {
+    return mySize;
+  }
+
+  /**
+   * Returns the number of tiles currently allocated.
+   *
+   * @return the number of tiles
+   */
+  public int getTileCount() {
+    return myTiles.size();
+  }
+
+  /**
+   * Returns the background value of the grid.
+   *
+   * @return the value of positions that were never set
+   */
+  public int getBackground() {
+    return myBackground;
+  }
+}
@@ -0,0 +1,130 @@
+package cellsociety.model.simulation.grid;
+
+import cellsociety.model.util.constants.GridTypes.StateLayoutType;
+
+/**
+ * The {@code StateLayout} class maps the positions of a grid to the flat indices used by its
+ * {@link GridTopology}, and back.
+ *
+ * <p>Every layout other than {@link StateLayoutType#ROW_MAJOR} splits the grid into
+ * {@link #TILE_SIZE} by {@link #TILE_SIZE} tiles, stored one after another in row-major order of
+ * the tiles. Tiles along the right and bottom edges are cut short instead of padded, so the indices
+ * are always exactly {@code 0} to {@code rows * cols - 1}. Inside a tile the cells are ordered
+ * row-major for {@link StateLayoutType#TILED}, or in Z-order for {@link StateLayoutType#MORTON}.
+ * </p>
+ *
+ * <p>Both directions of the mapping are kept as tables, so a lookup is one array read whatever
+ * the layout.</p>
+ *
+ * @author Jessica Chen
+ */
+final class StateLayout {
+
+  /**
+   * The width and height of a tile, 32 by 32 cells keeps the states of a tile and the rows around
+   * it within L1 cache.
+   */
+  static final int TILE_SIZE = 32;
+
+  private final StateLayoutType myType;
+  private final int myCols;
+
+  // null for row-major, where both directions are the identity
+  private final int[] rowMajorToIndex;
+  private final int[] indexToRowMajor;
+  private final int[] tileOffsets;
+
+  private StateLayout(StateLayoutType type, int rows, int cols) {
+    myType = type;
+    myCols = cols;
+
+    if (type == StateLayoutType.ROW_MAJOR) {
+      rowMajorToIndex = null;
+      indexToRowMajor = null;
+      tileOffsets = new int[]{0, rows * cols};
+      return;
+    }
+
+    rowMajorToIndex = new int[rows * cols];
+    indexToRowMajor = new int[rows * cols];
+    int tileRows = (rows + TILE_SIZE - 1) / TILE_SIZE;
+    int tileCols = (cols + TILE_SIZE - 1) / TILE_SIZE;
+    tileOffsets = new int[tileRows * tileCols + 1];
+
+    int next = 0;
+    for (int tileRow = 0; tileRow < tileRows; tileRow++) {
+      for (int tileCol = 0; tileCol < tileCols; tileCol++) {
+        tileOffsets[tileRow * tileCols + tileCol] = next;
+        next = placeTile(tileRow * TILE_SIZE, tileCol * TILE_SIZE, rows, cols, next);
+      }
+    }
+    tileOffsets[tileRows * tileCols] = next;
+  }
+
+  /**
+   * Creates the layout of a grid.
+   *
+   * @param type - the order to lay the states out in
+   * @param rows - the number of rows in the grid
+   * @param cols - the number of cols in the grid
+   * @return the layout of the grid
+   */
+  static StateLayout create(StateLayoutType type, int rows, int cols) {
+    return new StateLayout(type, rows, cols);
+  }
+
+  private int placeTile(int firstRow, int firstCol, int rows, int cols, int next) {
+    for (int local = 0; local < TILE_SIZE * TILE_SIZE; local++) {
+      int localRow = myType == StateLayoutType.MORTON ? compactBits(local >>> 1)
+          : local / TILE_SIZE;
+      int localCol = myType == StateLayoutType.MORTON ? compactBits(local) : local % TILE_SIZE;
+      int row = firstRow + localRow;
+      int col = firstCol + localCol;
+      if (row < rows && col < cols) {
+        rowMajorToIndex[row * cols + col] = next;
+        indexToRowMajor[next] = row * cols + col;
+        next++;
+      }
+    }
+    return next;
+  }
+
+  /**
+   * Gathers the even bits of a Morton code into a plain number, the inverse of interleaving.
+   */
+  private static int compactBits(int code) {
+    int value = code & 0x55555555;
+    value = (value | (value >>> 1)) & 0x33333333;
+    value = (value | (value >>> 2)) & 0x0F0F0F0F;
+    value = (value | (value >>> 4)) & 0x00FF00FF;
+    value = (value | (value >>> 8)) & 0x0000FFFF;
+    return value;
+  }
+
+  /**
+   * Returns the flat index of a position.
+   */
+  int index(int row, int col) {
+    int rowMajor = row * myCols + col;
+    return rowMajorToIndex == null ? rowMajor : rowMajorToIndex[rowMajor];
+  }
+
+  /**
+   * Returns the row-major index, {@code row * cols + col}, of the position at a flat index.
+   */
+  int toRowMajor(int index) {
+    return indexToRowMajor == null ? index : indexToRowMajor[index];
+  }
+
+  /**
+   * Returns the first flat index of every tile, with one extra trailing entry equal to the number
+   * of cells. Row-major layouts are one tile covering the whole grid.
+   */
+  int[] getTileOffsets() {
+    return tileOffsets;
+  }
+
+  StateLayoutType getType() {
+    return myType;
+  }
+}
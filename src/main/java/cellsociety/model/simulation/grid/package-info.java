@@ -68,6 +68,8 @@
  *   <li>{@code NONE} - No special edge handling, cells at the boundary have fewer neighbors.</li>
  *   <li>{@code MIRROR} - Boundary cells reflect their positions for neighbors.</li>
  *   <li>{@code TOROIDAL} - Grid wraps around, allowing seamless neighbor connections.</li>
+ *   <li>{@code UNBOUNDED} - Like {@code NONE} for the cells, sparse engines keep stepping past
+ *   the boundary using a {@link cellsociety.model.simulation.grid.SparseTileGrid}.</li>
  * </ul>
  *
  * <p><b>Note:</b> The grid itself does not store the neighbors. Each cell holds its own neighbor.
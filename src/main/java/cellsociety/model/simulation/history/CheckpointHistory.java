@@ -0,0 +1,117 @@
+package cellsociety.model.simulation.history;
+
+import cellsociety.model.simulation.cell.Cell;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code CheckpointHistory} class keeps whole-grid {@link Frame frames} of a few chosen
+ * generations, for simulations that do not record every step (see {@link HistoryPolicy}).
+ *
+ * <p>Nothing is done between checkpoints, so stepping costs nothing for history. A checkpoint
+ * identical to an older one, such as in a still life, shares its storage.</p>
+ *
+ * <h2>Example Usage:</h2>
+ * <pre>
+ * CheckpointHistory checkpoints = new CheckpointHistory(grid.getCells());
+ * checkpoints.capture(0, maxCheckpoints);
+ * // step the cells without recording anything
+ * checkpoints.restore(5);  // the cells are back at generation 0
+ * </pre>
+ *
+ * @author Jessica Chen
+ */
+public class CheckpointHistory {
+
+  private static final Logger logger = LogManager.getLogger(CheckpointHistory.class);
+
+  private final List<? extends Cell<?, ?>> myCells;
+  private final int attributeCount;
+  private final NavigableMap<Integer, Frame> checkpoints;
+
+  /**
+   * Starts a history without any checkpoint.
+   *
+   * @param cells - the cells of the grid, in the order they are always given in
+   */
+  public CheckpointHistory(List<? extends Cell<?, ?>> cells) {
+    myCells = List.copyOf(cells);
+    attributeCount = Frame.attributeCountOf(myCells);
+    checkpoints = new TreeMap<>();
+  }
+
+  /**
+   * Captures the cells as they are now. Checkpoints after the generation are dropped, since the
+   * cells may not reach them again, and so is the oldest when there are too many.
+   *
+   * @param generation     - the generation the cells are at
+   * @param maxCheckpoints - how many checkpoints to keep, at least 1
+   */
+  public void capture(int generation, int maxCheckpoints) {
+    Frame frame = new Frame(myCells.size(), attributeCount);
+    frame.capture(myCells, generation);
+    checkpoints.tailMap(generation, true).clear();
+    checkpoints.put(generation, frame.copySharing(checkpoints.values()));
+    while (checkpoints.size() > Math.max(1, maxCheckpoints)) {
+      checkpoints.pollFirstEntry();
+    }
+    logger.debug("Checkpoint captured at generation {}", generation);
+  }
+
+  /**
+   * Restores the cells to the newest checkpoint at or before a generation.
+   *
+   * @param generation - the latest generation to restore
+   * @return the generation restored, or empty if there is no checkpoint that old
+   * @throws SimulationException if a captured state is no longer valid for its cell
+   */
+  public OptionalInt restore(int generation) {
+    Map.Entry<Integer, Frame> checkpoint = checkpoints.floorEntry(generation);
+    if (checkpoint == null) {
+      return OptionalInt.empty();
+    }
+    try {
+      checkpoint.getValue().restore(myCells, checkpoint.getKey());
+      return OptionalInt.of(checkpoint.getKey());
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Returns a history of other cells laid out like these, starting with the same checkpoints.
+   * Checkpoints are never changed once captured, so the two histories share them.
+   *
+   * @param cells - the cells of the other grid, in the same order as these
+   * @return the history of the other cells
+   */
+  public CheckpointHistory fork(List<? extends Cell<?, ?>> cells) {
+    CheckpointHistory fork = new CheckpointHistory(cells);
+    fork.checkpoints.putAll(checkpoints);
+    return fork;
+  }
+
+  /**
+   * Drops every checkpoint.
+   */
+  public void clear() {
+    checkpoints.clear();
+  }
+
+  /**
+   * Returns the generations that have a checkpoint, oldest first.
+   *
+   * @return a read-only view of the generations
+   */
+  public NavigableSet<Integer> getGenerations() {
+    return Collections.unmodifiableNavigableSet(checkpoints.navigableKeySet());
+  }
+}
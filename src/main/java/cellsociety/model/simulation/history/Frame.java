@@ -0,0 +1,387 @@
+package cellsociety.model.simulation.history;
+
+import cellsociety.model.simulation.cell.Cell;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The {@code Frame} class is a whole grid at one generation, stored as flat columns: the state of
+ * every cell, the generation that state started in, and the attributes of every cell (see
+ * {@link Cell#getAttributeCount()}) one cell after another.
+ *
+ * <p>Frames are only ever copied with bulk array copies and changed by replaying steps, so
+ * restoring one never leaves the grid half way between two generations.</p>
+ *
+ * <p>A step records each cell it changed as
+ * {@code index, old state, old start, new state, new start, old attributes, new attributes}, see
+ * {@link #getRecordWidth()}.</p>
+ *
+ * <p>Every frame keeps a Zobrist-style hash of the states and attributes of its cells, the XOR of a
+ * hash of each cell's index and values. Replaying or recording a step only rehashes the cells it
+ * changed, so the hash of every generation is known at no extra pass over the grid. The start of a
+ * state is left out, since it differs every time a still life or oscillator comes back around.</p>
+ *
+ * <p>Frames are kept as keyframes without ever being changed again, so a keyframe identical to an
+ * older one shares its arrays instead of copying them, see
+ * {@link #copySharing(Collection)}.</p>
+ *
+ * @author Jessica Chen
+ */
+final class Frame {
+
+  // index, old state, old start, new state, new start
+  private static final int FIXED_RECORD_WIDTH = 5;
+  private static final int[] NO_CHANGES = new int[0];
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private final int[] states;
+  private final int[] starts;
+  private final int[] attributes;
+  private final int attributeCount;
+  private long hash;
+  // how many ints of the arrays are not shared with another frame
+  private final int ownedLength;
+
+  // only used by diff and update, allocated on its first call
+  private int[] buffer;
+  private int[] scratch;
+
+  /**
+   * Creates an empty frame for the given number of cells.
+   *
+   * @param cells          - the number of cells of the grid
+   * @param attributeCount - the number of attributes of every cell
+   */
+  Frame(int cells, int attributeCount) {
+    this(new int[cells], new int[cells], new int[cells * attributeCount], attributeCount, 0,
+        (2 + attributeCount) * cells);
+  }
+
+  private Frame(int[] states, int[] starts, int[] attributes, int attributeCount, long hash,
+      int ownedLength) {
+    this.states = states;
+    this.starts = starts;
+    this.attributes = attributes;
+    this.attributeCount = attributeCount;
+    this.hash = hash;
+    this.ownedLength = ownedLength;
+  }
+
+  /**
+   * Creates a frame from the array written by {@link #toArray()}.
+   *
+   * @param values         - the states, starts and attributes one after another
+   * @param cells          - the number of cells of the grid
+   * @param attributeCount - the number of attributes of every cell
+   */
+  Frame(int[] values, int cells, int attributeCount) {
+    this(cells, attributeCount);
+    System.arraycopy(values, 0, states, 0, cells);
+    System.arraycopy(values, cells, starts, 0, cells);
+    System.arraycopy(values, 2 * cells, attributes, 0, attributes.length);
+    rehash();
+  }
+
+  /**
+   * Returns the number of attributes the given cells carry, which must be the same for all.
+   */
+  static int attributeCountOf(List<? extends Cell<?, ?>> cells) {
+    return cells.isEmpty() ? 0 : cells.getFirst().getAttributeCount();
+  }
+
+  /**
+   * Sets the frame to the cells as they are now.
+   *
+   * @param cells      - the cells of the grid, in frame order
+   * @param generation - the generation the cells are at
+   */
+  void capture(List<? extends Cell<?, ?>> cells, int generation) {
+    for (int i = 0; i < states.length; i++) {
+      Cell<?, ?> cell = cells.get(i);
+      states[i] = cell.getCurrentState();
+      starts[i] = generation - cell.getStateLength() + 1;
+      cell.saveAttributes(attributes, i * attributeCount);
+    }
+    rehash();
+  }
+
+  /**
+   * Writes the frame into the cells. Call only with a frame that is complete, so every cell is
+   * restored to the same generation.
+   *
+   * @param cells      - the cells of the grid, in frame order
+   * @param generation - the generation of the frame
+   */
+  void restore(List<? extends Cell<?, ?>> cells, int generation) {
+    for (int i = 0; i < states.length; i++) {
+      Cell<?, ?> cell = cells.get(i);
+      cell.restoreState(states[i], generation - starts[i] + 1);
+      cell.restoreAttributes(attributes, i * attributeCount);
+    }
+  }
+
+  /**
+   * Copies the whole frame into another frame of the same grid.
+   */
+  void copyTo(Frame other) {
+    System.arraycopy(states, 0, other.states, 0, states.length);
+    System.arraycopy(starts, 0, other.starts, 0, starts.length);
+    System.arraycopy(attributes, 0, other.attributes, 0, attributes.length);
+    other.hash = hash;
+  }
+
+  /**
+   * Returns a copy of the frame.
+   */
+  Frame copy() {
+    Frame copy = new Frame(states.length, attributeCount);
+    copyTo(copy);
+    return copy;
+  }
+
+  /**
+   * Returns a copy of the frame that shares the arrays of an identical frame among the given ones,
+   * or a full copy if there is none. Neither the copy nor the frames may be changed afterward.
+   *
+   * @param frames - frames that are never changed, such as keyframes
+   * @return a frame with the same values as this one
+   */
+  Frame copySharing(Collection<Frame> frames) {
+    for (Frame other : frames) {
+      if (other.hash == hash && Arrays.equals(other.states, states)
+          && Arrays.equals(other.attributes, attributes)) {
+        boolean sameStarts = Arrays.equals(other.starts, starts);
+        return new Frame(other.states, sameStarts ? other.starts : starts.clone(), other.attributes,
+            attributeCount, hash, sameStarts ? 0 : starts.length);
+      }
+    }
+    return copy();
+  }
+
+  /**
+   * Replays a step on the frame.
+   *
+   * @param step    - the changes of the step
+   * @param forward - {@code true} to apply the step, {@code false} to revert it
+   */
+  void apply(int[] step, boolean forward) {
+    int width = getRecordWidth();
+    int stateOffset = forward ? 3 : 1;
+    int attributeOffset = FIXED_RECORD_WIDTH + (forward ? attributeCount : 0);
+    for (int k = 0; k < step.length; k += width) {
+      int index = step[k];
+      hash ^= cellHash(index);
+      states[index] = step[k + stateOffset];
+      starts[index] = step[k + stateOffset + 1];
+      if (attributeCount > 0) {
+        System.arraycopy(step, k + attributeOffset, attributes, index * attributeCount,
+            attributeCount);
+      }
+      hash ^= cellHash(index);
+    }
+  }
+
+  /**
+   * Applies a step of a cycle again one period later, for a grid that came back to a generation
+   * it was at before. The cells change the same way they did then, and a state that started during
+   * the step starts again one period later.
+   *
+   * @param step   - the step taken one period before the generation of the frame
+   * @param period - how many generations the cycle takes
+   * @return the repeated step, which has been applied to the frame
+   */
+  int[] repeat(int[] step, int period) {
+    if (step.length == 0) {
+      return NO_CHANGES;
+    }
+    int width = getRecordWidth();
+    int[] repeated = new int[step.length];
+    for (int k = 0; k < step.length; k += width) {
+      int index = step[k];
+      repeated[k] = index;
+      repeated[k + 1] = states[index];
+      repeated[k + 2] = starts[index];
+      repeated[k + 3] = step[k + 3];
+      repeated[k + 4] = step[k + 4] == step[k + 2] ? starts[index] : step[k + 4] + period;
+      System.arraycopy(attributes, index * attributeCount, repeated, k + FIXED_RECORD_WIDTH,
+          attributeCount);
+      System.arraycopy(step, k + FIXED_RECORD_WIDTH + attributeCount, repeated,
+          k + FIXED_RECORD_WIDTH + attributeCount, attributeCount);
+    }
+    apply(repeated, true);
+    return repeated;
+  }
+
+  /**
+   * Compares the cells against the frame, records every cell that changed, and updates the frame
+   * to match the cells.
+   *
+   * @param cells      - the cells of the grid, in frame order
+   * @param generation - the generation the cells are now at
+   * @return the changes, as a step from the generation of the frame to the given one
+   */
+  int[] diff(List<? extends Cell<?, ?>> cells, int generation) {
+    prepareBuffer();
+    int size = 0;
+    for (int i = 0; i < states.length; i++) {
+      Cell<?, ?> cell = cells.get(i);
+      cell.saveAttributes(scratch, 0);
+      size = record(size, i, cell.getCurrentState(), generation - cell.getStateLength() + 1,
+          scratch, 0);
+    }
+    return size == 0 ? NO_CHANGES : Arrays.copyOf(buffer, size);
+  }
+
+  /**
+   * Updates the frame with the cells listed in a step's changes, see
+   * {@link GenerationHistory#recordChanges(int[], int)}, and records every listed cell that
+   * actually changed. Cells that are not listed are left as they are.
+   *
+   * @param changes    - the new values of the listed cells
+   * @param generation - the generation the changes lead to
+   * @return the changes, as a step from the generation of the frame to the given one
+   */
+  int[] update(int[] changes, int generation) {
+    prepareBuffer();
+    int width = GenerationHistory.CHANGE_WIDTH + attributeCount;
+    int size = 0;
+    for (int k = 0; k < changes.length; k += width) {
+      size = record(size, changes[k], changes[k + 1], generation - changes[k + 2] + 1, changes,
+          k + GenerationHistory.CHANGE_WIDTH);
+    }
+    return size == 0 ? NO_CHANGES : Arrays.copyOf(buffer, size);
+  }
+
+  private void prepareBuffer() {
+    if (buffer == null) {
+      buffer = new int[getRecordWidth() * 16];
+      scratch = new int[attributeCount];
+    }
+  }
+
+  /**
+   * Records one cell into the buffer at the given size if any of its values differ from the
+   * frame, and sets the frame to them.
+   *
+   * @return the size of the buffer afterward
+   */
+  private int record(int size, int index, int state, int start, int[] newAttributes,
+      int attributeOffset) {
+    int attributeStart = index * attributeCount;
+    if (state == states[index] && start == starts[index] && Arrays.equals(newAttributes,
+        attributeOffset, attributeOffset + attributeCount, attributes, attributeStart,
+        attributeStart + attributeCount)) {
+      return size;
+    }
+
+    int width = getRecordWidth();
+    if (size + width > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + width));
+    }
+    buffer[size] = index;
+    buffer[size + 1] = states[index];
+    buffer[size + 2] = starts[index];
+    buffer[size + 3] = state;
+    buffer[size + 4] = start;
+    System.arraycopy(attributes, attributeStart, buffer, size + FIXED_RECORD_WIDTH,
+        attributeCount);
+    System.arraycopy(newAttributes, attributeOffset, buffer,
+        size + FIXED_RECORD_WIDTH + attributeCount, attributeCount);
+
+    hash ^= cellHash(index);
+    states[index] = state;
+    starts[index] = start;
+    System.arraycopy(newAttributes, attributeOffset, attributes, attributeStart, attributeCount);
+    hash ^= cellHash(index);
+    return size + width;
+  }
+
+  /**
+   * Returns the states, starts and attributes one after another, to write to a file.
+   */
+  int[] toArray() {
+    int cells = states.length;
+    int[] values = new int[2 * cells + attributes.length];
+    System.arraycopy(states, 0, values, 0, cells);
+    System.arraycopy(starts, 0, values, cells, cells);
+    System.arraycopy(attributes, 0, values, 2 * cells, attributes.length);
+    return values;
+  }
+
+  /**
+   * Returns how many ints a step uses for each cell it changed.
+   */
+  int getRecordWidth() {
+    return FIXED_RECORD_WIDTH + 2 * attributeCount;
+  }
+
+  /**
+   * Returns the hash of the states and attributes of the cells, equal for frames with equal states
+   * and attributes whatever their starts.
+   */
+  long getHash() {
+    return hash;
+  }
+
+  /**
+   * Returns how many ints of the frame are its own rather than shared with another frame, for
+   * memory accounting.
+   */
+  int getOwnedLength() {
+    return ownedLength;
+  }
+
+  int getAttributeCount() {
+    return attributeCount;
+  }
+
+  int size() {
+    return states.length;
+  }
+
+  /**
+   * Returns how many ints the frame holds.
+   */
+  int length() {
+    return 2 * states.length + attributes.length;
+  }
+
+  int[] getStates() {
+    return states;
+  }
+
+  int[] getStarts() {
+    return starts;
+  }
+
+  int[] getAttributes() {
+    return attributes;
+  }
+
+  // Start of Helper methods ------
+
+  private void rehash() {
+    hash = 0;
+    for (int i = 0; i < states.length; i++) {
+      hash ^= cellHash(i);
+    }
+  }
+
+  private long cellHash(int index) {
+    long cellHash = mix((index + 1) * GOLDEN_GAMMA + states[index]);
+    for (int a = index * attributeCount; a < (index + 1) * attributeCount; a++) {
+      cellHash = mix(cellHash + attributes[a]);
+    }
+    return cellHash;
+  }
+
+  /**
+   * The finalizer of SplitMix64, which spreads every input bit over the whole output.
+   */
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+}
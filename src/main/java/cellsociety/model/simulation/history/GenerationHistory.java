@@ -0,0 +1,596 @@
+package cellsociety.model.simulation.history;
+
+import static cellsociety.model.util.constants.SimulationConstants.DEFAULT_HISTORY_MEMORY_BUDGET;
+import static cellsociety.model.util.constants.SimulationConstants.INITIAL_KEYFRAME_INTERVAL;
+import static cellsociety.model.util.constants.SimulationConstants.MIN_STATE_HISTORY;
+
+import cellsociety.model.simulation.cell.Cell;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code GenerationHistory} class is a timeline of the generations of a grid stepped cell by
+ * cell, stored as the cells each step changed plus periodic full keyframes, so any recorded
+ * generation can be restored.
+ *
+ * <p>The history keeps a {@link Frame} of the grid at the generation the cells are at: the state
+ * of every cell, the generation that state started in, and the attributes the cell type carries
+ * between steps, such as the energy of a Wa-Tor shark or the instruction of a Darwin creature.
+ * After each step the cells are compared against it, and only the cells that changed are recorded
+ * with their old and new values. A step can therefore be replayed in either direction, and its
+ * memory is proportional to the cells it changed instead of to the size of the grid.</p>
+ *
+ * <p>Seeking moves the frame to the target first and only then writes it into the cells, so the
+ * whole grid is restored to the same generation at once.</p>
+ *
+ * <p>Every {@code keyframeInterval} generations a full copy of the grid is kept as well.
+ * {@link #seek(int)} starts from whichever is closest to the target, the current generation or a
+ * keyframe, and replays steps from there, so scrubbing through a long run costs a copy of the grid
+ * and at most half an interval of steps.</p>
+ *
+ * <h2>Bounds:</h2>
+ * <ul>
+ *   <li>At most {@code maxHistorySize} steps are kept, the oldest dropped first, the same way the
+ *   cells and engines bound their own history.</li>
+ *   <li>Keyframes and steps together stay under a memory budget. Whenever the keyframes alone
+ *   outgrow half of it, the interval doubles and every other keyframe is dropped. If the steps
+ *   still do not fit, the oldest are dropped.</li>
+ * </ul>
+ *
+ * <h2>Cycles:</h2>
+ * The hash of every kept generation is indexed (see {@link Frame}), so when the grid comes back
+ * to a generation it was at before, such as a still life or an oscillator, the period is known
+ * right away from {@link #getCyclePeriod()}. Keyframes identical to an older one share its
+ * storage, and {@link #repeatCycle(int, int)} can move a cycling grid forward by replaying the
+ * steps of the cycle instead of applying the rule to every cell.
+ *
+ * <p>Seeking back keeps the generations after the target, so they can be sought again. Recording a
+ * new step from an earlier generation drops them, since the new step may differ.</p>
+ *
+ * <p>With {@link #spillTo(Path, int, int)} the steps dropped for either bound are appended to a
+ * {@link HistoryFile} instead of being lost, so the whole run stays reachable by {@link #seek(int)}
+ * while only the newest steps are kept in memory.</p>
+ *
+ * <p>Recorded steps and keyframes are never changed once kept, so {@link #fork(List)} gives another
+ * grid a history of its own that shares them, for branching a simulation.</p>
+ *
+ * <h2>Example Usage:</h2>
+ * <pre>
+ * GenerationHistory history = new GenerationHistory(grid.getCells(), 0);
+ * grid.getCells().forEach(Cell::calcNextState);
+ * grid.getCells().forEach(Cell::step);
+ * history.recordStep(maxHistorySize);
+ * history.seek(0);  // the grid is back where it started
+ * history.seek(1);  // and forward again, without stepping
+ * </pre>
+ *
+ * @author Jessica Chen
+ */
+public class GenerationHistory {
+
+  private static final Logger logger = LogManager.getLogger(GenerationHistory.class);
+
+  /**
+   * The number of ints before the attributes of each change given to
+   * {@link #recordChanges(int[], int)}: the cell's index, state and state length.
+   */
+  public static final int CHANGE_WIDTH = 3;
+
+  // rough size of an array object besides its elements, for the memory budget
+  private static final int ARRAY_OVERHEAD_BYTES = 16;
+
+  private final List<? extends Cell<?, ?>> myCells;
+  private final Frame current;
+  private int generation;
+
+  // steps[(head + k) % steps.length] takes generation firstGeneration + k to the next one
+  private int[][] steps;
+  private int head;
+  private int stepCount;
+  private int firstGeneration;
+  private long stepBytes;
+
+  // hashes[i] is the hash of the generation steps[i] leads to
+  private long[] hashes;
+  private long firstHash;
+  // the newest kept generation each hash was seen at
+  private final Map<Long, Integer> generationsByHash;
+  private int cyclePeriod;
+
+  private final NavigableMap<Integer, Frame> keyframes;
+  private int keyframeInterval;
+  private long memoryBudget;
+
+  // holds the generations before firstGeneration, if the history spills to disk
+  private HistoryFile spill;
+
+  /**
+   * Starts a timeline holding only the current states of the cells.
+   *
+   * @param cells      - the cells of the grid, in the order they are always given in
+   * @param generation - the generation the cells are at
+   */
+  public GenerationHistory(List<? extends Cell<?, ?>> cells, int generation) {
+    myCells = List.copyOf(cells);
+    current = new Frame(myCells.size(), Frame.attributeCountOf(myCells));
+    steps = new int[INITIAL_KEYFRAME_INTERVAL][];
+    hashes = new long[INITIAL_KEYFRAME_INTERVAL];
+    generationsByHash = new HashMap<>();
+    keyframes = new TreeMap<>();
+    keyframeInterval = INITIAL_KEYFRAME_INTERVAL;
+    memoryBudget = DEFAULT_HISTORY_MEMORY_BUDGET;
+    restart(generation);
+  }
+
+  private GenerationHistory(GenerationHistory parent, List<? extends Cell<?, ?>> cells) {
+    myCells = List.copyOf(cells);
+    current = parent.current.copy();
+    generation = parent.generation;
+    steps = parent.steps.clone();
+    head = parent.head;
+    stepCount = parent.stepCount;
+    firstGeneration = parent.firstGeneration;
+    stepBytes = parent.stepBytes;
+    hashes = parent.hashes.clone();
+    firstHash = parent.firstHash;
+    generationsByHash = new HashMap<>(parent.generationsByHash);
+    cyclePeriod = parent.cyclePeriod;
+    keyframes = new TreeMap<>(parent.keyframes);
+    keyframeInterval = parent.keyframeInterval;
+    memoryBudget = parent.memoryBudget;
+  }
+
+  /**
+   * Returns a history of other cells laid out like these, and writes the current generation into
+   * them. The new history can restore the same generations as this one, except those only in a
+   * history file, which stays with this history. The two share every step and keyframe recorded so
+   * far, and only what each records afterward is its own.
+   *
+   * @param cells - the cells of the other grid, in the same order as these
+   * @return the history of the other cells, at the same generation as this one
+   * @throws SimulationException if a recorded state is not valid for the other cells
+   */
+  public GenerationHistory fork(List<? extends Cell<?, ?>> cells) {
+    GenerationHistory fork = new GenerationHistory(this, cells);
+    try {
+      fork.current.restore(fork.myCells, generation);
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+    if (generation < firstGeneration) {
+      // the generations around this one are only in the history file
+      fork.restart(generation);
+    }
+    return fork;
+  }
+
+  /**
+   * Records the step the cells just took from the current generation. Any generations recorded
+   * after the current one are dropped first.
+   *
+   * @param maxHistorySize - how many steps to keep, at least {@code MIN_STATE_HISTORY}
+   * @throws SimulationException if the history size is invalid
+   */
+  public void recordStep(int maxHistorySize) {
+    validateHistorySize(maxHistorySize);
+    dropAfter(generation);
+    generation++;
+
+    addStep(current.diff(myCells, generation));
+    addKeyframeIfDue();
+    enforceBounds(maxHistorySize);
+  }
+
+  /**
+   * Records a step from the current generation given as the cells it changed, for steps taken by
+   * something that knows what it changed, such as an engine, without comparing or touching every
+   * cell. The cells themselves are not read or written, so they are behind the history until the
+   * stepper writes them. Any generations recorded after the current one are dropped first.
+   *
+   * <p>Each change is {@link #CHANGE_WIDTH} ints, the cell's index in the order the cells are
+   * given in, its state and its state length, followed by its attributes laid out as
+   * {@link Cell#saveAttributes(int[], int)} writes them. A cell whose state length or attributes
+   * changed must be listed even if its state did not, and listing a cell that did not change
+   * records nothing for it.</p>
+   *
+   * @param changes        - the new values of every cell the step changed
+   * @param maxHistorySize - how many steps to keep, at least {@code MIN_STATE_HISTORY}
+   * @throws SimulationException if the history size is invalid
+   */
+  public void recordChanges(int[] changes, int maxHistorySize) {
+    validateHistorySize(maxHistorySize);
+    dropAfter(generation);
+    generation++;
+
+    addStep(current.update(changes, generation));
+    addKeyframeIfDue();
+    enforceBounds(maxHistorySize);
+  }
+
+  /**
+   * Moves the cells forward to a later generation by repeating the cycle the grid is in (see
+   * {@link #getCyclePeriod()}) instead of applying the rule, recording each repeated step. Each
+   * step costs only the cells it changes, and the cells are written once at the end.
+   *
+   * <p>Only valid for rules that always step the same grid the same way. The cells must be at the
+   * last recorded generation, and the steps of a whole cycle must stay in the history while they
+   * are repeated.</p>
+   *
+   * @param target         - the generation to move to
+   * @param maxHistorySize - how many steps to keep, at least {@code MIN_STATE_HISTORY}
+   * @return {@code true} if the cells are now at the target, {@code false} if the cells are not
+   *     cycling or the cycle no longer fits in the history, in which case they are at the newest
+   *     generation that could be reached
+   * @throws SimulationException if the history size is invalid
+   */
+  public boolean repeatCycle(int target, int maxHistorySize) {
+    validateHistorySize(maxHistorySize);
+    int period = cyclePeriod;
+    if (period == 0 || generation != getLastGeneration() || period > maxHistorySize) {
+      return generation == target;
+    }
+
+    try {
+      while (generation < target && generation - period >= getFirstGeneration()) {
+        int[] step = current.repeat(stepAt(generation - period), period);
+        generation++;
+        addStep(step);
+        addKeyframeIfDue();
+        enforceBounds(maxHistorySize);
+      }
+      current.restore(myCells, generation);
+      return generation == target;
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Restores the cells to a recorded generation.
+   *
+   * @param target - the generation to restore, from {@link #getFirstGeneration()} to
+   *               {@link #getLastGeneration()}
+   * @return {@code true} if the cells are now at the target, {@code false} if it is not recorded
+   * @throws SimulationException if a recorded state is no longer valid for its cell
+   */
+  public boolean seek(int target) {
+    if (target < getFirstGeneration() || target > getLastGeneration()) {
+      return false;
+    }
+
+    try {
+      seekFrame(target);
+      current.restore(myCells, generation);
+      return true;
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  /**
+   * Restores the cells to the generation before the current one.
+   *
+   * @return {@code true} if a step was reverted, {@code false} if there is no history left
+   * @throws SimulationException if a recorded state is no longer valid for its cell
+   */
+  public boolean stepBack() {
+    return seek(generation - 1);
+  }
+
+  /**
+   * Drops every recorded generation and starts over from the current states of the cells, for
+   * when the cells were changed by something other than a step.
+   *
+   * @param generation - the generation the cells are at
+   */
+  public final void restart(int generation) {
+    this.generation = generation;
+    current.capture(myCells, generation);
+
+    Arrays.fill(steps, null);
+    head = 0;
+    stepCount = 0;
+    stepBytes = 0;
+    firstGeneration = generation;
+
+    keyframes.clear();
+    keyframes.put(generation, current.copy());
+    firstHash = current.getHash();
+    generationsByHash.clear();
+    generationsByHash.put(firstHash, generation);
+    cyclePeriod = 0;
+    if (spill != null) {
+      spill.restart(generation, current);
+    }
+  }
+
+  /**
+   * Starts appending the steps dropped from memory to a new history file, replacing any file at the
+   * path, so they can still be restored. A file used before is closed.
+   *
+   * @param path - where to write the file
+   * @param rows - the number of rows of the grid
+   * @param cols - the number of columns of the grid
+   * @throws SimulationException if the file cannot be written
+   */
+  public void spillTo(Path path, int rows, int cols) {
+    stopSpilling();
+    Frame saved = current.copy();
+    int savedGeneration = generation;
+    try {
+      seekFrame(firstGeneration);
+      spill = HistoryFile.create(path, rows, cols, firstGeneration, current);
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    } finally {
+      saved.copyTo(current);
+      generation = savedGeneration;
+    }
+    logger.info("History spills to {} from generation {}", path, firstGeneration);
+  }
+
+  /**
+   * Stops spilling to disk and closes the history file, whose generations can no longer be
+   * restored. If the cells are at one of them, the history starts over from there.
+   *
+   * @throws SimulationException if the file cannot be closed
+   */
+  public void stopSpilling() {
+    if (spill == null) {
+      return;
+    }
+    HistoryFile file = spill;
+    spill = null;
+    if (generation < firstGeneration) {
+      restart(generation);
+    }
+    file.close();
+  }
+
+  /**
+   * Sets how much memory the keyframes and steps may take together. The bound applies from the
+   * next recorded step.
+   *
+   * @param bytes - the memory budget, above 0
+   * @throws SimulationException if the budget is not positive
+   */
+  public void setMemoryBudget(long bytes) {
+    if (bytes <= 0) {
+      logger.error("Invalid history memory budget: {}", bytes);
+      throw new SimulationException("InvalidParameterValue", List.of("memoryBudget"));
+    }
+    memoryBudget = bytes;
+  }
+
+  /**
+   * Returns how many steps can currently be reverted.
+   *
+   * @return the number of generations recorded before the current one
+   */
+  public int size() {
+    return generation - getFirstGeneration();
+  }
+
+  /**
+   * Returns the generation the cells are at.
+   *
+   * @return the current generation
+   */
+  public int getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Returns the oldest generation that can be restored.
+   *
+   * @return the first recorded generation
+   */
+  public int getFirstGeneration() {
+    return spill == null ? firstGeneration : spill.getFirstGeneration();
+  }
+
+  /**
+   * Returns the newest generation that can be restored, which is after the current one if the
+   * history was sought back.
+   *
+   * @return the last recorded generation
+   */
+  public int getLastGeneration() {
+    return firstGeneration + stepCount;
+  }
+
+  /**
+   * Returns the period of the cycle the grid is in at the last recorded generation, which repeats
+   * the states and attributes of every cell of a generation that many steps earlier. A still life
+   * has a period of 1.
+   *
+   * <p>Generations are compared by a 64-bit hash, so two different grids being taken for a cycle
+   * is possible but vanishingly unlikely.</p>
+   *
+   * @return the period, or 0 if the last generation does not repeat any kept generation
+   */
+  public int getCyclePeriod() {
+    return cyclePeriod;
+  }
+
+  /**
+   * Returns how many generations apart keyframes are currently kept.
+   *
+   * @return the keyframe interval
+   */
+  public int getKeyframeInterval() {
+    return keyframeInterval;
+  }
+
+  // Start of Helper methods ------
+
+  /**
+   * Moves the frame to a recorded generation, without touching the cells.
+   */
+  private void seekFrame(int target) {
+    Map.Entry<Integer, Frame> before = keyframes.floorEntry(target);
+    Map.Entry<Integer, Frame> after = keyframes.ceilingEntry(target);
+    Map.Entry<Integer, Frame> closest = closer(target, before, after);
+    if (closest != null
+        && Math.abs(target - closest.getKey()) < Math.abs(target - generation)) {
+      closest.getValue().copyTo(current);
+      generation = closest.getKey();
+    }
+    if (spill != null && target < firstGeneration) {
+      int keyframe = spill.keyframeBefore(target);
+      if (target - keyframe < Math.abs(target - generation)) {
+        spill.readKeyframe(keyframe, current);
+        generation = keyframe;
+      }
+    }
+
+    while (generation < target) {
+      current.apply(stepAt(generation), true);
+      generation++;
+    }
+    while (generation > target) {
+      generation--;
+      current.apply(stepAt(generation), false);
+    }
+  }
+
+  private static Map.Entry<Integer, Frame> closer(int target, Map.Entry<Integer, Frame> a,
+      Map.Entry<Integer, Frame> b) {
+    if (a == null || b == null) {
+      return a == null ? b : a;
+    }
+    return target - a.getKey() <= b.getKey() - target ? a : b;
+  }
+
+  private int[] stepAt(int from) {
+    if (from < firstGeneration) {
+      return spill.readStep(from);
+    }
+    return steps[(head + from - firstGeneration) % steps.length];
+  }
+
+  private static void validateHistorySize(int maxHistorySize) {
+    if (maxHistorySize < MIN_STATE_HISTORY) {
+      logger.error("Invalid maxHistorySize parameter: {}", maxHistorySize);
+      throw new SimulationException("InvalidHistorySize",
+          List.of(String.valueOf(maxHistorySize), String.valueOf(MIN_STATE_HISTORY)));
+    }
+  }
+
+  /**
+   * Adds the step from the generation before the current one, which the frame is already at.
+   */
+  private void addStep(int[] step) {
+    if (stepCount == steps.length) {
+      int[][] grown = new int[steps.length * 2][];
+      long[] grownHashes = new long[steps.length * 2];
+      for (int k = 0; k < stepCount; k++) {
+        grown[k] = steps[(head + k) % steps.length];
+        grownHashes[k] = hashes[(head + k) % steps.length];
+      }
+      steps = grown;
+      hashes = grownHashes;
+      head = 0;
+    }
+    int index = (head + stepCount) % steps.length;
+    steps[index] = step;
+    hashes[index] = current.getHash();
+    stepCount++;
+    stepBytes += bytes(step.length);
+
+    Integer seen = generationsByHash.put(current.getHash(), generation);
+    cyclePeriod = seen == null ? 0 : generation - seen;
+  }
+
+  private void addKeyframeIfDue() {
+    if (generation % keyframeInterval == 0) {
+      keyframes.put(generation, current.copySharing(keyframes.values()));
+    }
+  }
+
+  private void dropAfter(int last) {
+    if (last < firstGeneration) {
+      spill.truncateAfter(last, current);
+      Arrays.fill(steps, null);
+      head = 0;
+      stepCount = 0;
+      stepBytes = 0;
+      firstGeneration = last;
+      keyframes.clear();
+      keyframes.put(last, current.copy());
+      firstHash = current.getHash();
+      generationsByHash.clear();
+      generationsByHash.put(firstHash, last);
+      cyclePeriod = 0;
+      return;
+    }
+    if (getLastGeneration() == last) {
+      return;
+    }
+    while (getLastGeneration() > last) {
+      int index = (head + stepCount - 1) % steps.length;
+      stepBytes -= bytes(steps[index].length);
+      steps[index] = null;
+      stepCount--;
+    }
+    keyframes.tailMap(last, false).clear();
+
+    // a dropped generation may have hidden an older one with the same hash
+    generationsByHash.clear();
+    generationsByHash.put(firstHash, firstGeneration);
+    for (int k = 0; k < stepCount; k++) {
+      generationsByHash.put(hashes[(head + k) % steps.length], firstGeneration + k + 1);
+    }
+    cyclePeriod = 0;
+  }
+
+  private void dropFirst() {
+    if (spill != null) {
+      spill.appendStep(steps[head]);
+    }
+    stepBytes -= bytes(steps[head].length);
+    steps[head] = null;
+    generationsByHash.remove(firstHash, firstGeneration);
+    firstHash = hashes[head];
+    head = (head + 1) % steps.length;
+    stepCount--;
+    firstGeneration++;
+    keyframes.headMap(firstGeneration, false).clear();
+  }
+
+  private void enforceBounds(int maxHistorySize) {
+    while (stepCount > maxHistorySize) {
+      dropFirst();
+    }
+
+    while (keyframes.size() > 1 && keyframeBytes() > memoryBudget / 2) {
+      keyframeInterval *= 2;
+      keyframes.keySet().removeIf(key -> key % keyframeInterval != 0);
+      logger.debug("History keyframe interval raised to {}", keyframeInterval);
+    }
+
+    while (stepCount > 0 && stepBytes + keyframeBytes() > memoryBudget) {
+      dropFirst();
+    }
+  }
+
+  private long keyframeBytes() {
+    long total = 0;
+    for (Frame keyframe : keyframes.values()) {
+      total += bytes(keyframe.getOwnedLength());
+    }
+    return total;
+  }
+
+  private static long bytes(int length) {
+    return ARRAY_OVERHEAD_BYTES + 4L * length;
+  }
+}
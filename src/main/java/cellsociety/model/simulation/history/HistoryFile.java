@@ -0,0 +1,464 @@
+package cellsociety.model.simulation.history;
+
+import cellsociety.model.util.exceptions.SimulationException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code HistoryFile} class is an append-only file of keyframes and steps of a grid, read and
+ * written through memory mapped windows, that a {@link GenerationHistory} spills its oldest
+ * generations into.
+ *
+ * <p>The file starts with a keyframe and then holds every step in order, each recorded the same
+ * way as in the {@link GenerationHistory}. A new keyframe is written whenever the steps since the
+ * last one take as much space as a keyframe, so restoring a generation never reads more than about
+ * two keyframes worth of data whatever the length of the run.</p>
+ *
+ * <h2>Layout:</h2>
+ * <ul>
+ *   <li>A 40 byte header: a magic number, the format version, the rows and columns of the grid, the
+ *   window size, the first generation, the number of attributes of every cell, and the offset the
+ *   data ends at.</li>
+ *   <li>Records of {@code type, generation, length} followed by {@code length} ints. A keyframe
+ *   holds a whole {@link Frame}, a step holds its changed cells.</li>
+ * </ul>
+ * The file is mapped in windows of a fixed size large enough for any record, and a record that
+ * would cross the end of a window starts at the next one instead. The end offset in the header is
+ * updated after every record, so a file left behind by a process that stopped can still be opened
+ * with {@link #open(Path)} and inspected without running the simulation again.
+ *
+ * <h2>Example Usage:</h2>
+ * <pre>
+ * try (HistoryFile file = HistoryFile.open(Path.of("run.history"))) {
+ *   int[] states = file.getStates(file.getLastGeneration());
+ * }
+ * </pre>
+ *
+ * @author Jessica Chen
+ */
+public class HistoryFile implements AutoCloseable {
+
+  private static final Logger logger = LogManager.getLogger(HistoryFile.class);
+
+  // "CSH1"
+  private static final int MAGIC = 0x43534831;
+  private static final int VERSION = 2;
+  private static final int HEADER_BYTES = 40;
+  private static final int WINDOW_SHIFT_POSITION = 16;
+  private static final int FIRST_GENERATION_POSITION = 20;
+  private static final int ATTRIBUTE_COUNT_POSITION = 24;
+  private static final int END_POSITION = 32;
+
+  private static final int PADDING = 0;
+  private static final int KEYFRAME = 1;
+  private static final int STEP = 2;
+  private static final int RECORD_HEADER_BYTES = 12;
+  private static final long MIN_WINDOW_BYTES = 1 << 20;
+
+  private final Path myPath;
+  private final FileChannel channel;
+  private final boolean writable;
+  private final int rows;
+  private final int cols;
+  private final int attributeCount;
+  private final long windowBytes;
+  private final Map<Long, MappedByteBuffer> windows;
+
+  private long end;
+  private int firstGeneration;
+  private long[] stepOffsets;
+  private int stepCount;
+  private final NavigableMap<Integer, Long> keyframeOffsets;
+
+  // the grid at the last generation, to write keyframes from
+  private Frame tail;
+  private long bytesSinceKeyframe;
+
+  private HistoryFile(Path path, FileChannel channel, boolean writable, int rows, int cols,
+      int attributeCount, long windowBytes) {
+    myPath = path;
+    this.channel = channel;
+    this.writable = writable;
+    this.rows = rows;
+    this.cols = cols;
+    this.attributeCount = attributeCount;
+    this.windowBytes = windowBytes;
+    windows = new HashMap<>();
+    stepOffsets = new long[64];
+    keyframeOffsets = new TreeMap<>();
+  }
+
+  /**
+   * Creates a history file, replacing any file at the path, starting from a keyframe of the grid.
+   *
+   * @param path       - where to write the file
+   * @param rows       - the number of rows of the grid
+   * @param cols       - the number of columns of the grid
+   * @param generation - the generation of the keyframe
+   * @param frame      - the grid at that generation, row-major
+   * @return the open file, ready to append steps to
+   * @throws SimulationException if the file cannot be written
+   */
+  static HistoryFile create(Path path, int rows, int cols, int generation, Frame frame) {
+    try {
+      FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+      long largestRecord = RECORD_HEADER_BYTES
+          + 4L * Math.max(frame.length(), (long) frame.getRecordWidth() * frame.size());
+      long windowBytes = Math.max(MIN_WINDOW_BYTES, Long.highestOneBit(largestRecord) << 1);
+
+      HistoryFile file = new HistoryFile(path, channel, true, rows, cols,
+          frame.getAttributeCount(), windowBytes);
+      ByteBuffer header = file.window(0);
+      header.putInt(0, MAGIC);
+      header.putInt(4, VERSION);
+      header.putInt(8, rows);
+      header.putInt(12, cols);
+      header.putInt(WINDOW_SHIFT_POSITION, Long.numberOfTrailingZeros(windowBytes));
+      header.putInt(ATTRIBUTE_COUNT_POSITION, frame.getAttributeCount());
+      file.restart(generation, frame);
+      return file;
+    } catch (IOException e) {
+      logger.error("Could not create history file {}", path, e);
+      throw new SimulationException("HistoryFileError",
+          List.of(path.toString(), String.valueOf(e.getMessage())), e);
+    }
+  }
+
+  /**
+   * Opens a history file written earlier, possibly by another process, to read generations from.
+   *
+   * @param path - the file to open
+   * @return the file, read only
+   * @throws SimulationException if the file cannot be read or is not a history file
+   */
+  public static HistoryFile open(Path path) {
+    try {
+      FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+      if (channel.size() < HEADER_BYTES) {
+        channel.close();
+        throw new SimulationException("HistoryFileFormat", List.of(path.toString()));
+      }
+      ByteBuffer header = channel.map(MapMode.READ_ONLY, 0, HEADER_BYTES);
+      if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+        channel.close();
+        throw new SimulationException("HistoryFileFormat", List.of(path.toString()));
+      }
+
+      HistoryFile file = new HistoryFile(path, channel, false, header.getInt(8),
+          header.getInt(12), header.getInt(ATTRIBUTE_COUNT_POSITION),
+          1L << header.getInt(WINDOW_SHIFT_POSITION));
+      file.firstGeneration = header.getInt(FIRST_GENERATION_POSITION);
+      file.end = header.getLong(END_POSITION);
+      file.index();
+      return file;
+    } catch (IOException e) {
+      logger.error("Could not open history file {}", path, e);
+      throw new SimulationException("HistoryFileError",
+          List.of(path.toString(), String.valueOf(e.getMessage())), e);
+    }
+  }
+
+  /**
+   * Drops everything in the file and starts it over from a keyframe of the grid.
+   *
+   * @param generation - the generation of the keyframe
+   * @param frame      - the grid at that generation
+   */
+  void restart(int generation, Frame frame) {
+    firstGeneration = generation;
+    stepCount = 0;
+    keyframeOffsets.clear();
+    end = HEADER_BYTES;
+    tail = frame.copy();
+    window(0).putInt(FIRST_GENERATION_POSITION, generation);
+    writeKeyframe();
+  }
+
+  /**
+   * Appends the step from the last generation in the file to the next one.
+   *
+   * @param step - the changes of the step, as recorded by {@link GenerationHistory}
+   */
+  void appendStep(int[] step) {
+    tail.apply(step, true);
+
+    if (stepCount == stepOffsets.length) {
+      stepOffsets = Arrays.copyOf(stepOffsets, stepCount * 2);
+    }
+    stepOffsets[stepCount] = write(STEP, getLastGeneration(), step);
+    stepCount++;
+
+    bytesSinceKeyframe += RECORD_HEADER_BYTES + 4L * step.length;
+    if (bytesSinceKeyframe >= 4L * tail.length()) {
+      writeKeyframe();
+    }
+  }
+
+  /**
+   * Drops the generations after the given one, which becomes the last in the file.
+   *
+   * @param generation - the new last generation
+   * @param frame      - the grid at that generation
+   */
+  void truncateAfter(int generation, Frame frame) {
+    if (generation >= getLastGeneration()) {
+      return;
+    }
+    end = stepOffsets[generation - firstGeneration];
+    stepCount = generation - firstGeneration;
+    keyframeOffsets.tailMap(generation, false).clear();
+    tail = frame.copy();
+    bytesSinceKeyframe = 0;
+    window(0).putLong(END_POSITION, end);
+  }
+
+  /**
+   * Returns the step from the given generation to the next one.
+   *
+   * @param from - a generation from the first to one before the last
+   * @return the changes of the step
+   */
+  int[] readStep(int from) {
+    return read(stepOffsets[from - firstGeneration]);
+  }
+
+  /**
+   * Returns the generation of the last keyframe at or before the given one.
+   *
+   * @param generation - a generation in the file
+   * @return the generation of the keyframe
+   */
+  int keyframeBefore(int generation) {
+    return keyframeOffsets.floorKey(generation);
+  }
+
+  /**
+   * Copies the keyframe of a generation into the given frame.
+   *
+   * @param generation - a generation returned by {@link #keyframeBefore(int)}
+   * @param frame      - the frame to fill
+   */
+  void readKeyframe(int generation, Frame frame) {
+    new Frame(read(keyframeOffsets.get(generation)), rows * cols, attributeCount).copyTo(frame);
+  }
+
+  /**
+   * Returns the state of every cell at a generation in the file.
+   *
+   * @param generation - from {@link #getFirstGeneration()} to {@link #getLastGeneration()}
+   * @return the states, row-major
+   * @throws SimulationException if the generation is not in the file
+   */
+  public int[] getStates(int generation) {
+    return restore(generation).getStates();
+  }
+
+  /**
+   * Returns how many steps every cell had been in its state at a generation in the file.
+   *
+   * @param generation - from {@link #getFirstGeneration()} to {@link #getLastGeneration()}
+   * @return the state lengths, row-major
+   * @throws SimulationException if the generation is not in the file
+   */
+  public int[] getStateLengths(int generation) {
+    int[] starts = restore(generation).getStarts();
+    for (int i = 0; i < starts.length; i++) {
+      starts[i] = generation - starts[i] + 1;
+    }
+    return starts;
+  }
+
+  /**
+   * Returns the attributes of every cell at a generation in the file, the
+   * {@link #getAttributeCount()} values of each cell one cell after another.
+   *
+   * @param generation - from {@link #getFirstGeneration()} to {@link #getLastGeneration()}
+   * @return the attributes, row-major
+   * @throws SimulationException if the generation is not in the file
+   */
+  public int[] getAttributes(int generation) {
+    return restore(generation).getAttributes();
+  }
+
+  private Frame restore(int generation) {
+    if (generation < firstGeneration || generation > getLastGeneration()) {
+      throw new SimulationException("InvalidParameterValue", List.of("generation"));
+    }
+    int from = keyframeBefore(generation);
+    Frame frame = new Frame(read(keyframeOffsets.get(from)), rows * cols, attributeCount);
+    for (; from < generation; from++) {
+      frame.apply(readStep(from), true);
+    }
+    return frame;
+  }
+
+  /**
+   * Returns the oldest generation in the file.
+   *
+   * @return the first generation
+   */
+  public int getFirstGeneration() {
+    return firstGeneration;
+  }
+
+  /**
+   * Returns the newest generation in the file.
+   *
+   * @return the last generation
+   */
+  public int getLastGeneration() {
+    return firstGeneration + stepCount;
+  }
+
+  /**
+   * Returns how many attributes every cell carries besides its state, see
+   * {@link cellsociety.model.simulation.cell.Cell#getAttributeCount()}.
+   *
+   * @return the number of attributes
+   */
+  public int getAttributeCount() {
+    return attributeCount;
+  }
+
+  /**
+   * Returns the number of rows of the grid the file records.
+   *
+   * @return the rows of the grid
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of columns of the grid the file records.
+   *
+   * @return the columns of the grid
+   */
+  public int getCols() {
+    return cols;
+  }
+
+  /**
+   * Flushes the file to disk and closes it. The file stays a whole number of windows long, its
+   * header marks where the data ends.
+   *
+   * @throws SimulationException if the file cannot be closed
+   */
+  @Override
+  public void close() {
+    try {
+      if (writable) {
+        windows.values().forEach(MappedByteBuffer::force);
+      }
+      windows.clear();
+      channel.close();
+    } catch (IOException e) {
+      logger.error("Could not close history file {}", myPath, e);
+      throw new SimulationException("HistoryFileError",
+          List.of(myPath.toString(), String.valueOf(e.getMessage())), e);
+    }
+  }
+
+  // Start of Helper methods ------
+
+  private void writeKeyframe() {
+    keyframeOffsets.put(getLastGeneration(), write(KEYFRAME, getLastGeneration(), tail.toArray()));
+    bytesSinceKeyframe = 0;
+  }
+
+  private long write(int type, int generation, int[] values) {
+    long bytes = RECORD_HEADER_BYTES + 4L * values.length;
+    if (end % windowBytes + bytes > windowBytes) {
+      if (windowBytes - end % windowBytes >= Integer.BYTES) {
+        window(end).putInt((int) (end % windowBytes), PADDING);
+      }
+      end += windowBytes - end % windowBytes;
+    }
+
+    long offset = end;
+    ByteBuffer record = window(offset).slice((int) (offset % windowBytes), (int) bytes);
+    record.putInt(type).putInt(generation).putInt(values.length);
+    record.asIntBuffer().put(values);
+    end += bytes;
+    window(0).putLong(END_POSITION, end);
+    return offset;
+  }
+
+  private int[] read(long offset) {
+    ByteBuffer window = window(offset);
+    int position = (int) (offset % windowBytes);
+    int length = window.getInt(position + 8);
+    int[] values = new int[length];
+    window.slice(position + RECORD_HEADER_BYTES, 4 * length).asIntBuffer().get(values);
+    return values;
+  }
+
+  /**
+   * Rebuilds the offsets of the keyframes and steps of a file opened from disk.
+   */
+  private void index() {
+    long offset = HEADER_BYTES;
+    while (offset < end) {
+      long left = windowBytes - offset % windowBytes;
+      int type = left < RECORD_HEADER_BYTES ? PADDING
+          : window(offset).getInt((int) (offset % windowBytes));
+      if (type == PADDING) {
+        offset += left;
+        continue;
+      }
+
+      ByteBuffer window = window(offset);
+      int generation = window.getInt((int) (offset % windowBytes) + 4);
+      int length = window.getInt((int) (offset % windowBytes) + 8);
+      if (type == KEYFRAME) {
+        keyframeOffsets.put(generation, offset);
+      } else if (type == STEP && generation == getLastGeneration()) {
+        if (stepCount == stepOffsets.length) {
+          stepOffsets = Arrays.copyOf(stepOffsets, stepCount * 2);
+        }
+        stepOffsets[stepCount++] = offset;
+      } else {
+        throw new SimulationException("HistoryFileFormat", List.of(myPath.toString()));
+      }
+      offset += RECORD_HEADER_BYTES + 4L * length;
+    }
+    if (!keyframeOffsets.containsKey(firstGeneration)) {
+      throw new SimulationException("HistoryFileFormat", List.of(myPath.toString()));
+    }
+  }
+
+  /**
+   * Returns the mapped window holding the given file offset, mapping it the first time.
+   */
+  private MappedByteBuffer window(long offset) {
+    long start = offset - offset % windowBytes;
+    return windows.computeIfAbsent(start, key -> {
+      try {
+        if (writable) {
+          return channel.map(MapMode.READ_WRITE, start, windowBytes);
+        }
+        return channel.map(MapMode.READ_ONLY, start, Math.min(windowBytes,
+            channel.size() - start));
+      } catch (IOException e) {
+        logger.error("Could not map history file {} at {}", myPath, start, e);
+        throw new SimulationException("HistoryFileError",
+            List.of(myPath.toString(), String.valueOf(e.getMessage())), e);
+      }
+    });
+  }
+}
@@ -0,0 +1,29 @@
+package cellsociety.model.simulation.history;
+
+/**
+ * The {@code HistoryPolicy} enum lists how a {@link cellsociety.model.simulation.Simulation}
+ * captures the generations it can go back to. Capturing history costs a pass over the grid every
+ * step, which runs that never step back, such as parameter sweeps, can turn off.
+ *
+ * @author Jessica Chen
+ */
+public enum HistoryPolicy {
+  /**
+   * Records every step and keeps the last {@code maxHistorySize} of them, see
+   * {@link GenerationHistory}. The default.
+   */
+  LAST_N,
+  /**
+   * Captures a {@link CheckpointHistory checkpoint} every {@code k} generations and nothing in
+   * between. Stepping back returns to the newest checkpoint before the current generation.
+   */
+  EVERY_K,
+  /**
+   * Captures a checkpoint only when one is asked for.
+   */
+  ON_DEMAND,
+  /**
+   * Captures nothing, the simulation cannot step back.
+   */
+  OFF
+}
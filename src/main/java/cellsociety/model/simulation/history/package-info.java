@@ -0,0 +1,19 @@
+/**
+ * The {@code cellsociety.model.simulation.history} package records the steps of a
+ * {@link cellsociety.model.simulation.Simulation} so they can be reverted.
+ *
+ * <h2>Key Classes</h2>
+ * <ul>
+ *   <li>{@link cellsociety.model.simulation.history.GenerationHistory}
+ *   - Records each step of a grid stepped cell by cell as the list of cells it changed.</li>
+ *   <li>{@link cellsociety.model.simulation.history.HistoryFile}
+ *   - A memory mapped file the oldest steps of a history can be spilled into.</li>
+ * </ul>
+ *
+ * <p>The steps of an engine are recorded here too, from the list of cells the engine changed
+ * when it keeps one and by writing it back to the cells otherwise. Only engines growing past the
+ * grid keep their own history, see {@link cellsociety.model.simulation.engine.ArrayEngine}.</p>
+ *
+ * @author Jessica Chen
+ */
+package cellsociety.model.simulation.history;
@@ -71,8 +71,14 @@ public class GenericParameters extends Parameters {
 
   static {
     DEFAULT_VALUES.put(SimType.Darwin,
-        Map.of("nearbyAhead", 1.));
+        Map.of("nearbyAhead", 1., "instructionBudget", 1000.));
     DEFAULT_VALUES.put(SimType.RockPaperSciss, Map.of("numStates", 3.0, "percentageToWin", 0.5));
+    DEFAULT_VALUES.put(SimType.GameOfLife, Map.of("sparseDensity", 0.05, "denseDensity", 0.15));
+    DEFAULT_VALUES.put(SimType.LargerThanLife,
+        Map.of("range", 5.0, "includeCenter", 1.0, "survivalMin", 34.0, "survivalMax", 58.0,
+            "birthMin", 34.0, "birthMax", 45.0));
+    DEFAULT_VALUES.put(SimType.Lenia,
+        Map.of("radius", 13.0, "growthCenter", 0.15, "growthWidth", 0.015, "timeStep", 0.1));
     DEFAULT_VALUES.put(SimType.Segregation, Map.of("toleranceThreshold", 0.5));
     DEFAULT_VALUES.put(SimType.Fire,
         Map.of("ignitionLikelihood", 0.1, "treeSpawnLikelihood", 0.01));
@@ -6,9 +6,12 @@ import static cellsociety.model.util.constants.SimulationConstants.NUM_UNIQUE_90
 import cellsociety.model.simulation.cell.ChouReg2Cell;
 import cellsociety.model.simulation.parameters.GenericParameters;
 import cellsociety.model.util.constants.GridTypes.DirectionType;
+import cellsociety.model.util.constants.GridTypes.NeighborViewType;
 import cellsociety.model.util.exceptions.SimulationException;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -124,6 +127,16 @@ public class ChouReg2Rule extends Rule<ChouReg2Cell> {
     super(parameters);
   }
 
+  /**
+   * ChouReg2 reads neighbors in specific directions out of the flat neighbor list.
+   *
+   * @return both the flat and directional neighbor views
+   */
+  @Override
+  public Set<NeighborViewType> getNeighborViews() {
+    return EnumSet.allOf(NeighborViewType.class);
+  }
+
   /**
    * Applies the Chou Reg 2 Langton’s Loop transition rules to determine the next state of a cell.
    *
@@ -3,15 +3,16 @@ package cellsociety.model.simulation.rules;
 import cellsociety.model.simulation.cell.DarwinCell;
 import cellsociety.model.simulation.grid.Grid;
 import cellsociety.model.simulation.parameters.GenericParameters;
-import cellsociety.model.simulation.rules.darwinhandler.DarwinCommandHandler;
+import cellsociety.model.simulation.rules.darwinhandler.DarwinInterpreter;
 import cellsociety.model.statefactory.CellStateFactory;
 import cellsociety.model.statefactory.handler.CellStateHandler;
 import cellsociety.model.util.SimulationTypes.SimType;
-import cellsociety.model.util.darwin.DarwinCommand;
 import cellsociety.model.util.darwin.DarwinProgram;
 import cellsociety.model.util.darwin.DarwinProgramFactory;
+import cellsociety.model.util.constants.GridTypes.NeighborViewType;
 import cellsociety.model.util.exceptions.SimulationException;
-import java.util.OptionalInt;
+import java.util.EnumSet;
+import java.util.Set;
 
 public class DarwinRule extends Rule<DarwinCell> {
 
@@ -27,33 +28,29 @@ public class DarwinRule extends Rule<DarwinCell> {
     super(parameters, grid);
   }
 
+  /**
+   * Darwin creatures sense through {@link cellsociety.model.simulation.rules.darwinhandler.DarwinRay},
+   * which walks the grid topology instead of the cells' neighbor views.
+   *
+   * @return no neighbor views
+   */
+  @Override
+  public Set<NeighborViewType> getNeighborViews() {
+    return EnumSet.noneOf(NeighborViewType.class);
+  }
+
+  /**
+   * Runs one turn of the cell's program through the compiled interpreter and records where its
+   * next turn starts.
+   *
+   * @param cell - the creature taking its turn
+   * @return always 0, the program sets any state changes itself
+   */
   @Override
   public int apply(DarwinCell cell) {
     try {
-      int instruction = cell.getCurrentInstruction();
-
-      // lol basically if you get an action command you break otherwise really could
-      // just be forever
-      while (true) {
-        DarwinCommand command = cell.getCommand(instruction);
-
-        // handler is essentially the switch statement for what method should be executed
-        DarwinCommandHandler handler = DarwinCommandFactory.getHandler(command.getType());
-
-        OptionalInt newInstruction = handler.execute(command, cell, this.getGrid(),
-            this.getParameters());
-        if (newInstruction.isPresent()) {
-          // I think because of the indexes
-          instruction = newInstruction.getAsInt() - 1;
-        } else {
-          instruction = cell.getNextProgramInstruction(instruction);
-        }
-
-        if (command.getType().isAction()) {
-          break;
-        }
-      }
-
+      int instruction = DarwinInterpreter.run(cell, cell.getCompiledProgram(),
+          cell.getCurrentInstruction(), this.getGrid().orElse(null), this.getParameters());
       cell.setNextInstruction(instruction);
 
       return 0;
@@ -12,10 +12,13 @@ import static cellsociety.model.util.constants.GridTypes.DirectionType.SW;
 import cellsociety.model.simulation.cell.FallingSandCell;
 import cellsociety.model.simulation.parameters.GenericParameters;
 import cellsociety.model.util.constants.GridTypes.DirectionType;
+import cellsociety.model.util.constants.GridTypes.NeighborViewType;
 import cellsociety.model.util.exceptions.SimulationException;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 
 
 /**
@@ -67,6 +70,16 @@ public class FallingSandRule extends Rule<FallingSandCell> {
     super(parameters);
   }
 
+  /**
+   * Falling sand only looks at the cells below and beside each particle.
+   *
+   * @return just the directional neighbor view
+   */
+  @Override
+  public Set<NeighborViewType> getNeighborViews() {
+    return EnumSet.of(NeighborViewType.DIRECTIONAL);
+  }
+
   /**
    * Applies the Falling Sand rule to determine the next state of a given cell based on its current
    * state and the states of its surrounding neighbors.
@@ -5,6 +5,7 @@ import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_DEAD;
 
 import cellsociety.model.simulation.cell.GameOfLifeCell;
 import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.util.constants.GridTypes.StateLayoutType;
 import cellsociety.model.util.exceptions.SimulationException;
 import java.util.ArrayList;
 import java.util.List;
@@ -49,6 +50,16 @@ public class GameOfLifeRule extends Rule<GameOfLifeCell> {
     super(parameters);
   }
 
+  /**
+   * The Game of Life engine steps the grid one Z-ordered tile at a time.
+   *
+   * @return the Morton state layout
+   */
+  @Override
+  public StateLayoutType getStateLayout() {
+    return StateLayoutType.MORTON;
+  }
+
   /**
    * Applies the Game of Life transition rules to determine the next state of a cell.
    *
@@ -94,7 +105,14 @@ public class GameOfLifeRule extends Rule<GameOfLifeCell> {
     }
   }
 
-  List<Integer> retrieveParameterList(String key) {
+  /**
+   * Returns a list parameter of the rule, such as the "S" (Survival) or "B" (Birth) neighbor
+   * counts, as integers.
+   *
+   * @param key - the name of the list parameter
+   * @return the values of the list, or an empty list if it is missing or not all numbers
+   */
+  public List<Integer> retrieveParameterList(String key) {
     List<?> parameterList = getParameters().getAdditionalParameter(key, List.class)
         .orElse(List.of());
 
@@ -6,9 +6,12 @@ import static cellsociety.model.util.constants.SimulationConstants.NUM_UNIQUE_90
 import cellsociety.model.simulation.cell.LangtonCell;
 import cellsociety.model.simulation.parameters.GenericParameters;
 import cellsociety.model.util.constants.GridTypes.DirectionType;
+import cellsociety.model.util.constants.GridTypes.NeighborViewType;
 import cellsociety.model.util.exceptions.SimulationException;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -278,6 +281,16 @@ public class LangtonRule extends Rule<LangtonCell> {
     super(parameters);
   }
 
+  /**
+   * Langton's Loops reads neighbors in specific directions out of the flat neighbor list.
+   *
+   * @return both the flat and directional neighbor views
+   */
+  @Override
+  public Set<NeighborViewType> getNeighborViews() {
+    return EnumSet.allOf(NeighborViewType.class);
+  }
+
   /**
    * Applies the Langton’s Loop transition rules to determine the next state of a cell.
    *
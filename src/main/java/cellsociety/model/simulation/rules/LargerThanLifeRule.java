@@ -0,0 +1,156 @@
+package cellsociety.model.simulation.rules;
+
+import static cellsociety.model.util.constants.CellStates.LARGERTHANLIFE_ALIVE;
+import static cellsociety.model.util.constants.CellStates.LARGERTHANLIFE_DEAD;
+
+import cellsociety.model.simulation.cell.LargerThanLifeCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.grid.GridTopology;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.util.constants.GridTypes.NeighborViewType;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code LargerThanLifeRule} class defines the state transition logic for Larger than Life,
+ * the Game of Life with a square neighborhood of any range and intervals instead of lists of
+ * neighbor counts.
+ *
+ * <p>A cell's neighborhood is every cell within {@code range} rows and columns of it, so a range
+ * of 1 is the Moore neighborhood and a range of 5 covers 120 neighbors. The grid's neighbor lists
+ * stop at a range of 2, so instead the rule reads the box straight from the grid, resolving
+ * positions past the border through the grid's edge type.</p>
+ *
+ * <h2>Parameters:</h2>
+ * <ul>
+ *   <li>{@code range}: how far the box reaches in each direction, at least 1.</li>
+ *   <li>{@code includeCenter}: 1 if a cell counts itself when it is alive, otherwise 0.</li>
+ *   <li>{@code survivalMin}, {@code survivalMax}: an alive cell stays alive if its count is in
+ *   this interval.</li>
+ *   <li>{@code birthMin}, {@code birthMax}: a dead cell comes alive if its count is in this
+ *   interval.</li>
+ * </ul>
+ * The defaults are Bosco's rule, {@code R5,C0,M1,S34..58,B34..45}.
+ *
+ * <p>Counting the box cell by cell costs {@code (2 * range + 1)^2} reads per cell. The
+ * {@link cellsociety.model.simulation.engine.LargerThanLifeEngine} counts with a summed-area
+ * table instead, which costs the same for any range.</p>
+ *
+ * <h2>Example Usage:</h2>
+ * <pre>
+ * LargerThanLifeRule rule = new LargerThanLifeRule(parameters, grid);
+ * int nextState = rule.apply(cell);
+ * </pre>
+ *
+ * @author Jessica Chen
+ */
+public class LargerThanLifeRule extends Rule<LargerThanLifeCell> {
+
+  private static final Logger logger = LogManager.getLogger(LargerThanLifeRule.class);
+
+  /**
+   * Constructs a Larger than Life rule using the specified parameters and the grid it counts
+   * neighbors in.
+   *
+   * @param parameters the {@code GenericParameters} object containing the range and the survival
+   *                   and birth intervals. Must not be {@code null}.
+   * @param grid       the grid of the simulation, read when counting a cell's neighborhood
+   * @throws SimulationException if the parameters are {@code null}.
+   */
+  public LargerThanLifeRule(GenericParameters parameters, Grid<?> grid) {
+    super(parameters, grid);
+  }
+
+  /**
+   * Larger than Life reads its neighborhood from the grid, not from the cells' neighbor lists.
+   *
+   * @return no neighbor views
+   */
+  @Override
+  public Set<NeighborViewType> getNeighborViews() {
+    return EnumSet.noneOf(NeighborViewType.class);
+  }
+
+  /**
+   * Applies the Larger than Life transition to determine the next state of a cell.
+   *
+   * @param cell The {@code LargerThanLifeCell} to evaluate.
+   * @return The next state of the cell.
+   * @throws SimulationException if the rule has no grid or the range is invalid
+   */
+  @Override
+  public int apply(LargerThanLifeCell cell) {
+    try {
+      Grid<?> grid = getGrid().orElseThrow(() -> new SimulationException("NotSet",
+          List.of("grid", "LargerThanLifeRule(parameters, grid)")));
+      int[] position = cell.getPosition();
+      int count = countBox(grid, position[1], position[0], getRange());
+      return getNextState(cell.getCurrentState(), count);
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  private int countBox(Grid<?> grid, int row, int col, int range) {
+    GridTopology topology = grid.getTopology();
+    int count = 0;
+    for (int dr = -range; dr <= range; dr++) {
+      int neighborRow = topology.resolveRow(row + dr);
+      if (neighborRow < 0) {
+        continue;
+      }
+      for (int dc = -range; dc <= range; dc++) {
+        int neighborCol = topology.resolveCol(col + dc);
+        if (neighborCol >= 0
+            && grid.getCell(neighborRow, neighborCol).getCurrentState() == LARGERTHANLIFE_ALIVE) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the next state of a cell from its current state and the number of alive cells in its
+   * box, the center included.
+   *
+   * @param state - the current state of the cell
+   * @param count - the number of alive cells in the box around the cell, including itself
+   * @return the next state of the cell
+   */
+  public int getNextState(int state, int count) {
+    if (state == LARGERTHANLIFE_ALIVE) {
+      int neighbors = getParameters().getParameter("includeCenter") == 0 ? count - 1 : count;
+      return inInterval(neighbors, "survivalMin", "survivalMax")
+          ? LARGERTHANLIFE_ALIVE : LARGERTHANLIFE_DEAD;
+    }
+    if (state == LARGERTHANLIFE_DEAD && inInterval(count, "birthMin", "birthMax")) {
+      return LARGERTHANLIFE_ALIVE;
+    }
+    return state;
+  }
+
+  private boolean inInterval(int count, String minKey, String maxKey) {
+    return count >= getParameters().getParameter(minKey)
+        && count <= getParameters().getParameter(maxKey);
+  }
+
+  /**
+   * Returns the {@code range} parameter, how far the box reaches from a cell.
+   *
+   * @return the range, at least 1
+   * @throws SimulationException if the range parameter is below 1
+   */
+  public int getRange() {
+    int range = (int) getParameters().getParameter("range");
+    if (range < 1) {
+      logger.error("Invalid range parameter: {}", range);
+      throw new SimulationException("InvalidParameterValue", List.of("range"));
+    }
+    return range;
+  }
+}
@@ -0,0 +1,231 @@
+package cellsociety.model.simulation.rules;
+
+import static cellsociety.model.util.constants.CellStates.LENIA_FULL;
+
+import cellsociety.model.simulation.cell.LeniaCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.grid.GridTopology;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.util.constants.GridTypes.NeighborViewType;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.DoubleBinaryOperator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code LeniaRule} class defines the state transition logic for Lenia, a continuous
+ * automaton where every cell holds an amount between 0 and 1 and grows or shrinks with the
+ * weighted amount around it.
+ *
+ * <p>Each step a cell's <i>potential</i> is the sum of the amounts within {@code radius} of it,
+ * weighted by a ring shaped kernel that sums to 1. The potential goes through a bell shaped growth
+ * function, 1 at the growth center and -1 far from it, and the cell's amount moves by
+ * {@code timeStep} times the growth, clamped to {@code [0, 1]}.</p>
+ *
+ * <h2>Parameters:</h2>
+ * <ul>
+ *   <li>{@code radius}: how far the kernel reaches, in cells, at least 1.</li>
+ *   <li>{@code growthCenter}: the potential at which cells grow the most.</li>
+ *   <li>{@code growthWidth}: how far from the center the potential can be and still grow, above
+ *   0.</li>
+ *   <li>{@code timeStep}: how much of the growth is applied per step, above 0 and at most 1.</li>
+ * </ul>
+ * The defaults are the parameters of Orbium, the best known Lenia glider.
+ *
+ * <p>Cells only hold one of {@code LENIA_MAXSTATE} levels, so stepping cell by cell rounds the
+ * amounts every step. The {@link cellsociety.model.simulation.engine.LeniaEngine} keeps exact
+ * amounts and only rounds them for the grid, and convolves the kernel with an FFT when the radius
+ * is large.</p>
+ *
+ * <h2>Example Usage:</h2>
+ * <pre>
+ * LeniaRule rule = new LeniaRule(parameters, grid);
+ * int nextState = rule.apply(cell);
+ * </pre>
+ *
+ * @author Jessica Chen
+ */
+public class LeniaRule extends Rule<LeniaCell> {
+
+  private static final Logger logger = LogManager.getLogger(LeniaRule.class);
+
+  private int kernelRadius;
+  private double[] kernel;
+
+  /**
+   * Constructs a Lenia rule using the specified parameters and the grid it reads amounts from.
+   *
+   * @param parameters the {@code GenericParameters} object containing the radius and the growth
+   *                   function. Must not be {@code null}.
+   * @param grid       the grid of the simulation, read when computing a cell's potential
+   * @throws SimulationException if the parameters are {@code null}.
+   */
+  public LeniaRule(GenericParameters parameters, Grid<?> grid) {
+    super(parameters, grid);
+  }
+
+  /**
+   * Lenia reads its neighborhood from the grid, not from the cells' neighbor lists.
+   *
+   * @return no neighbor views
+   */
+  @Override
+  public Set<NeighborViewType> getNeighborViews() {
+    return EnumSet.noneOf(NeighborViewType.class);
+  }
+
+  /**
+   * Applies the Lenia transition to determine the next level of a cell.
+   *
+   * @param cell The {@code LeniaCell} to evaluate.
+   * @return The next level of the cell.
+   * @throws SimulationException if the rule has no grid or a parameter is invalid
+   */
+  @Override
+  public int apply(LeniaCell cell) {
+    try {
+      Grid<?> grid = getGrid().orElseThrow(() -> new SimulationException("NotSet",
+          List.of("grid", "LeniaRule(parameters, grid)")));
+      int[] position = cell.getPosition();
+      double potential = potential(grid, position[1], position[0]);
+      double value = getTransition().applyAsDouble(toValue(cell.getCurrentState()), potential);
+      return toLevel(value);
+    } catch (SimulationException e) {
+      throw new SimulationException(e);
+    }
+  }
+
+  private double potential(Grid<?> grid, int row, int col) {
+    GridTopology topology = grid.getTopology();
+    int radius = getRadius();
+    int span = 2 * radius + 1;
+    double[] weights = getKernel();
+
+    double potential = 0;
+    for (int dr = -radius; dr <= radius; dr++) {
+      int neighborRow = topology.resolveRow(row + dr);
+      if (neighborRow < 0) {
+        continue;
+      }
+      for (int dc = -radius; dc <= radius; dc++) {
+        int neighborCol = topology.resolveCol(col + dc);
+        double weight = weights[(dr + radius) * span + dc + radius];
+        if (neighborCol >= 0 && weight != 0) {
+          potential += weight * toValue(grid.getCell(neighborRow, neighborCol).getCurrentState());
+        }
+      }
+    }
+    return potential;
+  }
+
+  /**
+   * Returns the kernel for the current radius as a row-major {@code (2r + 1) x (2r + 1)} array
+   * centered on the cell. The weights sum to 1.
+   *
+   * <p>The weight at distance {@code d} is {@code exp(4 - 1 / (4x(1 - x)))} with
+   * {@code x = d / r}, a smooth ring peaking at half the radius and 0 at the center and past the
+   * radius. The array is rebuilt only when the radius changes, so it must not be modified.</p>
+   *
+   * @return the normalized kernel
+   * @throws SimulationException if the radius parameter is below 1
+   */
+  public double[] getKernel() {
+    int radius = getRadius();
+    if (kernel == null || kernelRadius != radius) {
+      kernel = buildKernel(radius);
+      kernelRadius = radius;
+    }
+    return kernel;
+  }
+
+  private static double[] buildKernel(int radius) {
+    int span = 2 * radius + 1;
+    double[] weights = new double[span * span];
+    double total = 0;
+    for (int dr = -radius; dr <= radius; dr++) {
+      for (int dc = -radius; dc <= radius; dc++) {
+        double x = Math.sqrt(dr * dr + dc * dc) / radius;
+        if (x > 0 && x < 1) {
+          double weight = Math.exp(4 - 1 / (4 * x * (1 - x)));
+          weights[(dr + radius) * span + dc + radius] = weight;
+          total += weight;
+        }
+      }
+    }
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] /= total;
+    }
+    return weights;
+  }
+
+  /**
+   * Returns the transition from a cell's amount and potential to its next amount, with the
+   * current parameters read once so it can be applied to many cells.
+   *
+   * @return a function of {@code (amount, potential)} giving the next amount, in {@code [0, 1]}
+   * @throws SimulationException if the growth width or time step is invalid
+   */
+  public DoubleBinaryOperator getTransition() {
+    double center = getParameters().getParameter("growthCenter");
+    double width = getPositiveParameter("growthWidth");
+    double timeStep = getPositiveParameter("timeStep");
+    if (timeStep > 1) {
+      logger.error("Invalid timeStep parameter: {}", timeStep);
+      throw new SimulationException("InvalidParameterValue", List.of("timeStep"));
+    }
+
+    double spread = 2 * width * width;
+    return (value, potential) -> {
+      double offset = potential - center;
+      double growth = 2 * Math.exp(-offset * offset / spread) - 1;
+      return Math.min(1, Math.max(0, value + timeStep * growth));
+    };
+  }
+
+  private double getPositiveParameter(String key) {
+    double value = getParameters().getParameter(key);
+    if (!(value > 0)) {
+      logger.error("Invalid {} parameter: {}", key, value);
+      throw new SimulationException("InvalidParameterValue", List.of(key));
+    }
+    return value;
+  }
+
+  /**
+   * Returns the {@code radius} parameter, how far the kernel reaches from a cell.
+   *
+   * @return the radius, at least 1
+   * @throws SimulationException if the radius parameter is below 1
+   */
+  public int getRadius() {
+    int radius = (int) getParameters().getParameter("radius");
+    if (radius < 1) {
+      logger.error("Invalid radius parameter: {}", radius);
+      throw new SimulationException("InvalidParameterValue", List.of("radius"));
+    }
+    return radius;
+  }
+
+  /**
+   * Converts a cell level to the amount it stands for.
+   *
+   * @param level - a level from 0 to {@code LENIA_FULL}
+   * @return the amount, in {@code [0, 1]}
+   */
+  public static double toValue(int level) {
+    return (double) level / LENIA_FULL;
+  }
+
+  /**
+   * Rounds an amount to the nearest cell level.
+   *
+   * @param value - the amount, clamped to {@code [0, 1]}
+   * @return the level, from 0 to {@code LENIA_FULL}
+   */
+  public static int toLevel(double value) {
+    return (int) Math.round(Math.min(1, Math.max(0, value)) * LENIA_FULL);
+  }
+}
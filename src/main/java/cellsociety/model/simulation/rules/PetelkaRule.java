@@ -15,9 +15,12 @@ import static cellsociety.model.util.constants.SimulationConstants.NUM_UNIQUE_90
 import cellsociety.model.simulation.cell.PetelkaCell;
 import cellsociety.model.simulation.parameters.GenericParameters;
 import cellsociety.model.util.constants.GridTypes.DirectionType;
+import cellsociety.model.util.constants.GridTypes.NeighborViewType;
 import cellsociety.model.util.exceptions.SimulationException;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -87,6 +90,16 @@ public class PetelkaRule extends Rule<PetelkaCell> {
     super(parameters);
   }
 
+  /**
+   * Petelka reads neighbors in specific directions out of the flat neighbor list.
+   *
+   * @return both the flat and directional neighbor views
+   */
+  @Override
+  public Set<NeighborViewType> getNeighborViews() {
+    return EnumSet.allOf(NeighborViewType.class);
+  }
+
   /**
    * Applies the Petelka Langton’s Loop transition rules to determine the next state of a cell.
    *
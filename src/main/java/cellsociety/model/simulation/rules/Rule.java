@@ -4,9 +4,13 @@ import cellsociety.model.simulation.cell.Cell;
 import cellsociety.model.simulation.grid.Grid;
 import cellsociety.model.simulation.parameters.GenericParameters;
 import cellsociety.model.util.constants.GridTypes.DirectionType;
+import cellsociety.model.util.constants.GridTypes.NeighborViewType;
+import cellsociety.model.util.constants.GridTypes.StateLayoutType;
 import cellsociety.model.util.exceptions.SimulationException;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -95,6 +99,30 @@ public abstract class Rule<C extends Cell<C, ?>> {
     return Optional.ofNullable(myGrid);
   }
 
+  /**
+   * Returns which views of a cell's neighbors this rule reads, so the grid only builds those.
+   *
+   * <p>Override if the rule reads {@code getDirectionalNeighbors()} or never looks at neighbors.
+   * Default hook returns just the flat neighbor list.</p>
+   *
+   * @return the neighbor views the rule needs, empty if it needs none
+   */
+  public Set<NeighborViewType> getNeighborViews() {
+    return EnumSet.of(NeighborViewType.FLAT);
+  }
+
+  /**
+   * Returns the order the grid should lay out the flat indices of its states in.
+   *
+   * <p>Override if the rule's engine steps the grid tile by tile. Default hook returns row-major.
+   * </p>
+   *
+   * @return the state layout the rule's engine works best with
+   */
+  public StateLayoutType getStateLayout() {
+    return StateLayoutType.ROW_MAJOR;
+  }
+
   // Start of Shared Helper methods for rules ------
 
   /**
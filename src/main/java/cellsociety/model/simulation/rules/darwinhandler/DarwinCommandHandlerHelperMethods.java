@@ -5,13 +5,11 @@ import static cellsociety.model.util.constants.CellStates.DARWIN_EMPTY;
 import cellsociety.model.simulation.cell.DarwinCell;
 import cellsociety.model.simulation.grid.Grid;
 import cellsociety.model.util.constants.GridTypes.DirectionType;
-import cellsociety.model.util.constants.GridTypes.EdgeType;
 import cellsociety.model.util.darwin.DarwinCommand;
 import cellsociety.model.util.exceptions.SimulationException;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.function.BiPredicate;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -55,89 +53,36 @@ public class DarwinCommandHandlerHelperMethods {
     random = newRandom;
   }
 
-  // recursion structure I had written
-  // CHATGPT: helped me refactor these since I notcied they were similar wiht the BiPredicate
-  // - prompt: I have 3 methods that use the same recursion struction but wiht a different cheeck
-  //   for the truth condition <Insert one of them and the truth pattern> how do I refactor this
-  //   so they can use the same recurison struction
-  static boolean nearbyCondition(DarwinCell cell, int nearbyAhead, DirectionType direction,
-      BiPredicate<DarwinCell, Grid> condition, Grid grid) {
-    if (nearbyAhead <= 0) {
-      return false; // Base case: stop searching when depth reaches 0
-    }
-
-    List<DarwinCell> neighbors = cell.getDirectionalNeighbors(direction);
-
-    for (DarwinCell neighbor : neighbors) {
-      if (condition.test(neighbor, grid)) {
-        return true; // If condition is met, return true
-      }
-
-      if (nearbyCondition(neighbor, nearbyAhead - 1, direction, condition, grid)) {
-        return true; // Recursive call to check deeper
-      }
-    }
-
-    return false; // If no match found within the given depth
+  // sensing walks the cell's cached ray, see DarwinRay
+  static boolean nearbyEnemy(DarwinCell cell, int nearbyAhead) {
+    return cell.getSight(nearbyAhead).anyNotInState(cell.getCurrentState());
   }
 
-  static boolean nearbyEnemy(DarwinCell cell, int nearbyAhead, DirectionType direction) {
-    return nearbyCondition(cell, nearbyAhead, direction,
-        (neighbor, grid) -> neighbor.getCurrentState() != cell.getCurrentState(),
-        null // Grid is not needed in this case
-    );
+  static boolean nearbyState(DarwinCell cell, int state, int nearbyAhead) {
+    return cell.getSight(nearbyAhead).anyInState(state);
   }
 
-  static boolean nearbyState(DarwinCell cell, int state, int nearbyAhead, DirectionType direction) {
-    return nearbyCondition(cell, nearbyAhead, direction,
-        (neighbor, grid) -> neighbor.getCurrentState() == state,
-        null // Grid is not needed in this case
-    );
-  }
-
-  static boolean nearbyBoundary(DarwinCell cell, Grid grid, int nearbyAhead,
-      DirectionType direction) {
-    if (grid.getEdgeType() != EdgeType.NONE) {
-      return false; // If the grid has boundaries, there's no out-of-bounds area
-    }
-
-    return nearbyCondition(cell, nearbyAhead, direction,
-        (neighbor, g) -> {
-          int[] pos = neighbor.getPosition();
-          return pos[0] < 0 || pos[0] >= g.getRows() || pos[1] < 0 || pos[1] >= g.getCols();
-        },
-        grid
-    );
+  static boolean nearbyBoundary(DarwinCell cell, int nearbyAhead) {
+    // only bounded grids have cells without a neighbor ahead
+    return cell.getSight(nearbyAhead).hitsWall();
   }
 
   public static boolean checkStillInfecting(DarwinCell cell, DarwinCell infectingCell,
-      int nearbyAhead, DirectionType direction) {
-    return nearbyCondition(infectingCell, nearbyAhead, direction,
-        (neighbor, grid) -> neighbor == cell,
-        null // Grid is not needed in this case
-    );
+      int nearbyAhead) {
+    return infectingCell != null && infectingCell.getSight(nearbyAhead).contains(cell);
   }
 
-  static void infectNearby(DarwinCell cell, int nearbyAhead, DarwinCell infectingCell, int steps) {
-    if (nearbyAhead <= 0) {
-      return;
-    }
-
-    List<DarwinCell> neighbors = cell.getDirectionalNeighbors(infectingCell.getDirection());
-
-
-    for (DarwinCell neighbor : neighbors) {
+  static void infectNearby(DarwinCell cell, int nearbyAhead, int steps) {
+    for (DarwinCell neighbor : cell.getSight(nearbyAhead).getCells()) {
       // once you are infected by one cell cannot be infected by another cell
-      if (neighbor.isInfected() || neighbor.getCurrentState() != cell.getCurrentState()
-          || neighbor.getCurrentState() != DARWIN_EMPTY) {
-        neighbor.setInfectingCell(infectingCell);
+      if (!neighbor.isInfected() && neighbor.getCurrentState() != DARWIN_EMPTY
+          && neighbor.getCurrentState() != cell.getCurrentState()) {
+        neighbor.setInfectingCell(cell);
         neighbor.setAwaitingInfectionTimer(steps);
         neighbor.setInfectedTimer(steps);
         neighbor.setOldProgram(neighbor.getCurrentState());
         neighbor.setInfectedThisStep();
       }
-
-      infectNearby(neighbor, nearbyAhead - 1, infectingCell, steps);
     }
   }
 
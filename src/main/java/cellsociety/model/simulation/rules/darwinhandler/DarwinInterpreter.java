@@ -0,0 +1,101 @@
+package cellsociety.model.simulation.rules.darwinhandler;
+
+import static cellsociety.model.util.constants.CellStates.DARWIN_EMPTY;
+
+import cellsociety.model.simulation.cell.DarwinCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.util.darwin.CompiledDarwinProgram;
+import cellsociety.model.util.exceptions.SimulationException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code DarwinInterpreter} class runs one turn of a {@link CompiledDarwinProgram} for a
+ * creature.
+ *
+ * <p>It behaves the same as dispatching every instruction to its {@link DarwinCommandHandler}:
+ * the creature keeps running instructions until it performs an action ({@code MOVE},
+ * {@code LEFT}, {@code RIGHT}, {@code INFECT}), and its next turn starts at the instruction after
+ * that action. The handlers are still the reference for what each command does; this class only
+ * removes the per-instruction map lookup and argument parsing.</p>
+ *
+ * <p>A turn is limited to {@code instructionBudget} instructions. A program that loops through
+ * conditions and jumps without ever acting stops when the budget runs out, and picks up from the
+ * same spot on its next turn, instead of hanging the step.</p>
+ *
+ * @author Jessica Chen
+ */
+public final class DarwinInterpreter {
+
+  private static final Logger logger = LogManager.getLogger(DarwinInterpreter.class);
+
+  private DarwinInterpreter() {
+  }
+
+  /**
+   * Runs the creature's program from its current instruction until it acts or the instruction
+   * budget runs out.
+   *
+   * @param cell        - the creature taking its turn
+   * @param program     - the compiled program of the creature's species
+   * @param instruction - the 0-based instruction to start from
+   * @param grid        - the grid the creature lives in, may be null
+   * @param parameters  - supplies {@code nearbyAhead} and {@code instructionBudget}
+   * @return the 0-based instruction the creature's next turn starts from
+   * @throws SimulationException if the program runs an unknown instruction
+   */
+  public static int run(DarwinCell cell, CompiledDarwinProgram program, int instruction,
+      Grid<?> grid, GenericParameters parameters) {
+    if (program.size() == 0) {
+      return instruction;
+    }
+
+    int nearbyAhead = (int) Math.round(parameters.getParameter("nearbyAhead"));
+    long budget = Math.round(parameters.getParameter("instructionBudget"));
+
+    for (long executed = 0; executed < budget; executed++) {
+      int opcode = program.getOpcode(instruction);
+      int operand = program.getOperand(instruction);
+      boolean jump = false;
+
+      switch (opcode) {
+        case CompiledDarwinProgram.MOVE -> {
+          if (grid != null) {
+            DarwinCommandHandlerHelperMethods.move(cell, operand, grid);
+          }
+        }
+        case CompiledDarwinProgram.LEFT ->
+            DarwinCommandHandlerHelperMethods.rotate(cell, operand, false);
+        case CompiledDarwinProgram.RIGHT ->
+            DarwinCommandHandlerHelperMethods.rotate(cell, operand, true);
+        case CompiledDarwinProgram.INFECT ->
+            DarwinCommandHandlerHelperMethods.infectNearby(cell, nearbyAhead, operand);
+        case CompiledDarwinProgram.IF_EMPTY -> jump =
+            DarwinCommandHandlerHelperMethods.nearbyState(cell, DARWIN_EMPTY, nearbyAhead);
+        case CompiledDarwinProgram.IF_WALL -> jump =
+            DarwinCommandHandlerHelperMethods.nearbyBoundary(cell, nearbyAhead);
+        case CompiledDarwinProgram.IF_SAME -> jump =
+            DarwinCommandHandlerHelperMethods.nearbyState(cell, cell.getCurrentState(),
+                nearbyAhead);
+        case CompiledDarwinProgram.IF_ENEMY -> jump =
+            DarwinCommandHandlerHelperMethods.nearbyEnemy(cell, nearbyAhead);
+        case CompiledDarwinProgram.IF_RANDOM ->
+            jump = DarwinCommandHandlerHelperMethods.getRandom().nextBoolean();
+        case CompiledDarwinProgram.GO -> jump = true;
+        default -> {
+          logger.error("Unknown opcode {} at instruction {}", opcode, instruction);
+          throw new SimulationException("UnknownDarwinInstruction");
+        }
+      }
+
+      instruction = jump ? operand : program.next(instruction);
+      if (CompiledDarwinProgram.isAction(opcode)) {
+        return instruction;
+      }
+    }
+
+    logger.debug("Instruction budget of {} ran out without an action", budget);
+    return instruction;
+  }
+}
@@ -0,0 +1,114 @@
+package cellsociety.model.simulation.rules.darwinhandler;
+
+import cellsociety.model.simulation.cell.DarwinCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.grid.GridTopology;
+import cellsociety.model.util.constants.GridTypes.DirectionType;
+import java.util.Arrays;
+
+/**
+ * The {@code DarwinRay} class is what a Darwin creature can see in front of it: the cells in a
+ * straight line in the direction it faces, up to {@code nearbyAhead} cells away.
+ *
+ * <p>The ray is walked over the grid's {@link GridTopology#getDirectionalSteps(DirectionType)}
+ * table, one array read per cell, so looking {@code k} cells ahead costs {@code O(k)}. It also
+ * records whether the line ran into the edge of a bounded grid before reaching its full length,
+ * which is what {@code IF_WALL} checks.</p>
+ *
+ * <p>A creature's facing and the states of the cells it sees don't change until the step ends, so
+ * a {@link DarwinCell} casts its ray at most once per step and every sensing command (and any
+ * infected cell checking on its infector) reuses it.</p>
+ *
+ * @author Jessica Chen
+ */
+public final class DarwinRay {
+
+  private static final DarwinCell[] NO_CELLS = new DarwinCell[0];
+
+  private final DirectionType direction;
+  private final int reach;
+  private final DarwinCell[] cells;
+  private final boolean hitsWall;
+
+  private DarwinRay(DirectionType direction, int reach, DarwinCell[] cells, boolean hitsWall) {
+    this.direction = direction;
+    this.reach = reach;
+    this.cells = cells;
+    this.hitsWall = hitsWall;
+  }
+
+  /**
+   * Walks the ray from a creature in the given direction.
+   *
+   * @param origin    - the creature looking
+   * @param grid      - the grid the creature lives in, with no grid the creature sees nothing
+   * @param direction - the direction to look in
+   * @param reach     - how many cells ahead to look
+   * @return the cells in front of the creature, nearest first
+   */
+  public static DarwinRay cast(DarwinCell origin, Grid<DarwinCell> grid, DirectionType direction,
+      int reach) {
+    if (grid == null || reach <= 0) {
+      return new DarwinRay(direction, reach, NO_CELLS, false);
+    }
+
+    GridTopology topology = grid.getTopology();
+    int[] steps = topology.getDirectionalSteps(direction);
+
+    DarwinCell[] seen = new DarwinCell[reach];
+    int length = 0;
+    int index = grid.getIndex(origin);
+    while (length < reach) {
+      index = steps[index];
+      if (index == GridTopology.NO_CELL) {
+        break;
+      }
+      seen[length++] = grid.getCell(index);
+    }
+
+    DarwinCell[] cells = length == reach ? seen : Arrays.copyOf(seen, length);
+    return new DarwinRay(direction, reach, cells, length < reach);
+  }
+
+  /**
+   * Returns whether this ray was cast in the given direction and reach, so it can be reused.
+   */
+  public boolean matches(DirectionType direction, int reach) {
+    return this.direction == direction && this.reach == reach;
+  }
+
+  boolean anyInState(int state) {
+    for (DarwinCell cell : cells) {
+      if (cell.getCurrentState() == state) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  boolean anyNotInState(int state) {
+    for (DarwinCell cell : cells) {
+      if (cell.getCurrentState() != state) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  boolean contains(DarwinCell target) {
+    for (DarwinCell cell : cells) {
+      if (cell == target) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  boolean hitsWall() {
+    return hitsWall;
+  }
+
+  DarwinCell[] getCells() {
+    return cells;
+  }
+}
@@ -60,7 +60,7 @@ public class IfEmptyCommandHandler implements DarwinCommandHandler {
     }
 
     if (DarwinCommandHandlerHelperMethods.nearbyState(cell, 0,
-        (int) Math.round(parameters.getParameter("nearbyAhead")), cell.getDirection())) {
+        (int) Math.round(parameters.getParameter("nearbyAhead")))) {
       return OptionalInt.of(nextInstruction);
     }
 
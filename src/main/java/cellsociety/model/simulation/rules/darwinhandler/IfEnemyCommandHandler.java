@@ -24,7 +24,7 @@ public class IfEnemyCommandHandler implements DarwinCommandHandler {
     }
 
     if (DarwinCommandHandlerHelperMethods.nearbyEnemy(cell,
-        (int) Math.round(parameters.getParameter("nearbyAhead")), cell.getDirection())) {
+        (int) Math.round(parameters.getParameter("nearbyAhead")))) {
       return OptionalInt.of(nextInstruction);
     }
 
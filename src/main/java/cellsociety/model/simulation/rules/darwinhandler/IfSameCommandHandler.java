@@ -24,7 +24,7 @@ public class IfSameCommandHandler implements DarwinCommandHandler {
     }
 
     if (DarwinCommandHandlerHelperMethods.nearbyState(cell, cell.getCurrentState(),
-        (int) Math.round(parameters.getParameter("nearbyAhead")), cell.getDirection())) {
+        (int) Math.round(parameters.getParameter("nearbyAhead")))) {
       return OptionalInt.of(nextInstruction);
     }
 
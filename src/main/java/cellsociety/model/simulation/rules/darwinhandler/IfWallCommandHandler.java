@@ -30,8 +30,8 @@ public class IfWallCommandHandler implements DarwinCommandHandler {
       return OptionalInt.empty();
     }
 
-    if (DarwinCommandHandlerHelperMethods.nearbyBoundary(cell, grid.get(),
-        (int) Math.round(parameters.getParameter("nearbyAhead")), cell.getDirection())) {
+    if (DarwinCommandHandlerHelperMethods.nearbyBoundary(cell,
+        (int) Math.round(parameters.getParameter("nearbyAhead")))) {
       return OptionalInt.of(nextInstruction);
     }
 
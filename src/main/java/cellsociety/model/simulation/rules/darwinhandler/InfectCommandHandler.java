@@ -21,7 +21,7 @@ public class InfectCommandHandler implements DarwinCommandHandler {
     }
 
     DarwinCommandHandlerHelperMethods.infectNearby(cell,
-        (int) Math.round(parameters.getParameter("nearbyAhead")), cell, steps);
+        (int) Math.round(parameters.getParameter("nearbyAhead")), steps);
 
     return OptionalInt.empty();
 
@@ -67,6 +67,10 @@
  *   - A variant of Langton’s Loop.</li>
  *   <li>{@link cellsociety.model.simulation.rules.PetelkaRule}
  *   - Implements the Petelka self-replicating automaton.</li>
+ *   <li>{@link cellsociety.model.simulation.rules.LargerThanLifeRule}
+ *   - Generalizes the Game of Life to square neighborhoods of any range.</li>
+ *   <li>{@link cellsociety.model.simulation.rules.LeniaRule}
+ *   - Grows continuous amounts from a smooth ring-shaped kernel.</li>
  * </ul>
  *
  * @author Jessica Chen
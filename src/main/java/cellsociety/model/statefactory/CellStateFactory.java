@@ -8,6 +8,8 @@ import cellsociety.model.statefactory.handler.FallingSandStateHandler;
 import cellsociety.model.statefactory.handler.FireStateHandler;
 import cellsociety.model.statefactory.handler.GameOfLifeStateHandler;
 import cellsociety.model.statefactory.handler.LangtonStateHandler;
+import cellsociety.model.statefactory.handler.LargerThanLifeStateHandler;
+import cellsociety.model.statefactory.handler.LeniaStateHandler;
 import cellsociety.model.statefactory.handler.PercolationStateHandler;
 import cellsociety.model.statefactory.handler.PetelkaStateHandler;
 import cellsociety.model.statefactory.handler.SegregationStateHandler;
@@ -46,6 +48,8 @@ public class CellStateFactory {
     handlerMap.put(SimType.Langton, new LangtonStateHandler());
     handlerMap.put(SimType.ChouReg2, new LangtonStateHandler());
     handlerMap.put(SimType.Petelka, new PetelkaStateHandler());
+    handlerMap.put(SimType.LargerThanLife, new LargerThanLifeStateHandler());
+    handlerMap.put(SimType.Lenia, new LeniaStateHandler());
     // even though upgradable darwin is static because for all darwin simulations you ever only
     // need one handler
     handlerMap.put(SimType.Darwin, new DarwinStateHandler());
@@ -0,0 +1,29 @@
+package cellsociety.model.statefactory.handler;
+
+import cellsociety.model.util.constants.CellStates;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A predefined state handler for the Larger than Life simulation. This class extends
+ * {@link CellStateHandlerStatic} and defines the same alive and dead states as the Game of Life.
+ *
+ * @author Jessica Chen
+ */
+public class LargerThanLifeStateHandler extends CellStateHandlerStatic {
+
+  private static final Map<Integer, String> cellStates = new HashMap<>();
+
+  static {
+    cellStates.put(CellStates.LARGERTHANLIFE_DEAD, "dead");
+    cellStates.put(CellStates.LARGERTHANLIFE_ALIVE, "alive");
+  }
+
+  /**
+   * Constructs a {@code LargerThanLifeStateHandler} with predefined states for the Larger than
+   * Life simulation.
+   */
+  public LargerThanLifeStateHandler() {
+    super(cellStates);
+  }
+}
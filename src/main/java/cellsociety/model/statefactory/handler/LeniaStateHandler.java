@@ -0,0 +1,56 @@
+package cellsociety.model.statefactory.handler;
+
+import cellsociety.model.statefactory.exceptions.CellStateFactoryException;
+import cellsociety.model.util.constants.CellStates;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A predefined state handler for the Lenia simulation. This class extends
+ * {@link CellStateHandlerStatic} and names every level by the amount it stands for, from
+ * {@code "0.00"} to {@code "1.00"}.
+ *
+ * <p>Since amounts are continuous, any number from 0 to 1 is accepted as a state and rounded to the
+ * nearest level, so XML files do not need to match the names exactly.
+ *
+ * @author Jessica Chen
+ */
+public class LeniaStateHandler extends CellStateHandlerStatic {
+
+  private static final Map<Integer, String> cellStates = new HashMap<>();
+
+  static {
+    for (int level = CellStates.LENIA_EMPTY; level <= CellStates.LENIA_FULL; level++) {
+      cellStates.put(level,
+          String.format(Locale.ROOT, "%.2f", (double) level / CellStates.LENIA_FULL));
+    }
+  }
+
+  /**
+   * Constructs a {@code LeniaStateHandler} with a state for every level of the Lenia simulation.
+   */
+  public LeniaStateHandler() {
+    super(cellStates);
+  }
+
+  /**
+   * Converts an amount from 0 to 1 to the nearest level.
+   *
+   * @param state the amount, as a decimal number.
+   * @return the nearest level.
+   * @throws CellStateFactoryException if the state is not a number from 0 to 1.
+   */
+  @Override
+  public int stateFromString(String state) {
+    try {
+      double value = Double.parseDouble(state.trim());
+      if (value >= 0 && value <= 1) {
+        return (int) Math.round(value * CellStates.LENIA_FULL);
+      }
+    } catch (NumberFormatException e) {
+      // fall through to the exception below
+    }
+    throw new CellStateFactoryException("Invalid state: " + state);
+  }
+}
@@ -30,7 +30,9 @@ public class SimulationTypes {
     Langton(false, false),
     ChouReg2(false, false),
     Petelka(false, true),
-    Darwin(false, true);
+    Darwin(false, true),
+    LargerThanLife(false, true),
+    Lenia(false, true);
 
     private final boolean isDynamic;
     private final boolean defaultRectangularGrid;
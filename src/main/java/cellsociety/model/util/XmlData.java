@@ -35,6 +35,7 @@ public class XmlData {
   private Map<Integer, String> customColorMap; //a map of the custom colors
   private int gridRowNum; //number of rows in a grid
   private int gridColNum; //number of columns in grid.
+  private EdgeType edge = EdgeType.NONE; //how the grid's edges treat their neighbors
   //a list of each cell's state in the grid. size unknown
   private List<Integer> cellStateList = new ArrayList<>();
   private Map<String, Object> parameters; //<parameter name as string, value>
@@ -328,8 +329,23 @@ public class XmlData {
     return ShapeType.RECTANGLE;
   }
 
+  /**
+   * Retrieves how the edges of the simulation grid treat their neighbors, {@code NONE} unless the
+   * XML file sets one.
+   *
+   * @return the edge type of the grid
+   */
   public EdgeType getEdge() {
-    return EdgeType.NONE;
+    return edge;
+  }
+
+  /**
+   * Sets how the edges of the simulation grid treat their neighbors.
+   *
+   * @param edge - the new edge type of the grid
+   */
+  public void setEdge(EdgeType edge) {
+    this.edge = edge;
   }
 
   public NeighborhoodType getNeighborhood() {
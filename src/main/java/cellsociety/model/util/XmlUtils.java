@@ -5,22 +5,28 @@ import cellsociety.model.statefactory.handler.CellStateHandler;
 import cellsociety.model.simulation.Simulation;
 import cellsociety.model.util.SimulationTypes.SimType;
 import cellsociety.model.util.constants.CellStates;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
 import cellsociety.model.util.exceptions.XmlException;
 
 import java.util.*;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -46,6 +52,10 @@ public class XmlUtils {
   /**
    * Reads an XML file and parses it into an XMLData object.
    *
+   * <p>The file is streamed rather than loaded as a whole document, and the state of each
+   * {@code <cell>} goes straight into an {@code int} array as it is read, so reading a large grid
+   * takes little more memory than the grid itself.
+   *
    * @param fxmlFile the XML file to be read
    * @return an XMLData object containing the parsed simulation data
    * @throws XmlException if there is an error reading or parsing the XML file
@@ -53,94 +63,192 @@ public class XmlUtils {
   public XmlData readXml(File fxmlFile) {
     XmlData xmlObject = new XmlData();
 
-    try {
-      DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-      DocumentBuilder docBuilder = dbFactory.newDocumentBuilder();
-      Document doc = docBuilder.parse(fxmlFile);
-      doc.getDocumentElement().normalize();
+    try (InputStream input = new BufferedInputStream(new FileInputStream(fxmlFile))) {
+      XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+      inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+      inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+      XMLStreamReader reader = inputFactory.createXMLStreamReader(input);
 
-      NodeList simulationList = doc.getElementsByTagName("simulation");
-      if (simulationList.getLength() == 0) {
+      boolean foundSimulation = false;
+      try {
+        while (reader.hasNext()) {
+          if (reader.next() == XMLStreamConstants.START_ELEMENT
+              && reader.getLocalName().equals("simulation")) {
+            readSimulation(reader, xmlObject);
+            foundSimulation = true;
+          }
+        }
+      } finally {
+        reader.close();
+      }
+      if (!foundSimulation) {
         throw new XmlException("NoSimTag");
       }
+    } catch (Exception e) {
+      throw new XmlException("SimulationSetupFailed", e.getMessage());
+    }
 
-      for (int i = 0; i < simulationList.getLength(); i++) {
-        Node simulationNode = simulationList.item(i);
-        if (simulationNode.getNodeType() == Node.ELEMENT_NODE) {
-          Element simulationElement = (Element) simulationNode;
-
-          // Extract metadata
-          Element metadataElement = (Element) simulationElement.getElementsByTagName("metadata")
-              .item(0);
-          String simulationType = simulationElement.getElementsByTagName("type").item(0)
-              .getTextContent();
-          xmlObject.setType(simTypeFromString(simulationType));
-
-          xmlObject.setTitle(
-              metadataElement.getElementsByTagName("title").item(0).getTextContent());
-          xmlObject.setAuthor(
-              metadataElement.getElementsByTagName("author").item(0).getTextContent());
-          xmlObject.setDescription(
-              metadataElement.getElementsByTagName("description").item(0).getTextContent());
-
-          NodeList languageNodes = metadataElement.getElementsByTagName("language");
-          if (languageNodes.getLength() > 0) {
-            xmlObject.setLanguage(languageNodes.item(0).getTextContent());
-          } else {
-            xmlObject.setLanguage(
-                "English"); //if no language in og xml, will use the input language as default.
-          }
+    return xmlObject;
+  }
 
-          // Extract parameters
-          Element parametersElement = (Element) simulationElement.getElementsByTagName("parameters")
-              .item(0);
-          if (parametersElement != null) {
-            NodeList paramList = parametersElement.getElementsByTagName("parameter");
-            Map<String, Object> params = parameterToMap(paramList, xmlObject.getType());
-            xmlObject.setParameters(params);
-          } else {
-            xmlObject.setParameters(new HashMap<>());  // Prevent parameters from being null
+  /**
+   * Reads the elements of a {@code <simulation>} up to its end tag into an XMLData object.
+   * Parameters may come after the grid, so the cell states are only converted once the whole
+   * simulation was read.
+   *
+   * @param reader    the reader, positioned on the {@code <simulation>} start tag
+   * @param xmlObject the object to fill in
+   * @throws XMLStreamException if the XML is malformed
+   */
+  private void readSimulation(XMLStreamReader reader, XmlData xmlObject)
+      throws XMLStreamException {
+    // the text of the first <type>, and of the first <title>, <author>, <description> and
+    // <language> in the metadata
+    Map<String, String> metadata = new HashMap<>();
+    List<Map.Entry<String, String>> colors = new ArrayList<>();
+    List<Map.Entry<String, String>> parameters = new ArrayList<>();
+    StreamedCellStates cellStates = null;
+    String edge = "";
+    String variationType = null;
+    List<Map.Entry<String, String>> variationCells = new ArrayList<>();
+
+    boolean inMetadata = false;
+    boolean inParameters = false;
+    boolean parametersRead = false;
+    boolean inGrid = false;
+    boolean inVariation = false;
+
+    while (reader.hasNext()) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.END_ELEMENT) {
+        switch (reader.getLocalName()) {
+          case "simulation" -> {
+            buildXmlData(xmlObject, metadata, colors, parameters, cellStates, edge, variationType,
+                variationCells);
+            return;
           }
-
-          CellStateHandler handler = CellStateFactory.getHandler(xmlObject.getId(),
-              xmlObject.getType(), xmlObject.getNumStates());
-          if (handler == null) {
-            throw new XmlException("UnknownSimType", xmlObject.getType());
+          case "metadata" -> inMetadata = false;
+          case "parameters" -> {
+            parametersRead |= inParameters;
+            inParameters = false;
+          }
+          case "grid" -> inGrid = false;
+          case "variation" -> inVariation = false;
+          default -> {
           }
+        }
+        continue;
+      }
+      if (event != XMLStreamConstants.START_ELEMENT) {
+        continue;
+      }
 
-          NodeList colorsList = metadataElement.getElementsByTagName("color");
-          if (colorsList.getLength() > 0) {
-            xmlObject.setCustomColorMap(colorsToMap(colorsList));
+      String elementName = reader.getLocalName();
+      switch (elementName) {
+        case "type" -> metadata.putIfAbsent(elementName, reader.getElementText());
+        case "metadata" -> inMetadata = true;
+        case "title", "author", "description", "language" -> {
+          if (inMetadata) {
+            metadata.putIfAbsent(elementName, reader.getElementText());
+          }
+        }
+        case "color" -> {
+          if (inMetadata) {
+            colors.add(Map.entry(attribute(reader, "cellType"), attribute(reader, "value")));
+          }
+        }
+        case "parameters" -> inParameters = !parametersRead;
+        case "parameter" -> {
+          if (inParameters) {
+            parameters.add(Map.entry(attribute(reader, "name"), attribute(reader, "value")));
+          }
+        }
+        case "grid" -> {
+          // only the first grid is read
+          if (cellStates == null) {
+            int rows = Integer.parseInt(attribute(reader, "rows"));
+            int columns = Integer.parseInt(attribute(reader, "columns"));
+            cellStates = new StreamedCellStates(rows, columns);
+            edge = attribute(reader, "edge");
+            inGrid = true;
+          }
+        }
+        case "variation" -> {
+          if (inGrid && variationType == null) {
+            variationType = attribute(reader, "type");
+            inVariation = true;
           }
+        }
+        case "cell" -> {
+          if (inVariation) {
+            variationCells.add(
+                Map.entry(attribute(reader, "cellType"), reader.getElementText()));
+          } else if (inGrid && variationType == null) {
+            cellStates.add(attribute(reader, "state"));
+          }
+        }
+        default -> {
+        }
+      }
+    }
+  }
 
-          // Extract grid info
-          Element gridElement = (Element) simulationElement.getElementsByTagName("grid").item(0);
-          int rows = Integer.parseInt(gridElement.getAttribute("rows"));
-          int columns = Integer.parseInt(gridElement.getAttribute("columns"));
-          xmlObject.setGridRowNum(rows);
-          xmlObject.setGridColNum(columns);
+  /**
+   * Fills in an XMLData object from what was read of a {@code <simulation>}.
+   */
+  private void buildXmlData(XmlData xmlObject, Map<String, String> metadata,
+      List<Map.Entry<String, String>> colors, List<Map.Entry<String, String>> parameters,
+      StreamedCellStates cellStates, String edge, String variationType,
+      List<Map.Entry<String, String>> variationCells) {
+    xmlObject.setType(simTypeFromString(requireElement(metadata, "type")));
+    xmlObject.setTitle(requireElement(metadata, "title"));
+    xmlObject.setAuthor(requireElement(metadata, "author"));
+    xmlObject.setDescription(requireElement(metadata, "description"));
+    //if no language in og xml, will use the input language as default.
+    xmlObject.setLanguage(metadata.getOrDefault("language", "English"));
+
+    xmlObject.setParameters(parameterToMap(parameters, xmlObject.getType()));
+
+    CellStateHandler handler = CellStateFactory.getHandler(xmlObject.getId(),
+        xmlObject.getType(), xmlObject.getNumStates());
+    if (handler == null) {
+      throw new XmlException("UnknownSimType", xmlObject.getType());
+    }
 
-          // Check for variation
-          Node variationNode = gridElement.getElementsByTagName("variation").item(0);
+    if (!colors.isEmpty()) {
+      xmlObject.setCustomColorMap(colorsToMap(colors));
+    }
 
-          if (variationNode != null) {
-            xmlObject.setCellStateList(setCellStatesByVariation(variationNode, (rows*columns), xmlObject.getType()));
+    if (cellStates == null) {
+      throw new XmlException("MissingXmlElement", "grid");
+    }
+    xmlObject.setGridRowNum(cellStates.getRows());
+    xmlObject.setGridColNum(cellStates.getColumns());
+    xmlObject.setEdge(edgeTypeFromString(edge));
+
+    if (variationType != null) {
+      xmlObject.setCellStateList(setCellStatesByVariation(variationType, variationCells,
+          cellStates.getRows() * cellStates.getColumns(), xmlObject.getType()));
+    } else {
+      // No variation: use explicitly defined cell states
+      xmlObject.setCellStateList(cellStates.toStates(handler));
+    }
+  }
 
-          } else {
-            // No variation: use explicitly defined cell states
-            NodeList cellList = gridElement.getElementsByTagName("cell");
-            if (cellList.getLength() != rows * columns) {
-              throw new XmlException("ExpectedDifferentNumber", cellList.getLength());
-            }
-            xmlObject.setCellStateList(cellStatesToEnum(cellList, handler));
-          }
-        }
-      }
-    } catch (Exception e) {
-      throw new XmlException("SimulationSetupFailed", e.getMessage());
+  private String requireElement(Map<String, String> elements, String elementName) {
+    String text = elements.get(elementName);
+    if (text == null) {
+      throw new XmlException("MissingXmlElement", elementName);
     }
+    return text;
+  }
 
-    return xmlObject;
+  /**
+   * Returns the value of an attribute of the current element, or an empty string if it has none.
+   */
+  private String attribute(XMLStreamReader reader, String attributeName) {
+    String value = reader.getAttributeValue(null, attributeName);
+    return value == null ? "" : value;
   }
 
   /**
@@ -212,6 +320,10 @@ public class XmlUtils {
           String.valueOf(simulation.getXmlDataObject().getGridRowNum()));
       gridElement.setAttribute("columns",
           String.valueOf(simulation.getXmlDataObject().getGridColNum()));
+      EdgeType edge = simulation.getXmlDataObject().getEdge();
+      if (edge != null && edge != EdgeType.NONE) {
+        gridElement.setAttribute("edge", edge.name().toLowerCase());
+      }
       rootElement.appendChild(gridElement);
 
       // Add cell states
@@ -284,50 +396,25 @@ public class XmlUtils {
     return cellStateList;
   }
 
-  /**
-   * A method that extracts the cellstates from the simulation xml and turns them into a string
-   * list.
-   *
-   * @param cellList an NodeList variable that holds the xml data's cell data
-   * @param handler  the handler to convert the string to the appropriate cell state
-   * @return a list of integers representing the cell states as enums
-   * @throws IllegalArgumentException if an invalid cell state is encountered
-   */
-  private ArrayList<Integer> cellStatesToEnum(NodeList cellList, CellStateHandler handler) {
-    ArrayList<Integer> cellStateEnums = new ArrayList<>();
-
-    for (int j = 0; j < cellList.getLength(); j++) {
-      Element cellElement = (Element) cellList.item(j);
-      String currentCellState = cellElement.getAttribute("state");
-
-      try {
-        int stateEnum = handler.stateFromString(currentCellState);
-        cellStateEnums.add(stateEnum);
-      } catch (IllegalArgumentException e) {
-        throw new XmlException("UnknownCellState", currentCellState);
-      }
-    }
-
-    return cellStateEnums;
-  }
-
   /**
    * Converts the parameters from the XML file into a map.
    *
-   * @param paramList      a NodeList containing the parameter data
+   * @param paramList      the name and value of each parameter, in the order they were read
    * @param simulationType the type of the simulation
    * @return a map of parameter names to their corresponding values
    */
-  private Map<String, Object> parameterToMap(NodeList paramList, Enum<?> simulationType) {
+  private Map<String, Object> parameterToMap(List<Map.Entry<String, String>> paramList,
+      Enum<?> simulationType) {
     Map<String, Object> parameters = new HashMap<>();
 
-    for (int i = 0; i < paramList.getLength(); i++) {
-      Element paramElement = (Element) paramList.item(i);
-      String paramName = paramElement.getAttribute("name");
-      String paramValue = paramElement.getAttribute("value");
+    for (Map.Entry<String, String> param : paramList) {
+      String paramName = param.getKey();
+      String paramValue = param.getValue();
 
-      // Special handling for Game of Life's "rulestring" parameter
-      if (simulationType == SimType.GameOfLife && paramName.equalsIgnoreCase("rulestring")) {
+      // Special handling for the "rulestring" parameters of Game of Life and Larger than Life
+      if (simulationType == SimType.LargerThanLife && paramName.equalsIgnoreCase("rulestring")) {
+        parameters.putAll(largerThanLifeRulestringToMap(paramValue));
+      } else if (simulationType == SimType.GameOfLife && paramName.equalsIgnoreCase("rulestring")) {
         // Split the rulestring based on '/'
         String[] ruleParts = paramValue.split("/");
 
@@ -362,19 +449,65 @@ public class XmlUtils {
     return parameters;
   }
 
+  /**
+   * Converts a Larger than Life rulestring, such as {@code R5,C0,M1,S34..58,B34..45}, into the
+   * numeric parameters of the rule.
+   *
+   * <p>{@code R} is the range, {@code C} the number of states (only 0 or 2, plain alive and dead,
+   * are supported), {@code M} whether the center counts itself, and {@code S} and {@code B} the
+   * survival and birth intervals, written {@code min..max}, {@code min-max}, or a single count.
+   *
+   * @param rulestring - the rulestring from the XML file
+   * @return a map of parameter names to their values
+   * @throws XmlException if the rulestring is not in the expected format
+   */
+  private Map<String, Object> largerThanLifeRulestringToMap(String rulestring) {
+    Map<String, Object> parameters = new HashMap<>();
+    try {
+      for (String part : rulestring.toUpperCase().replace(" ", "").split(",")) {
+        String value = part.substring(1);
+        switch (part.charAt(0)) {
+          case 'R' -> parameters.put("range", Double.parseDouble(value));
+          case 'M' -> parameters.put("includeCenter", Double.parseDouble(value));
+          case 'C' -> {
+            int states = Integer.parseInt(value);
+            if (states != 0 && states != 2) {
+              throw new XmlException("LargerThanLifeRulestringFormat");
+            }
+          }
+          case 'S' -> putInterval(parameters, value, "survivalMin", "survivalMax");
+          case 'B' -> putInterval(parameters, value, "birthMin", "birthMax");
+          default -> throw new XmlException("LargerThanLifeRulestringFormat");
+        }
+      }
+    } catch (NumberFormatException | IndexOutOfBoundsException e) {
+      throw new XmlException("LargerThanLifeRulestringFormat");
+    }
+    return parameters;
+  }
+
+  private void putInterval(Map<String, Object> parameters, String interval, String minKey,
+      String maxKey) {
+    String[] bounds = interval.contains("..") ? interval.split("\\.\\.") : interval.split("-");
+    if (bounds.length < 1 || bounds.length > 2) {
+      throw new XmlException("LargerThanLifeRulestringFormat");
+    }
+    parameters.put(minKey, Double.parseDouble(bounds[0]));
+    parameters.put(maxKey, Double.parseDouble(bounds[bounds.length - 1]));
+  }
+
   /**
    * Converts color definitions from an XML node list into a mapping of cell states to colors.
    *
-   * @param colorList - a NodeList containing the color definitions
+   * @param colorList - the cell type and value of each color definition
    * @return a map of cell states to their corresponding colors
    */
-  public static Map<Integer, String> colorsToMap(NodeList colorList) {
+  public static Map<Integer, String> colorsToMap(List<Map.Entry<String, String>> colorList) {
     Map<Integer, String> colors = new HashMap<>();
 
-    for (int i = 0; i < colorList.getLength(); i++) {
-      Element colorElement = (Element) colorList.item(i);
-      String colorName = colorElement.getAttribute("cellType");
-      String colorValue = colorElement.getAttribute("value");
+    for (Map.Entry<String, String> color : colorList) {
+      String colorName = color.getKey();
+      String colorValue = color.getValue();
 
       if (colorName.isEmpty() || colorValue.isEmpty()) {
         continue;
@@ -393,27 +526,23 @@ public class XmlUtils {
   /**
    * Generates random cell states based on the grid size and variation information in the XML file.
    *
+   * @param variationType  the type attribute of the variation, explicit or ratio
+   * @param variationCells the cell type and text of each cell element within the variation
    * @return a list of random cell states for the grid
    * @throws IllegalArgumentException if there are issues with the grid's variation data
    */
-  private List<Integer> setCellStatesByVariation(Node variationNode, int totalCells, SimType simType) {
+  private List<Integer> setCellStatesByVariation(String variationType,
+      List<Map.Entry<String, String>> variationCells, int totalCells, SimType simType) {
     ArrayList<Integer> cellList = new ArrayList<>();
 
-    // Get the variation type from the node
-    String variationType = ((Element) variationNode).getAttribute("type");
-
     Map<Integer, Integer> cellStateMap = new HashMap<>(); //first int is cell state, second is number of cells of that state
 
-    // Get all cell elements within the variation
-    NodeList cellNodes = ((Element) variationNode).getElementsByTagName("cell");
-
     switch (variationType) {
       case "explicit": {
         // Iterate through each cell element
-        for (int i = 0; i < cellNodes.getLength(); i++) {
-          Element cellElement = (Element) cellNodes.item(i);
-          String cellType = cellElement.getAttribute("cellType");
-          int cellCount = Integer.parseInt(cellElement.getTextContent()); // Get the cell count from the text content
+        for (Map.Entry<String, String> cellElement : variationCells) {
+          String cellType = cellElement.getKey();
+          int cellCount = Integer.parseInt(cellElement.getValue()); // Get the cell count from the text content
 
           logger.debug("Found " + cellType + " as the cell type after explicit");
 
@@ -422,10 +551,9 @@ public class XmlUtils {
         }
         break;
       } case "ratio": {
-        for (int i = 0; i < cellNodes.getLength(); i++) {
-          Element cellElement = (Element) cellNodes.item(i);
-          String cellType = cellElement.getAttribute("cellType");
-          float cellRatio = Float.parseFloat(cellElement.getTextContent()); // Get the cell count from the text content
+        for (Map.Entry<String, String> cellElement : variationCells) {
+          String cellType = cellElement.getKey();
+          float cellRatio = Float.parseFloat(cellElement.getValue()); // Get the cell count from the text content
 
           int cellCount = (int) (cellRatio * totalCells);
 
@@ -503,11 +631,28 @@ public class XmlUtils {
       case "langton", "langton's loop", "langtonsloop" -> SimType.Langton;
       case "chou-reggia loop", "choureggialoop", "choureg", "choureg2", "chou" -> SimType.ChouReg2;
       case "petelka" -> SimType.Petelka;
+      case "larger than life", "largerthanlife", "ltl" -> SimType.LargerThanLife;
+      case "lenia" -> SimType.Lenia;
       case "rock paper scissors", "rps" -> SimType.RockPaperSciss;
       default -> throw new XmlException("UnknownSimType", simTypeString);
     };
   }
 
+  /**
+   * Reads the optional {@code edge} attribute of the {@code <grid>}, such as {@code "toroidal"} or
+   * {@code "unbounded"}; a grid without one has no edge wrapping.
+   */
+  EdgeType edgeTypeFromString(String edgeString) {
+    if (edgeString.isBlank()) {
+      return EdgeType.NONE;
+    }
+    try {
+      return EdgeType.valueOf(edgeString.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new XmlException("UnknownEdgeType", edgeString);
+    }
+  }
+
   int maxFromSimType(SimType simType) {
     // Initialize the HashMap for mapping SimType to max states
     Map<SimType, Integer> maxConnector = new HashMap<>();
@@ -522,9 +667,91 @@ public class XmlUtils {
     maxConnector.put(SimType.Langton, CellStates.LANGTON_MAXSTATE);
     maxConnector.put(SimType.ChouReg2, CellStates.CHOUREG2_MAXSTATE);
     maxConnector.put(SimType.Petelka, CellStates.PETELKA_MAXSTATE);
+    maxConnector.put(SimType.LargerThanLife, CellStates.LARGERTHANLIFE_MAXSTATE);
+    maxConnector.put(SimType.Lenia, CellStates.LENIA_MAXSTATE);
     maxConnector.put(SimType.RockPaperSciss, CellStates.FIRE_MAXSTATE); // assuming it's the same as Fire, adjust if necessary
 
     // Return the max state for the given SimType
     return maxConnector.getOrDefault(simType, -1); // If no matching type found, return -1 (or another default value)
   }
+
+  /**
+   * Collects the states of a grid's {@code <cell>} elements as they are read, one {@code int} per
+   * cell. The parameters that decide how a state is converted may only come after the grid, so
+   * each distinct state name is numbered as it is first seen, and the numbers are converted once
+   * the whole simulation was read.
+   */
+  private static final class StreamedCellStates {
+
+    private final int rows;
+    private final int columns;
+    private final int[] states;
+    // each distinct state name, numbered in the order first seen
+    private final Map<String, Integer> stateNumbers = new LinkedHashMap<>();
+    private int cellCount;
+
+    StreamedCellStates(int rows, int columns) {
+      this.rows = rows;
+      this.columns = columns;
+      states = new int[Math.multiplyExact(rows, columns)];
+    }
+
+    int getRows() {
+      return rows;
+    }
+
+    int getColumns() {
+      return columns;
+    }
+
+    void add(String stateName) {
+      if (cellCount == states.length) {
+        throw new XmlException("ExpectedDifferentNumber", cellCount + 1);
+      }
+      Integer stateNumber = stateNumbers.get(stateName);
+      if (stateNumber == null) {
+        stateNumber = stateNumbers.size();
+        stateNumbers.put(stateName, stateNumber);
+      }
+      states[cellCount++] = stateNumber;
+    }
+
+    /**
+     * Converts the states read into cell states.
+     *
+     * @param handler the handler to convert a state name to its cell state
+     * @return the cell states, in the order the cells were read
+     * @throws XmlException if there is not one cell per grid position, or a state is unknown
+     */
+    List<Integer> toStates(CellStateHandler handler) {
+      if (cellCount != states.length) {
+        throw new XmlException("ExpectedDifferentNumber", cellCount);
+      }
+
+      int[] cellStateOf = new int[stateNumbers.size()];
+      for (Map.Entry<String, Integer> stateNumber : stateNumbers.entrySet()) {
+        try {
+          cellStateOf[stateNumber.getValue()] = handler.stateFromString(stateNumber.getKey());
+        } catch (IllegalArgumentException e) {
+          throw new XmlException("UnknownCellState", stateNumber.getKey());
+        }
+      }
+      for (int i = 0; i < states.length; i++) {
+        states[i] = cellStateOf[states[i]];
+      }
+
+      // a read-only view, so the states are not boxed one by one into a list
+      return new AbstractList<>() {
+        @Override
+        public Integer get(int index) {
+          return states[index];
+        }
+
+        @Override
+        public int size() {
+          return states.length;
+        }
+      };
+    }
+  }
 }
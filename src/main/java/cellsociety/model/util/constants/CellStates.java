@@ -44,6 +44,14 @@ public class CellStates {
   public static final int LANGTON_MAXSTATE = 8;
   public static final int PETELKA_MAXSTATE = 5;
 
+  public static final int LARGERTHANLIFE_DEAD = 0;
+  public static final int LARGERTHANLIFE_ALIVE = 1;
+  public static final int LARGERTHANLIFE_MAXSTATE = 2;
+
+  public static final int LENIA_EMPTY = 0;
+  public static final int LENIA_FULL = 15;
+  public static final int LENIA_MAXSTATE = 16;
+
 
   public static final int DARWIN_EMPTY = 0;
 }
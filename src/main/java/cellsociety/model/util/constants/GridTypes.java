@@ -23,9 +23,12 @@ public class GridTypes {
 
   /**
    * Enum representing the types of edges the program can run.
+   *
+   * <p>{@code UNBOUNDED} has no edges at all: simulations with a sparse engine grow past the
+   * grid in every direction. The cells of the grid itself treat it like {@code NONE}.</p>
    */
   public enum EdgeType {
-    NONE, MIRROR, TOROIDAL
+    NONE, MIRROR, TOROIDAL, UNBOUNDED
   }
 
   /**
@@ -39,4 +42,27 @@ public class GridTypes {
   public enum DirectionType {
     N, NE, E, SE, S, SW, W, NW
   }
+
+  /**
+   * Enum representing the views of a cell's neighbors that the grid can build.
+   *
+   * <p>{@code FLAT} is the list from {@code getNeighbors()}, {@code DIRECTIONAL} is the map from
+   * {@code getDirectionalNeighbors()}. Rules declare which ones they read, so the grid skips
+   * building the others.</p>
+   */
+  public enum NeighborViewType {
+    FLAT, DIRECTIONAL
+  }
+
+  /**
+   * Enum representing the orders the states of a grid can be laid out in by flat index.
+   *
+   * <p>{@code ROW_MAJOR} is {@code row * cols + col}. {@code TILED} groups the grid into square
+   * tiles stored one after another, row-major inside each tile. {@code MORTON} uses the same tiles
+   * but walks each one in Z-order, so cells close on the grid stay close in memory in both
+   * directions.</p>
+   */
+  public enum StateLayoutType {
+    ROW_MAJOR, TILED, MORTON
+  }
 }
@@ -8,6 +8,8 @@ package cellsociety.model.util.constants;
 public class SimulationConstants {
 
   public static final int MIN_STATE_HISTORY = 1;
+  public static final long DEFAULT_HISTORY_MEMORY_BUDGET = 64L << 20;
+  public static final int INITIAL_KEYFRAME_INTERVAL = 16;
   public static final int EXPECTED_POSITION_DIMENSION = 2;
 
   public static final int NUM_UNIQUE_90_DEG_ROTATIONS = 4;
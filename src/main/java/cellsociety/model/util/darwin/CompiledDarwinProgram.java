@@ -0,0 +1,159 @@
+package cellsociety.model.util.darwin;
+
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code CompiledDarwinProgram} class is the packed form of a {@link DarwinProgram} that the
+ * Darwin rule actually runs.
+ *
+ * <p>Each instruction takes two slots of a single {@code int[]}: an opcode and an operand. Every
+ * argument is parsed once when the program is compiled, so running an instruction is an array
+ * read and a {@code switch}, with no argument strings or handler lookups involved.</p>
+ *
+ * <ul>
+ *   <li><b>Actions</b> ({@code MOVE}, {@code LEFT}, {@code RIGHT}, {@code INFECT}): the operand
+ *   is the integer argument (distance, degrees, or infection steps).</li>
+ *   <li><b>Jumps</b> ({@code IF_*}, {@code GO}): the operand is the 0-based instruction to jump
+ *   to. Programs number their instructions from 1, which is converted here.</li>
+ * </ul>
+ *
+ * @author Jessica Chen
+ */
+public class CompiledDarwinProgram {
+
+  public static final int MOVE = 0;
+  public static final int LEFT = 1;
+  public static final int RIGHT = 2;
+  public static final int INFECT = 3;
+  public static final int IF_EMPTY = 4;
+  public static final int IF_WALL = 5;
+  public static final int IF_SAME = 6;
+  public static final int IF_ENEMY = 7;
+  public static final int IF_RANDOM = 8;
+  public static final int GO = 9;
+  public static final int UNKNOWN = 10;
+
+  private static final Logger logger = LogManager.getLogger(CompiledDarwinProgram.class);
+
+  private final int[] code;
+  private final int size;
+
+  /**
+   * Compiles the commands of a program into opcode and operand pairs.
+   *
+   * @param program - the parsed program to compile
+   * @throws SimulationException if an argument is not an integer, or a jump points outside the
+   *                             program
+   */
+  CompiledDarwinProgram(DarwinProgram program) {
+    size = program.size();
+    code = new int[size * 2];
+
+    for (int i = 0; i < size; i++) {
+      DarwinCommand command = program.getDarwinCommand(i);
+      int opcode = opcodeOf(command.getType());
+      code[2 * i] = opcode;
+      code[2 * i + 1] = operandOf(command, opcode);
+    }
+  }
+
+  private static int opcodeOf(DarwinCommandType type) {
+    return switch (type) {
+      case MOVE -> MOVE;
+      case LEFT -> LEFT;
+      case RIGHT -> RIGHT;
+      case INFECT -> INFECT;
+      case IF_EMPTY -> IF_EMPTY;
+      case IF_WALL -> IF_WALL;
+      case IF_SAME -> IF_SAME;
+      case IF_ENEMY -> IF_ENEMY;
+      case IF_RANDOM -> IF_RANDOM;
+      case GO -> GO;
+      case UNKNOWN -> UNKNOWN;
+    };
+  }
+
+  private int operandOf(DarwinCommand command, int opcode) {
+    if (opcode == UNKNOWN) {
+      return 0;
+    }
+
+    int argument;
+    try {
+      argument = Integer.parseInt(command.getArgument());
+    } catch (NumberFormatException e) {
+      logger.error("Invalid argument for {}, expected an integer, received {}",
+          command.getType(), command.getArgument());
+      throw new SimulationException("InvalidDarwinInstruction",
+          List.of(command.getType().name(), String.valueOf(command.getArgument())));
+    }
+
+    if (!isJump(opcode)) {
+      return argument;
+    }
+    if (argument < 1 || argument > size) {
+      logger.error("{} jumps to instruction {}, program only has {}", command.getType(),
+          argument, size);
+      throw new SimulationException("InvalidInstructionNumber",
+          List.of(String.valueOf(argument)));
+    }
+    return argument - 1;
+  }
+
+  /**
+   * Returns whether the opcode ends a creature's turn when it runs.
+   *
+   * @param opcode - the opcode to check
+   * @return true for {@code MOVE}, {@code LEFT}, {@code RIGHT}, and {@code INFECT}
+   */
+  public static boolean isAction(int opcode) {
+    return opcode <= INFECT;
+  }
+
+  private static boolean isJump(int opcode) {
+    return opcode >= IF_EMPTY && opcode <= GO;
+  }
+
+  /**
+   * Returns the opcode of an instruction.
+   *
+   * @param instruction - the 0-based instruction number
+   * @return the opcode, one of the constants of this class
+   */
+  public int getOpcode(int instruction) {
+    return code[2 * instruction];
+  }
+
+  /**
+   * Returns the pre-parsed operand of an instruction.
+   *
+   * @param instruction - the 0-based instruction number
+   * @return the integer argument of an action, or the 0-based target of a jump
+   */
+  public int getOperand(int instruction) {
+    return code[2 * instruction + 1];
+  }
+
+  /**
+   * Returns the instruction after the given one, wrapping back to the start of the program.
+   *
+   * @param instruction - the 0-based instruction number
+   * @return the next 0-based instruction number
+   */
+  public int next(int instruction) {
+    int next = instruction + 1;
+    return next == size ? 0 : next;
+  }
+
+  /**
+   * Returns the number of instructions in the program.
+   *
+   * @return the number of instructions
+   */
+  public int size() {
+    return size;
+  }
+}
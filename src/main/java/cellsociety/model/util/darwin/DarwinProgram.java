@@ -9,6 +9,7 @@ public class DarwinProgram implements Iterable<DarwinCommand> {
 
   private final List<DarwinCommand> commands = new ArrayList<>();
   private final String species;
+  private volatile CompiledDarwinProgram compiled;
 
   public DarwinProgram(String species) {
     try {
@@ -21,6 +22,7 @@ public class DarwinProgram implements Iterable<DarwinCommand> {
 
   public void addDarwinCommand(DarwinCommand command) {
     commands.add(command);
+    compiled = null;
   }
 
   public DarwinCommand getDarwinCommand(int instructionNumber) {
@@ -37,6 +39,25 @@ public class DarwinProgram implements Iterable<DarwinCommand> {
     return commands.size();
   }
 
+  /**
+   * Returns this program compiled into opcode and operand pairs, compiling it on the first call.
+   *
+   * @return the compiled program
+   * @throws SimulationException if an instruction has an invalid argument or jump target
+   */
+  public CompiledDarwinProgram getCompiledProgram() {
+    CompiledDarwinProgram result = compiled;
+    if (result == null) {
+      try {
+        result = new CompiledDarwinProgram(this);
+      } catch (SimulationException e) {
+        throw new SimulationException(e);
+      }
+      compiled = result;
+    }
+    return result;
+  }
+
   public int nextInstructionNumber(int instructionNumber) {
     if (instructionNumber < 0) {
       throw new SimulationException("InvalidInstructionNumber", List.of(
@@ -58,6 +58,10 @@ public class ControlPanel {
     clearButton.setOnAction(e -> myUserView.stopAndResetSimulation());
     myButtons.add(clearButton);
 
+    Button restartButton = new Button(resources.getString("RestartCommand"));
+    restartButton.setOnAction(e -> myUserView.restartSimulation());
+    myButtons.add(restartButton);
+
     Button loadButton = new Button(resources.getString("LoadFileCommand"));
     loadButton.setOnAction(e -> {
       if (myUserView.getState() == ViewState.EMPTY || myUserView.getState() == ViewState.ERROR) {
@@ -120,7 +124,12 @@ public class ControlPanel {
 
     outlineCheckbox.setOnAction(e -> toggleOutlines(outlineCheckbox.isSelected()));
 
-    outlinePanel.getChildren().add(outlineCheckbox);
+    CheckBox backgroundCheckbox = new CheckBox(
+        ResourceManager.getCurrentMainBundle().getString("StepInBackground"));
+    backgroundCheckbox.setOnAction(
+        e -> myUserView.setBackgroundStepping(backgroundCheckbox.isSelected()));
+
+    outlinePanel.getChildren().addAll(outlineCheckbox, backgroundCheckbox);
     return outlinePanel;
   }
 
@@ -1,6 +1,7 @@
 package cellsociety.view.components;
 
 import cellsociety.Main;
+import cellsociety.model.simulation.PlaybackFrame;
 import cellsociety.model.util.XmlData;
 import cellsociety.view.utils.ResourceManager;
 import cellsociety.view.utils.SimViewConstants;
@@ -21,6 +22,8 @@ import javafx.scene.control.TextArea;
 public class InformationBox {
 
   private final TextArea myTextArea;
+  // the text of the last update, which the generation is shown under
+  private String myInfoText;
 
   /**
    * Creates the text box which displays current simulation info.
@@ -69,7 +72,18 @@ public class InformationBox {
     infoText.append(resources.getString("DescriptionHeader")).append(data.getDescription())
         .append("\n");
 
-    myTextArea.setText(infoText.toString());
+    myInfoText = infoText.toString();
+    myTextArea.setText(myInfoText);
+  }
+
+  /**
+   * Shows the generation of a frame under the simulation's details.
+   *
+   * @param frame the generation currently displayed
+   */
+  public void updateGeneration(PlaybackFrame frame) {
+    myTextArea.setText(myInfoText + ResourceManager.getCurrentMainBundle()
+        .getString("GenerationHeader") + frame.getGeneration() + "\n");
   }
 
   /**
@@ -77,10 +91,11 @@ public class InformationBox {
    */
   public void emptyFields() {
     ResourceBundle resources = ResourceManager.getCurrentMainBundle();
-    myTextArea.setText(
+    myInfoText = (
         resources.getString("SimulationTypeHeader") + "\n" + resources.getString("TitleHeader")
             + "\n" + resources.getString("AuthorHeader") + "\n" + resources.getString(
             "GridSizeHeader") + "\n" + resources.getString("ParametersHeader") + "\n"
             + resources.getString("DescriptionHeader") + "\n");
+    myTextArea.setText(myInfoText);
   }
 }
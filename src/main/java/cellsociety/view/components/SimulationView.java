@@ -1,6 +1,7 @@
 package cellsociety.view.components;
 
 import cellsociety.model.util.XmlData;
+import cellsociety.model.simulation.PlaybackFrame;
 import cellsociety.model.simulation.Simulation;
 import cellsociety.model.util.SimulationTypes.SimType;
 import cellsociety.view.components.cell.CellViewFactory;
@@ -78,6 +79,8 @@ public class SimulationView {
     myCellViews = new CellView[numRows][numCols];
 
     mySimulation = new Simulation(xmlData);
+    // uses the faster array engine when the simulation type has one
+    mySimulation.setEngineEnabled(true);
   }
 
   /**
@@ -166,7 +169,40 @@ public class SimulationView {
 
     // update Cell object states based on simulation type
     mySimulation.step();
+    updateCellViews();
+  }
+
+  /**
+   * Puts the simulation back to its initial cell states, and updates cell colors accordingly.
+   */
+  public void resetGridSimulation() {
+    if (mySimulation == null) {
+      return;
+    }
+
+    mySimulation.reset();
+    updateCellViews();
+  }
+
+  /**
+   * Updates cell colors to match a generation computed ahead by a playback buffer, without
+   * touching the simulation.
+   *
+   * @param frame - the generation to show
+   */
+  public void showFrame(PlaybackFrame frame) {
+    if (myCellViews == null) {
+      return;
+    }
+
+    for (int row = 0; row < myCellViews.length; row++) {
+      for (int col = 0; col < myCellViews[0].length; col++) {
+        myCellViews[row][col].setCellState(frame.getState(row, col));
+      }
+    }
+  }
 
+  private void updateCellViews() {
     // update cell views so that their colors match the new cell states
     for (int row = 0; row < myCellViews.length; row++) {
       for (int col = 0; col < myCellViews[0].length; col++) {
@@ -2,6 +2,7 @@ package cellsociety.view.components;
 
 import static cellsociety.view.interfaces.CellView.DEFAULT_OUTLINE_CLASS;
 
+import cellsociety.model.simulation.PlaybackFrame;
 import cellsociety.model.statefactory.CellStateFactory;
 import cellsociety.model.statefactory.handler.CellStateHandler;
 import cellsociety.model.util.SimulationTypes.SimType;
@@ -34,6 +35,7 @@ public class StateColorLegend {
   private final VBox myLegendBox;
   private final UserView myUserView;
   private XmlData myLastXmlData;
+  private final Map<Integer, Label> myCountLabels = new HashMap<>();
   private boolean colorPickerIsOpen = false;
 
   public static final int COLOR_BOX_LENGTH = 20;
@@ -73,6 +75,18 @@ public class StateColorLegend {
    */
   public void clearLegend() {
     myLegendBox.getChildren().clear();
+    myCountLabels.clear();
+  }
+
+  /**
+   * Shows how many cells are in each state of the legend in a frame.
+   *
+   * @param frame - the generation currently displayed
+   */
+  public void updateCounts(PlaybackFrame frame) {
+    for (Map.Entry<Integer, Label> entry : myCountLabels.entrySet()) {
+      entry.getValue().setText(String.valueOf(frame.getStateCount(entry.getKey())));
+    }
   }
 
   /**
@@ -128,9 +142,12 @@ public class StateColorLegend {
 
     // Create label
     Label stateLabel = new Label(stateName);
+    // Filled in with the number of cells in the state while the simulation plays
+    Label countLabel = new Label();
+    myCountLabels.put(stateValue, countLabel);
 
     // Add to HBox
-    legendItem.getChildren().addAll(colorBox, stateLabel);
+    legendItem.getChildren().addAll(colorBox, stateLabel, countLabel);
     return legendItem;
   }
 
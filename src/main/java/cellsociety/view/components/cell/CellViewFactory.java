@@ -51,6 +51,13 @@ public class CellViewFactory {
 
     factoryMap.put(SimType.Petelka,
         (params, state) -> new PetelkaCellView(params[0], params[1], params[2], params[3], state));
+
+    factoryMap.put(SimType.LargerThanLife,
+        (params, state) -> new LargerThanLifeCellView(params[0], params[1], params[2], params[3],
+            state));
+
+    factoryMap.put(SimType.Lenia,
+        (params, state) -> new LeniaCellView(params[0], params[1], params[2], params[3], state));
   }
 
   /**
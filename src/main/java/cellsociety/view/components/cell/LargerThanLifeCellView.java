@@ -0,0 +1,35 @@
+package cellsociety.view.components.cell;
+
+import cellsociety.view.interfaces.CellView;
+import java.util.Map;
+import javafx.scene.paint.Color;
+
+/**
+ * LargerThanLifeCellView represents the visual representation of a Larger than Life simulation
+ * cell.
+ *
+ * <p>This class extends CellView and defines the default colors for different states in the
+ * Larger than Life simulation, such as empty and alive cells.
+ *
+ * @author Jessica Chen
+ */
+public class LargerThanLifeCellView extends CellView {
+
+  private static final Map<Integer, Color> DEFAULT_COLOR_MAP = Map.of(0, Color.TRANSPARENT,
+      // Empty
+      1, Color.DARKORANGE  // Alive
+  );
+
+  /**
+   * Constructs a LargerThanLifeCellView with the specified position, size, and initial state.
+   *
+   * @param x         - the x-coordinate of the cell
+   * @param y         - the y-coordinate of the cell
+   * @param width     - the width of the cell
+   * @param height    - the height of the cell
+   * @param cellState - the initial state of the cell
+   */
+  public LargerThanLifeCellView(double x, double y, double width, double height, int cellState) {
+    super(x, y, width, height, cellState, DEFAULT_COLOR_MAP);
+  }
+}
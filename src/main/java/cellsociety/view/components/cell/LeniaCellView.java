@@ -0,0 +1,41 @@
+package cellsociety.view.components.cell;
+
+import cellsociety.model.util.constants.CellStates;
+import cellsociety.view.interfaces.CellView;
+import java.util.HashMap;
+import java.util.Map;
+import javafx.scene.paint.Color;
+
+/**
+ * LeniaCellView represents the visual representation of a Lenia simulation cell.
+ *
+ * <p>This class extends CellView and shades each level of a Lenia cell, from transparent when
+ * empty through blue to yellow when full.
+ *
+ * @author Jessica Chen
+ */
+public class LeniaCellView extends CellView {
+
+  private static final Map<Integer, Color> DEFAULT_COLOR_MAP = new HashMap<>();
+
+  static {
+    DEFAULT_COLOR_MAP.put(CellStates.LENIA_EMPTY, Color.TRANSPARENT);
+    for (int level = CellStates.LENIA_EMPTY + 1; level <= CellStates.LENIA_FULL; level++) {
+      double amount = (double) level / CellStates.LENIA_FULL;
+      DEFAULT_COLOR_MAP.put(level, Color.MIDNIGHTBLUE.interpolate(Color.GOLD, amount));
+    }
+  }
+
+  /**
+   * Constructs a LeniaCellView with the specified position, size, and initial state.
+   *
+   * @param x         - the x-coordinate of the cell
+   * @param y         - the y-coordinate of the cell
+   * @param width     - the width of the cell
+   * @param height    - the height of the cell
+   * @param cellState - the initial state of the cell
+   */
+  public LeniaCellView(double x, double y, double width, double height, int cellState) {
+    super(x, y, width, height, cellState, DEFAULT_COLOR_MAP);
+  }
+}
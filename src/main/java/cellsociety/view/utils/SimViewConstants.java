@@ -16,5 +16,9 @@ public class SimViewConstants {
   public static final double DEFAULT_SIM_STEP_TIME = 0.5; // in seconds
   public static final double MIN_SIM_STEP_TIME = 0.02;
   public static final double MAX_SIM_STEP_TIME = 4;
+  // generations computed ahead of the one shown while playing
+  public static final int PLAYBACK_LOOK_AHEAD = 8;
+  // how often the grid is redrawn while the simulation steps in the background, in seconds
+  public static final double RENDER_FRAME_TIME = 1.0 / 30;
 
 }
@@ -84,6 +84,8 @@ public class ChangeParametersView {
    * Displays an error dialog if any value is invalid.
    */
   private void saveParameters() {
+    // the simulation may be stepping ahead on another thread, and those frames would be stale
+    myUserView.pauseSimulationForChange();
     for (Map.Entry<String, TextField> entry : parameterFields.entrySet()) {
       String key = entry.getKey();
       try {
@@ -1,5 +1,8 @@
 package cellsociety.view.window;
 
+import cellsociety.model.simulation.PlaybackBuffer;
+import cellsociety.model.simulation.PlaybackFrame;
+import cellsociety.model.simulation.SimulationWorker;
 import cellsociety.model.util.SimulationTypes.SimType;
 import cellsociety.model.util.XmlData;
 import cellsociety.model.util.XmlUtils;
@@ -23,6 +26,7 @@ import java.util.Map;
 import java.util.ResourceBundle;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
@@ -62,6 +66,12 @@ public class UserView {
   private ViewState myState;
   private BorderPane myRoot;
   private Timeline myAnimation;
+  // steps the simulation ahead of the animation while it runs
+  private PlaybackBuffer myPlayback;
+  // runs the simulation on its own thread instead, when stepping in the background
+  private SimulationWorker myWorker;
+  private boolean myBackgroundStepping;
+  private PlaybackFrame myShownFrame;
   // DEFAULT_SIM_STEP_TIME is DIVIDED by mySpeedFactor to get number of seconds between steps.
   private double mySpeedFactor;
 
@@ -188,6 +198,18 @@ public class UserView {
       myAnimation.pause();
       myState = ViewState.PAUSE;
     }
+    stopPlayback();
+  }
+
+  /**
+   * Pauses the simulation and drops the generations stepped ahead of the one shown, so the
+   * simulation is back at the shown generation before it is read or changed.
+   */
+  public void pauseSimulationForChange() {
+    pauseSimulation();
+    if (myPlayback != null) {
+      myPlayback.discard();
+    }
   }
 
   /**
@@ -198,6 +220,10 @@ public class UserView {
     if (myAnimation != null) {
       myAnimation.stop();
     }
+    stopPlayback();
+    myPlayback = null;
+    myWorker = null;
+    myShownFrame = null;
     closeChangeParametersWindow();
     mySimulationView.resetGrid();
     myInformationBox.emptyFields();
@@ -205,6 +231,42 @@ public class UserView {
     mySpeedFactor = 1;
   }
 
+  /**
+   * Stops the simulation and puts it back to its initial cell states, keeping the grid and any
+   * parameter changes.
+   */
+  public void restartSimulation() {
+    if (!checkSimulationExists()) {
+      return;
+    }
+
+    pauseSimulationForChange();
+    try {
+      mySimulationView.resetGridSimulation();
+      updateInformationBox();
+      myStateColorLegend.updateLegend(getXmlDataObject());
+    } catch (SimulationException e) {
+      myState = ViewState.ERROR;
+      showMessage(AlertType.ERROR, e.getMessage());
+    }
+  }
+
+  /**
+   * Switches between stepping the simulation on a worker thread that runs at its own pace, with the
+   * grid redrawn from its latest generation, and stepping a few generations ahead of the animation
+   * so every one is shown. A running simulation keeps running.
+   *
+   * @param enabled TRUE to step in the background, FALSE to show every generation
+   */
+  public void setBackgroundStepping(boolean enabled) {
+    boolean wasRunning = myState == ViewState.RUN;
+    pauseSimulationForChange();
+    myBackgroundStepping = enabled;
+    if (wasRunning) {
+      playSimulation();
+    }
+  }
+
   /**
    * Updates the information box, notably the parameter fields, based on the current Simulation object
    */
@@ -340,7 +402,7 @@ public class UserView {
       return;
     }
 
-    pauseSimulation();
+    pauseSimulationForChange();
 
     // Open file chooser for saving
     FileChooser fileChooser = FileExplorer.getSaveFileChooser();
@@ -418,6 +480,79 @@ public class UserView {
         && stepTime <= SimViewConstants.MAX_SIM_STEP_TIME);
   }
 
+  private void stepSimulation() {
+    try {
+      myPlayback.poll().ifPresent(this::showFrame);
+    } catch (SimulationException e) {
+      handlePlaybackFailure(e);
+    }
+  }
+
+  private void renderLatestFrame() {
+    try {
+      PlaybackFrame frame = myWorker.getLatest();
+      if (frame != myShownFrame) {
+        showFrame(frame);
+      }
+    } catch (SimulationException e) {
+      handlePlaybackFailure(e);
+    }
+  }
+
+  private void handlePlaybackFailure(SimulationException e) {
+    pauseSimulation();
+    myState = ViewState.ERROR;
+    // alerts cannot wait for the user while the animation is being processed
+    Platform.runLater(() -> showMessage(AlertType.ERROR, e.getMessage()));
+  }
+
+  private void showFrame(PlaybackFrame frame) {
+    drawFrame(frame);
+    if (frame.isPauseRequested()) {
+      pauseSimulation();
+    }
+  }
+
+  private void drawFrame(PlaybackFrame frame) {
+    myShownFrame = frame;
+    mySimulationView.showFrame(frame);
+    myStateColorLegend.updateCounts(frame);
+    myInformationBox.updateGeneration(frame);
+  }
+
+  private void startPlayback() {
+    if (myPlayback == null) {
+      myPlayback = new PlaybackBuffer(mySimulationView.getSimulation(),
+          SimViewConstants.PLAYBACK_LOOK_AHEAD);
+    }
+    myPlayback.start();
+  }
+
+  private void startWorker() {
+    if (myWorker == null) {
+      myWorker = new SimulationWorker(mySimulationView.getSimulation());
+    }
+    myWorker.setStepInterval(
+        Math.round(SimViewConstants.DEFAULT_SIM_STEP_TIME / mySpeedFactor * 1000));
+    myWorker.start();
+  }
+
+  private void stopPlayback() {
+    if (myPlayback != null) {
+      myPlayback.stop();
+    }
+    if (myWorker != null && myWorker.isRunning()) {
+      myWorker.stop();
+      try {
+        // the worker may have finished a generation since the last redraw
+        drawFrame(myWorker.getLatest());
+      } catch (SimulationException e) {
+        myState = ViewState.ERROR;
+        Platform.runLater(() -> showMessage(AlertType.ERROR, e.getMessage()));
+      }
+    }
+  }
+
   /**
    * Initializes an animation based on the current mySpeedFactor.
    */
@@ -425,10 +560,17 @@ public class UserView {
     if (myAnimation != null) {
       myAnimation.stop();
     }
-
-    myAnimation = new Timeline(
-        new KeyFrame(Duration.seconds(SimViewConstants.DEFAULT_SIM_STEP_TIME / mySpeedFactor),
-            e -> mySimulationView.stepGridSimulation()));
+    if (myBackgroundStepping) {
+      startWorker();
+      myAnimation = new Timeline(
+          new KeyFrame(Duration.seconds(SimViewConstants.RENDER_FRAME_TIME),
+              e -> renderLatestFrame()));
+    } else {
+      startPlayback();
+      myAnimation = new Timeline(
+          new KeyFrame(Duration.seconds(SimViewConstants.DEFAULT_SIM_STEP_TIME / mySpeedFactor),
+              e -> stepSimulation()));
+    }
     myAnimation.setCycleCount(Timeline.INDEFINITE);
     myAnimation.play();
     myState = ViewState.RUN;
@@ -0,0 +1,112 @@
+package cellsociety.model.simulation;
+
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_ALIVE;
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_DEAD;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.XmlData;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PlaybackBufferTest {
+
+  private static final long TIMEOUT_MILLIS = 5_000;
+
+  private Simulation<?> simulation;
+
+  @BeforeEach
+  void setUp() {
+    XmlData data = new XmlData();
+    data.setType(SimType.GameOfLife);
+    data.setGridRowNum(3);
+    data.setGridColNum(3);
+    data.setParameters(new HashMap<>());
+    // a blinker, vertical on even generations and horizontal on odd ones
+    data.setCellStateList(List.of(GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD,
+        GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD,
+        GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD));
+    simulation = new Simulation<>(data);
+  }
+
+  private static PlaybackFrame nextFrame(PlaybackBuffer playback) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    Optional<PlaybackFrame> frame = playback.poll();
+    while (frame.isEmpty() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(1);
+      frame = playback.poll();
+    }
+    return frame.orElseThrow();
+  }
+
+  @Test
+  @DisplayName("Frames come out one generation at a time and discarding goes back to the last shown")
+  void poll_Blinker_ShowsEachGenerationThenRewinds() throws InterruptedException {
+    PlaybackBuffer playback = new PlaybackBuffer(simulation, 3);
+    playback.start();
+    PlaybackFrame frame = null;
+    for (int generation = 1; generation <= 5; generation++) {
+      frame = nextFrame(playback);
+      assertEquals(generation, frame.getGeneration());
+      int horizontal = generation % 2 == 1 ? GAMEOFLIFE_ALIVE : GAMEOFLIFE_DEAD;
+      assertEquals(horizontal, frame.getState(1, 0));
+      assertEquals(GAMEOFLIFE_ALIVE, frame.getState(1, 1));
+    }
+    playback.discard();
+
+    assertFalse(playback.isRunning());
+    assertEquals(5, simulation.getTotalIterations());
+    assertEquals(GAMEOFLIFE_ALIVE, simulation.getCurrentState(1, 0));
+    PlaybackFrame last = frame;
+    assertThrows(SimulationException.class, () -> last.getState(3, 0));
+  }
+
+  @Test
+  @DisplayName("Stopping keeps the frames not shown yet, so resuming picks up at the next one")
+  void stop_ThenStart_ContinuesWithKeptFrames() throws InterruptedException {
+    PlaybackBuffer playback = new PlaybackBuffer(simulation, 3);
+    playback.start();
+    for (int generation = 1; generation <= 2; generation++) {
+      assertEquals(generation, nextFrame(playback).getGeneration());
+    }
+    Thread.sleep(50);
+    playback.stop();
+    assertFalse(playback.isRunning());
+    // three frames in the ring and one waiting for room
+    assertEquals(6, simulation.getTotalIterations());
+
+    playback.start();
+    for (int generation = 3; generation <= 8; generation++) {
+      assertEquals(generation, nextFrame(playback).getGeneration());
+    }
+    playback.discard();
+    assertEquals(8, simulation.getTotalIterations());
+  }
+
+  @Test
+  @DisplayName("A cycle asked to pause on ends the frames at the first repeated generation")
+  void poll_PauseOnCycle_StopsProducing() throws InterruptedException {
+    simulation.setPauseOnCycle(true);
+    PlaybackBuffer playback = new PlaybackBuffer(simulation, 4);
+    playback.start();
+
+    assertFalse(nextFrame(playback).isPauseRequested());
+    assertTrue(nextFrame(playback).isPauseRequested());
+    Thread.sleep(50);
+    assertTrue(playback.poll().isEmpty());
+    playback.stop();
+    assertEquals(2, simulation.getTotalIterations());
+  }
+
+  @Test
+  @DisplayName("A look ahead below one frame is rejected")
+  void playbackBuffer_NoLookAhead_Throws() {
+    assertThrows(SimulationException.class, () -> new PlaybackBuffer(simulation, 0));
+    assertThrows(SimulationException.class, () -> new PlaybackBuffer(null, 4));
+  }
+}
@@ -1,6 +1,7 @@
 package cellsociety.model.simulation;
 
 
+import static cellsociety.model.util.constants.CellStates.DARWIN_EMPTY;
 import static cellsociety.model.util.constants.CellStates.FALLINGSAND_EMPTY;
 import static cellsociety.model.util.constants.CellStates.FALLINGSAND_SAND;
 import static cellsociety.model.util.constants.CellStates.FALLINGSAND_STEEL;
@@ -10,6 +11,8 @@ import static cellsociety.model.util.constants.CellStates.FIRE_EMPTY;
 import static cellsociety.model.util.constants.CellStates.FIRE_TREE;
 import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_ALIVE;
 import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_DEAD;
+import static cellsociety.model.util.constants.CellStates.LENIA_EMPTY;
+import static cellsociety.model.util.constants.CellStates.LENIA_MAXSTATE;
 import static cellsociety.model.util.constants.CellStates.PERCOLATION_BLOCKED;
 import static cellsociety.model.util.constants.CellStates.PERCOLATION_OPEN;
 import static cellsociety.model.util.constants.CellStates.PERCOLATION_PERCOLATED;
@@ -21,10 +24,15 @@ import static cellsociety.model.util.constants.CellStates.WATOR_FISH;
 import static cellsociety.model.util.constants.CellStates.WATOR_SHARK;
 import static org.mockito.Mockito.mock;
 
+import cellsociety.model.simulation.cell.Cell;
 import cellsociety.model.simulation.cell.ChouReg2Cell;
 import cellsociety.model.simulation.cell.LangtonCell;
 import cellsociety.model.simulation.cell.PetelkaCell;
 import cellsociety.model.simulation.cell.WaTorCell;
+import cellsociety.model.simulation.engine.FireClusterStatistics;
+import cellsociety.model.simulation.history.HistoryPolicy;
+import cellsociety.model.statefactory.CellStateFactory;
+import cellsociety.model.statefactory.handler.CellStateHandler;
 import cellsociety.model.util.SimulationTypes.SimType;
 import cellsociety.model.util.XmlData;
 import cellsociety.model.util.constants.GridTypes.DirectionType;
@@ -35,6 +43,7 @@ import cellsociety.model.util.exceptions.SimulationException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -49,6 +58,49 @@ public class SimulationTest {
 
   private final XmlData data = mock(XmlData.class);
 
+  // every cell's state, state length and attributes, in grid order
+  private static int[] snapshot(Simulation<?> sim) {
+    List<? extends Cell<?, ?>> cells = sim.getAllCells();
+    int width = 2 + cells.getFirst().getAttributeCount();
+    int[] snapshot = new int[cells.size() * width];
+    for (int i = 0; i < cells.size(); i++) {
+      snapshot[i * width] = cells.get(i).getCurrentState();
+      snapshot[i * width + 1] = cells.get(i).getStateLength();
+      cells.get(i).saveAttributes(snapshot, i * width + 2);
+    }
+    return snapshot;
+  }
+
+  // steps with the cells, then with the engine, then steps back through both histories
+  private static void assertStepBackRestoresEverything(Simulation<?> sim) {
+    sim.updateParameter("maxHistorySize", 20);
+    List<int[]> snapshots = new ArrayList<>();
+    snapshots.add(snapshot(sim));
+    for (int step = 1; step <= 4; step++) {
+      sim.step();
+      snapshots.add(snapshot(sim));
+    }
+    assertTrue(sim.setEngineEnabled(true));
+    for (int step = 5; step <= 12; step++) {
+      sim.step();
+      snapshots.add(snapshot(sim));
+    }
+
+    for (int generation = 11; generation >= 0; generation--) {
+      sim.stepBack();
+      assertEquals(generation, sim.getTotalIterations());
+      assertArrayEquals(snapshots.get(generation), snapshot(sim), "back to " + generation);
+    }
+    sim.stepBack();
+    assertEquals(0, sim.getTotalIterations());
+
+    for (int generation = 0; generation <= 9; generation += 3) {
+      assertTrue(sim.seek(generation));
+      assertTrue(sim.seek(0));
+      assertArrayEquals(snapshots.getFirst(), snapshot(sim), "seek back from " + generation);
+    }
+  }
+
   @Nested
   @DisplayName("Tests for General simulation")
   class GeneralSimulationTest {
@@ -208,6 +260,351 @@ public class SimulationTest {
       assertThrows(SimulationException.class, () -> sim.getParameter("numStates"));
     }
 
+    @Test
+    @DisplayName("Seek restores recorded generations and steps forward past the newest one")
+    void simulation_Seek_MovesToGeneration() {
+      when(data.getType()).thenReturn(SimType.GameOfLife);
+      when(data.getGridColNum()).thenReturn(3);
+      when(data.getGridRowNum()).thenReturn(3);
+
+      when(data.getShape()).thenReturn(ShapeType.RECTANGLE);
+      when(data.getEdge()).thenReturn(EdgeType.NONE);
+      when(data.getNeighborhood()).thenReturn(NeighborhoodType.MOORE);
+
+      // a blinker, vertical on even generations and horizontal on odd ones
+      when(data.getCellStateList()).thenReturn(
+          List.of(GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD,
+              GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD,
+              GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD)
+      );
+
+      Simulation sim = new Simulation(data);
+      sim.updateParameter("maxHistorySize", 100);
+      for (int i = 0; i < 5; i++) {
+        sim.step();
+      }
+
+      assertTrue(sim.seek(2));
+      assertEquals(2, sim.getTotalIterations());
+      assertEquals(GAMEOFLIFE_ALIVE, sim.getCurrentState(0, 1));
+      assertEquals(GAMEOFLIFE_DEAD, sim.getCurrentState(1, 0));
+      assertEquals(3, sim.getStateLength(1, 1));
+
+      assertTrue(sim.seek(5));
+      assertEquals(GAMEOFLIFE_DEAD, sim.getCurrentState(0, 1));
+      assertEquals(GAMEOFLIFE_ALIVE, sim.getCurrentState(1, 0));
+
+      assertTrue(sim.seek(8));
+      assertEquals(8, sim.getTotalIterations());
+      assertEquals(GAMEOFLIFE_ALIVE, sim.getCurrentState(0, 1));
+      assertEquals(9, sim.getStateLength(1, 1));
+
+      assertFalse(sim.seek(-1));
+      assertEquals(8, sim.getTotalIterations());
+    }
+
+    @Test
+    @DisplayName("Engine steps are recorded, so cycles are found and seek restores generations")
+    void simulation_EngineSteps_RecordedInHistory() {
+      when(data.getType()).thenReturn(SimType.GameOfLife);
+      when(data.getGridColNum()).thenReturn(3);
+      when(data.getGridRowNum()).thenReturn(3);
+
+      when(data.getShape()).thenReturn(ShapeType.RECTANGLE);
+      when(data.getEdge()).thenReturn(EdgeType.NONE);
+      when(data.getNeighborhood()).thenReturn(NeighborhoodType.MOORE);
+
+      // a blinker, vertical on even generations and horizontal on odd ones
+      when(data.getCellStateList()).thenReturn(
+          List.of(GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD,
+              GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD,
+              GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD)
+      );
+
+      Simulation sim = new Simulation(data);
+      assertTrue(sim.setEngineEnabled(true));
+      sim.setPauseOnCycle(true);
+      sim.step();
+      assertEquals(0, sim.getCyclePeriod());
+      sim.step();
+      assertEquals(2, sim.getCyclePeriod());
+      assertTrue(sim.shouldPauseForCycle());
+
+      for (int i = 0; i < 3; i++) {
+        sim.step();
+      }
+      assertTrue(sim.seek(2));
+      assertTrue(sim.isEngineEnabled());
+      assertEquals(GAMEOFLIFE_ALIVE, sim.getCurrentState(0, 1));
+      assertEquals(3, sim.getStateLength(1, 1));
+      sim.step();
+      assertEquals(GAMEOFLIFE_ALIVE, sim.getCurrentState(1, 0));
+      assertEquals(4, sim.getStateLength(1, 1));
+
+      sim.setFastForwardOnCycle(true);
+      assertTrue(sim.seek(40));
+      assertEquals(40, sim.getTotalIterations());
+      assertEquals(GAMEOFLIFE_ALIVE, sim.getCurrentState(0, 1));
+      assertEquals(41, sim.getStateLength(1, 1));
+      sim.stepBack();
+      assertEquals(GAMEOFLIFE_ALIVE, sim.getCurrentState(1, 0));
+    }
+
+    @Test
+    @DisplayName("Checkpoint policies step back to checkpoints and the off policy keeps nothing")
+    void simulation_HistoryPolicy_UsesCheckpoints() {
+      when(data.getType()).thenReturn(SimType.GameOfLife);
+      when(data.getGridColNum()).thenReturn(3);
+      when(data.getGridRowNum()).thenReturn(3);
+
+      when(data.getShape()).thenReturn(ShapeType.RECTANGLE);
+      when(data.getEdge()).thenReturn(EdgeType.NONE);
+      when(data.getNeighborhood()).thenReturn(NeighborhoodType.MOORE);
+
+      // a blinker, vertical on even generations and horizontal on odd ones
+      when(data.getCellStateList()).thenReturn(
+          List.of(GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD,
+              GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD,
+              GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD)
+      );
+
+      Simulation sim = new Simulation(data);
+      sim.setCheckpointInterval(3);
+      sim.setHistoryPolicy(HistoryPolicy.EVERY_K);
+      for (int i = 0; i < 7; i++) {
+        sim.step();
+      }
+
+      sim.stepBack();
+      assertEquals(6, sim.getTotalIterations());
+      assertEquals(GAMEOFLIFE_ALIVE, sim.getCurrentState(0, 1));
+      assertTrue(sim.seek(5));
+      assertEquals(GAMEOFLIFE_ALIVE, sim.getCurrentState(1, 0));
+      assertEquals(6, sim.getStateLength(1, 1));
+
+      sim.setHistoryPolicy(HistoryPolicy.ON_DEMAND);
+      assertFalse(sim.seek(4));
+      sim.checkpoint();
+      sim.step();
+      sim.step();
+      assertTrue(sim.seek(5));
+      assertEquals(5, sim.getTotalIterations());
+
+      sim.setHistoryPolicy(HistoryPolicy.OFF);
+      sim.step();
+      sim.stepBack();
+      assertEquals(6, sim.getTotalIterations());
+      assertThrows(SimulationException.class, () -> sim.setCheckpointInterval(0));
+    }
+
+    @Test
+    @DisplayName("A fork starts at the same generation and steps without affecting its parent")
+    void simulation_Fork_BranchesIndependently() {
+      when(data.getType()).thenReturn(SimType.Fire);
+      when(data.getGridColNum()).thenReturn(3);
+      when(data.getGridRowNum()).thenReturn(3);
+
+      when(data.getShape()).thenReturn(ShapeType.RECTANGLE);
+      when(data.getEdge()).thenReturn(EdgeType.NONE);
+      when(data.getNeighborhood()).thenReturn(NeighborhoodType.VON_NEUMANN);
+
+      when(data.getCellStateList()).thenReturn(
+          List.of(FIRE_TREE, FIRE_TREE, FIRE_TREE,
+              FIRE_TREE, FIRE_BURNING, FIRE_TREE,
+              FIRE_TREE, FIRE_TREE, FIRE_TREE)
+      );
+
+      Simulation sim = new Simulation(data);
+      sim.updateParameter("ignitionLikelihood", 0.0);
+      sim.updateParameter("treeSpawnLikelihood", 0.0);
+      sim.step();
+
+      Simulation fork = sim.fork();
+      assertEquals(1, fork.getTotalIterations());
+      assertEquals(FIRE_BURNING, fork.getCurrentState(0, 1));
+      assertEquals(FIRE_TREE, fork.getCurrentState(0, 0));
+      assertEquals(2, fork.getStateLength(0, 0));
+
+      fork.updateParameter("ignitionLikelihood", 1.0);
+      assertEquals(0.0, sim.getParameter("ignitionLikelihood"));
+
+      sim.step();
+      fork.stepBack();
+      assertEquals(0, fork.getTotalIterations());
+      assertEquals(FIRE_BURNING, fork.getCurrentState(1, 1));
+      assertEquals(2, sim.getTotalIterations());
+      assertEquals(FIRE_EMPTY, sim.getCurrentState(1, 1));
+    }
+
+    @Test
+    @DisplayName("Forking leaves the parent's history, so the parent can still step back")
+    void simulation_Fork_ParentKeepsHistory() {
+      when(data.getType()).thenReturn(SimType.Fire);
+      when(data.getGridColNum()).thenReturn(3);
+      when(data.getGridRowNum()).thenReturn(3);
+
+      when(data.getShape()).thenReturn(ShapeType.RECTANGLE);
+      when(data.getEdge()).thenReturn(EdgeType.NONE);
+      when(data.getNeighborhood()).thenReturn(NeighborhoodType.VON_NEUMANN);
+
+      when(data.getCellStateList()).thenReturn(
+          List.of(FIRE_TREE, FIRE_TREE, FIRE_TREE,
+              FIRE_TREE, FIRE_BURNING, FIRE_TREE,
+              FIRE_TREE, FIRE_TREE, FIRE_TREE)
+      );
+
+      for (boolean engine : List.of(false, true)) {
+        Simulation sim = new Simulation(data);
+        assertEquals(engine, sim.setEngineEnabled(engine));
+        sim.updateParameter("ignitionLikelihood", 0.0);
+        sim.updateParameter("treeSpawnLikelihood", 0.0);
+        sim.step();
+        sim.step();
+
+        Simulation fork = sim.fork();
+        fork.step();
+        sim.stepBack();
+        assertEquals(1, sim.getTotalIterations());
+        assertEquals(FIRE_BURNING, sim.getCurrentState(0, 1));
+        sim.stepBack();
+        assertEquals(0, sim.getTotalIterations());
+        assertEquals(FIRE_BURNING, sim.getCurrentState(1, 1));
+        assertEquals(FIRE_TREE, sim.getCurrentState(0, 1));
+
+        assertTrue(fork.seek(0));
+        assertEquals(FIRE_BURNING, fork.getCurrentState(1, 1));
+      }
+    }
+
+    @Test
+    @DisplayName("Stepping back with an engine restores WaTor energy and breeding time")
+    void simulation_StepBackWaTorEngine_RestoresAttributes() {
+      Random random = new Random(43);
+      List<Integer> states = new ArrayList<>();
+      for (int i = 0; i < 10 * 10; i++) {
+        double roll = random.nextDouble();
+        states.add(roll < 0.3 ? WATOR_FISH : roll < 0.4 ? WATOR_SHARK : WATOR_EMPTY);
+      }
+      when(data.getType()).thenReturn(SimType.WaTor);
+      when(data.getGridColNum()).thenReturn(10);
+      when(data.getGridRowNum()).thenReturn(10);
+      when(data.getParameters()).thenReturn(Map.of("sharkInitialEnergy", 4.,
+          "sharkEnergyGain", 2., "sharkReproductionTime", 6., "fishReproductionTime", 3.));
+
+      when(data.getShape()).thenReturn(ShapeType.RECTANGLE);
+      when(data.getEdge()).thenReturn(EdgeType.TOROIDAL);
+      when(data.getNeighborhood()).thenReturn(NeighborhoodType.VON_NEUMANN);
+      when(data.getCellStateList()).thenReturn(states);
+
+      assertStepBackRestoresEverything(new Simulation(data));
+    }
+
+    @Test
+    @DisplayName("Stepping back with an engine restores Darwin instructions, facing and infections")
+    void simulation_StepBackDarwinEngine_RestoresAttributes() {
+      CellStateHandler handler = CellStateFactory.getHandler(-1, SimType.Darwin, -1);
+      handler.addState("flytrap");
+      handler.addState("hop");
+      int flytrap = handler.stateFromString("flytrap");
+      int hop = handler.stateFromString("hop");
+
+      Random random = new Random(43);
+      List<Integer> states = new ArrayList<>();
+      for (int i = 0; i < 10 * 10; i++) {
+        double roll = random.nextDouble();
+        states.add(roll < 0.3 ? hop : roll < 0.45 ? flytrap : DARWIN_EMPTY);
+      }
+      when(data.getType()).thenReturn(SimType.Darwin);
+      when(data.getGridColNum()).thenReturn(10);
+      when(data.getGridRowNum()).thenReturn(10);
+
+      when(data.getShape()).thenReturn(ShapeType.RECTANGLE);
+      when(data.getEdge()).thenReturn(EdgeType.NONE);
+      when(data.getNeighborhood()).thenReturn(NeighborhoodType.MOORE);
+      when(data.getCellStateList()).thenReturn(states);
+
+      assertStepBackRestoresEverything(new Simulation(data));
+    }
+
+    @Test
+    @DisplayName("Stepping back or seeking with the Lenia engine and stepping again matches an "
+        + "uninterrupted run, exact amounts included")
+    void simulation_StepBackLeniaEngine_StepsAgainExactly() {
+      Random random = new Random(39);
+      List<Integer> states = new ArrayList<>();
+      for (int i = 0; i < 24 * 24; i++) {
+        boolean inBlob = Math.abs(i / 24 - 12) < 6 && Math.abs(i % 24 - 12) < 6;
+        states.add(inBlob ? random.nextInt(LENIA_MAXSTATE) : LENIA_EMPTY);
+      }
+      when(data.getType()).thenReturn(SimType.Lenia);
+      when(data.getGridColNum()).thenReturn(24);
+      when(data.getGridRowNum()).thenReturn(24);
+
+      when(data.getShape()).thenReturn(ShapeType.RECTANGLE);
+      when(data.getEdge()).thenReturn(EdgeType.TOROIDAL);
+      when(data.getNeighborhood()).thenReturn(NeighborhoodType.MOORE);
+      when(data.getCellStateList()).thenReturn(states);
+
+      Simulation<?> uninterrupted = new Simulation(data);
+      assertTrue(uninterrupted.setEngineEnabled(true));
+      for (int step = 0; step < 9; step++) {
+        uninterrupted.step();
+      }
+
+      Simulation<?> steppedBack = new Simulation(data);
+      assertTrue(steppedBack.setEngineEnabled(true));
+      for (int step = 0; step < 5; step++) {
+        steppedBack.step();
+      }
+      steppedBack.stepBack();
+      for (int step = 0; step < 5; step++) {
+        steppedBack.step();
+      }
+      assertArrayEquals(snapshot(uninterrupted), snapshot(steppedBack));
+
+      assertTrue(steppedBack.seek(3));
+      while (steppedBack.getTotalIterations() < 9) {
+        steppedBack.step();
+      }
+      assertArrayEquals(snapshot(uninterrupted), snapshot(steppedBack));
+    }
+
+    @Test
+    @DisplayName("Reset puts the cells back to generation 0 in place and drops the history")
+    void simulation_Reset_RestoresInitialStates() {
+      when(data.getType()).thenReturn(SimType.GameOfLife);
+      when(data.getGridColNum()).thenReturn(3);
+      when(data.getGridRowNum()).thenReturn(3);
+
+      when(data.getShape()).thenReturn(ShapeType.RECTANGLE);
+      when(data.getEdge()).thenReturn(EdgeType.NONE);
+      when(data.getNeighborhood()).thenReturn(NeighborhoodType.MOORE);
+
+      // a blinker, vertical on even generations and horizontal on odd ones
+      when(data.getCellStateList()).thenReturn(
+          List.of(GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD,
+              GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD,
+              GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD)
+      );
+
+      Simulation sim = new Simulation(data);
+      for (int i = 0; i < 5; i++) {
+        sim.step();
+      }
+
+      sim.reset();
+      assertEquals(0, sim.getTotalIterations());
+      assertEquals(GAMEOFLIFE_ALIVE, sim.getCurrentState(0, 1));
+      assertEquals(GAMEOFLIFE_DEAD, sim.getCurrentState(1, 0));
+      assertEquals(1, sim.getStateLength(1, 1));
+
+      sim.stepBack();
+      assertEquals(0, sim.getTotalIterations());
+      sim.step();
+      assertEquals(GAMEOFLIFE_ALIVE, sim.getCurrentState(1, 0));
+      assertEquals(2, sim.getStateLength(1, 1));
+    }
+
     @Test
     @DisplayName("Simulation can properly get AdidiotnalParameter keys and value")
     void simulation_GetAddiotnalParameterKeys_CanView() {
@@ -881,6 +1278,53 @@ public class SimulationTest {
       when(data.getNeighborhood()).thenReturn(NeighborhoodType.VON_NEUMANN);
     }
 
+    @Test
+    @DisplayName("Fire event statistics carry on through stepping back, seeking, resetting and "
+        + "rebuilding the engine")
+    void fire_ClusterStatistics_SurviveEngineRebuilds() {
+      Random random = new Random(27);
+      List<Integer> states = new ArrayList<>();
+      for (int i = 0; i < 20 * 20; i++) {
+        states.add(random.nextDouble() < 0.6 ? FIRE_TREE : FIRE_EMPTY);
+      }
+      when(data.getGridColNum()).thenReturn(20);
+      when(data.getGridRowNum()).thenReturn(20);
+      when(data.getParameters()).thenReturn(
+          Map.of("ignitionLikelihood", 0.02, "treeSpawnLikelihood", 0.1));
+      when(data.getEdge()).thenReturn(EdgeType.TOROIDAL);
+      when(data.getCellStateList()).thenReturn(states);
+
+      Simulation<?> sim = new Simulation(data);
+      assertFalse(sim.setFireClusterStatisticsEnabled(true));
+      assertTrue(sim.getFireClusterStatistics().isEmpty());
+      assertTrue(sim.setEngineEnabled(true));
+      FireClusterStatistics statistics = sim.getFireClusterStatistics().orElseThrow();
+      for (int step = 0; step < 20; step++) {
+        sim.step();
+      }
+      long events = statistics.getEventCount();
+      long[] histogram = statistics.getHistogram();
+      assertTrue(events > 0);
+
+      sim.stepBack();
+      assertSame(statistics, sim.getFireClusterStatistics().orElseThrow());
+      assertArrayEquals(histogram, statistics.getHistogram());
+      sim.seek(5);
+      sim.reset();
+      sim.changeTopology(ShapeType.HEXAGON, NeighborhoodType.MOORE, EdgeType.TOROIDAL);
+      sim.setEngineEnabled(false);
+      assertTrue(sim.setEngineEnabled(true));
+      assertSame(statistics, sim.getFireClusterStatistics().orElseThrow());
+      assertArrayEquals(histogram, statistics.getHistogram());
+
+      for (int step = 0; step < 20; step++) {
+        sim.step();
+      }
+      assertTrue(statistics.getEventCount() > events);
+      assertFalse(sim.setFireClusterStatisticsEnabled(false));
+      assertTrue(sim.getFireClusterStatistics().isEmpty());
+    }
+
     // for doing each one change the return of getCellStateList to test different things
     // types of keys and rotations
     @Test
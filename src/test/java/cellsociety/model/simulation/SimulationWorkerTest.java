@@ -0,0 +1,92 @@
+package cellsociety.model.simulation;
+
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_ALIVE;
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_DEAD;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.XmlData;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.HashMap;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SimulationWorkerTest {
+
+  private static final long TIMEOUT_MILLIS = 5_000;
+
+  private Simulation<?> simulation;
+
+  @BeforeEach
+  void setUp() {
+    XmlData data = new XmlData();
+    data.setType(SimType.GameOfLife);
+    data.setGridRowNum(3);
+    data.setGridColNum(3);
+    data.setParameters(new HashMap<>());
+    // a blinker, vertical on even generations and horizontal on odd ones
+    data.setCellStateList(List.of(GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD,
+        GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD,
+        GAMEOFLIFE_DEAD, GAMEOFLIFE_ALIVE, GAMEOFLIFE_DEAD));
+    simulation = new Simulation<>(data);
+  }
+
+  private static PlaybackFrame awaitGeneration(SimulationWorker worker, int generation)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (worker.getLatest().getGeneration() < generation
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(1);
+    }
+    return worker.getLatest();
+  }
+
+  @Test
+  @DisplayName("The latest frame is a whole generation and the simulation stops at it")
+  void getLatest_Running_PublishesWholeGenerations() throws InterruptedException {
+    SimulationWorker worker = new SimulationWorker(simulation);
+    assertEquals(0, worker.getLatest().getGeneration());
+    worker.start();
+    PlaybackFrame frame = awaitGeneration(worker, 20);
+    assertTrue(frame.getGeneration() >= 20);
+    int horizontal = frame.getGeneration() % 2 == 1 ? GAMEOFLIFE_ALIVE : GAMEOFLIFE_DEAD;
+    assertEquals(horizontal, frame.getState(1, 0));
+    assertEquals(3, frame.getStateCount(GAMEOFLIFE_ALIVE));
+    assertEquals(6, frame.getStateCount(GAMEOFLIFE_DEAD));
+    worker.stop();
+
+    assertFalse(worker.isRunning());
+    PlaybackFrame last = worker.getLatest();
+    assertEquals(last.getGeneration(), simulation.getTotalIterations());
+    assertEquals(last.getState(1, 0), simulation.getCurrentState(1, 0));
+  }
+
+  @Test
+  @DisplayName("A long step interval does not hold up stopping")
+  void stop_LongStepInterval_ReturnsRightAway() throws InterruptedException {
+    SimulationWorker worker = new SimulationWorker(simulation);
+    worker.setStepInterval(60_000);
+    worker.start();
+    awaitGeneration(worker, 1);
+    long start = System.currentTimeMillis();
+    worker.stop();
+    assertTrue(System.currentTimeMillis() - start < TIMEOUT_MILLIS);
+    assertEquals(1, simulation.getTotalIterations());
+    assertThrows(SimulationException.class, () -> worker.setStepInterval(-1));
+  }
+
+  @Test
+  @DisplayName("A cycle asked to pause on stops the worker at the first repeated generation")
+  void start_PauseOnCycle_StopsAtCycle() throws InterruptedException {
+    simulation.setPauseOnCycle(true);
+    SimulationWorker worker = new SimulationWorker(simulation);
+    worker.start();
+    PlaybackFrame frame = awaitGeneration(worker, 2);
+    Thread.sleep(50);
+    assertTrue(frame.isPauseRequested());
+    assertEquals(2, worker.getLatest().getGeneration());
+    worker.stop();
+  }
+}
@@ -33,17 +33,18 @@ public class CellTest {
 
   @Test
   @DisplayName("Cell constructor properly initializes defaults. "
-      + "Also does positive checks on several getters, set states, and step back")
+      + "Also does positive checks on several getters, set states, and restoring a state")
   void cell_DefaultConstructor_HasDefaultValues() {
     assertEquals(1, cell.getStateLength());
     assertTrue(cell.getNeighbors().isEmpty());
     assertTrue(cell.getDirectionalNeighbors(DirectionType.N).isEmpty());
 
     cell.setCurrentState(1);
-    cell.setNextState(1);
-    cell.stepBack();
+    cell.setNextState(2);
+    cell.restoreState(0, 4);
     assertEquals(0, cell.getCurrentState());
     assertEquals(0, cell.getNextState());
+    assertEquals(4, cell.getStateLength());
   }
 
   @Test
@@ -58,36 +59,6 @@ public class CellTest {
     assertThrows(SimulationException.class, () -> new LangtonCell(99, rule));
   }
 
-  @Test
-  @DisplayName("SaveCurrentState throws exception if maxHistory size is invalid")
-  void saveCurrentState_InvalidMaxHistorySize_ThrowsException() {
-    cell.getRule().getParameters().setParameter("maxHistorySize", -1.0);
-    assertThrows(SimulationException.class, () -> cell.saveCurrentState());
-  }
-
-  @Test
-  @DisplayName("SaveCurrentState correctly removes additional items if over maxHistory")
-  void saveCurrentState_OverMaxHistory_RemovesEarliest() {
-    cell.getRule().getParameters().setParameter("maxHistorySize", 2.0);
-
-    // by default saves 0
-    cell.setCurrentState(1);
-    cell.saveCurrentState(); // 0 -> 1
-
-    cell.setCurrentState(2);
-    cell.saveCurrentState(); // 0 -> 1 -> 2
-
-    cell.setCurrentState(3);
-    cell.saveCurrentState(); // 1 -> 2 -> 3
-
-    cell.stepBack();
-    assertEquals(2, cell.getCurrentState());
-    cell.stepBack();
-    assertEquals(1, cell.getCurrentState());
-    cell.stepBack();
-    assertEquals(1, cell.getCurrentState());
-  }
-
   @Test
   @DisplayName("Step correctly updates new state length and current state if valid next state")
   void step_ValidNextState_UpdatesStateLengthAndCurrentState() {
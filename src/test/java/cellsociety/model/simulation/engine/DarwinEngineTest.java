@@ -0,0 +1,258 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.CellStates.DARWIN_EMPTY;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.simulation.Simulation;
+import cellsociety.model.simulation.cell.DarwinCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.simulation.rules.DarwinRule;
+import cellsociety.model.statefactory.CellStateFactory;
+import cellsociety.model.statefactory.handler.CellStateHandler;
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.XmlData;
+import cellsociety.model.util.constants.GridTypes.DirectionType;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
+import cellsociety.model.util.constants.GridTypes.ShapeType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class DarwinEngineTest {
+
+  private int flytrap;
+  private int hop;
+  private int testSpecies;
+  private Grid<DarwinCell> grid;
+
+  @BeforeEach
+  void setUp() {
+    CellStateHandler handler = CellStateFactory.getHandler(-1, SimType.Darwin, -1);
+    handler.addState("flytrap");
+    handler.addState("hop");
+    handler.addState("test_species");
+    flytrap = handler.stateFromString("flytrap");
+    hop = handler.stateFromString("hop");
+    testSpecies = handler.stateFromString("test_species");
+  }
+
+  private DarwinEngine createEngine(List<Integer> states, int rows, int cols, EdgeType edge) {
+    grid = new Grid<>();
+    DarwinRule rule = new DarwinRule(new GenericParameters(SimType.Darwin, Map.of()), grid);
+
+    List<DarwinCell> cells = new ArrayList<>();
+    for (int state : states) {
+      cells.add(new DarwinCell(state, rule));
+    }
+    grid.constructGrid(cells, rows, cols, ShapeType.RECTANGLE, NeighborhoodType.MOORE, edge);
+
+    DarwinEngine engine = new DarwinEngine(rule, grid);
+    engine.setRandom(new Random(32));
+    return engine;
+  }
+
+  private List<Integer> randomArena(int seed, int size) {
+    Random random = new Random(seed);
+    List<Integer> states = new ArrayList<>();
+    for (int i = 0; i < size * size; i++) {
+      double roll = random.nextDouble();
+      states.add(roll < 0.3 ? hop : roll < 0.45 ? flytrap : roll < 0.6 ? testSpecies
+          : DARWIN_EMPTY);
+    }
+    return states;
+  }
+
+  private int[] snapshot(DarwinEngine engine) {
+    engine.writeToGrid();
+    List<DarwinCell> cells = grid.getCells();
+    int width = 2 + cells.getFirst().getAttributeCount();
+    int[] snapshot = new int[cells.size() * width];
+    for (int i = 0; i < cells.size(); i++) {
+      snapshot[i * width] = cells.get(i).getCurrentState();
+      snapshot[i * width + 1] = cells.get(i).getStateLength();
+      cells.get(i).saveAttributes(snapshot, i * width + 2);
+    }
+    return snapshot;
+  }
+
+  private void face(int row, int col, DirectionType direction) {
+    DarwinCell cell = grid.getCell(row, col);
+    cell.setDirection(direction);
+    cell.resetParameters();
+  }
+
+  @Test
+  @DisplayName("Two creatures moving into the same cell resolve to the lower position")
+  void darwinEngine_MoveConflict_LowerPositionWins() {
+    createEngine(List.of(hop, DARWIN_EMPTY, hop), 1, 3, EdgeType.NONE);
+    face(0, 2, DirectionType.W);
+    DarwinEngine engine = new DarwinEngine(
+        new DarwinRule(new GenericParameters(SimType.Darwin, Map.of()), grid), grid);
+
+    engine.step();
+
+    assertEquals(DARWIN_EMPTY, engine.getState(0, 0));
+    assertEquals(hop, engine.getState(0, 1));
+    assertEquals(hop, engine.getState(0, 2));
+    assertEquals(2, engine.getAgentCount());
+  }
+
+  @Test
+  @DisplayName("An infected creature converts once its timer runs out and later reverts")
+  void darwinEngine_Infection_ConvertsThenReverts() {
+    DarwinEngine engine = createEngine(List.of(flytrap, testSpecies), 1, 2, EdgeType.NONE);
+
+    // the flytrap infects on the first step, then the timer counts down for 12 steps
+    for (int step = 0; step < 12; step++) {
+      engine.step();
+      assertEquals(testSpecies, engine.getState(0, 1));
+    }
+    engine.step();
+    assertEquals(flytrap, engine.getState(0, 1));
+    assertEquals(1, engine.getStateLength(0, 1));
+
+    for (int step = 0; step < 11; step++) {
+      engine.step();
+      assertEquals(flytrap, engine.getState(0, 1));
+    }
+    engine.step();
+    assertEquals(testSpecies, engine.getState(0, 1));
+  }
+
+  @Test
+  @DisplayName("Writing to the grid copies instruction and facing into the cells")
+  void darwinEngine_WriteToGrid_CellsMatchAgents() {
+    DarwinEngine engine = createEngine(List.of(testSpecies, DARWIN_EMPTY), 1, 2, EdgeType.NONE);
+    face(0, 0, DirectionType.W);
+    engine = new DarwinEngine(
+        new DarwinRule(new GenericParameters(SimType.Darwin, Map.of()), grid), grid);
+
+    // facing the wall: IF_ENEMY falls through to LEFT 90
+    engine.step();
+    engine.writeToGrid();
+
+    DarwinCell cell = grid.getCell(0, 0);
+    assertEquals(DirectionType.S, cell.getDirection());
+    assertEquals(2, cell.getCurrentInstruction());
+  }
+
+  @Test
+  @DisplayName("Large arenas run in parallel with the same result every time")
+  void darwinEngine_LargeArena_DeterministicAndStepsBack() {
+    Random random = new Random(3);
+    List<Integer> states = new ArrayList<>();
+    for (int i = 0; i < 90 * 90; i++) {
+      double roll = random.nextDouble();
+      states.add(roll < 0.3 ? hop : roll < 0.45 ? flytrap : roll < 0.6 ? testSpecies
+          : DARWIN_EMPTY);
+    }
+
+    DarwinEngine first = createEngine(states, 90, 90, EdgeType.TOROIDAL);
+    int creatures = first.getAgentCount();
+    DarwinEngine second = createEngine(states, 90, 90, EdgeType.TOROIDAL);
+    for (int step = 0; step < 20; step++) {
+      first.step();
+      second.step();
+    }
+
+    int occupied = 0;
+    int[] before = new int[90 * 90];
+    for (int i = 0; i < 90 * 90; i++) {
+      before[i] = first.getState(i / 90, i % 90);
+      assertEquals(before[i], second.getState(i / 90, i % 90));
+      occupied += before[i] == DARWIN_EMPTY ? 0 : 1;
+    }
+    assertEquals(creatures, occupied);
+
+    first.step();
+    assertTrue(first.stepBack());
+    for (int i = 0; i < 90 * 90; i++) {
+      assertEquals(before[i], first.getState(i / 90, i % 90));
+    }
+    assertEquals(creatures, first.getAgentCount());
+  }
+
+  @Test
+  @DisplayName("Infections written to the grid are picked up by a new engine, which then steps "
+      + "the same")
+  void darwinEngine_RebuiltFromGrid_KeepsInfections() {
+    DarwinEngine engine = createEngine(randomArena(4, 30), 30, 30, EdgeType.TOROIDAL);
+    for (int step = 0; step < 6; step++) {
+      engine.step();
+    }
+    engine.writeToGrid();
+    assertTrue(grid.getCells().stream().anyMatch(DarwinCell::isInfected));
+
+    DarwinEngine rebuilt = new DarwinEngine(
+        new DarwinRule(new GenericParameters(SimType.Darwin, Map.of()), grid), grid);
+    engine.setRandom(new Random(7));
+    rebuilt.setRandom(new Random(7));
+    for (int step = 0; step < 30; step++) {
+      engine.step();
+      rebuilt.step();
+      assertArrayEquals(snapshot(engine), snapshot(rebuilt), "step " + step);
+    }
+  }
+
+  @Test
+  @DisplayName("Stepping back restores instructions, facings and infections, so replaying matches")
+  void darwinEngine_StepBackAndReplay_MatchesUninterruptedRun() {
+    DarwinEngine engine = createEngine(randomArena(5, 30), 30, 30, EdgeType.TOROIDAL);
+    for (int step = 0; step < 6; step++) {
+      engine.step();
+    }
+
+    List<int[]> snapshots = new ArrayList<>();
+    snapshots.add(snapshot(engine));
+    engine.setRandom(new Random(12));
+    for (int step = 0; step < 10; step++) {
+      engine.step();
+      snapshots.add(snapshot(engine));
+    }
+
+    for (int step = 9; step >= 0; step--) {
+      assertTrue(engine.stepBack());
+      assertArrayEquals(snapshots.get(step), snapshot(engine), "back to " + step);
+    }
+    engine.setRandom(new Random(12));
+    for (int step = 1; step <= 10; step++) {
+      engine.step();
+      assertArrayEquals(snapshots.get(step), snapshot(engine), "replayed step " + step);
+    }
+  }
+
+  @Test
+  @DisplayName("The changes listed after each step record the same arena as writing to the grid")
+  void darwinEngine_LastStepChanges_MatchWrittenGrid() {
+    DarwinEngine engine = createEngine(randomArena(6, 20), 20, 20, EdgeType.TOROIDAL);
+
+    EngineParity.assertChangesMatchGrid(engine, grid, 30);
+  }
+
+  @Test
+  @DisplayName("Pausing and resuming playback shows the same generations as an uninterrupted run")
+  void darwinEngine_PlaybackPausedAndResumed_MatchesUninterruptedRun()
+      throws InterruptedException {
+    List<Integer> states = randomArena(48, 12);
+
+    EngineParity.assertPlaybackResumesExactly(() -> {
+      XmlData data = new XmlData();
+      data.setType(SimType.Darwin);
+      data.setGridRowNum(12);
+      data.setGridColNum(12);
+      data.setParameters(new HashMap<>());
+      data.setCellStateList(states);
+      Simulation<?> simulation = new Simulation<>(data);
+      simulation.setEngineEnabled(true);
+      simulation.getEngine(DarwinEngine.class).orElseThrow().setRandom(new Random(12));
+      return simulation;
+    }, 30, 4);
+  }
+}
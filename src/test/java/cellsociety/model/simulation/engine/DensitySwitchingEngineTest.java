@@ -0,0 +1,211 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_ALIVE;
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_DEAD;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.simulation.cell.GameOfLifeCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.simulation.rules.GameOfLifeRule;
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
+import cellsociety.model.util.constants.GridTypes.ShapeType;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class DensitySwitchingEngineTest {
+
+  private static final int SIZE = 20;
+
+  private GameOfLifeRule createRule() {
+    return new GameOfLifeRule(new GenericParameters(SimType.GameOfLife,
+        Map.of("maxHistorySize", 100.0)));
+  }
+
+  private Grid<GameOfLifeCell> createGrid(GameOfLifeRule rule, Set<Integer> alive) {
+    return createGrid(rule, alive, ShapeType.RECTANGLE, NeighborhoodType.MOORE,
+        EdgeType.TOROIDAL);
+  }
+
+  private Grid<GameOfLifeCell> createGrid(GameOfLifeRule rule, Set<Integer> alive,
+      ShapeType shape, NeighborhoodType neighborhood, EdgeType edge) {
+    List<GameOfLifeCell> cells = new ArrayList<>();
+    for (int i = 0; i < SIZE * SIZE; i++) {
+      cells.add(new GameOfLifeCell(alive.contains(i) ? GAMEOFLIFE_ALIVE : GAMEOFLIFE_DEAD, rule));
+    }
+    Grid<GameOfLifeCell> grid = new Grid<>();
+    grid.constructGrid(cells, SIZE, SIZE, shape, neighborhood, edge);
+    return grid;
+  }
+
+  private int[] snapshot(SimulationEngine engine) {
+    int[] snapshot = new int[SIZE * SIZE * 2];
+    for (int row = 0; row < SIZE; row++) {
+      for (int col = 0; col < SIZE; col++) {
+        snapshot[2 * (row * SIZE + col)] = engine.getState(row, col);
+        snapshot[2 * (row * SIZE + col) + 1] = engine.getStateLength(row, col);
+      }
+    }
+    return snapshot;
+  }
+
+  @Test
+  @DisplayName("Bounded Game of Life grids get an engine that starts sparse when few cells live")
+  void createEngine_SparseGlider_StartsSparse() {
+    GameOfLifeRule rule = createRule();
+    SimulationEngine engine = EngineFactory.createEngine(SimType.GameOfLife, rule,
+        createGrid(rule, Set.of(1, 22, 40, 41, 42))).orElseThrow();
+
+    DensitySwitchingEngine switching = assertInstanceOf(DensitySwitchingEngine.class, engine);
+    assertTrue(switching.isSparse());
+    assertFalse(switching.isUnbounded());
+    assertInstanceOf(SparseGameOfLifeEngine.class, switching.getActiveEngine());
+  }
+
+  @Test
+  @DisplayName("Switching engines keeps states, state lengths and step back history")
+  void step_SwitchBothWays_MatchesDenseEngine() {
+    Set<Integer> glider = Set.of(1, 22, 40, 41, 42);
+    GameOfLifeRule rule = createRule();
+    DensitySwitchingEngine engine = (DensitySwitchingEngine) EngineFactory.createEngine(
+        SimType.GameOfLife, rule, createGrid(rule, glider)).orElseThrow();
+    GameOfLifeRule referenceRule = createRule();
+    GameOfLifeEngine reference = new GameOfLifeEngine(referenceRule,
+        createGrid(referenceRule, glider));
+
+    List<int[]> snapshots = new ArrayList<>();
+    snapshots.add(snapshot(reference));
+    for (int step = 0; step < 30; step++) {
+      if (step == 10) {
+        // the glider's density of 5 / 400 is now above the dense threshold
+        rule.getParameters().setParameter("denseDensity", 0.01);
+        rule.getParameters().setParameter("sparseDensity", 0.0);
+      } else if (step == 20) {
+        rule.getParameters().setParameter("denseDensity", 0.15);
+        rule.getParameters().setParameter("sparseDensity", 0.05);
+      }
+      engine.step();
+      reference.step();
+      assertArrayEquals(snapshot(reference), snapshot(engine), "step " + step);
+      assertEquals(step >= 10 && step < 20, !engine.isSparse(), "step " + step);
+      snapshots.add(snapshot(reference));
+    }
+
+    for (int step = 30; step > 0; step--) {
+      assertTrue(engine.stepBack());
+      assertArrayEquals(snapshots.get(step - 1), snapshot(engine), "back to " + (step - 1));
+    }
+    assertFalse(engine.stepBack());
+  }
+
+  @Test
+  @DisplayName("A soup that dies down is stepped the same as by the dense engine")
+  void step_RandomSoup_MatchesDenseEngine() {
+    Random random = new Random(37);
+    Set<Integer> alive = new HashSet<>();
+    for (int i = 0; i < SIZE * SIZE; i++) {
+      if (random.nextDouble() < 0.35) {
+        alive.add(i);
+      }
+    }
+    GameOfLifeRule rule = createRule();
+    rule.getParameters().setParameter("sparseDensity", 0.1);
+    DensitySwitchingEngine engine = (DensitySwitchingEngine) EngineFactory.createEngine(
+        SimType.GameOfLife, rule, createGrid(rule, alive)).orElseThrow();
+    GameOfLifeRule referenceRule = createRule();
+    GameOfLifeEngine reference = new GameOfLifeEngine(referenceRule,
+        createGrid(referenceRule, alive));
+
+    assertFalse(engine.isSparse());
+    boolean wasSparse = false;
+    for (int step = 0; step < 150; step++) {
+      engine.step();
+      reference.step();
+      assertArrayEquals(snapshot(reference), snapshot(engine), "step " + step);
+      wasSparse |= engine.isSparse();
+    }
+    assertTrue(wasSparse);
+  }
+
+  @Test
+  @DisplayName("The changes listed after each step record the same cells as writing to the grid, "
+      + "across switches")
+  void getLastStepChanges_RandomSoup_MatchWrittenGrid() {
+    Random random = new Random(39);
+    Set<Integer> alive = new HashSet<>();
+    for (int i = 0; i < SIZE * SIZE; i++) {
+      if (random.nextDouble() < 0.35) {
+        alive.add(i);
+      }
+    }
+    GameOfLifeRule rule = createRule();
+    rule.getParameters().setParameter("sparseDensity", 0.1);
+    Grid<GameOfLifeCell> grid = createGrid(rule, alive);
+    DensitySwitchingEngine engine = (DensitySwitchingEngine) EngineFactory.createEngine(
+        SimType.GameOfLife, rule, grid).orElseThrow();
+
+    EngineParity.assertChangesMatchGrid(engine, grid, 150);
+    assertTrue(engine.isSparse());
+  }
+
+  @Test
+  @DisplayName("Switching on hexagons and triangles with one-way neighbors matches the dense "
+      + "engine both ways")
+  void step_OneWayNeighbors_MatchesDenseEngine() {
+    for (ShapeType shape : List.of(ShapeType.HEXAGON, ShapeType.TRIANGLE)) {
+      for (NeighborhoodType neighborhood : NeighborhoodType.values()) {
+        for (EdgeType edge : List.of(EdgeType.MIRROR, EdgeType.TOROIDAL)) {
+          String topology = shape + " " + neighborhood + " " + edge;
+          Random random = new Random(38);
+          Set<Integer> alive = new HashSet<>();
+          for (int i = 0; i < SIZE * SIZE; i++) {
+            if (random.nextDouble() < 0.3) {
+              alive.add(i);
+            }
+          }
+          GameOfLifeRule rule = createRule();
+          rule.getParameters().setParameter("sparseDensity", 0.0);
+          rule.getParameters().setParameter("denseDensity", 1.0);
+          DensitySwitchingEngine engine = (DensitySwitchingEngine) EngineFactory.createEngine(
+              SimType.GameOfLife, rule, createGrid(rule, alive, shape, neighborhood, edge))
+              .orElseThrow();
+          GameOfLifeRule referenceRule = createRule();
+          GameOfLifeEngine reference = new GameOfLifeEngine(referenceRule,
+              createGrid(referenceRule, alive, shape, neighborhood, edge));
+
+          List<int[]> snapshots = new ArrayList<>();
+          snapshots.add(snapshot(reference));
+          for (int step = 0; step < 30; step++) {
+            if (step == 10) {
+              // every density is below this, so the sparse engine takes over
+              rule.getParameters().setParameter("sparseDensity", 1.0);
+              rule.getParameters().setParameter("denseDensity", 1.0);
+            } else if (step == 20) {
+              rule.getParameters().setParameter("sparseDensity", -1.0);
+              rule.getParameters().setParameter("denseDensity", -1.0);
+            }
+            engine.step();
+            reference.step();
+            assertArrayEquals(snapshot(reference), snapshot(engine), topology + " step " + step);
+            assertEquals(step >= 10 && step < 20, engine.isSparse(), topology + " step " + step);
+            snapshots.add(snapshot(reference));
+          }
+
+          for (int step = 30; step > 0; step--) {
+            assertTrue(engine.stepBack());
+            assertArrayEquals(snapshots.get(step - 1), snapshot(engine),
+                topology + " back to " + (step - 1));
+          }
+        }
+      }
+    }
+  }
+}
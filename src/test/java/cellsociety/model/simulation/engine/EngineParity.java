@@ -0,0 +1,204 @@
+package cellsociety.model.simulation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cellsociety.model.simulation.PlaybackBuffer;
+import cellsociety.model.simulation.PlaybackFrame;
+import cellsociety.model.simulation.Simulation;
+import cellsociety.model.simulation.cell.Cell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.history.GenerationHistory;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
+import cellsociety.model.util.constants.GridTypes.ShapeType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Checks that an engine steps a grid exactly the way the grid's cells step themselves through
+ * their rule, the same way {@code Simulation} steps cells without an engine.
+ */
+final class EngineParity {
+
+  private static final long FRAME_TIMEOUT_MILLIS = 5_000;
+  private static final int PLAYBACK_LOOK_AHEAD = 4;
+
+  /**
+   * Creates the engine under test for one topology.
+   *
+   * @param <C> - the type of cell the engine steps
+   */
+  @FunctionalInterface
+  interface Fixture<C extends Cell<C, ?>> {
+
+    /**
+     * Constructs the given grid with fresh cells and the topology, and returns an engine
+     * stepping it.
+     */
+    SimulationEngine create(Grid<C> grid, ShapeType shape, NeighborhoodType neighborhood,
+        EdgeType edge);
+  }
+
+  private EngineParity() {
+    // static helper
+  }
+
+  /**
+   * Checks the engine of the fixture against cell stepping on every shape, neighborhood, and
+   * edge type.
+   *
+   * @param fixture - creates the grid and engine of each topology
+   * @param steps   - how many steps to compare on each topology
+   */
+  static <C extends Cell<C, ?>> void assertMatchesOnEveryTopology(Fixture<C> fixture,
+      int steps) {
+    for (ShapeType shape : ShapeType.values()) {
+      for (NeighborhoodType neighborhood : NeighborhoodType.values()) {
+        for (EdgeType edge : EdgeType.values()) {
+          Grid<C> grid = new Grid<>();
+          SimulationEngine engine = fixture.create(grid, shape, neighborhood, edge);
+          assertMatchesCellStepping(engine, grid, steps,
+              shape + " " + neighborhood + " " + edge);
+        }
+      }
+    }
+  }
+
+  /**
+   * Steps the engine and the cells of its grid side by side, checking every state and state
+   * length after each step.
+   *
+   * @param engine   - the engine stepping the grid
+   * @param grid     - the grid the engine was created from
+   * @param steps    - how many steps to compare
+   * @param topology - describes the grid in failure messages
+   */
+  static <C extends Cell<C, ?>> void assertMatchesCellStepping(SimulationEngine engine,
+      Grid<C> grid, int steps, String topology) {
+    for (int step = 1; step <= steps; step++) {
+      engine.step();
+      grid.getCells().forEach(Cell::calcNextState);
+      grid.getCells().forEach(Cell::step);
+      grid.getCells().forEach(Cell::resetParameters);
+
+      for (C cell : grid.getCells()) {
+        int[] position = cell.getPosition();
+        String where = topology + ", step " + step + ", row " + position[1] + " col "
+            + position[0];
+        assertEquals(cell.getCurrentState(), engine.getState(position[1], position[0]), where);
+        assertEquals(cell.getStateLength(), engine.getStateLength(position[1], position[0]),
+            where);
+      }
+    }
+  }
+
+  /**
+   * Same as {@link #assertMatchesCellStepping(SimulationEngine, Grid, int, String)} for a grid
+   * described by its own topology.
+   */
+  static <C extends Cell<C, ?>> void assertMatchesCellStepping(SimulationEngine engine,
+      Grid<C> grid, int steps) {
+    assertMatchesCellStepping(engine, grid, steps,
+        grid.getShape() + " " + grid.getNeighborhood() + " " + grid.getEdgeType());
+  }
+
+  /**
+   * Records each step of the engine into a {@link GenerationHistory} from the changes the engine
+   * lists, and checks every recorded generation restores the same cells, attributes included, as
+   * writing the engine to the grid at that generation.
+   *
+   * @param engine - the engine stepping the grid, which must list its changes
+   * @param grid   - the grid the engine was created from
+   * @param steps  - how many steps to record
+   */
+  static <C extends Cell<C, ?>> void assertChangesMatchGrid(SimulationEngine engine,
+      Grid<C> grid, int steps) {
+    GenerationHistory history = new GenerationHistory(grid.getCells(), 0);
+    List<int[]> written = new ArrayList<>();
+    written.add(snapshot(grid));
+    for (int step = 1; step <= steps; step++) {
+      engine.step();
+      history.recordChanges(engine.getLastStepChanges().orElseThrow(), steps + 1);
+      engine.writeToGrid();
+      written.add(snapshot(grid));
+    }
+
+    for (int generation = steps; generation >= 0; generation--) {
+      assertTrue(history.seek(generation));
+      assertArrayEquals(written.get(generation), snapshot(grid), "generation " + generation);
+    }
+  }
+
+  private static <C extends Cell<C, ?>> int[] snapshot(Grid<C> grid) {
+    List<C> cells = grid.getCells();
+    int attributeCount = cells.getFirst().getAttributeCount();
+    int width = 2 + attributeCount;
+    int[] snapshot = new int[cells.size() * width];
+    for (int i = 0; i < cells.size(); i++) {
+      snapshot[i * width] = cells.get(i).getCurrentState();
+      snapshot[i * width + 1] = cells.get(i).getStateLength();
+      cells.get(i).saveAttributes(snapshot, i * width + 2);
+    }
+    return snapshot;
+  }
+
+  /**
+   * Plays two copies of a simulation through a {@link PlaybackBuffer}, pausing and resuming one of
+   * them every few frames, and checks both show the same generations and end in the same states.
+   *
+   * @param simulation - creates a simulation with its engine seeded the same way every time
+   * @param frames     - how many frames to play
+   * @param pauseEvery - how many frames apart the second copy is paused
+   */
+  static void assertPlaybackResumesExactly(Supplier<Simulation<?>> simulation, int frames,
+      int pauseEvery) throws InterruptedException {
+    Simulation<?> uninterrupted = simulation.get();
+    Simulation<?> paused = simulation.get();
+    List<PlaybackFrame> expected = play(uninterrupted, frames, Integer.MAX_VALUE);
+    List<PlaybackFrame> actual = play(paused, frames, pauseEvery);
+
+    for (int i = 0; i < frames; i++) {
+      PlaybackFrame frame = expected.get(i);
+      assertEquals(frame.getGeneration(), actual.get(i).getGeneration());
+      for (int row = 0; row < frame.getRows(); row++) {
+        for (int col = 0; col < frame.getCols(); col++) {
+          assertEquals(frame.getState(row, col), actual.get(i).getState(row, col),
+              "generation " + frame.getGeneration() + ", row " + row + " col " + col);
+        }
+      }
+    }
+    for (int row = 0; row < expected.getFirst().getRows(); row++) {
+      for (int col = 0; col < expected.getFirst().getCols(); col++) {
+        assertEquals(uninterrupted.getStateLength(row, col), paused.getStateLength(row, col));
+      }
+    }
+  }
+
+  private static List<PlaybackFrame> play(Simulation<?> simulation, int frames, int pauseEvery)
+      throws InterruptedException {
+    PlaybackBuffer playback = new PlaybackBuffer(simulation, PLAYBACK_LOOK_AHEAD);
+    List<PlaybackFrame> shown = new ArrayList<>();
+    playback.start();
+    while (shown.size() < frames) {
+      long deadline = System.currentTimeMillis() + FRAME_TIMEOUT_MILLIS;
+      Optional<PlaybackFrame> frame = playback.poll();
+      while (frame.isEmpty() && System.currentTimeMillis() < deadline) {
+        Thread.sleep(1);
+        frame = playback.poll();
+      }
+      shown.add(frame.orElseThrow());
+      if (shown.size() % pauseEvery == 0) {
+        // let the producer fill the ring, so pausing has frames to keep
+        Thread.sleep(20);
+        playback.stop();
+        playback.start();
+      }
+    }
+    playback.discard();
+    return shown;
+  }
+}
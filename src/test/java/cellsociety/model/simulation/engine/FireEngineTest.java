@@ -0,0 +1,274 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.CellStates.FIRE_BURNING;
+import static cellsociety.model.util.constants.CellStates.FIRE_EMPTY;
+import static cellsociety.model.util.constants.CellStates.FIRE_TREE;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.simulation.cell.Cell;
+import cellsociety.model.simulation.cell.FireCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.simulation.rules.FireRule;
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
+import cellsociety.model.util.constants.GridTypes.ShapeType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class FireEngineTest {
+
+  private FireRule rule;
+  private Grid<FireCell> grid;
+
+  private FireEngine createEngine(Grid<FireCell> target, List<Integer> states, int rows,
+      int cols, double ignition, double spawn, ShapeType shape, NeighborhoodType neighborhood,
+      EdgeType edge) {
+    GenericParameters parameters = new GenericParameters(SimType.Fire,
+        Map.of("ignitionLikelihood", ignition, "treeSpawnLikelihood", spawn));
+    rule = new FireRule(parameters);
+
+    List<FireCell> cells = new ArrayList<>();
+    for (int state : states) {
+      cells.add(new FireCell(state, rule));
+    }
+    target.constructGrid(cells, rows, cols, shape, neighborhood, edge);
+    return new FireEngine(rule, target);
+  }
+
+  private FireEngine createEngine(List<Integer> states, int rows, int cols, double ignition,
+      double spawn, NeighborhoodType neighborhood, EdgeType edge) {
+    grid = new Grid<>();
+    return createEngine(grid, states, rows, cols, ignition, spawn, ShapeType.RECTANGLE,
+        neighborhood, edge);
+  }
+
+  private List<Integer> randomStates(int count, long seed) {
+    Random random = new Random(seed);
+    List<Integer> states = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      states.add(random.nextDouble() < 0.05 ? FIRE_BURNING
+          : random.nextDouble() < 0.7 ? FIRE_TREE : FIRE_EMPTY);
+    }
+    return states;
+  }
+
+  private void stepCells() {
+    grid.getCells().forEach(Cell::calcNextState);
+    grid.getCells().forEach(Cell::step);
+    grid.getCells().forEach(Cell::resetParameters);
+  }
+
+  @Test
+  @DisplayName("FireEngine under conditions where always lights and always spawns trees")
+  void fireEngine_AlwaysIgniteAlwaysSpawn_CycleOfSteps() {
+    FireEngine engine = createEngine(
+        List.of(FIRE_TREE, FIRE_EMPTY, FIRE_BURNING,
+            FIRE_EMPTY, FIRE_TREE, FIRE_EMPTY,
+            FIRE_BURNING, FIRE_EMPTY, FIRE_TREE), 3, 3, 1, 1,
+        NeighborhoodType.VON_NEUMANN, EdgeType.NONE);
+
+    engine.step();
+    assertEquals(FIRE_BURNING, engine.getState(0, 0));
+    assertEquals(FIRE_BURNING, engine.getState(1, 1));
+    assertEquals(FIRE_TREE, engine.getState(0, 1));
+    assertEquals(FIRE_EMPTY, engine.getState(2, 0));
+
+    engine.step();
+    assertEquals(FIRE_EMPTY, engine.getState(0, 0));
+    assertEquals(FIRE_BURNING, engine.getState(0, 1));
+    assertEquals(FIRE_TREE, engine.getState(2, 0));
+
+    engine.step();
+    assertEquals(FIRE_TREE, engine.getState(0, 0));
+    assertEquals(FIRE_EMPTY, engine.getState(0, 1));
+    assertEquals(FIRE_BURNING, engine.getState(2, 0));
+  }
+
+  @Test
+  @DisplayName("FireEngine only spreads from the fire front and tracks state lengths")
+  void fireEngine_OnlyIgniteWhenNeighbor_AllEmptyAtEnd() {
+    FireEngine engine = createEngine(
+        List.of(FIRE_TREE, FIRE_TREE, FIRE_BURNING,
+            FIRE_TREE, FIRE_EMPTY, FIRE_TREE,
+            FIRE_BURNING, FIRE_TREE, FIRE_TREE), 3, 3, 0, 0,
+        NeighborhoodType.VON_NEUMANN, EdgeType.NONE);
+
+    engine.step();
+    engine.step();
+    engine.step();
+
+    int[][] expectedLengths = {{1, 2, 3}, {2, 4, 2}, {3, 2, 1}};
+    for (int row = 0; row < 3; row++) {
+      for (int col = 0; col < 3; col++) {
+        assertEquals(FIRE_EMPTY, engine.getState(row, col));
+        assertEquals(expectedLengths[row][col], engine.getStateLength(row, col));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("FireEngine matches stepping every cell when there is no randomness")
+  void fireEngine_DeterministicSpread_MatchesCellStepping() {
+    FireEngine engine = createEngine(randomStates(30 * 40, 26), 30, 40, 0, 0,
+        NeighborhoodType.MOORE, EdgeType.TOROIDAL);
+
+    for (int step = 0; step < 15; step++) {
+      engine.step();
+      stepCells();
+      for (FireCell cell : grid.getCells()) {
+        int[] position = cell.getPosition();
+        assertEquals(cell.getCurrentState(), engine.getState(position[1], position[0]));
+        assertEquals(cell.getStateLength(), engine.getStateLength(position[1], position[0]));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("FireEngine matches the rule on every shape, neighborhood, and edge")
+  void fireEngine_EveryTopology_MatchesCellStepping() {
+    EngineParity.<FireCell>assertMatchesOnEveryTopology(
+        (target, shape, neighborhood, edge) -> createEngine(target, randomStates(7 * 9, 26), 7,
+            9, 0, 0, shape, neighborhood, edge), 6);
+  }
+
+  @Test
+  @DisplayName("FireEngine can step back as many times as the max history size allows")
+  void fireEngine_StepBack_RestoresStatesWithinHistorySize() {
+    FireEngine engine = createEngine(
+        List.of(FIRE_TREE, FIRE_TREE, FIRE_BURNING,
+            FIRE_TREE, FIRE_EMPTY, FIRE_TREE,
+            FIRE_BURNING, FIRE_TREE, FIRE_TREE), 3, 3, 0, 0,
+        NeighborhoodType.VON_NEUMANN, EdgeType.NONE);
+    rule.getParameters().setParameter("maxHistorySize", 2);
+
+    engine.step();
+    engine.step();
+    engine.step();
+
+    assertTrue(engine.stepBack());
+    assertTrue(engine.stepBack());
+    assertFalse(engine.stepBack());
+
+    // back to the state after the first step
+    assertEquals(FIRE_BURNING, engine.getState(0, 1));
+    assertEquals(FIRE_EMPTY, engine.getState(0, 2));
+    assertEquals(1, engine.getStateLength(0, 2));
+    assertEquals(FIRE_TREE, engine.getState(0, 0));
+    assertEquals(2, engine.getStateLength(0, 0));
+
+    // the front is rebuilt so stepping forward again continues the fire
+    engine.step();
+    assertEquals(FIRE_BURNING, engine.getState(0, 0));
+  }
+
+  @Test
+  @DisplayName("FireEngine writes its states and state lengths back into the cells")
+  void fireEngine_WriteToGrid_CellsMatchEngine() {
+    FireEngine engine = createEngine(
+        List.of(FIRE_TREE, FIRE_TREE, FIRE_BURNING,
+            FIRE_TREE, FIRE_EMPTY, FIRE_TREE,
+            FIRE_BURNING, FIRE_TREE, FIRE_TREE), 3, 3, 0, 0,
+        NeighborhoodType.VON_NEUMANN, EdgeType.NONE);
+
+    engine.step();
+    engine.writeToGrid();
+
+    assertEquals(FIRE_BURNING, grid.getCell(0, 1).getCurrentState());
+    assertEquals(FIRE_EMPTY, grid.getCell(1, 1).getCurrentState());
+    assertEquals(2, grid.getCell(1, 1).getStateLength());
+  }
+
+  @Test
+  @DisplayName("The changes listed after each step record the same forest as writing to the grid")
+  void fireEngine_LastStepChanges_MatchWrittenGrid() {
+    grid = new Grid<>();
+    FireEngine engine = createEngine(grid, randomStates(9 * 11, 27), 9, 11, 0.05, 0.2,
+        ShapeType.HEXAGON, NeighborhoodType.MOORE, EdgeType.TOROIDAL);
+
+    EngineParity.assertChangesMatchGrid(engine, grid, 20);
+  }
+
+  @Test
+  @DisplayName("Geometric skip never lands on a cell with probability 0 and every cell with 1")
+  void fireEngine_NextSkip_HandlesProbabilityBounds() {
+    FireEngine engine = createEngine(List.of(FIRE_EMPTY), 1, 1, 0, 0,
+        NeighborhoodType.MOORE, EdgeType.NONE);
+    engine.setRandom(new Random(1));
+
+    assertEquals(1, engine.nextSkip(1));
+    assertEquals(Integer.MAX_VALUE, engine.nextSkip(0));
+    for (int i = 0; i < 100; i++) {
+      assertTrue(engine.nextSkip(0.5) >= 1);
+    }
+  }
+
+  @Test
+  @DisplayName("Ignitions in a cluster that is already on fire count as one fire event")
+  void fireEngine_ClusterStatistics_OneEventPerCluster() {
+    FireEngine engine = createEngine(
+        List.of(FIRE_TREE, FIRE_TREE, FIRE_TREE, FIRE_EMPTY, FIRE_TREE, FIRE_TREE), 1, 6, 1, 0,
+        NeighborhoodType.MOORE, EdgeType.NONE);
+    engine.setClusterStatisticsEnabled(true);
+    FireClusterStatistics statistics = engine.getClusterStatistics().orElseThrow();
+
+    engine.step();
+
+    assertEquals(2, statistics.getEventCount());
+    assertEquals(3, statistics.getLargestEvent());
+    assertEquals(2.5, statistics.getMeanEventSize());
+    assertArrayEquals(new long[]{0, 2}, statistics.getHistogram());
+  }
+
+  @Test
+  @DisplayName("Trees that grow are joined to their neighboring clusters")
+  void fireEngine_ClusterStatistics_GrowthMergesClusters() {
+    FireEngine engine = createEngine(List.of(FIRE_TREE, FIRE_EMPTY, FIRE_EMPTY, FIRE_TREE), 1, 4,
+        0, 1, NeighborhoodType.MOORE, EdgeType.NONE);
+    engine.setClusterStatisticsEnabled(true);
+    FireClusterStatistics statistics = engine.getClusterStatistics().orElseThrow();
+    assertEquals(1, statistics.getClusterSize(0, 0));
+
+    engine.step();
+    assertEquals(4, statistics.getClusterSize(0, 0));
+
+    rule.getParameters().setParameter("ignitionLikelihood", 1);
+    rule.getParameters().setParameter("treeSpawnLikelihood", 0);
+    engine.step();
+
+    assertEquals(1, statistics.getEventCount());
+    assertEquals(4, statistics.getLargestEvent());
+    assertEquals(4, FireClusterStatistics.getBinLowerBound(2));
+    assertArrayEquals(new long[]{0, 0, 1}, statistics.getHistogram());
+  }
+
+  @Test
+  @DisplayName("Growing trees on a one-way neighborhood joins the same clusters as a rebuild")
+  void fireEngine_ClusterStatisticsOneWayNeighbors_GrowthMatchesRebuild() {
+    List<Integer> noFire = new ArrayList<>();
+    for (int i = 0; i < 7 * 9; i++) {
+      noFire.add(i % 5 == 0 ? FIRE_TREE : FIRE_EMPTY);
+    }
+    Grid<FireCell> target = new Grid<>();
+    FireEngine engine = createEngine(target, noFire, 7, 9, 0, 0.3, ShapeType.TRIANGLE,
+        NeighborhoodType.VON_NEUMANN, EdgeType.TOROIDAL);
+    engine.setRandom(new Random(1));
+    engine.setClusterStatisticsEnabled(true);
+    FireClusterStatistics statistics = engine.getClusterStatistics().orElseThrow();
+
+    engine.step();
+
+    FireClusterStatistics rebuilt = new FireClusterStatistics(target.getTopology(),
+        engine.getStates());
+    for (int row = 0; row < 7; row++) {
+      for (int col = 0; col < 9; col++) {
+        assertEquals(rebuilt.getClusterSize(row, col), statistics.getClusterSize(row, col));
+      }
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_ALIVE;
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_DEAD;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.simulation.cell.GameOfLifeCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.simulation.rules.GameOfLifeRule;
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
+import cellsociety.model.util.constants.GridTypes.ShapeType;
+import cellsociety.model.util.constants.GridTypes.StateLayoutType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class GameOfLifeEngineTest {
+
+  private Grid<GameOfLifeCell> grid;
+
+  private GameOfLifeEngine createEngine(Grid<GameOfLifeCell> target, int rows, int cols,
+      StateLayoutType layout, ShapeType shape, NeighborhoodType neighborhood, EdgeType edge) {
+    GameOfLifeRule rule = new GameOfLifeRule(new GenericParameters(SimType.GameOfLife,
+        Map.of()));
+
+    Random random = new Random(34);
+    List<GameOfLifeCell> cells = new ArrayList<>();
+    for (int i = 0; i < rows * cols; i++) {
+      cells.add(new GameOfLifeCell(random.nextInt(3) == 0 ? GAMEOFLIFE_ALIVE : GAMEOFLIFE_DEAD,
+          rule));
+    }
+    target.setStateLayout(layout);
+    target.constructGrid(cells, rows, cols, shape, neighborhood, edge);
+    return new GameOfLifeEngine(rule, target);
+  }
+
+  private GameOfLifeEngine createEngine(int rows, int cols, StateLayoutType layout,
+      NeighborhoodType neighborhood, EdgeType edge) {
+    grid = new Grid<>();
+    return createEngine(grid, rows, cols, layout, ShapeType.RECTANGLE, neighborhood, edge);
+  }
+
+  @Test
+  @DisplayName("GameOfLifeEngine matches the rule on every shape, neighborhood, and edge")
+  void gameOfLifeEngine_EveryTopology_MatchesCellStepping() {
+    EngineParity.<GameOfLifeCell>assertMatchesOnEveryTopology(
+        (target, shape, neighborhood, edge) -> createEngine(target, 23, 34,
+            StateLayoutType.ROW_MAJOR, shape, neighborhood, edge), 6);
+  }
+
+  @Test
+  @DisplayName("GameOfLifeEngine matches the rule on a Morton grid with partial tiles")
+  void gameOfLifeEngine_MortonToroidal_MatchesCellStepping() {
+    EngineParity.assertMatchesCellStepping(createEngine(45, 70, StateLayoutType.MORTON,
+        NeighborhoodType.MOORE, EdgeType.TOROIDAL), grid, 8);
+  }
+
+  @Test
+  @DisplayName("GameOfLifeEngine matches the rule on a tiled extended Moore grid")
+  void gameOfLifeEngine_TiledExtendedMoore_MatchesCellStepping() {
+    EngineParity.assertMatchesCellStepping(createEngine(40, 36, StateLayoutType.TILED,
+        NeighborhoodType.EXTENDED_MOORE, EdgeType.NONE), grid, 6);
+  }
+
+  @Test
+  @DisplayName("GameOfLifeEngine matches the rule on a row-major grid")
+  void gameOfLifeEngine_RowMajorMirror_MatchesCellStepping() {
+    EngineParity.assertMatchesCellStepping(createEngine(20, 25, StateLayoutType.ROW_MAJOR,
+        NeighborhoodType.MOORE, EdgeType.MIRROR), grid, 8);
+  }
+
+  @Test
+  @DisplayName("Writing a Morton engine back to the grid puts each state in its own cell")
+  void gameOfLifeEngine_WriteToGrid_CellsMatchPositions() {
+    GameOfLifeEngine engine = createEngine(33, 40, StateLayoutType.MORTON,
+        NeighborhoodType.MOORE, EdgeType.NONE);
+    engine.step();
+    engine.step();
+    engine.writeToGrid();
+
+    for (GameOfLifeCell cell : grid.getCells()) {
+      int[] position = cell.getPosition();
+      assertEquals(engine.getState(position[1], position[0]), cell.getCurrentState());
+      assertSame(cell, grid.getCell(grid.getIndex(cell)));
+    }
+  }
+
+  @Test
+  @DisplayName("The changes listed after each step of a Morton engine record the cells by "
+      + "position")
+  void gameOfLifeEngine_LastStepChanges_MatchWrittenGrid() {
+    GameOfLifeEngine engine = createEngine(33, 40, StateLayoutType.MORTON,
+        NeighborhoodType.MOORE, EdgeType.TOROIDAL);
+
+    EngineParity.assertChangesMatchGrid(engine, grid, 12);
+  }
+}
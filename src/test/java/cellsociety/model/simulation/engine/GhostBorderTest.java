@@ -0,0 +1,93 @@
+package cellsociety.model.simulation.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.simulation.cell.RockPaperScissCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.simulation.rules.RockPaperScissRule;
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
+import cellsociety.model.util.constants.GridTypes.ShapeType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class GhostBorderTest {
+
+  private Grid<RockPaperScissCell> createGrid(int rows, int cols, ShapeType shape,
+      NeighborhoodType neighborhood, EdgeType edge) {
+    RockPaperScissRule rule = new RockPaperScissRule(
+        new GenericParameters(SimType.RockPaperSciss, Map.of("numStates", 100.)));
+    List<RockPaperScissCell> cells = new ArrayList<>();
+    for (int i = 0; i < rows * cols; i++) {
+      cells.add(new RockPaperScissCell(i, rule));
+    }
+    Grid<RockPaperScissCell> grid = new Grid<>();
+    grid.constructGrid(cells, rows, cols, shape, neighborhood, edge);
+    return grid;
+  }
+
+  private byte[] fill(GhostBorder border, int rows, int cols) {
+    byte[] cells = new byte[border.size()];
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        cells[border.index(row, col)] = (byte) (row * cols + col);
+      }
+    }
+    return cells;
+  }
+
+  @Test
+  @DisplayName("Ghost cells hold the same neighbors as the grid's topology")
+  void ghostBorder_ToroidalAndMirror_MatchTopology() {
+    for (EdgeType edge : List.of(EdgeType.TOROIDAL, EdgeType.MIRROR)) {
+      Grid<RockPaperScissCell> grid = createGrid(5, 6, ShapeType.RECTANGLE,
+          NeighborhoodType.EXTENDED_MOORE, edge);
+      GhostBorder border = GhostBorder.create(grid.getTopology()).orElseThrow();
+      byte[] cells = fill(border, 5, 6);
+      border.refresh(cells, (byte) -1);
+
+      int[] offsets = grid.getTopology().getNeighborOffsets();
+      int[] neighbors = grid.getTopology().getNeighborIndices();
+      for (int i = 0; i < 30; i++) {
+        List<Integer> expected = new ArrayList<>();
+        for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+          expected.add(neighbors[k]);
+        }
+        List<Integer> actual = new ArrayList<>();
+        for (int offset : border.getStencil()) {
+          actual.add((int) cells[border.index(i / 6, i % 6) + offset]);
+        }
+        assertEquals(expected.stream().sorted().toList(), actual.stream().sorted().toList());
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Ghost cells of a bounded grid are empty")
+  void ghostBorder_None_FillsEmpty() {
+    Grid<RockPaperScissCell> grid = createGrid(3, 4, ShapeType.RECTANGLE,
+        NeighborhoodType.MOORE, EdgeType.NONE);
+    GhostBorder border = GhostBorder.create(grid.getTopology()).orElseThrow();
+    byte[] cells = fill(border, 3, 4);
+    border.refresh(cells, (byte) -1);
+
+    assertEquals(5 * 6, border.size());
+    assertEquals(-1, cells[border.index(-1, -1)]);
+    assertEquals(-1, cells[border.index(1, 4)]);
+    assertEquals(11, cells[border.index(2, 3)]);
+  }
+
+  @Test
+  @DisplayName("Only rectangular grids at least as large as the border are padded")
+  void ghostBorder_UnsupportedGrids_NotCreated() {
+    assertTrue(GhostBorder.create(createGrid(4, 4, ShapeType.HEXAGON, NeighborhoodType.MOORE,
+        EdgeType.TOROIDAL).getTopology()).isEmpty());
+    assertTrue(GhostBorder.create(createGrid(1, 4, ShapeType.RECTANGLE,
+        NeighborhoodType.EXTENDED_MOORE, EdgeType.NONE).getTopology()).isEmpty());
+  }
+}
@@ -0,0 +1,95 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.CellStates.LARGERTHANLIFE_ALIVE;
+import static cellsociety.model.util.constants.CellStates.LARGERTHANLIFE_DEAD;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.simulation.cell.LargerThanLifeCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.simulation.rules.LargerThanLifeRule;
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
+import cellsociety.model.util.constants.GridTypes.ShapeType;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class LargerThanLifeEngineTest {
+
+  private Grid<LargerThanLifeCell> grid;
+
+  private LargerThanLifeEngine createEngine(Grid<LargerThanLifeCell> target, int rows, int cols,
+      ShapeType shape, NeighborhoodType neighborhood, EdgeType edge, Map<String, Double> params) {
+    LargerThanLifeRule rule = new LargerThanLifeRule(
+        new GenericParameters(SimType.LargerThanLife, params), target);
+
+    Random random = new Random(38);
+    List<LargerThanLifeCell> cells = new ArrayList<>();
+    for (int i = 0; i < rows * cols; i++) {
+      cells.add(new LargerThanLifeCell(
+          random.nextBoolean() ? LARGERTHANLIFE_ALIVE : LARGERTHANLIFE_DEAD, rule));
+    }
+    target.setNeighborViews(rule.getNeighborViews());
+    target.constructGrid(cells, rows, cols, shape, neighborhood, edge);
+    return (LargerThanLifeEngine) EngineFactory.createEngine(SimType.LargerThanLife, rule, target)
+        .orElseThrow();
+  }
+
+  private LargerThanLifeEngine createEngine(int rows, int cols, EdgeType edge,
+      Map<String, Double> params) {
+    grid = new Grid<>();
+    return createEngine(grid, rows, cols, ShapeType.RECTANGLE, NeighborhoodType.MOORE, edge,
+        params);
+  }
+
+  @Test
+  @DisplayName("LargerThanLifeEngine matches the rule on every shape, neighborhood, and edge")
+  void largerThanLifeEngine_EveryTopology_MatchesCellStepping() {
+    EngineParity.<LargerThanLifeCell>assertMatchesOnEveryTopology(
+        (target, shape, neighborhood, edge) -> createEngine(target, 13, 16, shape, neighborhood,
+            edge, Map.of("range", 2.0, "survivalMin", 6.0, "survivalMax", 12.0, "birthMin", 7.0,
+                "birthMax", 10.0)), 4);
+  }
+
+  @Test
+  @DisplayName("Bosco's rule on a torus matches counting each box cell by cell")
+  void largerThanLifeEngine_BoscoToroidal_MatchesCellStepping() {
+    EngineParity.assertMatchesCellStepping(createEngine(30, 34, EdgeType.TOROIDAL, Map.of()), grid,
+        6);
+  }
+
+  @Test
+  @DisplayName("Mirrored and bounded edges match the rule, center excluded")
+  void largerThanLifeEngine_MirrorAndNone_MatchesCellStepping() {
+    Map<String, Double> params = Map.of("range", 3.0, "includeCenter", 0.0, "survivalMin", 12.0,
+        "survivalMax", 26.0, "birthMin", 14.0, "birthMax", 20.0);
+    EngineParity.assertMatchesCellStepping(createEngine(21, 17, EdgeType.MIRROR, params), grid,
+        5);
+    EngineParity.assertMatchesCellStepping(createEngine(21, 17, EdgeType.NONE, params), grid,
+        5);
+  }
+
+  @Test
+  @DisplayName("A range wider than the grid wraps and reflects more than once")
+  void largerThanLifeEngine_RangeWiderThanGrid_MatchesCellStepping() {
+    Map<String, Double> params = Map.of("range", 9.0, "survivalMin", 100.0,
+        "survivalMax", 200.0, "birthMin", 120.0, "birthMax", 180.0);
+    EngineParity.assertMatchesCellStepping(createEngine(6, 8, EdgeType.TOROIDAL, params), grid,
+        4);
+    EngineParity.assertMatchesCellStepping(createEngine(6, 8, EdgeType.MIRROR, params), grid,
+        4);
+  }
+
+  @Test
+  @DisplayName("A range below 1 is rejected")
+  void largerThanLifeEngine_ZeroRange_Throws() {
+    LargerThanLifeEngine engine = createEngine(5, 5, EdgeType.NONE, Map.of("range", 0.0));
+    assertThrows(SimulationException.class, engine::step);
+  }
+}
@@ -0,0 +1,145 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.CellStates.LENIA_MAXSTATE;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.simulation.cell.Cell;
+import cellsociety.model.simulation.cell.LeniaCell;
+import cellsociety.model.simulation.engine.LeniaEngine.Convolution;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.simulation.rules.LeniaRule;
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
+import cellsociety.model.util.constants.GridTypes.ShapeType;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class LeniaEngineTest {
+
+  private Grid<LeniaCell> grid;
+  private LeniaRule rule;
+
+  private LeniaEngine createEngine(int rows, int cols, EdgeType edge, Map<String, Double> params) {
+    grid = new Grid<>();
+    rule = new LeniaRule(new GenericParameters(SimType.Lenia, params), grid);
+
+    Random random = new Random(39);
+    List<LeniaCell> cells = new ArrayList<>();
+    for (int i = 0; i < rows * cols; i++) {
+      cells.add(new LeniaCell(random.nextInt(LENIA_MAXSTATE), rule));
+    }
+    grid.setNeighborViews(rule.getNeighborViews());
+    grid.constructGrid(cells, rows, cols, ShapeType.RECTANGLE, NeighborhoodType.MOORE, edge);
+    return (LeniaEngine) EngineFactory.createEngine(SimType.Lenia, rule, grid).orElseThrow();
+  }
+
+  private double[] values(LeniaEngine engine, int rows, int cols) {
+    double[] values = new double[rows * cols];
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        values[row * cols + col] = engine.getValue(row, col);
+      }
+    }
+    return values;
+  }
+
+  @Test
+  @DisplayName("The kernel is a ring that sums to 1 and is empty at the center")
+  void leniaRule_Kernel_IsNormalized() {
+    createEngine(4, 4, EdgeType.NONE, Map.of("radius", 5.0));
+    double[] kernel = rule.getKernel();
+
+    assertEquals(11 * 11, kernel.length);
+    assertEquals(1.0, Arrays.stream(kernel).sum(), 1e-9);
+    assertEquals(0.0, kernel[5 * 11 + 5]);
+    assertTrue(kernel[5 * 11 + 7] > kernel[5 * 11 + 9]);
+  }
+
+  @Test
+  @DisplayName("FFT and direct convolution step to the same amounts on every edge type")
+  void leniaEngine_FftAndDirect_Agree() {
+    for (EdgeType edge : List.of(EdgeType.TOROIDAL, EdgeType.MIRROR, EdgeType.NONE)) {
+      Map<String, Double> params = Map.of("radius", 6.0, "growthCenter", 0.3,
+          "growthWidth", 0.05);
+      LeniaEngine direct = createEngine(23, 30, edge, params);
+      LeniaEngine fft = createEngine(23, 30, edge, params);
+      direct.setConvolution(Convolution.DIRECT);
+      fft.setConvolution(Convolution.FFT);
+
+      for (int step = 0; step < 5; step++) {
+        direct.step();
+        fft.step();
+        assertArrayEquals(values(direct, 23, 30), values(fft, 23, 30), 1e-5);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("A step matches the rule applied cell by cell within one level")
+  void leniaEngine_Step_MatchesCellStepping() {
+    Map<String, Double> params = Map.of("radius", 4.0, "growthCenter", 0.4,
+        "growthWidth", 0.1, "timeStep", 0.5);
+    for (EdgeType edge : List.of(EdgeType.TOROIDAL, EdgeType.MIRROR, EdgeType.NONE)) {
+      LeniaEngine engine = createEngine(12, 15, edge, params);
+      engine.step();
+      grid.getCells().forEach(Cell::calcNextState);
+      grid.getCells().forEach(Cell::step);
+
+      for (LeniaCell cell : grid.getCells()) {
+        int[] position = cell.getPosition();
+        int level = engine.getState(position[1], position[0]);
+        assertTrue(Math.abs(cell.getCurrentState() - level) <= 1,
+            "level " + level + " vs cell " + cell.getCurrentState());
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Stepping back restores the exact amounts and state lengths")
+  void leniaEngine_StepBack_RestoresExactly() {
+    LeniaEngine engine = createEngine(20, 20, EdgeType.TOROIDAL, Map.of("radius", 3.0));
+    engine.step();
+    double[] before = values(engine, 20, 20);
+    int stateLength = engine.getStateLength(7, 9);
+
+    engine.step();
+    engine.step();
+    assertTrue(engine.stepBack());
+    assertTrue(engine.stepBack());
+
+    assertArrayEquals(before, values(engine, 20, 20), 0.0);
+    assertEquals(stateLength, engine.getStateLength(7, 9));
+    assertTrue(engine.stepBack());
+    assertFalse(engine.stepBack());
+  }
+
+  @Test
+  @DisplayName("An engine created from the cells it wrote continues from the exact amounts")
+  void leniaEngine_RebuiltFromGrid_StepsTheSame() {
+    LeniaEngine engine = createEngine(20, 20, EdgeType.TOROIDAL, Map.of("radius", 3.0));
+    engine.step();
+    engine.step();
+    engine.writeToGrid();
+
+    LeniaEngine rebuilt = new LeniaEngine(rule, grid);
+    assertArrayEquals(values(engine, 20, 20), values(rebuilt, 20, 20), 0.0);
+    engine.step();
+    rebuilt.step();
+    assertArrayEquals(values(engine, 20, 20), values(rebuilt, 20, 20), 0.0);
+  }
+
+  @Test
+  @DisplayName("A radius below 1 is rejected")
+  void leniaEngine_ZeroRadius_Throws() {
+    LeniaEngine engine = createEngine(5, 5, EdgeType.NONE, Map.of("radius", 0.0));
+    assertThrows(SimulationException.class, engine::step);
+  }
+}
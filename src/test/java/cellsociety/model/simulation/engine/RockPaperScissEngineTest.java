@@ -0,0 +1,117 @@
+package cellsociety.model.simulation.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.simulation.cell.RockPaperScissCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.simulation.rules.RockPaperScissRule;
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
+import cellsociety.model.util.constants.GridTypes.ShapeType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class RockPaperScissEngineTest {
+
+  private Grid<RockPaperScissCell> grid;
+
+  private RockPaperScissEngine createEngine(Grid<RockPaperScissCell> target, int rows, int cols,
+      int numStates, double percentageToWin, ShapeType shape, NeighborhoodType neighborhood,
+      EdgeType edge) {
+    RockPaperScissRule rule = new RockPaperScissRule(new GenericParameters(SimType.RockPaperSciss,
+        Map.of("numStates", (double) numStates, "percentageToWin", percentageToWin)));
+
+    Random random = new Random(29);
+    List<RockPaperScissCell> cells = new ArrayList<>();
+    for (int i = 0; i < rows * cols; i++) {
+      cells.add(new RockPaperScissCell(random.nextInt(numStates), rule));
+    }
+    target.constructGrid(cells, rows, cols, shape, neighborhood, edge);
+    return new RockPaperScissEngine(rule, target);
+  }
+
+  private RockPaperScissEngine createEngine(int rows, int cols, int numStates,
+      double percentageToWin, ShapeType shape, NeighborhoodType neighborhood, EdgeType edge) {
+    grid = new Grid<>();
+    return createEngine(grid, rows, cols, numStates, percentageToWin, shape, neighborhood, edge);
+  }
+
+  @Test
+  @DisplayName("RockPaperScissEngine matches the rule on every shape, neighborhood, and edge")
+  void rpsEngine_EveryTopology_MatchesCellStepping() {
+    EngineParity.<RockPaperScissCell>assertMatchesOnEveryTopology(
+        (target, shape, neighborhood, edge) -> createEngine(target, 15, 22, 4, 0.3, shape,
+            neighborhood, edge), 8);
+  }
+
+  @Test
+  @DisplayName("RockPaperScissEngine matches the rule on a bounded Moore grid")
+  void rpsEngine_MooreNoEdges_MatchesCellStepping() {
+    EngineParity.assertMatchesCellStepping(createEngine(17, 45, 9, 0.3, ShapeType.RECTANGLE,
+        NeighborhoodType.MOORE, EdgeType.NONE), grid, 10);
+  }
+
+  @Test
+  @DisplayName("RockPaperScissEngine matches the rule on a toroidal Von Neumann grid")
+  void rpsEngine_VonNeumannToroidal_MatchesCellStepping() {
+    EngineParity.assertMatchesCellStepping(createEngine(20, 70, 3, 0.5, ShapeType.RECTANGLE,
+        NeighborhoodType.VON_NEUMANN, EdgeType.TOROIDAL), grid, 10);
+  }
+
+  @Test
+  @DisplayName("RockPaperScissEngine matches the rule on a hexagonal grid with mirrored edges")
+  void rpsEngine_HexagonMirror_MatchesCellStepping() {
+    EngineParity.assertMatchesCellStepping(createEngine(12, 33, 5, 0.25, ShapeType.HEXAGON,
+        NeighborhoodType.MOORE, EdgeType.MIRROR), grid, 10);
+  }
+
+  @Test
+  @DisplayName("RockPaperScissEngine matches the rule on a mirrored extended Moore grid")
+  void rpsEngine_ExtendedMooreMirror_MatchesCellStepping() {
+    EngineParity.assertMatchesCellStepping(createEngine(14, 23, 4, 0.2, ShapeType.RECTANGLE,
+        NeighborhoodType.EXTENDED_MOORE, EdgeType.MIRROR), grid, 10);
+  }
+
+  @Test
+  @DisplayName("RockPaperScissEngine matches the rule on a grid no wider than its border")
+  void rpsEngine_NarrowToroidal_MatchesCellStepping() {
+    EngineParity.assertMatchesCellStepping(createEngine(9, 2, 3, 0.2, ShapeType.RECTANGLE,
+        NeighborhoodType.EXTENDED_MOORE, EdgeType.TOROIDAL), grid, 10);
+  }
+
+  @Test
+  @DisplayName("Minimum winners uses the same ratio check as the rule")
+  void rpsEngine_MinimumWinners_MatchesRatioCheck() {
+    assertEquals(4, RockPaperScissEngine.minimumWinners(8, 0.5));
+    assertEquals(3, RockPaperScissEngine.minimumWinners(8, 0.3));
+    assertEquals(0, RockPaperScissEngine.minimumWinners(8, 0));
+    assertEquals(9, RockPaperScissEngine.minimumWinners(8, 1.5));
+  }
+
+  @Test
+  @DisplayName("The loaded kernel gives the same result as the scalar kernel")
+  void rpsEngine_LoadedKernel_MatchesScalarKernel() {
+    Random random = new Random(8);
+    int cols = 257;
+    byte[] current = new byte[cols * 3];
+    for (int i = 0; i < current.length; i++) {
+      current[i] = (byte) random.nextInt(8);
+    }
+    int[] offsets = {-cols - 1, -cols, -cols + 1, -1, 1, cols - 1, cols, cols + 1};
+
+    byte[] expected = new byte[current.length];
+    byte[] actual = new byte[current.length];
+    new ScalarRockPaperScissKernel().stepRun(current, expected, cols + 1, 2 * cols - 1, offsets,
+        3, 8);
+    RockPaperScissEngine.loadKernel().stepRun(current, actual, cols + 1, 2 * cols - 1, offsets,
+        3, 8);
+
+    assertArrayEquals(expected, actual);
+  }
+}
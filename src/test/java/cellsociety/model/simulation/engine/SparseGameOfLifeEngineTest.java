@@ -0,0 +1,160 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_ALIVE;
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_DEAD;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.simulation.cell.GameOfLifeCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.simulation.rules.GameOfLifeRule;
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
+import cellsociety.model.util.constants.GridTypes.ShapeType;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SparseGameOfLifeEngineTest {
+
+  private Grid<GameOfLifeCell> grid;
+  private GameOfLifeRule rule;
+
+  private List<GameOfLifeCell> createCells(int rows, int cols, Set<Integer> alive) {
+    rule = new GameOfLifeRule(new GenericParameters(SimType.GameOfLife, Map.of()));
+    List<GameOfLifeCell> cells = new ArrayList<>();
+    for (int i = 0; i < rows * cols; i++) {
+      cells.add(new GameOfLifeCell(alive.contains(i) ? GAMEOFLIFE_ALIVE : GAMEOFLIFE_DEAD, rule));
+    }
+    return cells;
+  }
+
+  private SparseGameOfLifeEngine createGliderEngine() {
+    // a glider heading south east on a 5x5 canvas
+    List<GameOfLifeCell> cells = createCells(5, 5, Set.of(1, 7, 10, 11, 12));
+    grid = new Grid<>();
+    grid.constructGrid(cells, 5, 5, ShapeType.RECTANGLE, NeighborhoodType.MOORE,
+        EdgeType.UNBOUNDED);
+    return (SparseGameOfLifeEngine) EngineFactory.createEngine(SimType.GameOfLife, rule, grid)
+        .orElseThrow();
+  }
+
+  @Test
+  @DisplayName("A glider keeps flying past the canvas without growing memory")
+  void sparseEngine_Glider_LeavesCanvas() {
+    SparseGameOfLifeEngine engine = createGliderEngine();
+    assertTrue(engine.isUnbounded());
+
+    for (int step = 0; step < 400; step++) {
+      engine.step();
+    }
+
+    // a glider moves one cell diagonally every 4 steps
+    assertEquals(5, engine.getPopulation());
+    assertArrayEquals(new int[]{100, 100, 102, 102}, engine.getBoundingBox().orElseThrow());
+    assertEquals(GAMEOFLIFE_ALIVE, engine.getState(102, 101));
+    assertEquals(GAMEOFLIFE_DEAD, engine.getState(-1000, 1000));
+    assertTrue(engine.getTileCount() <= 4);
+  }
+
+  @Test
+  @DisplayName("Stepping back returns the glider to where it was")
+  void sparseEngine_StepBack_RestoresStatesAndLengths() {
+    SparseGameOfLifeEngine engine = createGliderEngine();
+    for (int step = 0; step < 20; step++) {
+      engine.step();
+    }
+    int[] box = engine.getBoundingBox().orElseThrow();
+    int length = engine.getStateLength(box[0], box[1] + 1);
+
+    engine.step();
+    engine.step();
+    assertTrue(engine.stepBack());
+    assertTrue(engine.stepBack());
+
+    assertArrayEquals(box, engine.getBoundingBox().orElseThrow());
+    assertEquals(length, engine.getStateLength(box[0], box[1] + 1));
+  }
+
+  @Test
+  @DisplayName("Inside a canvas the glider never touches, the sparse engine matches the rule")
+  void sparseEngine_RandomSoup_MatchesCellStepping() {
+    Random random = new Random(36);
+    List<Integer> alive = new ArrayList<>();
+    for (int row = 8; row < 22; row++) {
+      for (int col = 8; col < 22; col++) {
+        if (random.nextInt(3) == 0) {
+          alive.add(row * 30 + col);
+        }
+      }
+    }
+    List<GameOfLifeCell> cells = createCells(30, 30, Set.copyOf(alive));
+    grid = new Grid<>();
+    grid.constructGrid(cells, 30, 30, ShapeType.RECTANGLE, NeighborhoodType.MOORE,
+        EdgeType.UNBOUNDED);
+    SparseGameOfLifeEngine engine = new SparseGameOfLifeEngine(rule, grid);
+
+    EngineParity.assertMatchesCellStepping(engine, grid, 4);
+  }
+
+  @Test
+  @DisplayName("Hexagons and triangles in an empty region of the plane match the rule")
+  void sparseEngine_AlternatingShapesSoup_MatchesCellStepping() {
+    for (ShapeType shape : List.of(ShapeType.HEXAGON, ShapeType.TRIANGLE)) {
+      Random random = new Random(36);
+      List<Integer> alive = new ArrayList<>();
+      for (int row = 11; row < 19; row++) {
+        for (int col = 11; col < 19; col++) {
+          if (random.nextInt(3) == 0) {
+            alive.add(row * 30 + col);
+          }
+        }
+      }
+      List<GameOfLifeCell> cells = createCells(30, 30, Set.copyOf(alive));
+      grid = new Grid<>();
+      grid.constructGrid(cells, 30, 30, shape, NeighborhoodType.MOORE, EdgeType.UNBOUNDED);
+      EngineParity.assertMatchesCellStepping(new SparseGameOfLifeEngine(rule, grid), grid, 4);
+    }
+  }
+
+  @Test
+  @DisplayName("Mirrored and wrapped hexagons and triangles, where some neighbors are one-way, "
+      + "match the rule")
+  void sparseEngine_OneWayNeighbors_MatchesCellStepping() {
+    for (ShapeType shape : List.of(ShapeType.HEXAGON, ShapeType.TRIANGLE)) {
+      for (NeighborhoodType neighborhood : NeighborhoodType.values()) {
+        for (EdgeType edge : List.of(EdgeType.MIRROR, EdgeType.TOROIDAL)) {
+          Random random = new Random(37);
+          Set<Integer> alive = new HashSet<>();
+          for (int i = 0; i < 23 * 34; i++) {
+            if (random.nextInt(4) == 0) {
+              alive.add(i);
+            }
+          }
+          List<GameOfLifeCell> cells = createCells(23, 34, alive);
+          grid = new Grid<>();
+          grid.constructGrid(cells, 23, 34, shape, neighborhood, edge);
+          EngineParity.assertMatchesCellStepping(new SparseGameOfLifeEngine(rule, grid), grid, 6);
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Bounded grids still step through the regular engine while they are dense")
+  void engineFactory_BoundedGrid_CreatesDenseEngine() {
+    List<GameOfLifeCell> cells = createCells(5, 5, Set.of(6, 7, 8));
+    grid = new Grid<>();
+    grid.constructGrid(cells, 5, 5, ShapeType.RECTANGLE, NeighborhoodType.MOORE, EdgeType.NONE);
+    SimulationEngine engine = EngineFactory.createEngine(SimType.GameOfLife, rule, grid)
+        .orElseThrow();
+    assertFalse(engine.isUnbounded());
+    assertInstanceOf(GameOfLifeEngine.class, engine.getActiveEngine());
+  }
+}
@@ -0,0 +1,219 @@
+package cellsociety.model.simulation.engine;
+
+import static cellsociety.model.util.constants.CellStates.WATOR_EMPTY;
+import static cellsociety.model.util.constants.CellStates.WATOR_FISH;
+import static cellsociety.model.util.constants.CellStates.WATOR_SHARK;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.simulation.Simulation;
+import cellsociety.model.simulation.cell.WaTorCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.simulation.rules.WaTorRule;
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.XmlData;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
+import cellsociety.model.util.constants.GridTypes.ShapeType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class WaTorEngineTest {
+
+  private Grid<WaTorCell> grid;
+
+  private WaTorEngine createEngine(List<Integer> states, int rows, int cols,
+      Map<String, Double> parameters) {
+    WaTorRule rule = new WaTorRule(new GenericParameters(SimType.WaTor, parameters));
+
+    List<WaTorCell> cells = new ArrayList<>();
+    for (int state : states) {
+      cells.add(new WaTorCell(state, rule));
+    }
+    grid = new Grid<>();
+    grid.constructGrid(cells, rows, cols, ShapeType.RECTANGLE, NeighborhoodType.MOORE,
+        EdgeType.TOROIDAL);
+
+    WaTorEngine engine = new WaTorEngine(rule, grid);
+    engine.setRandom(new Random(28));
+    return engine;
+  }
+
+  private int[] snapshot(WaTorEngine engine) {
+    engine.writeToGrid();
+    return grid.getCells().stream().flatMapToInt(cell -> IntStream.of(cell.getCurrentState(),
+        cell.getStateLength(), cell.getStepsSurvived(), cell.getEnergy())).toArray();
+  }
+
+  private int countState(WaTorEngine engine, int state) {
+    int count = 0;
+    for (int row = 0; row < grid.getRows(); row++) {
+      for (int col = 0; col < grid.getCols(); col++) {
+        count += engine.getState(row, col) == state ? 1 : 0;
+      }
+    }
+    return count;
+  }
+
+  @Test
+  @DisplayName("A lone fish moves every step and reproduces after fishReproductionTime steps")
+  void waTorEngine_LoneFish_MovesAndReproduces() {
+    WaTorEngine engine = createEngine(
+        List.of(WATOR_EMPTY, WATOR_EMPTY, WATOR_EMPTY,
+            WATOR_EMPTY, WATOR_FISH, WATOR_EMPTY,
+            WATOR_EMPTY, WATOR_EMPTY, WATOR_EMPTY), 3, 3,
+        Map.of("fishReproductionTime", 3.0));
+
+    engine.step();
+    assertEquals(WATOR_EMPTY, engine.getState(1, 1));
+    assertEquals(1, countState(engine, WATOR_FISH));
+
+    engine.step();
+    engine.step();
+    assertEquals(2, engine.getAgentCount());
+    assertEquals(2, countState(engine, WATOR_FISH));
+  }
+
+  @Test
+  @DisplayName("A shark with no fish to eat starves when its energy runs out")
+  void waTorEngine_SharkWithoutFish_Starves() {
+    WaTorEngine engine = createEngine(
+        List.of(WATOR_EMPTY, WATOR_SHARK, WATOR_EMPTY, WATOR_EMPTY), 2, 2,
+        Map.of("sharkInitialEnergy", 2.0, "sharkReproductionTime", 10.0));
+
+    engine.step();
+    assertEquals(1, countState(engine, WATOR_SHARK));
+
+    engine.step();
+    assertEquals(0, countState(engine, WATOR_SHARK));
+    assertEquals(0, engine.getAgentCount());
+  }
+
+  @Test
+  @DisplayName("A shark next to a fish eats it and gains energy")
+  void waTorEngine_SharkNextToFish_EatsFish() {
+    WaTorEngine engine = createEngine(List.of(WATOR_SHARK, WATOR_FISH), 1, 2,
+        Map.of("sharkInitialEnergy", 5.0, "sharkEnergyGain", 3.0, "sharkReproductionTime", 10.0,
+            "fishReproductionTime", 10.0));
+
+    engine.step();
+    engine.writeToGrid();
+
+    assertEquals(1, engine.getAgentCount());
+    assertEquals(WATOR_EMPTY, engine.getState(0, 0));
+    assertEquals(WATOR_SHARK, engine.getState(0, 1));
+    assertEquals(7, grid.getCell(0, 1).getEnergy());
+    assertEquals(1, grid.getCell(0, 1).getStepsSurvived());
+  }
+
+  @Test
+  @DisplayName("Agents always match the non empty cells and stepping back restores the ocean")
+  void waTorEngine_RandomOcean_AgentsMatchCellsAndStepBack() {
+    Random random = new Random(5);
+    List<Integer> states = new ArrayList<>();
+    for (int i = 0; i < 20 * 20; i++) {
+      double roll = random.nextDouble();
+      states.add(roll < 0.2 ? WATOR_FISH : roll < 0.25 ? WATOR_SHARK : WATOR_EMPTY);
+    }
+    WaTorEngine engine = createEngine(states, 20, 20, Map.of());
+
+    for (int step = 0; step < 20; step++) {
+      engine.step();
+      assertEquals(engine.getAgentCount(),
+          countState(engine, WATOR_FISH) + countState(engine, WATOR_SHARK));
+    }
+
+    int[] before = new int[400];
+    for (int i = 0; i < 400; i++) {
+      before[i] = engine.getState(i / 20, i % 20);
+    }
+    engine.step();
+    assertTrue(engine.stepBack());
+    for (int i = 0; i < 400; i++) {
+      assertEquals(before[i], engine.getState(i / 20, i % 20));
+    }
+    assertEquals(engine.getAgentCount(),
+        countState(engine, WATOR_FISH) + countState(engine, WATOR_SHARK));
+  }
+
+  @Test
+  @DisplayName("Stepping back restores every animal's energy and steps, so replaying matches")
+  void waTorEngine_StepBackAndReplay_MatchesUninterruptedRun() {
+    Random random = new Random(6);
+    List<Integer> states = new ArrayList<>();
+    for (int i = 0; i < 16 * 16; i++) {
+      double roll = random.nextDouble();
+      states.add(roll < 0.3 ? WATOR_FISH : roll < 0.4 ? WATOR_SHARK : WATOR_EMPTY);
+    }
+    WaTorEngine engine = createEngine(states, 16, 16, Map.of("sharkInitialEnergy", 4.0,
+        "sharkEnergyGain", 2.0, "sharkReproductionTime", 6.0, "fishReproductionTime", 3.0));
+    for (int step = 0; step < 10; step++) {
+      engine.step();
+    }
+
+    List<int[]> snapshots = new ArrayList<>();
+    snapshots.add(snapshot(engine));
+    engine.setRandom(new Random(12));
+    for (int step = 0; step < 8; step++) {
+      engine.step();
+      snapshots.add(snapshot(engine));
+    }
+
+    for (int step = 7; step >= 0; step--) {
+      assertTrue(engine.stepBack());
+      assertArrayEquals(snapshots.get(step), snapshot(engine), "back to " + step);
+    }
+    engine.setRandom(new Random(12));
+    for (int step = 1; step <= 8; step++) {
+      engine.step();
+      assertArrayEquals(snapshots.get(step), snapshot(engine), "replayed step " + step);
+    }
+  }
+
+  @Test
+  @DisplayName("The changes listed after each step record the same ocean as writing to the grid")
+  void waTorEngine_LastStepChanges_MatchWrittenGrid() {
+    Random random = new Random(7);
+    List<Integer> states = new ArrayList<>();
+    for (int i = 0; i < 16 * 16; i++) {
+      double roll = random.nextDouble();
+      states.add(roll < 0.3 ? WATOR_FISH : roll < 0.4 ? WATOR_SHARK : WATOR_EMPTY);
+    }
+    WaTorEngine engine = createEngine(states, 16, 16, Map.of("sharkInitialEnergy", 4.0,
+        "sharkEnergyGain", 2.0, "sharkReproductionTime", 6.0, "fishReproductionTime", 3.0));
+
+    EngineParity.assertChangesMatchGrid(engine, grid, 30);
+  }
+
+  @Test
+  @DisplayName("Pausing and resuming playback shows the same generations as an uninterrupted run")
+  void waTorEngine_PlaybackPausedAndResumed_MatchesUninterruptedRun()
+      throws InterruptedException {
+    Random random = new Random(48);
+    List<Integer> states = new ArrayList<>();
+    for (int i = 0; i < 12 * 12; i++) {
+      double roll = random.nextDouble();
+      states.add(roll < 0.3 ? WATOR_FISH : roll < 0.4 ? WATOR_SHARK : WATOR_EMPTY);
+    }
+
+    EngineParity.assertPlaybackResumesExactly(() -> {
+      XmlData data = new XmlData();
+      data.setType(SimType.WaTor);
+      data.setGridRowNum(12);
+      data.setGridColNum(12);
+      data.setParameters(new HashMap<>(Map.of("sharkInitialEnergy", 4.0,
+          "sharkEnergyGain", 2.0, "sharkReproductionTime", 6.0, "fishReproductionTime", 3.0)));
+      data.setCellStateList(states);
+      Simulation<?> simulation = new Simulation<>(data);
+      simulation.setEngineEnabled(true);
+      simulation.getEngine(WaTorEngine.class).orElseThrow().setRandom(new Random(12));
+      return simulation;
+    }, 30, 4);
+  }
+}
@@ -15,9 +15,13 @@ import cellsociety.model.simulation.rules.LangtonRule;
 import cellsociety.model.simulation.rules.RockPaperScissRule;
 import cellsociety.model.util.constants.GridTypes.DirectionType;
 import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborViewType;
 import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
 import cellsociety.model.util.constants.GridTypes.ShapeType;
+import cellsociety.model.util.constants.GridTypes.StateLayoutType;
 import cellsociety.model.util.exceptions.SimulationException;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -201,6 +205,102 @@ public class GridTest {
       assertThrows(SimulationException.class, () -> grid.getCell(3, 0));
     }
 
+    @Test
+    @DisplayName("Topology steps to the closest neighbor in a direction and stops at bounded edges")
+    void getTopology_DirectionalSteps_StepOneCellOrStopAtEdge() {
+      int[] east = grid.getTopology().getDirectionalSteps(DirectionType.E);
+      assertEquals(1, east[0]);
+      assertEquals(GridTopology.NO_CELL, east[2]);
+
+      grid.setNeighborsAllCells(ShapeType.RECTANGLE, NeighborhoodType.EXTENDED_MOORE,
+          EdgeType.NONE);
+      east = grid.getTopology().getDirectionalSteps(DirectionType.E);
+      assertEquals(1, east[0]);
+
+      grid.setNeighborsAllCells(ShapeType.RECTANGLE, NeighborhoodType.MOORE, EdgeType.TOROIDAL);
+      east = grid.getTopology().getDirectionalSteps(DirectionType.E);
+      assertEquals(0, east[2]);
+      assertEquals(8, grid.getTopology().getDirectionalSteps(DirectionType.NW)[0]);
+    }
+
+    @Test
+    @DisplayName("Grid only builds the neighbor views it is asked for")
+    void setNeighborViews_FlatOnly_SkipsDirectionalNeighbors() {
+      LangtonRule rule = new LangtonRule(new GenericParameters(Langton));
+      List<LangtonCell> freshCells = new ArrayList<>();
+      for (int i = 0; i < 9; i++) {
+        freshCells.add(new LangtonCell(0, rule));
+      }
+      Grid<LangtonCell> flatGrid = new Grid<>();
+      flatGrid.setNeighborViews(EnumSet.of(NeighborViewType.FLAT));
+      flatGrid.constructGrid(freshCells, 3, 3, ShapeType.RECTANGLE, NeighborhoodType.MOORE,
+          EdgeType.NONE);
+
+      assertEquals(8, flatGrid.getNeighbors(1, 1).size());
+      assertTrue(flatGrid.getCell(1, 1).getDirectionalNeighbors(DirectionType.N).isEmpty());
+
+      Grid<LangtonCell> bareGrid = new Grid<>();
+      bareGrid.setNeighborViews(EnumSet.noneOf(NeighborViewType.class));
+      bareGrid.constructGrid(freshCells, 3, 3, ShapeType.RECTANGLE, NeighborhoodType.MOORE,
+          EdgeType.NONE);
+
+      // the topology comes from the geometry, not the cells
+      assertEquals(1, bareGrid.getTopology().getDirectionalSteps(DirectionType.E)[0]);
+      assertEquals(8, bareGrid.getTopology().getNeighborCount(4));
+      assertThrows(SimulationException.class, () -> bareGrid.setNeighborViews(null));
+    }
+
+    @Test
+    @DisplayName("Tiled state layouts give every position its own index inside its tile")
+    void setStateLayout_Morton_IndicesRoundTripWithinTiles() {
+      LangtonRule rule = new LangtonRule(new GenericParameters(Langton));
+      List<LangtonCell> freshCells = new ArrayList<>();
+      for (int i = 0; i < 40 * 70; i++) {
+        freshCells.add(new LangtonCell(0, rule));
+      }
+      Grid<LangtonCell> tiledGrid = new Grid<>();
+      tiledGrid.setStateLayout(StateLayoutType.MORTON);
+      tiledGrid.constructGrid(freshCells, 40, 70, ShapeType.RECTANGLE, NeighborhoodType.MOORE,
+          EdgeType.NONE);
+      GridTopology topology = tiledGrid.getTopology();
+
+      // 2 rows by 3 cols of tiles, the last ones cut short
+      int[] tiles = topology.getTileOffsets();
+      assertEquals(7, tiles.length);
+      assertEquals(32 * 32, tiles[1]);
+      assertEquals(40 * 70, tiles[6]);
+
+      // Z-order inside the first tile
+      assertEquals(0, topology.index(0, 0));
+      assertEquals(1, topology.index(0, 1));
+      assertEquals(2, topology.index(1, 0));
+      assertEquals(3, topology.index(1, 1));
+
+      boolean[] seen = new boolean[40 * 70];
+      for (int row = 0; row < 40; row++) {
+        for (int col = 0; col < 70; col++) {
+          int index = topology.index(row, col);
+          assertFalse(seen[index]);
+          seen[index] = true;
+          assertEquals(row, topology.getRow(index));
+          assertEquals(col, topology.getCol(index));
+        }
+      }
+
+      // neighbors are stored by index too, across tile borders
+      int middle = topology.index(31, 32);
+      int[] neighbors = topology.getNeighborIndices();
+      List<Integer> found = new ArrayList<>();
+      for (int k = topology.getNeighborOffsets()[middle];
+          k < topology.getNeighborOffsets()[middle + 1]; k++) {
+        found.add(neighbors[k]);
+      }
+      assertEquals(8, found.size());
+      assertTrue(found.contains(topology.index(32, 31)));
+      assertTrue(found.contains(topology.index(30, 33)));
+      assertThrows(SimulationException.class, () -> tiledGrid.setStateLayout(null));
+    }
+
   }
 
   @Nested
@@ -0,0 +1,69 @@
+package cellsociety.model.simulation.grid;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SparseTileGridTest {
+
+  @Test
+  @DisplayName("Any position can be set and read, including negative ones")
+  void sparseTileGrid_SetAndGet_AnyPosition() {
+    SparseTileGrid plane = new SparseTileGrid(0);
+    plane.set(-500, 12000, 3, 7);
+    plane.set(0, 0, 1, 2);
+
+    assertEquals(3, plane.get(-500, 12000));
+    assertEquals(7, plane.getStamp(-500, 12000));
+    assertEquals(1, plane.get(0, 0));
+    assertEquals(0, plane.get(-1, -1));
+    assertEquals(0, plane.get(Integer.MAX_VALUE, Integer.MIN_VALUE));
+    assertEquals(2, plane.size());
+    assertEquals(2, plane.getTileCount());
+  }
+
+  @Test
+  @DisplayName("Tiles are freed once every position in them is back to the background")
+  void sparseTileGrid_ClearPositions_FreesTiles() {
+    SparseTileGrid plane = new SparseTileGrid(-1);
+    plane.set(5, 5, 2, 0);
+    plane.set(6, 5, 2, 0);
+    plane.set(40, 40, 2, 0);
+    assertEquals(2, plane.getTileCount());
+
+    plane.set(5, 5, -1, 4);
+    assertEquals(2, plane.getTileCount());
+    assertEquals(4, plane.getStamp(5, 5));
+
+    plane.set(6, 5, -1, 4);
+    assertEquals(1, plane.getTileCount());
+    assertEquals(0, plane.getStamp(5, 5));
+    assertEquals(-1, plane.get(6, 5));
+
+    // setting the background where there is no tile does not allocate one
+    plane.set(100, 100, -1, 9);
+    assertEquals(1, plane.getTileCount());
+    assertEquals(1, plane.size());
+  }
+
+  @Test
+  @DisplayName("Bounding box and visiting only cover positions that are set")
+  void sparseTileGrid_BoundingBoxAndForEach_CoverSetPositions() {
+    SparseTileGrid plane = new SparseTileGrid(0);
+    assertTrue(plane.getBoundingBox().isEmpty());
+
+    plane.set(-33, 4, 1, 0);
+    plane.set(10, -70, 1, 0);
+    plane.add(10, -70, 1);
+    plane.set(64, 2, 1, 0);
+
+    assertArrayEquals(new int[]{-33, -70, 64, 4}, plane.getBoundingBox().orElseThrow());
+
+    List<String> visited = new ArrayList<>();
+    plane.forEach((row, col, value) -> visited.add(row + "," + col + "=" + value));
+    assertEquals(List.of("-33,4=1", "10,-70=2", "64,2=1"), visited.stream().sorted().toList());
+  }
+}
@@ -0,0 +1,350 @@
+package cellsociety.model.simulation.history;
+
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_ALIVE;
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_DEAD;
+import static cellsociety.model.util.constants.CellStates.WATOR_MAXSTATE;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.simulation.cell.Cell;
+import cellsociety.model.simulation.cell.GameOfLifeCell;
+import cellsociety.model.simulation.cell.WaTorCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.simulation.rules.GameOfLifeRule;
+import cellsociety.model.simulation.rules.WaTorRule;
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
+import cellsociety.model.util.constants.GridTypes.ShapeType;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class GenerationHistoryTest {
+
+  private static final int SIZE = 16;
+
+  private Grid<GameOfLifeCell> grid;
+  private GenerationHistory history;
+
+  @BeforeEach
+  void setUp() {
+    Random random = new Random(40);
+    int[] states = new int[SIZE * SIZE];
+    for (int i = 0; i < states.length; i++) {
+      states[i] = random.nextInt(3) == 0 ? GAMEOFLIFE_ALIVE : GAMEOFLIFE_DEAD;
+    }
+    setCells(states);
+  }
+
+  private void setCells(int[] states) {
+    GameOfLifeRule rule = new GameOfLifeRule(new GenericParameters(SimType.GameOfLife,
+        Map.of()));
+    List<GameOfLifeCell> cells = new ArrayList<>();
+    for (int state : states) {
+      cells.add(new GameOfLifeCell(state, rule));
+    }
+    grid = new Grid<>();
+    grid.constructGrid(cells, SIZE, SIZE, ShapeType.RECTANGLE, NeighborhoodType.MOORE,
+        EdgeType.TOROIDAL);
+    history = new GenerationHistory(grid.getCells(), 0);
+  }
+
+  private static int[] pattern(int... aliveIndexes) {
+    int[] states = new int[SIZE * SIZE];
+    for (int index : aliveIndexes) {
+      states[index] = GAMEOFLIFE_ALIVE;
+    }
+    return states;
+  }
+
+  private void step(int maxHistorySize) {
+    grid.getCells().forEach(Cell::calcNextState);
+    grid.getCells().forEach(Cell::step);
+    history.recordStep(maxHistorySize);
+  }
+
+  private int[] snapshot() {
+    List<GameOfLifeCell> cells = grid.getCells();
+    int[] snapshot = new int[cells.size() * 2];
+    for (int i = 0; i < cells.size(); i++) {
+      snapshot[2 * i] = cells.get(i).getCurrentState();
+      snapshot[2 * i + 1] = cells.get(i).getStateLength();
+    }
+    return snapshot;
+  }
+
+  private static int[] waTorSnapshot(Grid<WaTorCell> waTorGrid) {
+    return waTorGrid.getCells().stream().flatMapToInt(cell -> IntStream.of(cell.getCurrentState(),
+        cell.getEnergy(), cell.getStepsSurvived())).toArray();
+  }
+
+  @Test
+  @DisplayName("Stepping back replays every recorded step in reverse, states and lengths")
+  void stepBack_ManySteps_RestoresEveryStep() {
+    List<int[]> snapshots = new ArrayList<>();
+    for (int step = 0; step < 40; step++) {
+      snapshots.add(snapshot());
+      step(1000);
+    }
+
+    for (int step = 39; step >= 0; step--) {
+      assertTrue(history.stepBack());
+      assertArrayEquals(snapshots.get(step), snapshot(), "step " + step);
+    }
+    assertFalse(history.stepBack());
+  }
+
+  @Test
+  @DisplayName("Seeking jumps to any recorded generation and back again without stepping")
+  void seek_AcrossKeyframes_RestoresEachGeneration() {
+    List<int[]> snapshots = new ArrayList<>();
+    for (int step = 0; step < 100; step++) {
+      snapshots.add(snapshot());
+      step(1000);
+    }
+    snapshots.add(snapshot());
+
+    for (int target : new int[]{37, 3, 100, 64, 65, 0, 99, 50}) {
+      assertTrue(history.seek(target));
+      assertEquals(target, history.getGeneration());
+      assertArrayEquals(snapshots.get(target), snapshot(), "generation " + target);
+    }
+    assertFalse(history.seek(101));
+    assertFalse(history.seek(-1));
+    assertEquals(100, history.getLastGeneration());
+  }
+
+  @Test
+  @DisplayName("Recording from an earlier generation drops the generations after it")
+  void recordStep_AfterSeekBack_DropsFuture() {
+    for (int step = 0; step < 20; step++) {
+      step(1000);
+    }
+    history.seek(5);
+    step(1000);
+
+    assertEquals(6, history.getLastGeneration());
+    assertFalse(history.seek(7));
+  }
+
+  @Test
+  @DisplayName("A small memory budget spreads keyframes out and drops the oldest steps")
+  void recordStep_SmallMemoryBudget_AdaptsKeyframeInterval() {
+    // a keyframe of this grid takes a little over 2 KB
+    history.setMemoryBudget(5_000);
+    List<int[]> snapshots = new ArrayList<>();
+    for (int step = 0; step < 200; step++) {
+      snapshots.add(snapshot());
+      step(1000);
+    }
+    snapshots.add(snapshot());
+
+    assertTrue(history.getKeyframeInterval() > 16);
+    assertTrue(history.getFirstGeneration() > 0);
+    int first = history.getFirstGeneration();
+    assertTrue(history.seek(first));
+    assertArrayEquals(snapshots.get(first), snapshot());
+    assertThrows(SimulationException.class, () -> history.setMemoryBudget(0));
+  }
+
+  @Test
+  @DisplayName("Only the newest maxHistorySize steps are kept")
+  void recordStep_OverMaxHistory_DropsOldest() {
+    for (int step = 0; step < 5; step++) {
+      step(3);
+    }
+    assertEquals(3, history.size());
+    assertThrows(SimulationException.class, () -> history.recordStep(0));
+  }
+
+  @Test
+  @DisplayName("Stepping back stops at the oldest of the maxHistorySize steps kept")
+  void stepBack_OverMaxHistory_StopsAtOldestKept() {
+    List<int[]> snapshots = new ArrayList<>();
+    for (int step = 0; step < 3; step++) {
+      snapshots.add(snapshot());
+      step(2);
+    }
+
+    assertTrue(history.stepBack());
+    assertArrayEquals(snapshots.get(2), snapshot());
+    assertTrue(history.stepBack());
+    assertArrayEquals(snapshots.get(1), snapshot());
+    assertFalse(history.stepBack());
+    assertArrayEquals(snapshots.get(1), snapshot());
+  }
+
+  @Test
+  @DisplayName("Stepping forward again after stepping back records from the restored grid")
+  void recordStep_AfterStepBack_RestoresAgain() {
+    step(10);
+    int[] before = snapshot();
+    step(10);
+    step(10);
+    history.stepBack();
+    history.stepBack();
+    step(10);
+    assertTrue(history.stepBack());
+    assertArrayEquals(before, snapshot());
+  }
+
+  @Test
+  @DisplayName("Restarting drops the history and takes the cells as they are now")
+  void restart_ChangedCells_StartsOver() {
+    step(10);
+    grid.getCells().getFirst().restoreState(GAMEOFLIFE_ALIVE, 7);
+    history.restart(1);
+    assertEquals(0, history.size());
+
+    int[] before = snapshot();
+    step(10);
+    history.stepBack();
+    assertArrayEquals(before, snapshot());
+  }
+
+  @Test
+  @DisplayName("A fork restores the same generations into other cells and records on its own")
+  void fork_OtherGrid_SharesRecordedGenerations() {
+    List<int[]> snapshots = new ArrayList<>();
+    for (int step = 0; step < 20; step++) {
+      snapshots.add(snapshot());
+      step(1000);
+    }
+    snapshots.add(snapshot());
+    Grid<GameOfLifeCell> parentGrid = grid;
+    GenerationHistory parent = history;
+
+    setCells(new int[SIZE * SIZE]);
+    history = parent.fork(grid.getCells());
+    assertArrayEquals(snapshots.get(20), snapshot());
+    assertTrue(history.seek(7));
+    assertArrayEquals(snapshots.get(7), snapshot());
+    step(1000);
+    assertEquals(8, history.getLastGeneration());
+
+    assertEquals(20, parent.getLastGeneration());
+    assertTrue(parent.seek(3));
+    grid = parentGrid;
+    assertArrayEquals(snapshots.get(3), snapshot());
+  }
+
+  @Test
+  @DisplayName("Seeking restores the attributes of every cell along with its state")
+  void seek_WaTorGrid_RestoresEnergyAndSteps() {
+    WaTorRule rule = new WaTorRule(new GenericParameters(SimType.WaTor, Map.of()));
+    Random random = new Random(43);
+    List<WaTorCell> cells = new ArrayList<>();
+    for (int i = 0; i < SIZE * SIZE; i++) {
+      cells.add(new WaTorCell(random.nextInt(WATOR_MAXSTATE), rule));
+    }
+    Grid<WaTorCell> waTorGrid = new Grid<>();
+    waTorGrid.constructGrid(cells, SIZE, SIZE, ShapeType.RECTANGLE, NeighborhoodType.MOORE,
+        EdgeType.TOROIDAL);
+    GenerationHistory waTorHistory = new GenerationHistory(waTorGrid.getCells(), 0);
+
+    List<int[]> snapshots = new ArrayList<>();
+    for (int step = 0; step < 30; step++) {
+      snapshots.add(waTorSnapshot(waTorGrid));
+      waTorGrid.getCells().forEach(Cell::calcNextState);
+      waTorGrid.getCells().forEach(Cell::step);
+      waTorGrid.getCells().forEach(Cell::resetParameters);
+      waTorHistory.recordStep(1000);
+    }
+
+    for (int target : new int[]{29, 3, 17, 0}) {
+      assertTrue(waTorHistory.seek(target));
+      assertArrayEquals(snapshots.get(target), waTorSnapshot(waTorGrid), "generation " + target);
+    }
+  }
+
+  @Test
+  @DisplayName("Recording the changed cells gives the same generations as comparing every cell")
+  void recordChanges_ChangedCells_MatchesRecordStep() {
+    GenerationHistory fromChanges = new GenerationHistory(grid.getCells(), 0);
+    List<int[]> snapshots = new ArrayList<>();
+    snapshots.add(snapshot());
+    for (int step = 0; step < 30; step++) {
+      int[] before = snapshot();
+      step(1000);
+      int[] after = snapshot();
+
+      List<Integer> changes = new ArrayList<>();
+      for (int i = 0; i < SIZE * SIZE; i++) {
+        // an unchanged cell listed as well records nothing for it
+        if (before[2 * i] != after[2 * i] || i == step) {
+          changes.addAll(List.of(i, after[2 * i], after[2 * i + 1]));
+        }
+      }
+      fromChanges.recordChanges(changes.stream().mapToInt(Integer::intValue).toArray(), 1000);
+      snapshots.add(after);
+    }
+
+    for (int target : new int[]{30, 12, 0, 29, 17}) {
+      assertTrue(fromChanges.seek(target));
+      assertArrayEquals(snapshots.get(target), snapshot(), "generation " + target);
+    }
+    assertEquals(history.getCyclePeriod(), fromChanges.getCyclePeriod());
+  }
+
+  @Test
+  @DisplayName("A still life and a blinker are found as cycles of period 1 and 2")
+  void getCyclePeriod_StillLifeAndBlinker_FindsPeriod() {
+    setCells(pattern(SIZE + 1, SIZE + 2, 2 * SIZE + 1, 2 * SIZE + 2));
+    step(100);
+    assertEquals(1, history.getCyclePeriod());
+
+    setCells(pattern(5 * SIZE + 4, 5 * SIZE + 5, 5 * SIZE + 6));
+    step(100);
+    assertEquals(0, history.getCyclePeriod());
+    step(100);
+    assertEquals(2, history.getCyclePeriod());
+    history.stepBack();
+    step(100);
+    assertEquals(2, history.getCyclePeriod());
+  }
+
+  @Test
+  @DisplayName("Repeating a cycle reaches the same cells as stepping, state lengths included")
+  void repeatCycle_Blinker_MatchesStepping() {
+    int[] blinkerAndBlock = pattern(5 * SIZE + 4, 5 * SIZE + 5, 5 * SIZE + 6,
+        10 * SIZE + 10, 10 * SIZE + 11, 11 * SIZE + 10, 11 * SIZE + 11);
+    setCells(blinkerAndBlock);
+    for (int step = 0; step < 45; step++) {
+      step(100);
+    }
+    int[] expected = snapshot();
+
+    setCells(blinkerAndBlock);
+    assertFalse(history.repeatCycle(45, 100));
+    step(100);
+    step(100);
+    assertTrue(history.repeatCycle(45, 100));
+    assertEquals(45, history.getGeneration());
+    assertArrayEquals(expected, snapshot());
+
+    history.seek(44);
+    step(100);
+    assertArrayEquals(expected, snapshot());
+  }
+
+  @Test
+  @DisplayName("Identical keyframes share storage, so a still life keeps its whole history")
+  void recordStep_StillLife_SharesKeyframes() {
+    setCells(pattern(SIZE + 1, SIZE + 2, 2 * SIZE + 1, 2 * SIZE + 2));
+    // a keyframe of this grid takes a little over 2 KB
+    history.setMemoryBudget(8_000);
+    for (int step = 0; step < 300; step++) {
+      step(1000);
+    }
+
+    assertEquals(16, history.getKeyframeInterval());
+    assertEquals(0, history.getFirstGeneration());
+  }
+}
@@ -0,0 +1,144 @@
+package cellsociety.model.simulation.history;
+
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_ALIVE;
+import static cellsociety.model.util.constants.CellStates.GAMEOFLIFE_DEAD;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.simulation.cell.Cell;
+import cellsociety.model.simulation.cell.GameOfLifeCell;
+import cellsociety.model.simulation.grid.Grid;
+import cellsociety.model.simulation.parameters.GenericParameters;
+import cellsociety.model.simulation.rules.GameOfLifeRule;
+import cellsociety.model.util.SimulationTypes.SimType;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
+import cellsociety.model.util.constants.GridTypes.NeighborhoodType;
+import cellsociety.model.util.constants.GridTypes.ShapeType;
+import cellsociety.model.util.exceptions.SimulationException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class HistoryFileTest {
+
+  private static final int SIZE = 16;
+
+  private Grid<GameOfLifeCell> grid;
+  private GenerationHistory history;
+  private Path path;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    GameOfLifeRule rule = new GameOfLifeRule(new GenericParameters(SimType.GameOfLife,
+        Map.of()));
+    Random random = new Random(42);
+    List<GameOfLifeCell> cells = new ArrayList<>();
+    for (int i = 0; i < SIZE * SIZE; i++) {
+      cells.add(new GameOfLifeCell(random.nextInt(3) == 0 ? GAMEOFLIFE_ALIVE : GAMEOFLIFE_DEAD,
+          rule));
+    }
+    grid = new Grid<>();
+    grid.constructGrid(cells, SIZE, SIZE, ShapeType.RECTANGLE, NeighborhoodType.MOORE,
+        EdgeType.TOROIDAL);
+    history = new GenerationHistory(grid.getCells(), 0);
+    path = Files.createTempFile("cellsociety", ".history");
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    history.stopSpilling();
+    Files.deleteIfExists(path);
+  }
+
+  private void step(int maxHistorySize) {
+    grid.getCells().forEach(Cell::calcNextState);
+    grid.getCells().forEach(Cell::step);
+    history.recordStep(maxHistorySize);
+  }
+
+  private int[] states() {
+    return grid.getCells().stream().mapToInt(Cell::getCurrentState).toArray();
+  }
+
+  private int[] stateLengths() {
+    return grid.getCells().stream().mapToInt(Cell::getStateLength).toArray();
+  }
+
+  @Test
+  @DisplayName("Steps dropped from memory can still be sought from the file")
+  void seek_SpilledGeneration_RestoresFromFile() {
+    step(5);
+    step(5);
+    history.spillTo(path, SIZE, SIZE);
+    List<int[]> states = new ArrayList<>();
+    List<int[]> lengths = new ArrayList<>();
+    for (int step = 0; step < 60; step++) {
+      states.add(states());
+      lengths.add(stateLengths());
+      step(5);
+    }
+
+    assertEquals(0, history.getFirstGeneration());
+    for (int target : new int[]{2, 40, 61, 3, 30, 59}) {
+      assertTrue(history.seek(target));
+      assertArrayEquals(states.get(target - 2), states(), "generation " + target);
+      assertArrayEquals(lengths.get(target - 2), stateLengths(), "generation " + target);
+    }
+    assertTrue(history.seek(0));
+    assertFalse(history.seek(-1));
+  }
+
+  @Test
+  @DisplayName("Recording from a spilled generation drops everything after it, on disk too")
+  void recordStep_FromSpilledGeneration_DropsFuture() {
+    history.spillTo(path, SIZE, SIZE);
+    for (int step = 0; step < 30; step++) {
+      step(3);
+    }
+    history.seek(10);
+    int[] before = states();
+    step(3);
+    step(3);
+
+    assertEquals(12, history.getLastGeneration());
+    assertFalse(history.seek(13));
+    assertTrue(history.seek(10));
+    assertArrayEquals(before, states());
+  }
+
+  @Test
+  @DisplayName("A closed file can be opened again to read any generation it holds")
+  void open_ClosedFile_ReadsGenerations() {
+    history.spillTo(path, SIZE, SIZE);
+    List<int[]> states = new ArrayList<>();
+    for (int step = 0; step < 50; step++) {
+      states.add(states());
+      step(4);
+    }
+    history.stopSpilling();
+
+    try (HistoryFile file = HistoryFile.open(path)) {
+      assertEquals(SIZE, file.getRows());
+      assertEquals(0, file.getFirstGeneration());
+      assertEquals(46, file.getLastGeneration());
+      for (int generation : new int[]{0, 17, 46, 33}) {
+        assertArrayEquals(states.get(generation), file.getStates(generation));
+      }
+      assertThrows(SimulationException.class, () -> file.getStates(47));
+    }
+  }
+
+  @Test
+  @DisplayName("A file that is not a history file is rejected")
+  void open_OtherFile_Throws() throws IOException {
+    Files.writeString(path, "not a history file, but long enough for a header");
+    assertThrows(SimulationException.class, () -> HistoryFile.open(path));
+  }
+}
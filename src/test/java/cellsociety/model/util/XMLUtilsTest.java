@@ -3,14 +3,20 @@ package cellsociety.model.util;
 import cellsociety.model.simulation.Simulation;
 import cellsociety.model.util.SimulationTypes.SimType;
 import cellsociety.model.util.constants.CellStates;
+import cellsociety.model.util.constants.GridTypes.EdgeType;
 import cellsociety.model.util.exceptions.XmlException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -114,6 +120,64 @@ class XmlUtilsTest {
         assertEquals(SimType.Fire, xmlUtils.simTypeFromString("fire"));
     }
 
+    @Test
+    @DisplayName("Test reading a Larger than Life rulestring into its parameters")
+    void testReadXml_largerThanLifeRulestring() {
+        XmlData xmlData = xmlUtils.readXml(
+            new File("data/xmls/VariationXMLs/LargerThanLifeBosco.xml"));
+
+        assertEquals(SimType.LargerThanLife, xmlData.getType());
+        assertEquals(5.0, xmlData.getParameters().get("range"));
+        assertEquals(1.0, xmlData.getParameters().get("includeCenter"));
+        assertEquals(34.0, xmlData.getParameters().get("survivalMin"));
+        assertEquals(58.0, xmlData.getParameters().get("survivalMax"));
+        assertEquals(34.0, xmlData.getParameters().get("birthMin"));
+        assertEquals(45.0, xmlData.getParameters().get("birthMax"));
+    }
+
+    @Test
+    @DisplayName("Test reading each cell's state into the grid in order")
+    void testReadXml_cellStates() {
+        XmlData xmlData = xmlUtils.readXml(new File("data/xmls/basicXMLs/GameOfLife1.xml"));
+
+        assertEquals(2, xmlData.getGridRowNum());
+        assertEquals(2, xmlData.getGridColNum());
+        assertEquals(List.of(CellStates.GAMEOFLIFE_ALIVE, CellStates.GAMEOFLIFE_DEAD,
+            CellStates.GAMEOFLIFE_ALIVE, CellStates.GAMEOFLIFE_ALIVE), xmlData.getCellStateList());
+    }
+
+    @Test
+    @DisplayName("Test reading more cells than the grid holds")
+    void testReadXml_tooManyCells(@TempDir Path tempDir) throws IOException {
+        Path xmlFile = tempDir.resolve("too_many_cells.xml");
+        Files.writeString(xmlFile, "<simulation><metadata><type>Game of Life</type>"
+            + "<title>Title</title><author>Author</author><description>Description</description>"
+            + "</metadata><grid rows=\"1\" columns=\"2\"><cell state=\"alive\"/>"
+            + "<cell state=\"dead\"/><cell state=\"dead\"/></grid><parameters/></simulation>");
+
+        assertThrows(XmlException.class, () -> xmlUtils.readXml(xmlFile.toFile()));
+    }
+
+    @Test
+    @DisplayName("Test reading the grid's edge type")
+    void testReadXml_edgeType(@TempDir Path tempDir) throws IOException {
+        Path xmlFile = tempDir.resolve("unbounded.xml");
+        Files.writeString(xmlFile, gameOfLifeXml("edge=\"unbounded\""));
+
+        assertEquals(EdgeType.UNBOUNDED, xmlUtils.readXml(xmlFile.toFile()).getEdge());
+        assertEquals(EdgeType.NONE,
+            xmlUtils.readXml(new File("data/xmls/basicXMLs/GameOfLife1.xml")).getEdge());
+    }
+
+    @Test
+    @DisplayName("Test reading an unknown grid edge type")
+    void testReadXml_unknownEdgeType(@TempDir Path tempDir) throws IOException {
+        Path xmlFile = tempDir.resolve("unknown_edge.xml");
+        Files.writeString(xmlFile, gameOfLifeXml("edge=\"wobbly\""));
+
+        assertThrows(XmlException.class, () -> xmlUtils.readXml(xmlFile.toFile()));
+    }
+
     @Test
     @DisplayName("Test converting invalid simulation type string")
     void testSimTypeFromString_invalid() {
@@ -122,6 +186,13 @@ class XmlUtilsTest {
         });
     }
 
+    private String gameOfLifeXml(String gridAttributes) {
+        return "<simulation><metadata><type>Game of Life</type>"
+            + "<title>Title</title><author>Author</author><description>Description</description>"
+            + "</metadata><grid rows=\"1\" columns=\"2\" " + gridAttributes + ">"
+            + "<cell state=\"alive\"/><cell state=\"dead\"/></grid><parameters/></simulation>";
+    }
+
     private Simulation<?> createMockSimulation() {
         // Create a mock Simulation object
         Simulation<?> mockSimulation = mock(Simulation.class);
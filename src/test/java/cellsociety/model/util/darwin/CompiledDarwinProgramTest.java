@@ -0,0 +1,59 @@
+package cellsociety.model.util.darwin;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.util.exceptions.SimulationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CompiledDarwinProgramTest {
+
+  private DarwinProgram darwinProgram;
+
+  @BeforeEach
+  void setUp() {
+    darwinProgram = new DarwinProgram("test_species");
+  }
+
+  @Test
+  void testCompilesOpcodesAndOperands() {
+    CompiledDarwinProgram compiled = darwinProgram.getCompiledProgram();
+
+    assertEquals(4, compiled.size());
+    assertEquals(CompiledDarwinProgram.IF_ENEMY, compiled.getOpcode(0));
+    assertEquals(3, compiled.getOperand(0)); // jumps are stored 0-based
+    assertEquals(CompiledDarwinProgram.LEFT, compiled.getOpcode(1));
+    assertEquals(90, compiled.getOperand(1));
+    assertEquals(CompiledDarwinProgram.GO, compiled.getOpcode(2));
+    assertEquals(0, compiled.getOperand(2));
+    assertEquals(CompiledDarwinProgram.INFECT, compiled.getOpcode(3));
+    assertEquals(12, compiled.getOperand(3));
+  }
+
+  @Test
+  void testCompiledProgramIsCachedAndWraps() {
+    CompiledDarwinProgram compiled = darwinProgram.getCompiledProgram();
+
+    assertSame(compiled, darwinProgram.getCompiledProgram());
+    assertEquals(1, compiled.next(0));
+    assertEquals(0, compiled.next(3));
+  }
+
+  @Test
+  void testActionOpcodes() {
+    assertTrue(CompiledDarwinProgram.isAction(CompiledDarwinProgram.MOVE));
+    assertTrue(CompiledDarwinProgram.isAction(CompiledDarwinProgram.INFECT));
+    assertFalse(CompiledDarwinProgram.isAction(CompiledDarwinProgram.IF_RANDOM));
+    assertFalse(CompiledDarwinProgram.isAction(CompiledDarwinProgram.GO));
+  }
+
+  @Test
+  void testInvalidArgumentsFailAtCompileTime() {
+    darwinProgram.addDarwinCommand(new DarwinCommand(DarwinCommandType.MOVE, "far"));
+    assertThrows(SimulationException.class, darwinProgram::getCompiledProgram);
+
+    DarwinProgram outOfRange = new DarwinProgram("test_species");
+    outOfRange.addDarwinCommand(new DarwinCommand(DarwinCommandType.GO, "6"));
+    assertThrows(SimulationException.class, outOfRange::getCompiledProgram);
+  }
+}